@@ -5,6 +5,8 @@ import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
 import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPoolResolver;
 import com.jashmore.sqs.container.batching.BatchingMessageListenerContainerProperties;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
 import com.jashmore.sqs.util.string.StringUtils;
@@ -17,9 +19,20 @@ import java.util.function.Supplier;
 public class QueueListenerParser {
 
     private final PlaceholderResolver placeholderResolver;
+    private final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver;
 
     public QueueListenerParser(final PlaceholderResolver placeholderResolver) {
+        this(
+            placeholderResolver,
+            poolName -> {
+                throw new IllegalStateException("No SharedConcurrencyPoolResolver configured to resolve concurrency pool: " + poolName);
+            }
+        );
+    }
+
+    public QueueListenerParser(final PlaceholderResolver placeholderResolver, final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver) {
         this.placeholderResolver = placeholderResolver;
+        this.sharedConcurrencyPoolResolver = sharedConcurrencyPoolResolver;
     }
 
     public BatchingMessageListenerContainerProperties parse(QueueListener annotation) {
@@ -34,6 +47,9 @@ public class QueueListenerParser {
         final Supplier<Boolean> interruptThreadsProcessingMessagesOnShutdownSupplier = interruptThreadsProcessingMessagesOnShutdownSupplier(
             annotation
         );
+        final Supplier<Boolean> processMessagesOnVirtualThreadsSupplier = processMessagesOnVirtualThreadsSupplier(annotation);
+        final Supplier<SharedConcurrencyPool> sharedConcurrencyPoolSupplier = sharedConcurrencyPoolSupplier(annotation);
+        final Supplier<Integer> guaranteedConcurrencySupplier = guaranteedConcurrencySupplier(annotation);
         return new BatchingMessageListenerContainerProperties() {
             @PositiveOrZero
             @Override
@@ -83,6 +99,23 @@ public class QueueListenerParser {
             public boolean interruptThreadsProcessingMessagesOnShutdown() {
                 return interruptThreadsProcessingMessagesOnShutdownSupplier.get();
             }
+
+            @Override
+            public boolean processMessagesOnVirtualThreads() {
+                return processMessagesOnVirtualThreadsSupplier.get();
+            }
+
+            @Nullable
+            @Override
+            public SharedConcurrencyPool sharedConcurrencyPool() {
+                return sharedConcurrencyPoolSupplier.get();
+            }
+
+            @PositiveOrZero
+            @Override
+            public int guaranteedConcurrency() {
+                return guaranteedConcurrencySupplier.get();
+            }
         };
     }
 
@@ -227,4 +260,57 @@ public class QueueListenerParser {
         final boolean interruptThreadsProcessingMessagesOnShutdown = annotation.interruptThreadsProcessingMessagesOnShutdown();
         return () -> interruptThreadsProcessingMessagesOnShutdown;
     }
+
+    /**
+     * Parse the annotation to construct a supplier that returns whether the messages should be processed on virtual threads.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the process messages on virtual threads supplier
+     * @see BatchingMessageListenerContainerProperties#processMessagesOnVirtualThreads() for more details
+     */
+    protected Supplier<Boolean> processMessagesOnVirtualThreadsSupplier(final QueueListener annotation) {
+        final boolean processMessagesOnVirtualThreads = annotation.processMessagesOnVirtualThreads();
+        return () -> processMessagesOnVirtualThreads;
+    }
+
+    /**
+     * Parse the annotation to construct a supplier that returns the shared concurrency pool that the listener should acquire its concurrency from.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the shared concurrency pool supplier
+     * @see BatchingMessageListenerContainerProperties#sharedConcurrencyPool() for more details
+     */
+    protected Supplier<SharedConcurrencyPool> sharedConcurrencyPoolSupplier(final QueueListener annotation) {
+        if (!StringUtils.hasText(annotation.concurrencyPool())) {
+            return () -> null;
+        }
+
+        final SharedConcurrencyPool pool = sharedConcurrencyPoolResolver.resolvePool(
+            placeholderResolver.resolvePlaceholders(annotation.concurrencyPool())
+        );
+        return () -> pool;
+    }
+
+    /**
+     * Parse the annotation to construct a supplier that returns the concurrency reserved for the listener in the shared concurrency pool.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the guaranteed concurrency supplier
+     * @see BatchingMessageListenerContainerProperties#guaranteedConcurrency() for more details
+     */
+    protected Supplier<Integer> guaranteedConcurrencySupplier(final QueueListener annotation) {
+        final int guaranteedConcurrency;
+        if (!StringUtils.hasText(annotation.guaranteedConcurrencyString())) {
+            guaranteedConcurrency = annotation.guaranteedConcurrency();
+        } else {
+            guaranteedConcurrency = Integer.parseInt(placeholderResolver.resolvePlaceholders(annotation.guaranteedConcurrencyString()));
+        }
+        return () -> guaranteedConcurrency;
+    }
 }
@@ -186,4 +186,13 @@ public @interface FifoQueueListener {
      * @return whether to interrupt message processing threads on shutdown
      */
     boolean interruptThreadsProcessingMessagesOnShutdown() default false;
+
+    /**
+     * Determines whether the messages should be processed on virtual threads instead of platform threads.
+     *
+     * <p>If the runtime does not support virtual threads, platform threads will be used instead.
+     *
+     * @return whether to process messages on virtual threads
+     */
+    boolean processMessagesOnVirtualThreads() default false;
 }
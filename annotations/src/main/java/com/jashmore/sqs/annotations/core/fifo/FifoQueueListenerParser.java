@@ -30,6 +30,7 @@ public class FifoQueueListenerParser {
         final Supplier<Boolean> interruptThreadsProcessingMessagesOnShutdownSupplier = interruptThreadsProcessingMessagesOnShutdownSupplier(
             annotation
         );
+        final Supplier<Boolean> processMessagesOnVirtualThreadsSupplier = processMessagesOnVirtualThreadsSupplier(annotation);
         return new FifoMessageListenerContainerProperties() {
             @Override
             public int concurrencyLevel() {
@@ -70,6 +71,11 @@ public class FifoQueueListenerParser {
             public boolean interruptThreadsProcessingMessagesOnShutdown() {
                 return interruptThreadsProcessingMessagesOnShutdownSupplier.get();
             }
+
+            @Override
+            public boolean processMessagesOnVirtualThreads() {
+                return processMessagesOnVirtualThreadsSupplier.get();
+            }
         };
     }
 
@@ -213,4 +219,18 @@ public class FifoQueueListenerParser {
         final boolean interruptThreadsProcessingMessagesOnShutdown = annotation.interruptThreadsProcessingMessagesOnShutdown();
         return () -> interruptThreadsProcessingMessagesOnShutdown;
     }
+
+    /**
+     * Parse the annotation to construct a supplier that returns whether the messages should be processed on virtual threads.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the process messages on virtual threads supplier
+     * @see FifoMessageListenerContainerProperties#processMessagesOnVirtualThreads() for more details
+     */
+    protected Supplier<Boolean> processMessagesOnVirtualThreadsSupplier(final FifoQueueListener annotation) {
+        final boolean processMessagesOnVirtualThreads = annotation.processMessagesOnVirtualThreads();
+        return () -> processMessagesOnVirtualThreads;
+    }
 }
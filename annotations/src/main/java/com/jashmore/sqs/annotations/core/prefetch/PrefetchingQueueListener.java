@@ -7,6 +7,8 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPoolResolver;
 import com.jashmore.sqs.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.container.MessageListenerContainer;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
@@ -138,6 +140,27 @@ public @interface PrefetchingQueueListener {
      */
     String maxPrefetchedMessagesString() default "";
 
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time.
+     *
+     * @return the maximum number of concurrent receive message requests
+     * @see PrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests() for more details and constraints
+     */
+    int maxConcurrentReceiveRequests() default 1;
+
+    /**
+     * The maximum number of requests for messages that can be in flight to SQS at the same time converted from a string representation.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maxConcurrentReceiveRequestsString = "${my.profile.property}"</pre> instead of having it hardcoded in {@link #maxConcurrentReceiveRequests()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maxConcurrentReceiveRequests()} will be ignored.
+     *
+     * @return the maximum number of concurrent receive message requests
+     * @see PrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests() for more details and constraints
+     */
+    String maxConcurrentReceiveRequestsString() default "";
+
     /**
      * The message visibility that will be used for messages obtained from the queue.
      *
@@ -172,4 +195,50 @@ public @interface PrefetchingQueueListener {
      * @return whether to interrupt message processing threads on shutdown
      */
     boolean interruptThreadsProcessingMessagesOnShutdown() default false;
+
+    /**
+     * Determines whether the messages should be processed on virtual threads instead of platform threads.
+     *
+     * <p>If the runtime does not support virtual threads, platform threads will be used instead.
+     *
+     * @return whether to process messages on virtual threads
+     */
+    boolean processMessagesOnVirtualThreads() default false;
+
+    /**
+     * The name of the {@link SharedConcurrencyPool} that this listener should acquire its concurrency from, allowing for the total concurrency
+     * across multiple listeners to be bounded.
+     *
+     * <p>The pool will be resolved via the {@link SharedConcurrencyPoolResolver}, for example by looking up the bean with this name. The
+     * {@link #concurrencyLevel()} will still be the maximum concurrency that this listener can obtain from the pool.
+     *
+     * <p>This field can be a placeholder, e.g. <pre>${my.pool.name}</pre>. If this is empty, no shared pool will be used.
+     *
+     * @return the name of the shared concurrency pool
+     */
+    String concurrencyPool() default "";
+
+    /**
+     * The concurrency that should be reserved for this listener in the {@link #concurrencyPool()} so that it can always process this many messages,
+     * regardless of how busy the other listeners sharing the pool are.
+     *
+     * <p>This is ignored if no {@link #concurrencyPool()} has been set.
+     *
+     * @return the guaranteed concurrency for this listener
+     * @see #guaranteedConcurrencyString() if you need to use placeholders to determine this value
+     */
+    int guaranteedConcurrency() default 0;
+
+    /**
+     * The concurrency that should be reserved for this listener in the {@link #concurrencyPool()}.
+     *
+     * <p>This can be used when you need to load the value from Spring properties, e.g. <pre>guaranteedConcurrencyString = "${my.profile.property}"</pre>
+     * instead of having it hardcoded in {@link #guaranteedConcurrency()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #guaranteedConcurrency()} will be ignored.
+     *
+     * @return the guaranteed concurrency for this listener
+     * @see #guaranteedConcurrency() for more information about this field
+     */
+    String guaranteedConcurrencyString() default "";
 }
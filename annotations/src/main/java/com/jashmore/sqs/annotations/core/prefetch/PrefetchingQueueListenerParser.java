@@ -3,6 +3,8 @@ package com.jashmore.sqs.annotations.core.prefetch;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPoolResolver;
 import com.jashmore.sqs.container.prefetching.PrefetchingMessageListenerContainerProperties;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
 import com.jashmore.sqs.util.string.StringUtils;
@@ -15,9 +17,20 @@ import java.util.function.Supplier;
 public class PrefetchingQueueListenerParser {
 
     private final PlaceholderResolver placeholderResolver;
+    private final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver;
 
     public PrefetchingQueueListenerParser(final PlaceholderResolver placeholderResolver) {
+        this(
+            placeholderResolver,
+            poolName -> {
+                throw new IllegalStateException("No SharedConcurrencyPoolResolver configured to resolve concurrency pool: " + poolName);
+            }
+        );
+    }
+
+    public PrefetchingQueueListenerParser(final PlaceholderResolver placeholderResolver, final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver) {
         this.placeholderResolver = placeholderResolver;
+        this.sharedConcurrencyPoolResolver = sharedConcurrencyPoolResolver;
     }
 
     public PrefetchingMessageListenerContainerProperties parse(final PrefetchingQueueListener annotation) {
@@ -25,6 +38,7 @@ public class PrefetchingQueueListenerParser {
         final Supplier<Duration> concurrencyPollingRateSupplier = concurrencyPollingRateSupplier(annotation);
         final Supplier<Integer> desiredPrefetchedMessagesSupplier = desiredMinPrefetchedMessagesSupplier(annotation);
         final Supplier<Integer> maxPrefetchedMessagesSupplier = maxPrefetchedMessagesSupplier(annotation);
+        final Supplier<Integer> maxConcurrentReceiveRequestsSupplier = maxConcurrentReceiveRequestsSupplier(annotation);
         final Supplier<Duration> errorBackoffTimeSupplier = errorBackoffTimeSupplier(annotation);
         final Supplier<Duration> messageVisibilityTimeoutSupplier = messageVisibilityTimeoutSupplier(annotation);
         final Supplier<Boolean> tryAndProcessAnyExtraRetrievedMessagesOnShutdownSupplier =
@@ -32,6 +46,9 @@ public class PrefetchingQueueListenerParser {
         final Supplier<Boolean> interruptThreadsProcessingMessagesOnShutdownSupplier = interruptThreadsProcessingMessagesOnShutdownSupplier(
             annotation
         );
+        final Supplier<Boolean> processMessagesOnVirtualThreadsSupplier = processMessagesOnVirtualThreadsSupplier(annotation);
+        final Supplier<SharedConcurrencyPool> sharedConcurrencyPoolSupplier = sharedConcurrencyPoolSupplier(annotation);
+        final Supplier<Integer> guaranteedConcurrencySupplier = guaranteedConcurrencySupplier(annotation);
 
         return new PrefetchingMessageListenerContainerProperties() {
             @PositiveOrZero
@@ -64,6 +81,13 @@ public class PrefetchingQueueListenerParser {
                 return maxPrefetchedMessagesSupplier.get();
             }
 
+            @Nullable
+            @Positive
+            @Override
+            public Integer maxConcurrentReceiveRequests() {
+                return maxConcurrentReceiveRequestsSupplier.get();
+            }
+
             @Nullable
             @Positive
             @Override
@@ -80,6 +104,23 @@ public class PrefetchingQueueListenerParser {
             public boolean interruptThreadsProcessingMessagesOnShutdown() {
                 return interruptThreadsProcessingMessagesOnShutdownSupplier.get();
             }
+
+            @Override
+            public boolean processMessagesOnVirtualThreads() {
+                return processMessagesOnVirtualThreadsSupplier.get();
+            }
+
+            @Nullable
+            @Override
+            public SharedConcurrencyPool sharedConcurrencyPool() {
+                return sharedConcurrencyPoolSupplier.get();
+            }
+
+            @PositiveOrZero
+            @Override
+            public int guaranteedConcurrency() {
+                return guaranteedConcurrencySupplier.get();
+            }
         };
     }
 
@@ -154,6 +195,26 @@ public class PrefetchingQueueListenerParser {
         return () -> maxPrefetchedMessages;
     }
 
+    /**
+     * Parse the annotation to construct a supplier that returns the maximum number of concurrent requests for messages.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the max concurrent receive requests supplier
+     * @see PrefetchingMessageListenerContainerProperties#maxConcurrentReceiveRequests() for more details
+     */
+    protected Supplier<Integer> maxConcurrentReceiveRequestsSupplier(final PrefetchingQueueListener annotation) {
+        final int maxConcurrentReceiveRequests;
+        if (!StringUtils.hasText(annotation.maxConcurrentReceiveRequestsString())) {
+            maxConcurrentReceiveRequests = annotation.maxConcurrentReceiveRequests();
+        } else {
+            maxConcurrentReceiveRequests =
+                Integer.parseInt(placeholderResolver.resolvePlaceholders(annotation.maxConcurrentReceiveRequestsString()));
+        }
+        return () -> maxConcurrentReceiveRequests;
+    }
+
     /**
      * Parse the annotation to construct a supplier that returns the duration the container should back off if there was an error handling messages within
      * the framework.
@@ -223,4 +284,57 @@ public class PrefetchingQueueListenerParser {
         final boolean interruptThreadsProcessingMessagesOnShutdown = annotation.interruptThreadsProcessingMessagesOnShutdown();
         return () -> interruptThreadsProcessingMessagesOnShutdown;
     }
+
+    /**
+     * Parse the annotation to construct a supplier that returns whether the messages should be processed on virtual threads.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the process messages on virtual threads supplier
+     * @see PrefetchingMessageListenerContainerProperties#processMessagesOnVirtualThreads() for more details
+     */
+    protected Supplier<Boolean> processMessagesOnVirtualThreadsSupplier(final PrefetchingQueueListener annotation) {
+        final boolean processMessagesOnVirtualThreads = annotation.processMessagesOnVirtualThreads();
+        return () -> processMessagesOnVirtualThreads;
+    }
+
+    /**
+     * Parse the annotation to construct a supplier that returns the shared concurrency pool that the listener should acquire its concurrency from.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the shared concurrency pool supplier
+     * @see PrefetchingMessageListenerContainerProperties#sharedConcurrencyPool() for more details
+     */
+    protected Supplier<SharedConcurrencyPool> sharedConcurrencyPoolSupplier(final PrefetchingQueueListener annotation) {
+        if (!StringUtils.hasText(annotation.concurrencyPool())) {
+            return () -> null;
+        }
+
+        final SharedConcurrencyPool pool = sharedConcurrencyPoolResolver.resolvePool(
+            placeholderResolver.resolvePlaceholders(annotation.concurrencyPool())
+        );
+        return () -> pool;
+    }
+
+    /**
+     * Parse the annotation to construct a supplier that returns the concurrency reserved for the listener in the shared concurrency pool.
+     *
+     * <p>Can be overridden to provide custom logic.
+     *
+     * @param annotation the annotation to parse
+     * @return the guaranteed concurrency supplier
+     * @see PrefetchingMessageListenerContainerProperties#guaranteedConcurrency() for more details
+     */
+    protected Supplier<Integer> guaranteedConcurrencySupplier(final PrefetchingQueueListener annotation) {
+        final int guaranteedConcurrency;
+        if (!StringUtils.hasText(annotation.guaranteedConcurrencyString())) {
+            guaranteedConcurrency = annotation.guaranteedConcurrency();
+        } else {
+            guaranteedConcurrency = Integer.parseInt(placeholderResolver.resolvePlaceholders(annotation.guaranteedConcurrencyString()));
+        }
+        return () -> guaranteedConcurrency;
+    }
 }
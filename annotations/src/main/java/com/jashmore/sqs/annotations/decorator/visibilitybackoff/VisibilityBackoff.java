@@ -0,0 +1,64 @@
+package com.jashmore.sqs.annotations.decorator.visibilitybackoff;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.jashmore.sqs.decorator.VisibilityBackoffMessageProcessingDecoratorProperties;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation that can be attached to a message listener that will change the visibility timeout of messages that fail to be processed so that they
+ * are retried after an exponential backoff instead of the visibility timeout of the queue.
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface VisibilityBackoff {
+    /**
+     * The visibility timeout in seconds that a message should have after it has failed to be processed for the first time.
+     *
+     * <p>If this value is not positive, the default initial visibility timeout will be used.
+     *
+     * @return the initial visibility timeout in seconds
+     * @see VisibilityBackoffMessageProcessingDecoratorProperties#initialVisibilityTimeout() for more details
+     */
+    int initialVisibilityTimeoutInSeconds() default -1;
+
+    /**
+     * The visibility timeout in seconds that a message should have after it has failed to be processed for the first time.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>initialVisibilityTimeoutInSecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #initialVisibilityTimeoutInSeconds()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #initialVisibilityTimeoutInSeconds()} will be ignored.
+     *
+     * @return the initial visibility timeout in seconds
+     * @see VisibilityBackoffMessageProcessingDecoratorProperties#initialVisibilityTimeout() for more details
+     */
+    String initialVisibilityTimeoutInSecondsString() default "";
+
+    /**
+     * The maximum visibility timeout in seconds that a message should have after it has failed to be processed.
+     *
+     * <p>If this value is not positive, the default maximum visibility timeout will be used.
+     *
+     * @return the maximum visibility timeout in seconds
+     * @see VisibilityBackoffMessageProcessingDecoratorProperties#maximumVisibilityTimeout() for more details
+     */
+    int maximumVisibilityTimeoutInSeconds() default -1;
+
+    /**
+     * The maximum visibility timeout in seconds that a message should have after it has failed to be processed.
+     *
+     * <p>This can be used when you need to load the value from Spring properties for example
+     * <pre>maximumVisibilityTimeoutInSecondsString = "${my.profile.property}"</pre> instead of having it hardcoded in
+     * {@link #maximumVisibilityTimeoutInSeconds()}.
+     *
+     * <p>If this value is not empty, the value set by {@link #maximumVisibilityTimeoutInSeconds()} will be ignored.
+     *
+     * @return the maximum visibility timeout in seconds
+     * @see VisibilityBackoffMessageProcessingDecoratorProperties#maximumVisibilityTimeout() for more details
+     */
+    String maximumVisibilityTimeoutInSecondsString() default "";
+}
@@ -0,0 +1,79 @@
+package com.jashmore.sqs.annotations.decorator.visibilitybackoff;
+
+import com.jashmore.documentation.annotations.VisibleForTesting;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.decorator.MessageProcessingDecoratorFactory;
+import com.jashmore.sqs.decorator.VisibilityBackoffMessageProcessingDecorator;
+import com.jashmore.sqs.decorator.VisibilityBackoffMessageProcessingDecoratorProperties;
+import com.jashmore.sqs.placeholder.PlaceholderResolver;
+import com.jashmore.sqs.util.annotation.AnnotationUtils;
+import com.jashmore.sqs.util.string.StringUtils;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+/**
+ * Factory used to wrap any message listeners with a {@link VisibilityBackoff @VisibilityBackoff} annotation with a
+ * {@link VisibilityBackoffMessageProcessingDecorator}.
+ */
+public class VisibilityBackoffMessageProcessingDecoratorFactory
+    implements MessageProcessingDecoratorFactory<VisibilityBackoffMessageProcessingDecorator> {
+
+    private final PlaceholderResolver placeholderResolver;
+
+    public VisibilityBackoffMessageProcessingDecoratorFactory(final PlaceholderResolver placeholderResolver) {
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    @Override
+    public Optional<VisibilityBackoffMessageProcessingDecorator> buildDecorator(
+        final SqsAsyncClient sqsAsyncClient,
+        final QueueProperties queueProperties,
+        final String identifier,
+        final Object bean,
+        final Method method
+    ) {
+        return AnnotationUtils
+            .findMethodAnnotation(method, VisibilityBackoff.class)
+            .map(this::buildConfigurationProperties)
+            .map(properties -> new VisibilityBackoffMessageProcessingDecorator(sqsAsyncClient, queueProperties, properties));
+    }
+
+    @VisibleForTesting
+    VisibilityBackoffMessageProcessingDecoratorProperties buildConfigurationProperties(final VisibilityBackoff annotation) {
+        final Optional<Duration> initialVisibilityTimeout = getDurationFromSeconds(
+            annotation::initialVisibilityTimeoutInSecondsString,
+            annotation::initialVisibilityTimeoutInSeconds
+        );
+        final Optional<Duration> maximumVisibilityTimeout = getDurationFromSeconds(
+            annotation::maximumVisibilityTimeoutInSecondsString,
+            annotation::maximumVisibilityTimeoutInSeconds
+        );
+        return new VisibilityBackoffMessageProcessingDecoratorProperties() {
+            @Override
+            public Duration initialVisibilityTimeout() {
+                return initialVisibilityTimeout.orElseGet(
+                    VisibilityBackoffMessageProcessingDecoratorProperties.super::initialVisibilityTimeout
+                );
+            }
+
+            @Override
+            public Duration maximumVisibilityTimeout() {
+                return maximumVisibilityTimeout.orElseGet(
+                    VisibilityBackoffMessageProcessingDecoratorProperties.super::maximumVisibilityTimeout
+                );
+            }
+        };
+    }
+
+    private Optional<Duration> getDurationFromSeconds(final Supplier<String> stringProperty, final Supplier<Integer> integerSupplier) {
+        final String stringPropertyValue = stringProperty.get();
+        if (StringUtils.hasText(stringPropertyValue)) {
+            return Optional.of(Duration.ofSeconds(Integer.parseInt(placeholderResolver.resolvePlaceholders(stringPropertyValue))));
+        }
+
+        return Optional.ofNullable(integerSupplier.get()).filter(value -> value > 0).map(Duration::ofSeconds);
+    }
+}
@@ -5,14 +5,13 @@ import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.decorator.AutoVisibilityExtenderMessageProcessingDecorator;
 import com.jashmore.sqs.decorator.AutoVisibilityExtenderMessageProcessingDecoratorProperties;
 import com.jashmore.sqs.decorator.MessageProcessingDecoratorFactory;
-import com.jashmore.sqs.decorator.MessageProcessingDecoratorFactoryException;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import com.jashmore.sqs.util.string.StringUtils;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
@@ -46,13 +45,6 @@ public class AutoVisibilityExtenderMessageProcessingDecoratorFactory
             return Optional.empty();
         }
 
-        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
-            throw new MessageProcessingDecoratorFactoryException(
-                AutoVisibilityExtenderMessageProcessingDecorator.class.getSimpleName() +
-                " cannot be built around asynchronous message listeners"
-            );
-        }
-
         return optionalAnnotation
             .map(this::buildConfigurationProperties)
             .map(properties -> new AutoVisibilityExtenderMessageProcessingDecorator(sqsAsyncClient, queueProperties, properties));
@@ -78,6 +70,11 @@ public class AutoVisibilityExtenderMessageProcessingDecoratorFactory
             public Duration bufferDuration() {
                 return bufferDuration;
             }
+
+            @Override
+            public RequiredMessageAttributes requiredMessageAttributes() {
+                return RequiredMessageAttributes.none();
+            }
         };
     }
 
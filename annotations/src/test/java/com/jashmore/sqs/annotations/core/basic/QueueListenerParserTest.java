@@ -1,7 +1,9 @@
 package com.jashmore.sqs.annotations.core.basic;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.container.batching.BatchingMessageListenerContainerProperties;
 import com.jashmore.sqs.placeholder.StaticPlaceholderResolver;
 import java.time.Duration;
@@ -38,6 +40,7 @@ class QueueListenerParserTest {
         assertThat(properties.messageVisibilityTimeout()).isNull();
         assertThat(properties.processAnyExtraRetrievedMessagesOnShutdown()).isTrue();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isFalse();
+        assertThat(properties.processMessagesOnVirtualThreads()).isFalse();
     }
 
     @Test
@@ -55,6 +58,7 @@ class QueueListenerParserTest {
         assertThat(properties.messageVisibilityTimeout()).isEqualTo(Duration.ofSeconds(16));
         assertThat(properties.processAnyExtraRetrievedMessagesOnShutdown()).isFalse();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isTrue();
+        assertThat(properties.processMessagesOnVirtualThreads()).isTrue();
     }
 
     @Test
@@ -97,6 +101,53 @@ class QueueListenerParserTest {
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isFalse();
     }
 
+    @Test
+    void concurrencyPoolIsResolvedByName() throws Exception {
+        // arrange
+        placeholderResolver.withMapping("${queue.pool}", "myPool").withMapping("${queue.guaranteedConcurrency}", "2");
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(10);
+        final QueueListenerParser parser = new QueueListenerParser(
+            placeholderResolver,
+            poolName -> poolName.equals("myPool") ? pool : null
+        );
+        final QueueListener annotation =
+            QueueListenerParserTest.class.getMethod("methodWithConcurrencyPool").getAnnotation(QueueListener.class);
+
+        // act
+        final BatchingMessageListenerContainerProperties properties = parser.parse(annotation);
+
+        // assert
+        assertThat(properties.sharedConcurrencyPool()).isSameAs(pool);
+        assertThat(properties.guaranteedConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void noConcurrencyPoolWillBeUsedWhenNotSet() throws Exception {
+        // arrange
+        final QueueListener annotation = QueueListenerParserTest.class.getMethod("method").getAnnotation(QueueListener.class);
+
+        // act
+        final BatchingMessageListenerContainerProperties properties = parser.parse(annotation);
+
+        // assert
+        assertThat(properties.sharedConcurrencyPool()).isNull();
+        assertThat(properties.guaranteedConcurrency()).isZero();
+    }
+
+    @Test
+    void concurrencyPoolWithoutResolverWillThrowException() throws Exception {
+        // arrange
+        placeholderResolver.withMapping("${queue.pool}", "myPool").withMapping("${queue.guaranteedConcurrency}", "2");
+        final QueueListener annotation =
+            QueueListenerParserTest.class.getMethod("methodWithConcurrencyPool").getAnnotation(QueueListener.class);
+
+        // act
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> parser.parse(annotation));
+
+        // assert
+        assertThat(exception).hasMessageContaining("myPool");
+    }
+
     @QueueListener("queueName")
     public void method() {}
 
@@ -107,6 +158,7 @@ class QueueListenerParserTest {
         batchingPeriodInMs = 1500,
         messageVisibilityTimeoutInSeconds = 16,
         interruptThreadsProcessingMessagesOnShutdown = true,
+        processMessagesOnVirtualThreads = true,
         processAnyExtraRetrievedMessagesOnShutdown = false
     )
     public void methodWithPrimitives() {}
@@ -128,4 +180,7 @@ class QueueListenerParserTest {
         messageVisibilityTimeoutInSecondsString = "${queue.messageVisibilityInSeconds}"
     )
     public void stringMethodWithReplacements() {}
+
+    @QueueListener(value = "queueName", concurrencyPool = "${queue.pool}", guaranteedConcurrencyString = "${queue.guaranteedConcurrency}")
+    public void methodWithConcurrencyPool() {}
 }
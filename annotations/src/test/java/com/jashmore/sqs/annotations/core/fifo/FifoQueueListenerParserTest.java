@@ -35,6 +35,7 @@ class FifoQueueListenerParserTest {
         assertThat(properties.messageVisibilityTimeout()).isNull();
         assertThat(properties.tryAndProcessAnyExtraRetrievedMessagesOnShutdown()).isFalse();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isFalse();
+        assertThat(properties.processMessagesOnVirtualThreads()).isFalse();
     }
 
     @Test
@@ -53,6 +54,7 @@ class FifoQueueListenerParserTest {
         assertThat(properties.messageVisibilityTimeout()).isEqualTo(Duration.ofSeconds(16));
         assertThat(properties.tryAndProcessAnyExtraRetrievedMessagesOnShutdown()).isTrue();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isTrue();
+        assertThat(properties.processMessagesOnVirtualThreads()).isTrue();
     }
 
     @Test
@@ -102,6 +104,7 @@ class FifoQueueListenerParserTest {
         maximumCachedMessageGroups = 10,
         messageVisibilityTimeoutInSeconds = 16,
         interruptThreadsProcessingMessagesOnShutdown = true,
+        processMessagesOnVirtualThreads = true,
         tryAndProcessAnyExtraRetrievedMessagesOnShutdown = true
     )
     public void methodWithPrimitives() {}
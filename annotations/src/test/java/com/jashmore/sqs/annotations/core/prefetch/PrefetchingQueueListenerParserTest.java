@@ -1,7 +1,9 @@
 package com.jashmore.sqs.annotations.core.prefetch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.container.prefetching.PrefetchingMessageListenerContainerProperties;
 import com.jashmore.sqs.placeholder.StaticPlaceholderResolver;
 import java.time.Duration;
@@ -38,9 +40,11 @@ class PrefetchingQueueListenerParserTest {
         assertThat(properties.concurrencyLevel()).isEqualTo(5);
         assertThat(properties.desiredMinPrefetchedMessages()).isEqualTo(1);
         assertThat(properties.maxPrefetchedMessages()).isEqualTo(10);
+        assertThat(properties.maxConcurrentReceiveRequests()).isEqualTo(1);
         assertThat(properties.messageVisibilityTimeout()).isNull();
         assertThat(properties.processAnyExtraRetrievedMessagesOnShutdown()).isTrue();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isFalse();
+        assertThat(properties.processMessagesOnVirtualThreads()).isFalse();
     }
 
     @Test
@@ -56,9 +60,11 @@ class PrefetchingQueueListenerParserTest {
         assertThat(properties.concurrencyLevel()).isEqualTo(7);
         assertThat(properties.desiredMinPrefetchedMessages()).isEqualTo(8);
         assertThat(properties.maxPrefetchedMessages()).isEqualTo(15);
+        assertThat(properties.maxConcurrentReceiveRequests()).isEqualTo(3);
         assertThat(properties.messageVisibilityTimeout()).isEqualTo(Duration.ofSeconds(16));
         assertThat(properties.processAnyExtraRetrievedMessagesOnShutdown()).isFalse();
         assertThat(properties.interruptThreadsProcessingMessagesOnShutdown()).isTrue();
+        assertThat(properties.processMessagesOnVirtualThreads()).isTrue();
     }
 
     @Test
@@ -74,6 +80,7 @@ class PrefetchingQueueListenerParserTest {
         assertThat(properties.concurrencyLevel()).isEqualTo(10);
         assertThat(properties.desiredMinPrefetchedMessages()).isEqualTo(6);
         assertThat(properties.maxPrefetchedMessages()).isEqualTo(12);
+        assertThat(properties.maxConcurrentReceiveRequests()).isEqualTo(4);
         assertThat(properties.messageVisibilityTimeout()).isEqualTo(Duration.ofSeconds(15));
     }
 
@@ -84,6 +91,7 @@ class PrefetchingQueueListenerParserTest {
             .withMapping("${queue.concurrencyLevel}", "2")
             .withMapping("${queue.desiredMinPrefetchedMessages}", "3")
             .withMapping("${queue.maxPrefetchedMessages}", "15")
+            .withMapping("${queue.maxConcurrentReceiveRequests}", "2")
             .withMapping("${queue.messageVisibilityInSeconds}", "5");
         final PrefetchingQueueListener annotation =
             PrefetchingQueueListenerParserTest.class.getMethod("stringMethodWithReplacements")
@@ -96,9 +104,75 @@ class PrefetchingQueueListenerParserTest {
         assertThat(properties.concurrencyLevel()).isEqualTo(2);
         assertThat(properties.desiredMinPrefetchedMessages()).isEqualTo(3);
         assertThat(properties.maxPrefetchedMessages()).isEqualTo(15);
+        assertThat(properties.maxConcurrentReceiveRequests()).isEqualTo(2);
         assertThat(properties.messageVisibilityTimeout()).isEqualTo(Duration.ofSeconds(5));
     }
 
+    @Test
+    void concurrencyPoolIsResolvedByName() throws Exception {
+        // arrange
+        placeholderResolver.withMapping("${queue.pool}", "myPool").withMapping("${queue.guaranteedConcurrency}", "2");
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(10);
+        final PrefetchingQueueListenerParser parser = new PrefetchingQueueListenerParser(
+            placeholderResolver,
+            poolName -> poolName.equals("myPool") ? pool : null
+        );
+        final PrefetchingQueueListener annotation =
+            PrefetchingQueueListenerParserTest.class.getMethod("methodWithConcurrencyPool").getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageListenerContainerProperties properties = parser.parse(annotation);
+
+        // assert
+        assertThat(properties.sharedConcurrencyPool()).isSameAs(pool);
+        assertThat(properties.guaranteedConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void guaranteedConcurrencyCanBeSetAsPrimitive() throws Exception {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(10);
+        final PrefetchingQueueListenerParser parser = new PrefetchingQueueListenerParser(placeholderResolver, poolName -> pool);
+        final PrefetchingQueueListener annotation =
+            PrefetchingQueueListenerParserTest.class.getMethod("methodWithPrimitiveGuaranteedConcurrency")
+                .getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageListenerContainerProperties properties = parser.parse(annotation);
+
+        // assert
+        assertThat(properties.sharedConcurrencyPool()).isSameAs(pool);
+        assertThat(properties.guaranteedConcurrency()).isEqualTo(3);
+    }
+
+    @Test
+    void noConcurrencyPoolWillBeUsedWhenNotSet() throws Exception {
+        // arrange
+        final PrefetchingQueueListener annotation =
+            PrefetchingQueueListenerParserTest.class.getMethod("method").getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final PrefetchingMessageListenerContainerProperties properties = parser.parse(annotation);
+
+        // assert
+        assertThat(properties.sharedConcurrencyPool()).isNull();
+        assertThat(properties.guaranteedConcurrency()).isZero();
+    }
+
+    @Test
+    void concurrencyPoolWithoutResolverWillThrowException() throws Exception {
+        // arrange
+        placeholderResolver.withMapping("${queue.pool}", "myPool").withMapping("${queue.guaranteedConcurrency}", "2");
+        final PrefetchingQueueListener annotation =
+            PrefetchingQueueListenerParserTest.class.getMethod("methodWithConcurrencyPool").getAnnotation(PrefetchingQueueListener.class);
+
+        // act
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, () -> parser.parse(annotation));
+
+        // assert
+        assertThat(exception).hasMessageContaining("myPool");
+    }
+
     @PrefetchingQueueListener("queueName")
     public void method() {}
 
@@ -107,8 +181,10 @@ class PrefetchingQueueListenerParserTest {
         concurrencyLevel = 7,
         desiredMinPrefetchedMessages = 8,
         maxPrefetchedMessages = 15,
+        maxConcurrentReceiveRequests = 3,
         messageVisibilityTimeoutInSeconds = 16,
         interruptThreadsProcessingMessagesOnShutdown = true,
+        processMessagesOnVirtualThreads = true,
         processAnyExtraRetrievedMessagesOnShutdown = false
     )
     public void methodWithPrimitives() {}
@@ -118,6 +194,7 @@ class PrefetchingQueueListenerParserTest {
         concurrencyLevelString = "10",
         desiredMinPrefetchedMessagesString = "6",
         maxPrefetchedMessagesString = "12",
+        maxConcurrentReceiveRequestsString = "4",
         messageVisibilityTimeoutInSecondsString = "15"
     )
     public void stringMethod() {}
@@ -127,7 +204,18 @@ class PrefetchingQueueListenerParserTest {
         concurrencyLevelString = "${queue.concurrencyLevel}",
         desiredMinPrefetchedMessagesString = "${queue.desiredMinPrefetchedMessages}",
         maxPrefetchedMessagesString = "${queue.maxPrefetchedMessages}",
+        maxConcurrentReceiveRequestsString = "${queue.maxConcurrentReceiveRequests}",
         messageVisibilityTimeoutInSecondsString = "${queue.messageVisibilityInSeconds}"
     )
     public void stringMethodWithReplacements() {}
+
+    @PrefetchingQueueListener(
+        value = "queueName",
+        concurrencyPool = "${queue.pool}",
+        guaranteedConcurrencyString = "${queue.guaranteedConcurrency}"
+    )
+    public void methodWithConcurrencyPool() {}
+
+    @PrefetchingQueueListener(value = "queueName", concurrencyPool = "pool", guaranteedConcurrency = 3)
+    public void methodWithPrimitiveGuaranteedConcurrency() {}
 }
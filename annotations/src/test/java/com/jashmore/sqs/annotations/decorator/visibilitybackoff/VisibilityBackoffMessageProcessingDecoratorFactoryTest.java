@@ -0,0 +1,133 @@
+package com.jashmore.sqs.annotations.decorator.visibilitybackoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.decorator.VisibilityBackoffMessageProcessingDecorator;
+import com.jashmore.sqs.decorator.VisibilityBackoffMessageProcessingDecoratorProperties;
+import com.jashmore.sqs.placeholder.PlaceholderResolver;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@ExtendWith(MockitoExtension.class)
+class VisibilityBackoffMessageProcessingDecoratorFactoryTest {
+
+    @Mock
+    SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    PlaceholderResolver placeholderResolver;
+
+    final QueueProperties queueProperties = QueueProperties.builder().queueUrl("url").build();
+
+    VisibilityBackoffMessageProcessingDecoratorFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new VisibilityBackoffMessageProcessingDecoratorFactory(placeholderResolver);
+    }
+
+    @Test
+    void willBuildDecoratorWhenAnnotationPresent() throws Exception {
+        // arrange
+        final Method method = VisibilityBackoffMessageProcessingDecoratorFactoryTest.class.getMethod("methodWithAnnotation");
+
+        // act
+        final Optional<VisibilityBackoffMessageProcessingDecorator> optionalDecorator = factory.buildDecorator(
+            sqsAsyncClient,
+            queueProperties,
+            "id",
+            this,
+            method
+        );
+
+        // assert
+        assertThat(optionalDecorator).isPresent();
+    }
+
+    @Test
+    void willNotBuildDecoratorWhenAnnotationNotPresent() throws Exception {
+        // arrange
+        final Method method = VisibilityBackoffMessageProcessingDecoratorFactoryTest.class.getMethod("methodWithNoAnnotation");
+
+        // act
+        final Optional<VisibilityBackoffMessageProcessingDecorator> optionalDecorator = factory.buildDecorator(
+            sqsAsyncClient,
+            queueProperties,
+            "id",
+            this,
+            method
+        );
+
+        // assert
+        assertThat(optionalDecorator).isEmpty();
+    }
+
+    @Test
+    void annotationWithoutValuesWillUseTheDefaultProperties() throws Exception {
+        // arrange
+        final VisibilityBackoff annotation = VisibilityBackoffMessageProcessingDecoratorFactoryTest.class
+            .getMethod("methodWithAnnotation")
+            .getAnnotation(VisibilityBackoff.class);
+        final VisibilityBackoffMessageProcessingDecoratorProperties defaultProperties =
+            new VisibilityBackoffMessageProcessingDecoratorProperties() {};
+
+        // act
+        final VisibilityBackoffMessageProcessingDecoratorProperties properties = factory.buildConfigurationProperties(annotation);
+
+        // assert
+        assertThat(properties.initialVisibilityTimeout()).isEqualTo(defaultProperties.initialVisibilityTimeout());
+        assertThat(properties.maximumVisibilityTimeout()).isEqualTo(defaultProperties.maximumVisibilityTimeout());
+    }
+
+    @Test
+    void shouldBeAbleToBuildPropertiesFromIntegers() throws Exception {
+        // arrange
+        final VisibilityBackoff annotation = VisibilityBackoffMessageProcessingDecoratorFactoryTest.class
+            .getMethod("methodWithIntegerValues")
+            .getAnnotation(VisibilityBackoff.class);
+
+        // act
+        final VisibilityBackoffMessageProcessingDecoratorProperties properties = factory.buildConfigurationProperties(annotation);
+
+        // assert
+        assertThat(properties.initialVisibilityTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.maximumVisibilityTimeout()).isEqualTo(Duration.ofSeconds(300));
+    }
+
+    @Test
+    void shouldBeAbleToBuildPropertiesFromStrings() throws Exception {
+        // arrange
+        when(placeholderResolver.resolvePlaceholders(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        final VisibilityBackoff annotation = VisibilityBackoffMessageProcessingDecoratorFactoryTest.class
+            .getMethod("methodWithStringValues")
+            .getAnnotation(VisibilityBackoff.class);
+
+        // act
+        final VisibilityBackoffMessageProcessingDecoratorProperties properties = factory.buildConfigurationProperties(annotation);
+
+        // assert
+        assertThat(properties.initialVisibilityTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(properties.maximumVisibilityTimeout()).isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @VisibilityBackoff
+    public void methodWithAnnotation() {}
+
+    @VisibilityBackoff(initialVisibilityTimeoutInSeconds = 5, maximumVisibilityTimeoutInSeconds = 300)
+    public void methodWithIntegerValues() {}
+
+    @VisibilityBackoff(initialVisibilityTimeoutInSecondsString = "10", maximumVisibilityTimeoutInSecondsString = "20")
+    public void methodWithStringValues() {}
+
+    public void methodWithNoAnnotation() {}
+}
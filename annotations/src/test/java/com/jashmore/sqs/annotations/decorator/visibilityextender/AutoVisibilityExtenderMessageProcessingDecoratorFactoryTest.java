@@ -8,7 +8,6 @@ import static org.mockito.Mockito.when;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.decorator.AutoVisibilityExtenderMessageProcessingDecorator;
 import com.jashmore.sqs.decorator.AutoVisibilityExtenderMessageProcessingDecoratorProperties;
-import com.jashmore.sqs.decorator.MessageProcessingDecoratorFactoryException;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
 import com.jashmore.sqs.processor.DecoratingMessageProcessor;
 import com.jashmore.sqs.processor.LambdaMessageProcessor;
@@ -89,19 +88,21 @@ class AutoVisibilityExtenderMessageProcessingDecoratorFactoryTest {
     }
 
     @Test
-    void willThrowExceptionAttemptingToWrapAsyncMethod() throws Exception {
+    void willBuildDecoratorForAsyncMethod() throws Exception {
         // arrange
         final Method method = AutoVisibilityExtenderMessageProcessingDecoratorFactoryTest.class.getMethod("asyncMethodWithAnnotation");
 
         // act
-        final MessageProcessingDecoratorFactoryException exception = Assertions.assertThrows(
-            MessageProcessingDecoratorFactoryException.class,
-            () -> factory.buildDecorator(sqsAsyncClient, queueProperties, "id", this, method)
+        final Optional<AutoVisibilityExtenderMessageProcessingDecorator> optionalDecorator = factory.buildDecorator(
+            sqsAsyncClient,
+            queueProperties,
+            "id",
+            this,
+            method
         );
 
         // assert
-        assertThat(exception)
-            .hasMessage("AutoVisibilityExtenderMessageProcessingDecorator cannot be built around asynchronous message listeners");
+        assertThat(optionalDecorator).isPresent();
     }
 
     @Test
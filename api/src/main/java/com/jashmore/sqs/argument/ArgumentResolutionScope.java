@@ -0,0 +1,41 @@
+package com.jashmore.sqs.argument;
+
+import com.jashmore.documentation.annotations.NotThreadSafe;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Values that are shared between the {@link BoundArgumentResolver}s while the arguments for a single message are being resolved.
+ *
+ * <p>For example, when multiple parameters read from the same parse of the message body the first resolver can store the parsed body in the scope so
+ * that the other resolvers for that message do not need to parse it again.
+ *
+ * <p>A new scope is created for each message and it is only used by the thread resolving the arguments for that message.
+ */
+@NotThreadSafe
+public class ArgumentResolutionScope {
+
+    private Map<Object, Object> values;
+
+    /**
+     * Get the value stored for the key in this scope, computing and storing it if it has not been stored yet.
+     *
+     * @param key           the key of the value, which should be unique to the resolver that stores it
+     * @param valueSupplier the supplier for the value if it has not been stored yet
+     * @param <T>           the type of the value
+     * @return the value for this key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(final Object key, final Supplier<T> valueSupplier) {
+        if (values == null) {
+            values = new HashMap<>();
+        } else if (values.containsKey(key)) {
+            return (T) values.get(key);
+        }
+
+        final T value = valueSupplier.get();
+        values.put(key, value);
+        return value;
+    }
+}
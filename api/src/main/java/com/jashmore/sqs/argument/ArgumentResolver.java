@@ -2,6 +2,7 @@ package com.jashmore.sqs.argument;
 
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
@@ -33,4 +34,17 @@ public interface ArgumentResolver<T> {
      */
     T resolveArgumentForParameter(QueueProperties queueProperties, MethodParameter methodParameter, Message message)
         throws ArgumentResolutionException;
+
+    /**
+     * Determine the attributes of the message that are needed to resolve the argument for the given {@link MethodParameter}.
+     *
+     * <p>This is used to only request the attributes that are needed when receiving messages. By default, all attributes are required as it is
+     * not known which attributes are used by this resolver.
+     *
+     * @param methodParameter details about a parameter for the method
+     * @return the attributes of the message that are needed to resolve the argument
+     */
+    default RequiredMessageAttributes getRequiredMessageAttributes(MethodParameter methodParameter) {
+        return RequiredMessageAttributes.all();
+    }
 }
@@ -0,0 +1,34 @@
+package com.jashmore.sqs.argument;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.QueueProperties;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * {@link ArgumentResolver} that is able to inspect the parameter once, when the message listener is being built, instead of for every message
+ * that is processed.
+ *
+ * <p>For example, an implementation can find the annotation on the parameter and build any converters needed for the type of the parameter when it
+ * is bound, so that resolving the argument for each message only needs to read the value from the message.
+ *
+ * @param <T> the type of object that is returned when an argument is resolved
+ */
+@ThreadSafe
+public interface BindableArgumentResolver<T> extends ArgumentResolver<T> {
+    /**
+     * Bind this resolver to the given {@link MethodParameter}, returning the resolver that can be used to resolve the argument for each message.
+     *
+     * @param queueProperties details about the queue that the arguments will be resolved for
+     * @param methodParameter details about a parameter for the method
+     * @return the resolver for the argument of this parameter
+     * @throws ArgumentResolutionException when the parameter is not able to be resolved by this resolver
+     */
+    BoundArgumentResolver<T> bindToParameter(QueueProperties queueProperties, MethodParameter methodParameter)
+        throws ArgumentResolutionException;
+
+    @Override
+    default T resolveArgumentForParameter(final QueueProperties queueProperties, final MethodParameter methodParameter, final Message message)
+        throws ArgumentResolutionException {
+        return bindToParameter(queueProperties, methodParameter).resolveArgument(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jashmore.sqs.argument;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Resolves the argument for a single parameter of a message listener, where all of the information about the parameter, e.g. its annotations and
+ * type, has already been determined.
+ *
+ * <p>As there could be multiple messages all being processed at once, the implementations of this class must be thread safe.
+ *
+ * @param <T> the type of object that is returned when an argument is resolved
+ * @see BindableArgumentResolver
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface BoundArgumentResolver<T> {
+    /**
+     * Resolve the argument for the parameter that this resolver was bound to.
+     *
+     * @param message the message being processed
+     * @return the value of the argument
+     * @throws ArgumentResolutionException when there was an error determine the parameter argument value
+     */
+    T resolveArgument(Message message) throws ArgumentResolutionException;
+
+    /**
+     * Resolve the argument for the parameter that this resolver was bound to, where the scope is shared with the resolvers for the other parameters
+     * of the method while this message is being resolved.
+     *
+     * <p>Implementations that can share work between the parameters of a method, e.g. a single parse of the message body, can override this method to
+     * store that work in the scope. By default the scope is ignored.
+     *
+     * @param message the message being processed
+     * @param scope   the values shared between the resolvers for this message
+     * @return the value of the argument
+     * @throws ArgumentResolutionException when there was an error determine the parameter argument value
+     */
+    default T resolveArgument(final Message message, final ArgumentResolutionScope scope) throws ArgumentResolutionException {
+        return resolveArgument(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.jashmore.sqs.argument;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.function.Supplier;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utility methods for {@link ArgumentResolver}s that support lazily resolved parameters.
+ *
+ * <p>A parameter with the type {@link Supplier}, e.g. {@code @Payload Supplier<Order> order}, will be provided a {@link Supplier} that only resolves
+ * the argument when it is first called, and returns that same value for any later calls. This allows for message listeners that return early, for
+ * example after checking a message attribute, to not pay for the deserialization of the message.
+ */
+@UtilityClass
+public class LazyArguments {
+
+    /**
+     * Determine whether the argument for this parameter should be lazily resolved.
+     *
+     * @param methodParameter the parameter of the method
+     * @return whether the parameter is a {@link Supplier}
+     */
+    public boolean isLazyParameter(final MethodParameter methodParameter) {
+        return methodParameter.getParameter().getType() == Supplier.class;
+    }
+
+    /**
+     * The type of the argument that should be resolved for this parameter, which is the type argument of the {@link Supplier} for lazy parameters.
+     *
+     * @param methodParameter the parameter of the method
+     * @return the type, including any generic type arguments, of the argument to resolve
+     */
+    public Type getArgumentType(final MethodParameter methodParameter) {
+        final Type parameterType = methodParameter.getParameter().getParameterizedType();
+        if (!isLazyParameter(methodParameter)) {
+            return parameterType;
+        }
+
+        if (!(parameterType instanceof ParameterizedType)) {
+            return Object.class;
+        }
+
+        final Type typeArgument = ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+        if (typeArgument instanceof WildcardType) {
+            return ((WildcardType) typeArgument).getUpperBounds()[0];
+        }
+        return typeArgument;
+    }
+
+    /**
+     * The class of the argument that should be resolved for this parameter, which is the type argument of the {@link Supplier} for lazy parameters.
+     *
+     * @param methodParameter the parameter of the method
+     * @return the class of the argument to resolve
+     */
+    public Class<?> getArgumentClass(final MethodParameter methodParameter) {
+        final Type argumentType = getArgumentType(methodParameter);
+        if (argumentType instanceof Class) {
+            return (Class<?>) argumentType;
+        }
+
+        if (argumentType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) argumentType).getRawType();
+        }
+
+        return Object.class;
+    }
+
+    /**
+     * Wrap the resolver so that it returns a {@link Supplier} that only resolves the argument when it is first called.
+     *
+     * @param boundArgumentResolver the resolver for the argument
+     * @return the resolver for the lazy argument
+     */
+    public BoundArgumentResolver<Object> lazily(final BoundArgumentResolver<?> boundArgumentResolver) {
+        return message -> memoize(() -> boundArgumentResolver.resolveArgument(message));
+    }
+
+    /**
+     * Build a {@link Supplier} that will only call the delegate the first time that it is called, returning the same value for any later calls.
+     *
+     * <p>If the delegate throws an exception, e.g. an {@link ArgumentResolutionException}, it is rethrown and the delegate will be called again on
+     * the next call.
+     *
+     * @param delegate the supplier that resolves the argument
+     * @param <T>      the type of the argument
+     * @return the memoized supplier
+     */
+    public <T> Supplier<T> memoize(final Supplier<T> delegate) {
+        return new MemoizingSupplier<>(delegate);
+    }
+
+    @ThreadSafe
+    private static class MemoizingSupplier<T> implements Supplier<T> {
+
+        @GuardedBy("this")
+        private Supplier<T> delegate;
+
+        @GuardedBy("this")
+        private T value;
+
+        MemoizingSupplier(final Supplier<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized T get() {
+            if (delegate != null) {
+                value = delegate.get();
+                // the delegate is released so that the message it references can be garbage collected
+                delegate = null;
+            }
+            return value;
+        }
+    }
+}
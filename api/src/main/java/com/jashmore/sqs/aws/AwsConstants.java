@@ -23,4 +23,9 @@ public final class AwsConstants {
      * for an example batching endpoint
      */
     public static final int MAX_NUMBER_OF_MESSAGES_IN_BATCH = 10;
+
+    /**
+     * This is the limit imposed by SQS for the maximum visibility timeout of a message, which is 12 hours.
+     */
+    public static final int MAX_VISIBILITY_TIMEOUT_IN_SECONDS = 43_200;
 }
@@ -0,0 +1,64 @@
+package com.jashmore.sqs.decorator;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Typed key for an attribute that is stored in the {@link MessageProcessingContext}, for example to share the start time of the message processing
+ * between {@link MessageProcessingDecorator} methods.
+ *
+ * <p>Each attribute is assigned its own slot in the context when it is created, which allows for the value to be obtained without any hashing of a
+ * key. Therefore, an attribute should be created once, e.g. as a constant in the decorator, instead of for each message.
+ *
+ * @param <T> the type of the value for this attribute
+ */
+@ThreadSafe
+public final class MessageProcessingAttribute<T> {
+
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    private final String name;
+    private final int slot;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the attribute, used for debugging
+     */
+    public MessageProcessingAttribute(final String name) {
+        this.name = name;
+        this.slot = NEXT_SLOT.getAndIncrement();
+    }
+
+    /**
+     * The name of the attribute.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The slot in the {@link MessageProcessingContext} that this attribute is stored in.
+     *
+     * @return the slot of the attribute
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * The number of attributes that have been created, which is used to size the slots in the {@link MessageProcessingContext}.
+     *
+     * @return the number of attributes
+     */
+    static int numberOfAttributes() {
+        return NEXT_SLOT.get();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -2,13 +2,16 @@ package com.jashmore.sqs.decorator;
 
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.sqs.QueueProperties;
+import java.util.HashMap;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 @Value
-@Builder
 public class MessageProcessingContext {
 
     /**
@@ -16,13 +19,11 @@ public class MessageProcessingContext {
      *
      * <p>For example: my-message-consumer or any other custom identifier.
      */
-    @NonNull
     String listenerIdentifier;
 
     /**
      * The details about the queue that this message processor is running against.
      */
-    @NonNull
     QueueProperties queueProperties;
 
     /**
@@ -30,9 +31,55 @@ public class MessageProcessingContext {
      *
      * <p>For example, you may want to store the start time for when the message has begun to be processing
      * for usage by a later decorator method to determine the time to process the message.
+     *
+     * <p>This is only created when it is first used so that a map is not allocated for each message if no decorator uses string keyed attributes.
+     */
+    @Nullable
+    @NonFinal
+    volatile Map<String, Object> attributes;
+
+    /**
+     * The values for each {@link MessageProcessingAttribute}, indexed by the slot of the attribute.
+     *
+     * <p>This is only created when the first typed attribute is set and will grow if an attribute is set that was created after it was sized.
      */
-    @NonNull
-    Map<String, Object> attributes;
+    @Nullable
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    volatile Object[] typedAttributes;
+
+    @Builder
+    private MessageProcessingContext(
+        @NonNull final String listenerIdentifier,
+        @NonNull final QueueProperties queueProperties,
+        @Nullable final Map<String, Object> attributes
+    ) {
+        this.listenerIdentifier = listenerIdentifier;
+        this.queueProperties = queueProperties;
+        this.attributes = attributes;
+    }
+
+    /**
+     * The string keyed processing attributes that you can use to share objects through each stage of the processing.
+     *
+     * <p>Prefer using a {@link MessageProcessingAttribute} with {@link #getAttribute(MessageProcessingAttribute)} and
+     * {@link #setAttribute(MessageProcessingAttribute, Object)} as it does not require hashing a key for each access.
+     *
+     * @return the mutable map of attributes
+     */
+    public Map<String, Object> getAttributes() {
+        Map<String, Object> currentAttributes = attributes;
+        if (currentAttributes == null) {
+            synchronized (this) {
+                currentAttributes = attributes;
+                if (currentAttributes == null) {
+                    currentAttributes = new HashMap<>();
+                    attributes = currentAttributes;
+                }
+            }
+        }
+        return currentAttributes;
+    }
 
     /**
      * Helper method to get an attribute with the given key.
@@ -44,18 +91,67 @@ public class MessageProcessingContext {
     @Nullable
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(final String key) {
-        return (T) attributes.get(key);
+        final Map<String, Object> currentAttributes = attributes;
+        if (currentAttributes == null) {
+            return null;
+        }
+        return (T) currentAttributes.get(key);
     }
 
     /**
      * Helper method to set an attribute with the given key.
-     *MessageProcessingDecorat
+     *
      * @param key   the key of the attribute
      * @param value the value to set for the attribute
      * @return this object for further chaining if necessary
      */
     public MessageProcessingContext setAttribute(final String key, @Nullable final Object value) {
-        attributes.put(key, value);
+        getAttributes().put(key, value);
+        return this;
+    }
+
+    /**
+     * Get the value of the typed attribute.
+     *
+     * @param attribute the attribute to obtain
+     * @return the value of the attribute or null if it has not been set
+     * @param <T> the type of the attribute
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(final MessageProcessingAttribute<T> attribute) {
+        final Object[] currentTypedAttributes = typedAttributes;
+        final int slot = attribute.getSlot();
+        if (currentTypedAttributes == null || slot >= currentTypedAttributes.length) {
+            return null;
+        }
+        return (T) currentTypedAttributes[slot];
+    }
+
+    /**
+     * Set the value of the typed attribute.
+     *
+     * @param attribute the attribute to set
+     * @param value     the value to set for the attribute
+     * @return this object for further chaining if necessary
+     * @param <T> the type of the attribute
+     */
+    public <T> MessageProcessingContext setAttribute(final MessageProcessingAttribute<T> attribute, @Nullable final T value) {
+        final int slot = attribute.getSlot();
+        // the slots are set while locked so that a value is not lost if another thread grows the slots at the same time
+        synchronized (this) {
+            Object[] currentTypedAttributes = typedAttributes;
+            if (currentTypedAttributes == null || slot >= currentTypedAttributes.length) {
+                // sized for every attribute created so far so that it only needs to grow if an attribute is created later
+                final Object[] newTypedAttributes = new Object[Math.max(slot + 1, MessageProcessingAttribute.numberOfAttributes())];
+                if (currentTypedAttributes != null) {
+                    System.arraycopy(currentTypedAttributes, 0, newTypedAttributes, 0, currentTypedAttributes.length);
+                }
+                currentTypedAttributes = newTypedAttributes;
+            }
+            currentTypedAttributes[slot] = value;
+            typedAttributes = currentTypedAttributes;
+        }
         return this;
     }
 }
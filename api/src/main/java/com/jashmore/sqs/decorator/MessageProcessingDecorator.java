@@ -4,6 +4,7 @@ import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.processor.argument.Acknowledge;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.services.sqs.model.Message;
 
@@ -26,6 +27,28 @@ public interface MessageProcessingDecorator {
      */
     default void onPreMessageProcessing(MessageProcessingContext context, Message message) {}
 
+    /**
+     * Method called with the {@link CompletableFuture} that represents the processing of the message, once the message listener has returned.
+     *
+     * <p>If the message listener is <b>synchronous</b> (it does not return a {@link CompletableFuture}), this future will have already been completed
+     * when this method is invoked.
+     *
+     * <p>If the method is <b>asynchronous</b> (it returns a {@link CompletableFuture}), this future will be completed when the processing of the message
+     * is completed. Cancelling this future will stop the message from being resolved and will result in
+     * {@link #onMessageProcessingFailure(MessageProcessingContext, Message, Throwable)} being invoked. Depending on the {@link MessageProcessor}, the
+     * cancellation may also be passed on to the {@link CompletableFuture} returned by the message listener.
+     *
+     * <p>This method is guaranteed to be run on the same thread that the message listener was running on and before
+     * {@link #onMessageProcessingThreadComplete(MessageProcessingContext, Message)}.
+     *
+     * <p>If any of these decorators fail to perform this method, subsequent calls to the other decorators will still be performed.
+     *
+     * @param context          details about the message processing functionality, e.g. identifier for this message processor
+     * @param message          the message being processed
+     * @param processingFuture the future that will be completed when the message has been processed
+     */
+    default void onMessageProcessingFuture(MessageProcessingContext context, Message message, CompletableFuture<?> processingFuture) {}
+
     /**
      * Method called when the processing of the message has failed.
      *
@@ -147,4 +170,16 @@ public interface MessageProcessingDecorator {
      * @param throwable the exception that was thrown while resolving the message
      */
     default void onMessageResolvedFailure(MessageProcessingContext context, Message message, Throwable throwable) {}
+
+    /**
+     * The attributes of the message that are needed by this decorator, for example a tracing header.
+     *
+     * <p>This is used to only request the attributes that are needed when receiving messages. By default, all attributes are required as it is
+     * not known which attributes are used by this decorator.
+     *
+     * @return the attributes of the message that are needed by this decorator
+     */
+    default RequiredMessageAttributes getRequiredMessageAttributes() {
+        return RequiredMessageAttributes.all();
+    }
 }
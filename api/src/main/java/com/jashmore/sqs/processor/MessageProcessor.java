@@ -6,6 +6,7 @@ import com.jashmore.sqs.broker.MessageBroker;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
 import com.jashmore.sqs.resolver.MessageResolver;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -62,4 +63,16 @@ public interface MessageProcessor {
      *      the {@link CompletableFuture} when processing asynchronously
      */
     CompletableFuture<?> processMessage(Message message, Supplier<CompletableFuture<?>> resolveMessageCallback);
+
+    /**
+     * The attributes of the message that are needed to process it.
+     *
+     * <p>This can be used by the {@link com.jashmore.sqs.retriever.MessageRetriever} to only request the attributes that are needed when receiving
+     * messages. By default, all attributes are required as it is not known which attributes are used when processing the message.
+     *
+     * @return the attributes of the message that are needed to process it
+     */
+    default RequiredMessageAttributes getRequiredMessageAttributes() {
+        return RequiredMessageAttributes.all();
+    }
 }
@@ -20,6 +20,20 @@ public interface MessageResolver {
      */
     CompletableFuture<?> resolveMessage(Message message);
 
+    /**
+     * Resolve the message by deleting it from the SQS queue, providing the time that the message was received.
+     *
+     * <p>Resolvers that retry the deletion of a message can use the received time to stop retrying once the message's visibility timeout has
+     * expired, as its receipt handle will no longer be valid. By default the received time is ignored.
+     *
+     * @param message          the message to resolve
+     * @param receivedNanoTime the value of {@link System#nanoTime()} when the message was received
+     * @return a {@link CompletableFuture} that will be completed when the message has been successfully deleted
+     */
+    default CompletableFuture<?> resolveMessage(final Message message, final long receivedNanoTime) {
+        return resolveMessage(message);
+    }
+
     /**
      * Run the process that will actually perform the resolving of messages, this should be run on a background thread.
      *
@@ -0,0 +1,145 @@
+package com.jashmore.sqs.retriever;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+/**
+ * The attributes of a message that are needed to process it, which can be used by a {@link MessageRetriever} to only request these attributes
+ * when receiving messages.
+ *
+ * <p>Requesting less attributes reduces the size of each response from SQS as well as the time taken to parse it. When it is unknown what
+ * attributes are needed, for example when the whole {@link software.amazon.awssdk.services.sqs.model.Message} is used, {@link #all()} should be used.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RequiredMessageAttributes {
+
+    private static final RequiredMessageAttributes ALL = new RequiredMessageAttributes(
+        true,
+        Collections.emptySet(),
+        true,
+        Collections.emptySet()
+    );
+    private static final RequiredMessageAttributes NONE = new RequiredMessageAttributes(
+        false,
+        Collections.emptySet(),
+        false,
+        Collections.emptySet()
+    );
+
+    /**
+     * Whether all of the message system attributes are required.
+     */
+    boolean allMessageSystemAttributesRequired;
+
+    /**
+     * The message system attributes that are required, which is ignored if all of them are required.
+     */
+    Set<MessageSystemAttributeName> messageSystemAttributeNames;
+
+    /**
+     * Whether all of the message attributes are required.
+     */
+    boolean allMessageAttributesRequired;
+
+    /**
+     * The names of the message attributes that are required, which is ignored if all of them are required.
+     */
+    Set<String> messageAttributeNames;
+
+    /**
+     * All of the attributes of the message are required.
+     *
+     * @return the requirement for all attributes
+     */
+    public static RequiredMessageAttributes all() {
+        return ALL;
+    }
+
+    /**
+     * None of the attributes of the message are required.
+     *
+     * @return the requirement for no attributes
+     */
+    public static RequiredMessageAttributes none() {
+        return NONE;
+    }
+
+    /**
+     * Only the provided message system attributes are required.
+     *
+     * @param messageSystemAttributeNames the message system attributes that are required
+     * @return the requirement for these message system attributes
+     */
+    public static RequiredMessageAttributes messageSystemAttributes(final MessageSystemAttributeName... messageSystemAttributeNames) {
+        return new RequiredMessageAttributes(false, Set.copyOf(Arrays.asList(messageSystemAttributeNames)), false, Collections.emptySet());
+    }
+
+    /**
+     * Only the message attributes with the provided names are required.
+     *
+     * @param messageAttributeNames the names of the message attributes that are required
+     * @return the requirement for these message attributes
+     */
+    public static RequiredMessageAttributes messageAttributes(final String... messageAttributeNames) {
+        return new RequiredMessageAttributes(false, Collections.emptySet(), false, Set.copyOf(Arrays.asList(messageAttributeNames)));
+    }
+
+    /**
+     * Combine these required attributes with another so that the attributes needed by both are included.
+     *
+     * @param other the other required attributes
+     * @return the combined required attributes
+     */
+    public RequiredMessageAttributes and(final RequiredMessageAttributes other) {
+        final boolean requiresAllMessageSystemAttributes = allMessageSystemAttributesRequired || other.allMessageSystemAttributesRequired;
+        final boolean requiresAllMessageAttributes = allMessageAttributesRequired || other.allMessageAttributesRequired;
+        if (requiresAllMessageSystemAttributes && requiresAllMessageAttributes) {
+            return ALL;
+        }
+
+        return new RequiredMessageAttributes(
+            requiresAllMessageSystemAttributes,
+            requiresAllMessageSystemAttributes
+                ? Collections.emptySet()
+                : union(messageSystemAttributeNames, other.messageSystemAttributeNames),
+            requiresAllMessageAttributes,
+            requiresAllMessageAttributes ? Collections.emptySet() : union(messageAttributeNames, other.messageAttributeNames)
+        );
+    }
+
+    /**
+     * Apply these required attributes to the request for messages.
+     *
+     * @param requestBuilder the builder of the request to receive messages
+     * @return the same builder for chaining
+     */
+    public ReceiveMessageRequest.Builder applyTo(final ReceiveMessageRequest.Builder requestBuilder) {
+        if (allMessageSystemAttributesRequired) {
+            requestBuilder.messageSystemAttributeNames(MessageSystemAttributeName.ALL);
+        } else if (!messageSystemAttributeNames.isEmpty()) {
+            requestBuilder.messageSystemAttributeNames(messageSystemAttributeNames);
+        }
+
+        if (allMessageAttributesRequired) {
+            requestBuilder.messageAttributeNames(QueueAttributeName.ALL.toString());
+        } else if (!messageAttributeNames.isEmpty()) {
+            requestBuilder.messageAttributeNames(messageAttributeNames);
+        }
+
+        return requestBuilder;
+    }
+
+    private static <T> Set<T> union(final Set<T> first, final Set<T> second) {
+        return Stream.concat(first.stream(), second.stream()).collect(Collectors.toUnmodifiableSet());
+    }
+}
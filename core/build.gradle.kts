@@ -3,8 +3,15 @@ description = "Contains the core functionality for the library"
 
 val immutablesVersion: String by project
 val jacksonVersion: String by project
+val jmhVersion: String by project
 val slf4jVersion: String by project
 
+// Benchmarks for the performance critical parts of the library, which can be run via the jmh task
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 dependencies {
     // External dependencies
     implementation("org.slf4j:slf4j-api:$slf4jVersion")
@@ -21,4 +28,25 @@ dependencies {
     testImplementation(project(":proxy-method-interceptor"))
     testImplementation(project(":expected-test-exception"))
     testCompileOnly(project(":documentation-annotations"))
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
+tasks.named<JavaCompile>("compileJmhJava") {
+    // the code generated by JMH does not compile without warnings
+    options.compilerArgs.remove("-Werror")
+}
+
+tasks.named("spotbugsJmh") {
+    enabled = false
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks, e.g. ./gradlew :java-dynamic-sqs-listener-core:jmh --args='MessageListenerInvocationBenchmark'"
+    group = "benchmark"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
 }
@@ -0,0 +1,59 @@
+package com.jashmore.sqs.processor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Compares invoking a message listener method reflectively, which is how the {@link CoreMessageProcessor} used to invoke the method, against the
+ * {@link MessageListenerMethodInvoker} that it now uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageListenerInvocationBenchmark {
+
+    private Listener listener;
+    private Method method;
+    private MessageListenerMethodInvoker methodInvoker;
+    private Object[] arguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        listener = new Listener();
+        method = Listener.class.getMethod("onMessage", Message.class, String.class, int.class);
+        methodInvoker = MessageListenerMethodInvoker.bind(method, listener);
+        arguments = new Object[] { Message.builder().messageId("id").body("body").build(), "payload", 5 };
+    }
+
+    @Benchmark
+    public Object reflectiveInvocation() throws IllegalAccessException, InvocationTargetException {
+        return method.invoke(listener, arguments);
+    }
+
+    @Benchmark
+    public Object methodInvokerInvocation() throws Throwable {
+        return methodInvoker.invoke(arguments);
+    }
+
+    public static class Listener {
+
+        public int onMessage(final Message message, final String payload, final int count) {
+            return message.messageId().length() + payload.length() + count;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.jashmore.sqs.argument.message.MessageArgumentResolver;
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
+import com.jashmore.sqs.argument.payload.path.PayloadPathArgumentResolver;
 import java.util.List;
 import lombok.experimental.Delegate;
 
@@ -26,6 +27,7 @@ public class CoreArgumentResolverService implements ArgumentResolverService {
     public CoreArgumentResolverService(final PayloadMapper payloadMapper, final ObjectMapper objectMapper) {
         final List<ArgumentResolver<?>> argumentResolvers = immutableListOf(
             new PayloadArgumentResolver(payloadMapper),
+            new PayloadPathArgumentResolver(objectMapper),
             new MessageIdArgumentResolver(),
             new MessageAttributeArgumentResolver(objectMapper),
             new MessageSystemAttributeArgumentResolver(),
@@ -1,15 +1,18 @@
 package com.jashmore.sqs.argument.attribute;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
+import com.jashmore.sqs.argument.LazyArguments;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
-import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 /**
@@ -24,10 +27,13 @@ import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
  * <p>This current implementation uses the Jackson {@link ObjectMapper} to perform all of the parsing and there is the potential for a future version of this
  * library to split this out so that Jackson isn't a required dependency.
  *
+ * <p>A {@link java.util.function.Supplier} parameter, e.g. {@code @MessageAttribute("key") Supplier<MyPojo> pojo}, will only parse the message attribute
+ * when it is first called, which includes checking whether a required message attribute is present.
+ *
  * @see <a href="https://docs.aws.amazon.com/AWSSimpleQueueService/latest/SQSDeveloperGuide/sqs-message-attributes.html">SQS Message Attributes</a>
  * @see MessageAttributeValue
  */
-public class MessageAttributeArgumentResolver implements ArgumentResolver<Object> {
+public class MessageAttributeArgumentResolver implements BindableArgumentResolver<Object> {
 
     private final ObjectMapper objectMapper;
 
@@ -41,11 +47,8 @@ public class MessageAttributeArgumentResolver implements ArgumentResolver<Object
     }
 
     @Override
-    public Object resolveArgumentForParameter(
-        final QueueProperties queueProperties,
-        final MethodParameter methodParameter,
-        final Message message
-    ) throws ArgumentResolutionException {
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter)
+        throws ArgumentResolutionException {
         final MessageAttribute annotation = AnnotationUtils
             .findParameterAnnotation(methodParameter, MessageAttribute.class)
             .orElseThrow(() ->
@@ -53,81 +56,67 @@ public class MessageAttributeArgumentResolver implements ArgumentResolver<Object
             );
 
         final String attributeName = annotation.value();
+        final boolean required = annotation.required();
+        final Class<?> parameterClass = LazyArguments.getArgumentClass(methodParameter);
+        final boolean isStringParameter = parameterClass.isAssignableFrom(String.class);
+        final boolean isByteArrayParameter = parameterClass == byte[].class;
+        final ObjectReader objectReader = objectMapper.readerFor(parameterClass);
 
-        final Optional<MessageAttributeValue> optionalMessageAttributeValue = Optional.ofNullable(
-            message.messageAttributes().get(attributeName)
-        );
-
-        if (!optionalMessageAttributeValue.isPresent()) {
-            if (annotation.required()) {
-                throw new ArgumentResolutionException("Required Message Attribute '" + attributeName + "' is missing from message");
-            }
+        final BoundArgumentResolver<Object> boundArgumentResolver = message -> {
+            final MessageAttributeValue messageAttributeValue = message.messageAttributes().get(attributeName);
 
-            return null;
-        }
+            if (messageAttributeValue == null) {
+                if (required) {
+                    throw new ArgumentResolutionException("Required Message Attribute '" + attributeName + "' is missing from message");
+                }
 
-        final MessageAttributeValue messageAttributeValue = optionalMessageAttributeValue.get();
-
-        if (
-            messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.STRING.getValue()) ||
-            messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.NUMBER.getValue())
-        ) {
-            return handleStringParameterValue(methodParameter, messageAttributeValue, attributeName);
-        } else if (messageAttributeValue.dataType().startsWith(MessageAttributeDataTypes.BINARY.getValue())) {
-            return handleByteParameterValue(methodParameter, messageAttributeValue);
-        }
+                return null;
+            }
 
-        throw new ArgumentResolutionException(
-            "Cannot parse message attribute due to unknown data type '" + messageAttributeValue.dataType() + "'"
-        );
-    }
+            final String dataType = messageAttributeValue.dataType();
+            if (
+                dataType.startsWith(MessageAttributeDataTypes.STRING.getValue()) ||
+                dataType.startsWith(MessageAttributeDataTypes.NUMBER.getValue())
+            ) {
+                if (isStringParameter) {
+                    return messageAttributeValue.stringValue();
+                }
+
+                try {
+                    return objectReader.readValue(messageAttributeValue.stringValue());
+                } catch (final IOException ioException) {
+                    throw new ArgumentResolutionException("Error parsing Message Attribute '" + attributeName + "'", ioException);
+                }
+            } else if (dataType.startsWith(MessageAttributeDataTypes.BINARY.getValue())) {
+                final byte[] byteArray = messageAttributeValue.binaryValue().asByteArray();
+                if (isByteArrayParameter) {
+                    return byteArray;
+                }
+
+                if (isStringParameter) {
+                    return new String(byteArray, StandardCharsets.UTF_8);
+                }
+
+                try {
+                    return objectReader.readValue(byteArray);
+                } catch (final IOException ioException) {
+                    throw new ArgumentResolutionException(
+                        "Failure to parse binary bytes to '" + parameterClass.getName() + "'",
+                        ioException
+                    );
+                }
+            }
 
-    /**
-     * Handle resolving the argument from the string contents of the attribute.
-     *
-     * @param methodParameter       the parameter of the method to resolve
-     * @param messageAttributeValue the value of the message attribute
-     * @param attributeName         the name of the attribute that is being consumed
-     * @return the resolved argument from the attribute
-     */
-    private Object handleStringParameterValue(
-        final MethodParameter methodParameter,
-        final MessageAttributeValue messageAttributeValue,
-        final String attributeName
-    ) {
-        if (methodParameter.getParameter().getType().isAssignableFrom(String.class)) {
-            return messageAttributeValue.stringValue();
-        }
-
-        try {
-            return objectMapper.readValue(messageAttributeValue.stringValue(), methodParameter.getParameter().getType());
-        } catch (final IOException ioException) {
-            throw new ArgumentResolutionException("Error parsing Message Attribute '" + attributeName + "'", ioException);
-        }
+            throw new ArgumentResolutionException("Cannot parse message attribute due to unknown data type '" + dataType + "'");
+        };
+        return LazyArguments.isLazyParameter(methodParameter) ? LazyArguments.lazily(boundArgumentResolver) : boundArgumentResolver;
     }
 
-    /**
-     * Handle an attribute that contains the data as bytes.
-     *
-     * @param methodParameter       details about the parameter to parse the message attribute into
-     * @param messageAttributeValue value of the message attribute
-     * @return the argument resolved for this attribute
-     */
-    private Object handleByteParameterValue(final MethodParameter methodParameter, final MessageAttributeValue messageAttributeValue) {
-        final byte[] byteArray = messageAttributeValue.binaryValue().asByteArray();
-        final Class<?> parameterClass = methodParameter.getParameter().getType();
-        if (parameterClass == byte[].class) {
-            return byteArray;
-        }
-
-        if (parameterClass.isAssignableFrom(String.class)) {
-            return new String(byteArray, StandardCharsets.UTF_8);
-        }
-
-        try {
-            return objectMapper.readValue(byteArray, parameterClass);
-        } catch (final IOException ioException) {
-            throw new ArgumentResolutionException("Failure to parse binary bytes to '" + parameterClass.getName() + "'", ioException);
-        }
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes(final MethodParameter methodParameter) {
+        return AnnotationUtils
+            .findParameterAnnotation(methodParameter, MessageAttribute.class)
+            .map(annotation -> RequiredMessageAttributes.messageAttributes(annotation.value()))
+            .orElse(RequiredMessageAttributes.none());
     }
 }
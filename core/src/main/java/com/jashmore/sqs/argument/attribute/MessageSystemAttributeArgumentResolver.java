@@ -6,16 +6,16 @@ import static software.amazon.awssdk.services.sqs.model.MessageSystemAttributeNa
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
-import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.Optional;
-import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
-public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<Object> {
+public class MessageSystemAttributeArgumentResolver implements BindableArgumentResolver<Object> {
 
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
@@ -23,11 +23,8 @@ public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<
     }
 
     @Override
-    public Object resolveArgumentForParameter(
-        final QueueProperties queueProperties,
-        final MethodParameter methodParameter,
-        final Message message
-    ) throws ArgumentResolutionException {
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter)
+        throws ArgumentResolutionException {
         final MessageSystemAttribute annotation = AnnotationUtils
             .findParameterAnnotation(methodParameter, MessageSystemAttribute.class)
             .orElseThrow(() ->
@@ -35,18 +32,28 @@ public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<
             );
 
         final MessageSystemAttributeName messageSystemAttributeName = annotation.value();
-        final Optional<String> optionalAttributeValue = Optional.ofNullable(message.attributes().get(messageSystemAttributeName));
+        final boolean required = annotation.required();
+        final Class<?> parameterType = methodParameter.getParameter().getType();
+
+        return message -> {
+            final String attributeValue = message.attributes().get(messageSystemAttributeName);
+            if (attributeValue == null) {
+                if (required) {
+                    throw new ArgumentResolutionException("Missing system attribute with name: " + messageSystemAttributeName.toString());
+                }
 
-        if (!optionalAttributeValue.isPresent()) {
-            if (annotation.required()) {
-                throw new ArgumentResolutionException("Missing system attribute with name: " + messageSystemAttributeName.toString());
+                return null;
             }
 
-            return null;
-        }
-        final String attributeValue = optionalAttributeValue.get();
+            return resolveAttributeValue(parameterType, messageSystemAttributeName, attributeValue);
+        };
+    }
 
-        final Class<?> parameterType = methodParameter.getParameter().getType();
+    private Object resolveAttributeValue(
+        final Class<?> parameterType,
+        final MessageSystemAttributeName messageSystemAttributeName,
+        final String attributeValue
+    ) {
         try {
             if (parameterType == String.class) {
                 return attributeValue;
@@ -64,7 +71,7 @@ public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<
         }
 
         if (messageSystemAttributeName == SENT_TIMESTAMP || messageSystemAttributeName == APPROXIMATE_FIRST_RECEIVE_TIMESTAMP) {
-            return handleTimeStampAttributes(methodParameter.getParameter().getType(), messageSystemAttributeName, attributeValue);
+            return handleTimeStampAttributes(parameterType, messageSystemAttributeName, attributeValue);
         }
 
         throw new ArgumentResolutionException(
@@ -89,4 +96,12 @@ public class MessageSystemAttributeArgumentResolver implements ArgumentResolver<
             "Unsupported parameter type " + parameterType.getName() + " for system attribute " + messageSystemAttributeName.toString()
         );
     }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes(final MethodParameter methodParameter) {
+        return AnnotationUtils
+            .findParameterAnnotation(methodParameter, MessageSystemAttribute.class)
+            .map(annotation -> RequiredMessageAttributes.messageSystemAttributes(annotation.value()))
+            .orElse(RequiredMessageAttributes.none());
+    }
 }
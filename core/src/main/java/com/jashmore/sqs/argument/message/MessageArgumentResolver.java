@@ -1,8 +1,9 @@
 package com.jashmore.sqs.argument.message;
 
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
 import software.amazon.awssdk.services.sqs.model.Message;
 
@@ -12,7 +13,7 @@ import software.amazon.awssdk.services.sqs.model.Message;
  * <p>This can be useful if the current {@link ArgumentResolver}s do not provide the functionality required and a custom one does not want to be built. Another
  * use case could be when the entire message is needed to forward to another queue.
  */
-public class MessageArgumentResolver implements ArgumentResolver<Message> {
+public class MessageArgumentResolver implements BindableArgumentResolver<Message> {
 
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
@@ -20,11 +21,7 @@ public class MessageArgumentResolver implements ArgumentResolver<Message> {
     }
 
     @Override
-    public Message resolveArgumentForParameter(
-        final QueueProperties queueProperties,
-        final MethodParameter methodParameter,
-        final Message message
-    ) throws ArgumentResolutionException {
-        return message;
+    public BoundArgumentResolver<Message> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter) {
+        return message -> message;
     }
 }
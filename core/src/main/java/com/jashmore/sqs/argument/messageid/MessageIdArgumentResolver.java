@@ -1,16 +1,17 @@
 package com.jashmore.sqs.argument.messageid;
 
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.argument.ArgumentResolutionException;
-import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * Argument resolver for parameters annotated with the {@link MessageId} annotation.
  */
-public class MessageIdArgumentResolver implements ArgumentResolver<String> {
+public class MessageIdArgumentResolver implements BindableArgumentResolver<String> {
 
     @Override
     public boolean canResolveParameter(final MethodParameter methodParameter) {
@@ -21,11 +22,12 @@ public class MessageIdArgumentResolver implements ArgumentResolver<String> {
     }
 
     @Override
-    public String resolveArgumentForParameter(
-        final QueueProperties queueProperties,
-        final MethodParameter methodParameter,
-        final Message message
-    ) throws ArgumentResolutionException {
-        return message.messageId();
+    public BoundArgumentResolver<String> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter) {
+        return Message::messageId;
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes(final MethodParameter methodParameter) {
+        return RequiredMessageAttributes.none();
     }
 }
@@ -0,0 +1,88 @@
+package com.jashmore.sqs.argument.payload;
+
+import static com.jashmore.sqs.util.compression.PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME;
+
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import com.jashmore.sqs.util.compression.PayloadCompression;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+/**
+ * Utility methods for reading the body of messages that may have been compressed, as indicated by the {@code Content-Encoding} message attribute.
+ *
+ * <p>The supported encodings are {@code gzip} and {@code deflate}, where the compressed bytes are Base64 encoded in the message body. To protect
+ * against small messages that decompress to a very large payload, the body can be decompressed to at most
+ * {@link PayloadCompression#DEFAULT_MAX_DECOMPRESSED_SIZE_IN_BYTES} bytes, otherwise the message will fail to be processed.
+ */
+@UtilityClass
+public class CompressedPayloads {
+
+    private static final RequiredMessageAttributes REQUIRED_MESSAGE_ATTRIBUTES = RequiredMessageAttributes.messageAttributes(
+        CONTENT_ENCODING_ATTRIBUTE_NAME
+    );
+
+    /**
+     * The message attributes that must be retrieved with the message to be able to determine if the body is compressed.
+     *
+     * @return the required message attributes
+     */
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return REQUIRED_MESSAGE_ATTRIBUTES;
+    }
+
+    /**
+     * Determine whether the body of the message has been compressed.
+     *
+     * <p>Messages with a {@code Content-Encoding} that is not a supported compression, e.g. {@code identity}, are not considered compressed and
+     * their body should be used as is.
+     *
+     * @param message the message to check
+     * @return whether the message has a {@code Content-Encoding} message attribute with a supported compression
+     */
+    public boolean isCompressed(final Message message) {
+        return findCompression(message).isPresent();
+    }
+
+    /**
+     * Obtain a stream of the decompressed body of the message, which is decompressed as it is read.
+     *
+     * @param message the message with a compressed body
+     * @return the stream of the decompressed body
+     * @throws IOException if the encoding is not supported, the body could not be decompressed or it is larger than the maximum decompressed size
+     */
+    public InputStream decompress(final Message message) throws IOException {
+        return getCompression(message).decompress(message.body());
+    }
+
+    /**
+     * Decompress the body of the message to the original text.
+     *
+     * @param message the message with a compressed body
+     * @return the decompressed body
+     * @throws IOException if the encoding is not supported, the body could not be decompressed or it is larger than the maximum decompressed size
+     */
+    public String decompressToString(final Message message) throws IOException {
+        return getCompression(message).decompressToString(message.body());
+    }
+
+    private PayloadCompression getCompression(final Message message) throws IOException {
+        return findCompression(message)
+            .orElseThrow(() -> new IOException("Message body is not compressed with a supported Content-Encoding"));
+    }
+
+    private Optional<PayloadCompression> findCompression(final Message message) {
+        if (!message.hasMessageAttributes()) {
+            return Optional.empty();
+        }
+
+        final MessageAttributeValue contentEncoding = message.messageAttributes().get(CONTENT_ENCODING_ATTRIBUTE_NAME);
+        if (contentEncoding == null) {
+            return Optional.empty();
+        }
+        return PayloadCompression.fromContentEncoding(contentEncoding.stringValue());
+    }
+}
@@ -2,10 +2,15 @@ package com.jashmore.sqs.argument.payload;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
-import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
+import com.jashmore.sqs.argument.LazyArguments;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.payload.mapper.BindablePayloadMapper;
+import com.jashmore.sqs.argument.payload.mapper.BoundPayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import lombok.AllArgsConstructor;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -15,10 +20,17 @@ import software.amazon.awssdk.services.sqs.model.Message;
  *
  * <p>This should allow for the serialisation of the body to a specific Java Bean via an implementation of the {@link PayloadMapper}.
  *
+ * <p>If the {@link PayloadMapper} is a {@link BindablePayloadMapper}, it is bound to the full generic type of the parameter so that payloads like
+ * {@code List<Order>} keep their type arguments.
+ *
+ * <p>A {@link java.util.function.Supplier} parameter, e.g. {@code @Payload Supplier<Order> order}, will only map the body when it is first called.
+ *
+ * <p>The {@code Content-Encoding} message attribute is requested for each message so that the {@link PayloadMapper} is able to decompress the body.
+ *
  * @see Message#body() for the payload that will be consumed
  */
 @AllArgsConstructor
-public class PayloadArgumentResolver implements ArgumentResolver<Object> {
+public class PayloadArgumentResolver implements BindableArgumentResolver<Object> {
 
     private final PayloadMapper payloadMapper;
 
@@ -28,15 +40,27 @@ public class PayloadArgumentResolver implements ArgumentResolver<Object> {
     }
 
     @Override
-    public Object resolveArgumentForParameter(
-        final QueueProperties queueProperties,
-        final MethodParameter methodParameter,
-        final Message message
-    ) throws ArgumentResolutionException {
-        try {
-            return payloadMapper.map(message, methodParameter.getParameter().getType());
-        } catch (final PayloadMappingException payloadMappingException) {
-            throw new ArgumentResolutionException(payloadMappingException);
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter) {
+        final BoundPayloadMapper boundPayloadMapper;
+        if (payloadMapper instanceof BindablePayloadMapper) {
+            boundPayloadMapper = ((BindablePayloadMapper) payloadMapper).bindToType(LazyArguments.getArgumentType(methodParameter));
+        } else {
+            final Class<?> parameterType = LazyArguments.getArgumentClass(methodParameter);
+            boundPayloadMapper = message -> payloadMapper.map(message, parameterType);
         }
+
+        final BoundArgumentResolver<Object> boundArgumentResolver = message -> {
+            try {
+                return boundPayloadMapper.map(message);
+            } catch (final PayloadMappingException payloadMappingException) {
+                throw new ArgumentResolutionException(payloadMappingException);
+            }
+        };
+        return LazyArguments.isLazyParameter(methodParameter) ? LazyArguments.lazily(boundArgumentResolver) : boundArgumentResolver;
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes(final MethodParameter methodParameter) {
+        return CompressedPayloads.getRequiredMessageAttributes();
     }
 }
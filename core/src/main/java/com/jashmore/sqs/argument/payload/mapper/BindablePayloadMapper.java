@@ -0,0 +1,25 @@
+package com.jashmore.sqs.argument.payload.mapper;
+
+import java.lang.reflect.Type;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * {@link PayloadMapper} that is able to prepare the mapping for a type once, instead of for every message that is mapped.
+ *
+ * <p>As the full generic {@link Type} of the parameter is provided, this also allows for payloads like {@code List<Order>} to be mapped without
+ * losing the type arguments.
+ */
+public interface BindablePayloadMapper extends PayloadMapper {
+    /**
+     * Bind this mapper to the given type, returning the mapper that can be used to map the body of each message to that type.
+     *
+     * @param type the type, including any generic type arguments, to build the object from the message body
+     * @return the mapper for this type
+     */
+    BoundPayloadMapper bindToType(Type type);
+
+    @Override
+    default Object map(final Message message, final Class<?> clazz) throws PayloadMappingException {
+        return bindToType(clazz).map(message);
+    }
+}
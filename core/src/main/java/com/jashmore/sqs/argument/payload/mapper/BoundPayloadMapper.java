@@ -0,0 +1,22 @@
+package com.jashmore.sqs.argument.payload.mapper;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Mapper that is able to map the message body to an object of a type that has already been determined.
+ *
+ * @see BindablePayloadMapper
+ */
+@ThreadSafe
+@FunctionalInterface
+public interface BoundPayloadMapper {
+    /**
+     * Cast the message body to the type that this mapper was bound to.
+     *
+     * @param message the message to map the body from
+     * @return the message body as an object of the bound type
+     * @throws PayloadMappingException exception thrown if there was a failure to map the message body to the bound type
+     */
+    Object map(Message message) throws PayloadMappingException;
+}
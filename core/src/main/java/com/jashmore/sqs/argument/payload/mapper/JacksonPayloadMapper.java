@@ -1,28 +1,78 @@
 package com.jashmore.sqs.argument.payload.mapper;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jashmore.sqs.argument.payload.CompressedPayloads;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
 import lombok.AllArgsConstructor;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * Cast the message body to a Java Bean using a Jackson {@link ObjectMapper}.
+ *
+ * <p>When bound to a type, the {@link JavaType} is resolved and a dedicated {@link ObjectReader} is built once so that each message only needs to
+ * be deserialized.
+ *
+ * <p>If the message body has been compressed, as indicated by the {@code Content-Encoding} message attribute, it is decompressed while being
+ * deserialized.
+ *
+ * @see CompressedPayloads for the supported compression
  */
 @AllArgsConstructor
-public class JacksonPayloadMapper implements PayloadMapper {
+public class JacksonPayloadMapper implements BindablePayloadMapper {
 
     private final ObjectMapper objectMapper;
 
     @Override
     public Object map(Message message, Class<?> clazz) throws PayloadMappingException {
-        if (clazz.equals(String.class)) {
-            return message.body();
-        }
-
         try {
+            if (clazz.equals(String.class)) {
+                return CompressedPayloads.isCompressed(message) ? CompressedPayloads.decompressToString(message) : message.body();
+            }
+
+            if (CompressedPayloads.isCompressed(message)) {
+                try (InputStream body = CompressedPayloads.decompress(message)) {
+                    return objectMapper.readValue(body, clazz);
+                }
+            }
             return objectMapper.readValue(message.body(), clazz);
         } catch (final IOException exception) {
             throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
         }
     }
+
+    @Override
+    public BoundPayloadMapper bindToType(final Type type) {
+        if (type.equals(String.class)) {
+            return message -> {
+                if (!CompressedPayloads.isCompressed(message)) {
+                    return message.body();
+                }
+
+                try {
+                    return CompressedPayloads.decompressToString(message);
+                } catch (final IOException exception) {
+                    throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
+                }
+            };
+        }
+
+        final JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+        final ObjectReader objectReader = objectMapper.readerFor(javaType);
+        return message -> {
+            try {
+                if (CompressedPayloads.isCompressed(message)) {
+                    try (InputStream body = CompressedPayloads.decompress(message)) {
+                        return objectReader.readValue(body);
+                    }
+                }
+                return objectReader.readValue(message.body());
+            } catch (final IOException exception) {
+                throw new PayloadMappingException("Error trying to resolve Payload for argument", exception);
+            }
+        };
+    }
 }
@@ -0,0 +1,35 @@
+package com.jashmore.sqs.argument.payload.path;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Populate one of the arguments in a message processing method by taking a single field from the JSON body of the message.
+ *
+ * <p>This is useful when only a few fields of a large message body are needed as the body is streamed until these fields are found, instead of
+ * building the entire body as a Java Bean. For example, {@code @PayloadPath("/order/id") String orderId} will obtain the {@code id} field
+ * of the {@code order} object in the body.
+ *
+ * <p>The parameter does not have a type restriction but the type of the parameter must be able to be mapped from the JSON value at this path.
+ */
+@Retention(RUNTIME)
+@Target(PARAMETER)
+public @interface PayloadPath {
+    /**
+     * The JSON Pointer to the value in the message body, e.g. {@code /order/id}.
+     *
+     * @return the path to the value
+     * @see <a href="https://datatracker.ietf.org/doc/html/rfc6901">RFC 6901: JSON Pointer</a>
+     */
+    String value();
+
+    /**
+     * Fail the processing of the message if there is no value at the provided path.
+     *
+     * @return whether the message should fail to be processed if the value is missing
+     */
+    boolean required() default false;
+}
@@ -0,0 +1,130 @@
+package com.jashmore.sqs.argument.payload.path;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.ArgumentResolutionScope;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
+import com.jashmore.sqs.argument.DefaultMethodParameter;
+import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.payload.CompressedPayloads;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import com.jashmore.sqs.util.annotation.AnnotationUtils;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Argument resolver for parameters annotated with the {@link PayloadPath} annotation, which extracts a single value from the JSON body of the message.
+ *
+ * <p>The body is parsed with Jackson's streaming parser, skipping any part of the body that does not contain the path, and only the value at the
+ * path is mapped to the type of the parameter. All of the {@link PayloadPath} parameters on the same method share a single parse of the body, which
+ * is stored in the {@link ArgumentResolutionScope} for the message.
+ */
+public class PayloadPathArgumentResolver implements BindableArgumentResolver<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Method, PayloadPathExtractor> extractors = new ConcurrentHashMap<>();
+
+    public PayloadPathArgumentResolver(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean canResolveParameter(final MethodParameter methodParameter) {
+        return AnnotationUtils.findParameterAnnotation(methodParameter, PayloadPath.class).isPresent();
+    }
+
+    @Override
+    public BoundArgumentResolver<Object> bindToParameter(final QueueProperties queueProperties, final MethodParameter methodParameter)
+        throws ArgumentResolutionException {
+        final PayloadPath annotation = AnnotationUtils
+            .findParameterAnnotation(methodParameter, PayloadPath.class)
+            .orElseThrow(() ->
+                new ArgumentResolutionException("Parameter passed in does not contain the PayloadPath annotation when it should")
+            );
+
+        final String path = compilePath(annotation.value());
+        final boolean required = annotation.required();
+        final PayloadPathExtractor extractor = extractors.computeIfAbsent(methodParameter.getMethod(), this::buildExtractor);
+        final int valueIndex = extractor.indexOf(path);
+        final ObjectReader objectReader = objectMapper.readerFor(
+            objectMapper.getTypeFactory().constructType(methodParameter.getParameter().getParameterizedType())
+        );
+
+        return new BoundArgumentResolver<>() {
+            @Override
+            public Object resolveArgument(final Message message) {
+                return resolveArgument(message, new ArgumentResolutionScope());
+            }
+
+            @Override
+            public Object resolveArgument(final Message message, final ArgumentResolutionScope scope) {
+                final JsonNode value = scope.computeIfAbsent(extractor, () -> extractValues(extractor, message, path))[valueIndex];
+                if (value == null) {
+                    if (required) {
+                        throw new ArgumentResolutionException("Required Payload Path '" + path + "' is missing from message");
+                    }
+
+                    return null;
+                }
+
+                try {
+                    return objectReader.readValue(value);
+                } catch (final IOException ioException) {
+                    throw new ArgumentResolutionException("Error mapping Payload Path '" + path + "'", ioException);
+                }
+            }
+        };
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes(final MethodParameter methodParameter) {
+        return CompressedPayloads.getRequiredMessageAttributes();
+    }
+
+    private PayloadPathExtractor buildExtractor(final Method method) {
+        final List<String> paths = new ArrayList<>();
+        for (int parameterIndex = 0; parameterIndex < method.getParameterCount(); ++parameterIndex) {
+            final MethodParameter methodParameter = DefaultMethodParameter
+                .builder()
+                .method(method)
+                .parameter(method.getParameters()[parameterIndex])
+                .parameterIndex(parameterIndex)
+                .build();
+            final Optional<PayloadPath> annotation = AnnotationUtils.findParameterAnnotation(methodParameter, PayloadPath.class);
+            if (annotation.isPresent()) {
+                final String path = compilePath(annotation.get().value());
+                if (!paths.contains(path)) {
+                    paths.add(path);
+                }
+            }
+        }
+        return new PayloadPathExtractor(objectMapper, paths);
+    }
+
+    private static JsonNode[] extractValues(final PayloadPathExtractor extractor, final Message message, final String path) {
+        try {
+            return extractor.extract(message);
+        } catch (final IOException ioException) {
+            throw new ArgumentResolutionException("Error parsing message body for Payload Path '" + path + "'", ioException);
+        }
+    }
+
+    private static String compilePath(final String path) {
+        try {
+            return JsonPointer.compile(path).toString();
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            throw new ArgumentResolutionException("Invalid Payload Path '" + path + "'", illegalArgumentException);
+        }
+    }
+}
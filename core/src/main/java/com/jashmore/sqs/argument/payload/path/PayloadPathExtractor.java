@@ -0,0 +1,158 @@
+package com.jashmore.sqs.argument.payload.path;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.argument.payload.CompressedPayloads;
+import java.io.IOException;
+import java.util.List;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Extracts the values for all of the {@link PayloadPath}s of a single message listener method in a single streaming pass of the message body.
+ *
+ * <p>Subtrees of the body that do not contain any of the paths are skipped and the parsing is stopped as soon as all of the paths have been found.
+ */
+@ThreadSafe
+class PayloadPathExtractor {
+
+    private final ObjectMapper objectMapper;
+    private final String[] paths;
+
+    /**
+     * Constructor.
+     *
+     * @param objectMapper the mapper used to parse the message body
+     * @param paths        the JSON Pointers, in their canonical string form, that should be extracted
+     */
+    PayloadPathExtractor(final ObjectMapper objectMapper, final List<String> paths) {
+        this.objectMapper = objectMapper;
+        this.paths = paths.toArray(new String[0]);
+    }
+
+    /**
+     * Find the index of the path in the values returned by {@link #extract(Message)}.
+     *
+     * @param path the path of the value
+     * @return the index of the value or -1 if this path is not extracted
+     */
+    int indexOf(final String path) {
+        for (int i = 0; i < paths.length; ++i) {
+            if (paths[i].equals(path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Extract the values for all of the paths from the body of the message.
+     *
+     * @param message the message to extract the values from
+     * @return the values for each path, where a missing value will be null
+     * @throws IOException if the message body is not valid JSON
+     */
+    JsonNode[] extract(final Message message) throws IOException {
+        final JsonNode[] values = new JsonNode[paths.length];
+        if (message.body() != null) {
+            try (JsonParser parser = createParser(message)) {
+                if (parser.nextToken() != null) {
+                    scanValue(parser, "", values, new int[] { paths.length });
+                }
+            }
+        }
+        return values;
+    }
+
+    private JsonParser createParser(final Message message) throws IOException {
+        if (CompressedPayloads.isCompressed(message)) {
+            return objectMapper.getFactory().createParser(CompressedPayloads.decompress(message));
+        }
+        return objectMapper.getFactory().createParser(message.body());
+    }
+
+    /**
+     * Scan the value that the parser is currently pointing to, storing any of the paths found.
+     *
+     * @param parser    the parser pointing at the first token of the value
+     * @param pointer   the JSON Pointer of the current value
+     * @param values    the values found so far
+     * @param remaining single element array containing the number of paths that have not been found yet
+     * @return whether all of the paths have been found and the parsing can stop
+     * @throws IOException if the message body is not valid JSON
+     */
+    private boolean scanValue(final JsonParser parser, final String pointer, final JsonNode[] values, final int[] remaining)
+        throws IOException {
+        if (indexOf(pointer) != -1) {
+            final JsonNode node = objectMapper.readTree(parser);
+            storeValuesWithinNode(pointer, node, values, remaining);
+            return remaining[0] == 0;
+        }
+
+        if (!isParentOfMissingPath(pointer, values)) {
+            parser.skipChildren();
+            return false;
+        }
+
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldPointer = pointer + "/" + escape(parser.currentName());
+                parser.nextToken();
+                if (scanValue(parser, fieldPointer, values, remaining)) {
+                    return true;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (scanValue(parser, pointer + "/" + index++, values, remaining)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Store the value found at this pointer as well as the values for any of the paths that are within it.
+     */
+    private void storeValuesWithinNode(final String pointer, final JsonNode node, final JsonNode[] values, final int[] remaining) {
+        for (int i = 0; i < paths.length; ++i) {
+            if (values[i] != null) {
+                continue;
+            }
+
+            final JsonNode value;
+            if (paths[i].equals(pointer)) {
+                value = node;
+            } else if (paths[i].startsWith(pointer + "/")) {
+                final JsonNode nestedValue = node.at(JsonPointer.compile(paths[i].substring(pointer.length())));
+                value = nestedValue.isMissingNode() ? null : nestedValue;
+            } else {
+                continue;
+            }
+
+            if (value != null) {
+                values[i] = value;
+                remaining[0]--;
+            }
+        }
+    }
+
+    private boolean isParentOfMissingPath(final String pointer, final JsonNode[] values) {
+        for (int i = 0; i < paths.length; ++i) {
+            if (values[i] == null && paths[i].startsWith(pointer + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String escape(final String fieldName) {
+        return fieldName.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,41 @@
+package com.jashmore.sqs.argument.visibility;
+
+import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
+import java.time.Duration;
+import java.util.concurrent.Future;
+import lombok.AllArgsConstructor;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Implementation of the {@link VisibilityExtender} that increases the visibility of the message by sending the request in a batch with the other
+ * messages being extended at a similar time.
+ *
+ * <p>The {@link BatchingMessageVisibilityChanger} should be shared between all of the messages being processed for the queue, e.g. all of the messages
+ * for a message listener, so that the extensions can be combined into a single request.
+ *
+ * @see SqsAsyncClient#changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest)
+ */
+@AllArgsConstructor
+public class BatchingVisibilityExtender implements VisibilityExtender {
+
+    /**
+     * The default amount of time that an extension will be buffered waiting for other extensions to be sent in the same batch.
+     */
+    public static final Duration DEFAULT_BUFFERING_TIME = Duration.ofMillis(100);
+
+    private final BatchingMessageVisibilityChanger visibilityChanger;
+    private final Message message;
+
+    @Override
+    public Future<?> extend() {
+        return extend(DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS);
+    }
+
+    @Override
+    public Future<?> extend(final int visibilityExtensionInSeconds) {
+        return visibilityChanger.changeMessageVisibility(message, Duration.ofSeconds(visibilityExtensionInSeconds));
+    }
+}
@@ -6,6 +6,8 @@ import static com.jashmore.sqs.util.properties.PropertyUtils.safelyGetPositiveOr
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.util.ResizableSemaphore;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import java.time.Duration;
@@ -29,10 +31,21 @@ import software.amazon.awssdk.services.sqs.model.Message;
  * more messages than is desirable.  This rate is maintained over multiple calls to the process messages methods and therefore should not exceed the
  * desired concurrency rate even when calling {@link #processMessages(ExecutorService, BooleanSupplier, Supplier, Function)} multiple times sequentially.
  *
- * <p>Note that it may take a while for the concurrency rate to change based on whether all of the permits are currently being used, it will only recheck
+ * <p>When the properties publish changes to the concurrency rate, see {@link ConcurrentMessageBrokerProperties#addConcurrencyLevelChangeListener(Runnable)},
+ * the broker will wait for a permit without any timeout and the permits will be resized as soon as the concurrency rate changes. This means that there is
+ * no periodic polling when the concurrency rate is static.
+ *
+ * <p>Otherwise, it may take a while for the concurrency rate to change based on whether all of the permits are currently being used, it will only recheck
  * the concurrency rate once another message is being used. The other way that the concurrency rate can be changed is if the request for a permit goes
  * over the desired length it will recalculate the concurrency and try again.
  *
+ * <p>If a {@link SharedConcurrencyPool.Member} has been provided by {@link ConcurrentMessageBrokerProperties#getSharedConcurrencyPoolMember()}, a permit
+ * from the pool must also be acquired before each message is processed, which bounds the number of messages being processed across all brokers sharing
+ * the pool. This permit is only acquired once a message has been received, so brokers waiting on an empty queue do not hold any of the pool.
+ *
+ * <p>If a {@link ConcurrencyLimiter} has been provided by {@link ConcurrentMessageBrokerProperties#getConcurrencyLimiter()}, the concurrency rate will be
+ * determined by this limiter, which will be notified of the processing time and outcome of each message.
+ *
  * @see ConcurrentMessageBrokerProperties for how to configure this broker
  */
 @Slf4j
@@ -40,10 +53,14 @@ public class ConcurrentMessageBroker implements MessageBroker {
 
     private final ConcurrentMessageBrokerProperties properties;
     private final ResizableSemaphore concurrentMessagesBeingProcessedSemaphore;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final SharedConcurrencyPool.Member sharedConcurrencyPoolMember;
 
     public ConcurrentMessageBroker(final ConcurrentMessageBrokerProperties properties) {
         this.properties = properties;
         this.concurrentMessagesBeingProcessedSemaphore = new ResizableSemaphore(0);
+        this.concurrencyLimiter = properties.getConcurrencyLimiter();
+        this.sharedConcurrencyPoolMember = properties.getSharedConcurrencyPoolMember();
     }
 
     @Override
@@ -54,23 +71,47 @@ public class ConcurrentMessageBroker implements MessageBroker {
         final Function<Message, CompletableFuture<?>> messageProcessor
     ) throws InterruptedException {
         log.debug("Beginning processing of messages");
+        final Runnable concurrencyLevelChangeListener = this::updateConcurrencyLevelIfChanged;
+        final boolean isNotifiedOfConcurrencyLevelChanges = addConcurrencyLevelChangeListener(concurrencyLevelChangeListener);
+        try {
+            processMessagesUntilStopped(
+                messageProcessingExecutorService,
+                keepProcessingMessages,
+                messageSupplier,
+                messageProcessor,
+                isNotifiedOfConcurrencyLevelChanges
+            );
+        } finally {
+            removeConcurrencyLevelChangeListener(concurrencyLevelChangeListener);
+        }
+        log.debug("Ending processing of messages");
+    }
+
+    private void processMessagesUntilStopped(
+        final ExecutorService messageProcessingExecutorService,
+        final BooleanSupplier keepProcessingMessages,
+        final Supplier<CompletableFuture<Message>> messageSupplier,
+        final Function<Message, CompletableFuture<?>> messageProcessor,
+        final boolean isNotifiedOfConcurrencyLevelChanges
+    ) throws InterruptedException {
         while (!Thread.currentThread().isInterrupted() && keepProcessingMessages.getAsBoolean()) {
             try {
-                updateConcurrencyLevelIfChanged(concurrentMessagesBeingProcessedSemaphore);
+                updateConcurrencyLevelIfChanged();
 
-                final Duration permitWaitTime = getPermitWaitTime();
-                final boolean obtainedPermit = concurrentMessagesBeingProcessedSemaphore.tryAcquire(
-                    permitWaitTime.toMillis(),
-                    MILLISECONDS
-                );
-                if (!obtainedPermit) {
+                if (isNotifiedOfConcurrencyLevelChanges) {
+                    // the listener will resize the semaphore when the concurrency changes, waking this thread if more permits are available
+                    concurrentMessagesBeingProcessedSemaphore.acquire();
+                } else if (!concurrentMessagesBeingProcessedSemaphore.tryAcquire(getPermitWaitTime().toMillis(), MILLISECONDS)) {
                     continue;
                 }
 
                 try {
                     messageSupplier
                         .get()
-                        .thenComposeAsync(messageProcessor::apply, messageProcessingExecutorService)
+                        .thenComposeAsync(
+                            message -> processMessageWithSharedConcurrency(messageProcessor, message),
+                            messageProcessingExecutorService
+                        )
                         .whenComplete((ignoredResult, throwable) -> {
                             if (throwable != null && !(throwable.getCause() instanceof CancellationException)) {
                                 log.error("Error processing message", throwable.getCause());
@@ -97,7 +138,97 @@ public class ConcurrentMessageBroker implements MessageBroker {
                 Thread.sleep(errorBackoffTimeInMs);
             }
         }
-        log.debug("Ending processing of messages");
+    }
+
+    /**
+     * Process the message once a permit has been acquired from the {@link SharedConcurrencyPool}, if one is being used.
+     *
+     * <p>The permit is only acquired once the message has been received so that brokers waiting for messages on an empty queue do not hold any of the
+     * shared concurrency, leaving it for the brokers that are busy processing messages.
+     *
+     * @param messageProcessor the function to process the message
+     * @param message          the message to process
+     * @return the future that will be resolved when the message has been processed
+     * @throws CancellationException if the thread was interrupted while waiting for a permit from the pool
+     */
+    private CompletableFuture<?> processMessageWithSharedConcurrency(
+        final Function<Message, CompletableFuture<?>> messageProcessor,
+        final Message message
+    ) {
+        if (sharedConcurrencyPoolMember == null) {
+            return processMessage(messageProcessor, message);
+        }
+
+        try {
+            sharedConcurrencyPoolMember.acquire();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for concurrency from the shared pool");
+        }
+
+        try {
+            return processMessage(messageProcessor, message)
+                .whenComplete((ignoredResult, throwable) -> sharedConcurrencyPoolMember.release());
+        } catch (final RuntimeException runtimeException) {
+            sharedConcurrencyPoolMember.release();
+            throw runtimeException;
+        }
+    }
+
+    /**
+     * Register the listener for changes to the concurrency level, preferring the {@link ConcurrencyLimiter} if one is being used.
+     *
+     * @param listener the listener to register
+     * @return whether the listener will be notified of changes to the concurrency level
+     */
+    private boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+        try {
+            if (concurrencyLimiter != null) {
+                return concurrencyLimiter.addLimitChangeListener(listener);
+            }
+            return properties.addConcurrencyLevelChangeListener(listener);
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error registering for changes to the concurrency level, falling back to polling", runtimeException);
+            return false;
+        }
+    }
+
+    private void removeConcurrencyLevelChangeListener(final Runnable listener) {
+        try {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.removeLimitChangeListener(listener);
+            } else {
+                properties.removeConcurrencyLevelChangeListener(listener);
+            }
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error removing the listener for changes to the concurrency level", runtimeException);
+        }
+    }
+
+    /**
+     * Process the message, notifying the {@link ConcurrencyLimiter} of the outcome if one is being used.
+     *
+     * @param messageProcessor the function to process the message
+     * @param message          the message to process
+     * @return the future that will be resolved when the message has been processed
+     */
+    private CompletableFuture<?> processMessage(final Function<Message, CompletableFuture<?>> messageProcessor, final Message message) {
+        if (concurrencyLimiter == null) {
+            return messageProcessor.apply(message);
+        }
+
+        final long processingStartTimeInNanos = System.nanoTime();
+        return messageProcessor
+            .apply(message)
+            .whenComplete((ignoredResult, throwable) -> {
+                final Throwable cause = throwable != null && throwable.getCause() != null ? throwable.getCause() : throwable;
+                if (cause instanceof CancellationException) {
+                    // the message was cancelled due to the container shutting down which is not an indication of how the message is processed
+                    return;
+                }
+                final Duration processingTime = Duration.ofNanos(System.nanoTime() - processingStartTimeInNanos);
+                concurrencyLimiter.onMessageProcessed(processingTime, throwable == null);
+            });
     }
 
     /**
@@ -119,13 +250,16 @@ public class ConcurrentMessageBroker implements MessageBroker {
      * Checks the concurrency level of the broker and will update the number of threads that can be run concurrently if necessary.
      *
      * <p>If the concurrency level decreases any threads running currently will keep running.
+     *
+     * <p>This is synchronized as it can be called by the listener for changes to the concurrency level as well as the coordinating thread.
      */
-    private void updateConcurrencyLevelIfChanged(final ResizableSemaphore resizableSemaphore) {
+    private synchronized void updateConcurrencyLevelIfChanged() {
         final int newConcurrencyLevel = getConcurrencyLevel();
 
-        if (resizableSemaphore.getMaximumPermits() != newConcurrencyLevel) {
-            log.info("Changing concurrency from {} to {}", resizableSemaphore.getMaximumPermits(), newConcurrencyLevel);
-            resizableSemaphore.changePermitSize(newConcurrencyLevel);
+        final int currentConcurrencyLevel = concurrentMessagesBeingProcessedSemaphore.getMaximumPermits();
+        if (currentConcurrencyLevel != newConcurrencyLevel) {
+            log.info("Changing concurrency from {} to {}", currentConcurrencyLevel, newConcurrencyLevel);
+            concurrentMessagesBeingProcessedSemaphore.changePermitSize(newConcurrencyLevel);
         }
     }
 
@@ -135,6 +269,9 @@ public class ConcurrentMessageBroker implements MessageBroker {
      * @return the expected concurrency level
      */
     private int getConcurrencyLevel() {
+        if (concurrencyLimiter != null) {
+            return PropertyUtils.safelyGetPositiveOrZeroIntegerValue("concurrencyLimit", concurrencyLimiter::getLimit, 0);
+        }
         return PropertyUtils.safelyGetPositiveOrZeroIntegerValue("concurrencyLevel", properties::getConcurrencyLevel, 0);
     }
 }
@@ -4,6 +4,8 @@ import com.jashmore.documentation.annotations.NotThreadSafe;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import java.time.Duration;
 
 /**
@@ -28,7 +30,8 @@ public interface ConcurrentMessageBrokerProperties {
      * If there is currently less messages being processed than this value, more requests for messages will be made to meet this value. If there are
      * more messages being processed or requested than this value, this coordinating thread will block until enough messages have been processed.  If a
      * permit has not be obtained before the timeout defined by {@link #getConcurrencyPollingRate()}, it will recalculate this
-     * concurrency rate again and wait for a permit.
+     * concurrency rate again and wait for a permit, unless changes to the concurrency rate are published via
+     * {@link #addConcurrencyLevelChangeListener(Runnable)}.
      *
      * <p>Note that the concurrency rate does not get applied instantly and there are multiple attributing factors for when the rate of concurrency will
      * actually transition to a new concurrency rate when this value changes, for example:
@@ -87,4 +90,64 @@ public interface ConcurrentMessageBrokerProperties {
     @Nullable
     @PositiveOrZero
     Duration getErrorBackoffTime();
+
+    /**
+     * The limiter that will dynamically determine the level of concurrency based on the latency and failures of processing messages.
+     *
+     * <p>When provided, the limit of this limiter will be used instead of {@link #getConcurrencyLevel()}, and the outcome of each processed message will
+     * be supplied to it. This will only be obtained once when the {@link ConcurrentMessageBroker} is constructed so that the limiter is able to keep its
+     * state between each message.
+     *
+     * <p>If this value is null, the static {@link #getConcurrencyLevel()} will be used.
+     *
+     * @return the limiter for the concurrency or null if the concurrency level should be used
+     */
+    @Nullable
+    default ConcurrencyLimiter getConcurrencyLimiter() {
+        return null;
+    }
+
+    /**
+     * The membership of a pool of concurrency that is shared with other brokers, which bounds the total number of messages being processed across all
+     * of them.
+     *
+     * <p>When provided, the broker will need to acquire a permit from this membership, as well as from its own {@link #getConcurrencyLevel()}, before
+     * each message is processed. This means that the concurrency level acts as the maximum concurrency that this broker can obtain from the pool.
+     *
+     * <p>The membership should be registered with the {@link SharedConcurrencyPool} once for the lifetime of the listener, for example when the
+     * container is built, so that its guaranteed concurrency is validated against the pool straight away and is kept while the container is restarted.
+     * The broker will not deregister this membership.
+     *
+     * <p>If this value is null, the broker will only be limited by its own concurrency level.
+     *
+     * @return the membership of the shared pool of concurrency or null if one should not be used
+     */
+    @Nullable
+    default SharedConcurrencyPool.Member getSharedConcurrencyPoolMember() {
+        return null;
+    }
+
+    /**
+     * Register a listener that will be called each time the value of {@link #getConcurrencyLevel()} changes.
+     *
+     * <p>When the changes are published to the listener, the {@link ConcurrentMessageBroker} will wait for a permit to process a message without
+     * timing out, as it will be woken up straight away when the concurrency level increases. This removes the periodic polling defined by
+     * {@link #getConcurrencyPollingRate()}, which is unnecessary when the concurrency level never changes. If false is returned, the broker will
+     * keep polling for changes to the concurrency level.
+     *
+     * <p>The listener may be called from any thread.
+     *
+     * @param listener the listener to call when the concurrency level changes
+     * @return whether the listener will be notified of every change to the concurrency level
+     */
+    default boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+        return false;
+    }
+
+    /**
+     * Remove a listener that was previously registered via {@link #addConcurrencyLevelChangeListener(Runnable)}.
+     *
+     * @param listener the listener to remove
+     */
+    default void removeConcurrencyLevelChangeListener(final Runnable listener) {}
 }
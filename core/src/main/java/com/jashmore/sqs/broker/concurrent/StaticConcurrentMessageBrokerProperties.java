@@ -3,6 +3,8 @@ package com.jashmore.sqs.broker.concurrent;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.PositiveOrZero;
 import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.util.Preconditions;
 import java.time.Duration;
 import lombok.Builder;
@@ -25,24 +27,34 @@ public final class StaticConcurrentMessageBrokerProperties implements Concurrent
     private final Integer concurrencyLevel;
     private final Duration preferredConcurrencyPollingRate;
     private final Duration errorBackoffTime;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final SharedConcurrencyPool.Member sharedConcurrencyPoolMember;
 
     public StaticConcurrentMessageBrokerProperties(
         final Integer concurrencyLevel,
         final Duration preferredConcurrencyPollingRate,
-        final Duration errorBackoffTime
+        final Duration errorBackoffTime,
+        final ConcurrencyLimiter concurrencyLimiter,
+        final SharedConcurrencyPool.Member sharedConcurrencyPoolMember
     ) {
-        Preconditions.checkNotNull(concurrencyLevel, "concurrencyLevel should not be null");
-        Preconditions.checkPositiveOrZero(concurrencyLevel, "concurrencyLevel should be greater than or equal to zero");
+        if (concurrencyLimiter == null) {
+            Preconditions.checkNotNull(concurrencyLevel, "concurrencyLevel should not be null");
+        }
+        if (concurrencyLevel != null) {
+            Preconditions.checkPositiveOrZero(concurrencyLevel, "concurrencyLevel should be greater than or equal to zero");
+        }
 
         this.concurrencyLevel = concurrencyLevel;
         this.preferredConcurrencyPollingRate = preferredConcurrencyPollingRate;
         this.errorBackoffTime = errorBackoffTime;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.sharedConcurrencyPoolMember = sharedConcurrencyPoolMember;
     }
 
     @PositiveOrZero
     @Override
     public int getConcurrencyLevel() {
-        return concurrencyLevel;
+        return concurrencyLevel != null ? concurrencyLevel : concurrencyLimiter.getLimit();
     }
 
     @Nullable
@@ -58,4 +70,32 @@ public final class StaticConcurrentMessageBrokerProperties implements Concurrent
     public Duration getErrorBackoffTime() {
         return errorBackoffTime;
     }
+
+    @Nullable
+    @Override
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Nullable
+    @Override
+    public SharedConcurrencyPool.Member getSharedConcurrencyPoolMember() {
+        return sharedConcurrencyPoolMember;
+    }
+
+    @Override
+    public boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+        if (concurrencyLevel != null) {
+            // the concurrency level never changes so there is nothing to be notified of
+            return true;
+        }
+        return concurrencyLimiter.addLimitChangeListener(listener);
+    }
+
+    @Override
+    public void removeConcurrencyLevelChangeListener(final Runnable listener) {
+        if (concurrencyLevel == null) {
+            concurrencyLimiter.removeLimitChangeListener(listener);
+        }
+    }
 }
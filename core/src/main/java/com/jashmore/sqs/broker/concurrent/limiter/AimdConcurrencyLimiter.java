@@ -0,0 +1,114 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import static com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiterConstants.DEFAULT_BACKOFF_RATIO;
+import static com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiterConstants.DEFAULT_MIN_LIMIT;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.Nullable;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.util.Preconditions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ConcurrencyLimiter} that uses an additive increase, multiplicative decrease (AIMD) algorithm to determine the limit.
+ *
+ * <p>Each time a full limit's worth of messages have been processed successfully the limit will be increased by one. When a message fails to be
+ * processed, or takes longer than the optional latency threshold, the limit will be multiplied by the backoff ratio. This results in the limit
+ * slowly probing for more capacity while quickly reducing the load when the downstream systems are struggling.
+ */
+@Slf4j
+@ThreadSafe
+public class AimdConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration latencyThreshold;
+
+    private final List<Runnable> limitChangeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile int limit;
+
+    @GuardedBy("this")
+    private int successfulMessagesSinceLimitChanged;
+
+    /**
+     * Constructor.
+     *
+     * @param minLimit         the minimum limit, defaulting to {@link ConcurrencyLimiterConstants#DEFAULT_MIN_LIMIT} when null
+     * @param maxLimit         the maximum limit
+     * @param initialLimit     the limit before any messages have been processed, defaulting to the minimum limit when null
+     * @param backoffRatio     the ratio to multiply the limit by when an overload is detected, defaulting to
+     *                         {@link ConcurrencyLimiterConstants#DEFAULT_BACKOFF_RATIO} when null
+     * @param latencyThreshold the processing time that indicates an overload, or null if only failures should be considered an overload
+     */
+    @Builder(toBuilder = true)
+    public AimdConcurrencyLimiter(
+        @Nullable final Integer minLimit,
+        final Integer maxLimit,
+        @Nullable final Integer initialLimit,
+        @Nullable final Double backoffRatio,
+        @Nullable final Duration latencyThreshold
+    ) {
+        Preconditions.checkNotNull(maxLimit, "maxLimit should not be null");
+        this.minLimit = Optional.ofNullable(minLimit).orElse(DEFAULT_MIN_LIMIT);
+        this.maxLimit = maxLimit;
+        this.backoffRatio = Optional.ofNullable(backoffRatio).orElse(DEFAULT_BACKOFF_RATIO);
+        this.latencyThreshold = latencyThreshold;
+        this.limit = Optional.ofNullable(initialLimit).orElse(this.minLimit);
+
+        Preconditions.checkPositive(this.minLimit, "minLimit should be greater than zero");
+        Preconditions.checkArgument(this.maxLimit >= this.minLimit, "maxLimit should be greater than or equal to minLimit");
+        Preconditions.checkArgument(this.backoffRatio > 0 && this.backoffRatio < 1, "backoffRatio should be between zero and one");
+        Preconditions.checkArgument(
+            this.limit >= this.minLimit && this.limit <= this.maxLimit,
+            "initialLimit should be between minLimit and maxLimit"
+        );
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean addLimitChangeListener(final Runnable listener) {
+        limitChangeListeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeLimitChangeListener(final Runnable listener) {
+        limitChangeListeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onMessageProcessed(final Duration processingTime, final boolean successful) {
+        final boolean isOverloaded = !successful || (latencyThreshold != null && processingTime.compareTo(latencyThreshold) > 0);
+        if (isOverloaded) {
+            final int decreasedLimit = (int) Math.floor(limit * backoffRatio);
+            // make sure the limit still decreases when it is too small for the ratio to have an effect
+            updateLimit(Math.max(minLimit, Math.min(decreasedLimit, limit - 1)));
+            return;
+        }
+
+        successfulMessagesSinceLimitChanged++;
+        if (successfulMessagesSinceLimitChanged >= limit) {
+            updateLimit(Math.min(maxLimit, limit + 1));
+        }
+    }
+
+    private void updateLimit(final int newLimit) {
+        successfulMessagesSinceLimitChanged = 0;
+        if (newLimit != limit) {
+            log.debug("Changing concurrency limit from {} to {}", limit, newLimit);
+            limit = newLimit;
+            limitChangeListeners.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import java.time.Duration;
+
+/**
+ * Limiter that will dynamically determine the level of concurrency for the {@link ConcurrentMessageBroker} based on how messages are being processed.
+ *
+ * <p>This can be used instead of a static {@link ConcurrentMessageBrokerProperties#getConcurrencyLevel()} so that the concurrency can increase while
+ * messages are being processed successfully, and decrease when the processing latency or failures indicate that a downstream system is overloaded.
+ *
+ * <p>Implementations must be thread safe as the outcome of each message will be provided on the thread that processed it, while the limit will be
+ * obtained by the coordinating thread of the broker.
+ *
+ * @see ConcurrentMessageBrokerProperties#getConcurrencyLimiter()
+ */
+@ThreadSafe
+public interface ConcurrencyLimiter {
+    /**
+     * The current limit for the number of messages that can be processed concurrently.
+     *
+     * <p>This will be called each time the broker is determining whether another message can be processed and therefore should be efficient.
+     *
+     * @return the current concurrency limit
+     */
+    @PositiveOrZero
+    int getLimit();
+
+    /**
+     * Record that a message has finished being processed.
+     *
+     * @param processingTime the amount of time taken to process the message
+     * @param successful     whether the message was processed without an error
+     */
+    void onMessageProcessed(Duration processingTime, boolean successful);
+
+    /**
+     * Register a listener that will be called each time the limit changes.
+     *
+     * <p>This allows the broker to react to a change in the limit straight away instead of periodically checking the limit while waiting for messages
+     * to finish processing. If the limiter is not able to publish changes to the limit, false should be returned and the broker will fall back to
+     * polling the limit.
+     *
+     * @param listener the listener to call when the limit changes
+     * @return whether the listener will be notified of changes to the limit
+     */
+    default boolean addLimitChangeListener(final Runnable listener) {
+        return false;
+    }
+
+    /**
+     * Remove a listener that was previously registered via {@link #addLimitChangeListener(Runnable)}.
+     *
+     * @param listener the listener to remove
+     */
+    default void removeLimitChangeListener(final Runnable listener) {}
+}
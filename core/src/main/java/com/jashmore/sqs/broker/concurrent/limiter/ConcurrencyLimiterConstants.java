@@ -0,0 +1,28 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class ConcurrencyLimiterConstants {
+
+    /**
+     * The default minimum concurrency limit, which makes sure that at least one message is always able to be processed.
+     */
+    static final int DEFAULT_MIN_LIMIT = 1;
+
+    /**
+     * The default ratio that the {@link AimdConcurrencyLimiter} will multiply the limit by when an overload is detected.
+     */
+    static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    /**
+     * The default weight given to each new limit calculated by the {@link GradientConcurrencyLimiter}.
+     */
+    static final double DEFAULT_SMOOTHING = 0.2;
+
+    /**
+     * The default ratio that the processing latency can increase over the long term latency before the {@link GradientConcurrencyLimiter} reduces
+     * the limit.
+     */
+    static final double DEFAULT_LATENCY_TOLERANCE = 1.5;
+}
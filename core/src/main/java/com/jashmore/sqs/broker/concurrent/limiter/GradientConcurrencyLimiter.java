@@ -0,0 +1,139 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import static com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiterConstants.DEFAULT_LATENCY_TOLERANCE;
+import static com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiterConstants.DEFAULT_MIN_LIMIT;
+import static com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiterConstants.DEFAULT_SMOOTHING;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.Nullable;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.util.Preconditions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ConcurrencyLimiter} that adjusts the limit based on the gradient between the long term processing latency and the latest processing latency.
+ *
+ * <p>While the latency of processing a message stays within the tolerance of the long term latency, the limit will grow by roughly the square root
+ * of the current limit, allowing for more messages to be processed concurrently. As soon as the latency increases past this tolerance, which is a sign
+ * that the downstream systems are starting to queue requests, the limit will decrease proportionally to the increase in latency. A failure to process
+ * a message will result in the maximum decrease.
+ *
+ * <p>The new limit is smoothed with the previous limit so that a single slow message does not cause large swings in the concurrency.
+ */
+@Slf4j
+@ThreadSafe
+public class GradientConcurrencyLimiter implements ConcurrencyLimiter {
+
+    /**
+     * The weight given to each new latency when calculating the long term latency, which roughly averages the last twenty messages.
+     */
+    private static final double LONG_TERM_LATENCY_SMOOTHING = 0.05;
+
+    /**
+     * The minimum gradient applied to the limit, which restricts the limit from being more than halved by a single message.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double latencyTolerance;
+
+    private final List<Runnable> limitChangeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile int limit;
+
+    @GuardedBy("this")
+    private double estimatedLimit;
+
+    @GuardedBy("this")
+    private double longTermLatencyInNanos = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param minLimit         the minimum limit, defaulting to {@link ConcurrencyLimiterConstants#DEFAULT_MIN_LIMIT} when null
+     * @param maxLimit         the maximum limit
+     * @param initialLimit     the limit before any messages have been processed, defaulting to the minimum limit when null
+     * @param smoothing        the weight given to each newly calculated limit, defaulting to {@link ConcurrencyLimiterConstants#DEFAULT_SMOOTHING}
+     *                         when null
+     * @param latencyTolerance the ratio that the latency can increase over the long term latency before the limit is decreased, defaulting to
+     *                         {@link ConcurrencyLimiterConstants#DEFAULT_LATENCY_TOLERANCE} when null
+     */
+    @Builder(toBuilder = true)
+    public GradientConcurrencyLimiter(
+        @Nullable final Integer minLimit,
+        final Integer maxLimit,
+        @Nullable final Integer initialLimit,
+        @Nullable final Double smoothing,
+        @Nullable final Double latencyTolerance
+    ) {
+        Preconditions.checkNotNull(maxLimit, "maxLimit should not be null");
+        this.minLimit = Optional.ofNullable(minLimit).orElse(DEFAULT_MIN_LIMIT);
+        this.maxLimit = maxLimit;
+        this.smoothing = Optional.ofNullable(smoothing).orElse(DEFAULT_SMOOTHING);
+        this.latencyTolerance = Optional.ofNullable(latencyTolerance).orElse(DEFAULT_LATENCY_TOLERANCE);
+        this.limit = Optional.ofNullable(initialLimit).orElse(this.minLimit);
+        this.estimatedLimit = this.limit;
+
+        Preconditions.checkPositive(this.minLimit, "minLimit should be greater than zero");
+        Preconditions.checkArgument(this.maxLimit >= this.minLimit, "maxLimit should be greater than or equal to minLimit");
+        Preconditions.checkArgument(this.smoothing > 0 && this.smoothing <= 1, "smoothing should be greater than zero and at most one");
+        Preconditions.checkArgument(this.latencyTolerance >= 1, "latencyTolerance should be greater than or equal to one");
+        Preconditions.checkArgument(
+            this.limit >= this.minLimit && this.limit <= this.maxLimit,
+            "initialLimit should be between minLimit and maxLimit"
+        );
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean addLimitChangeListener(final Runnable listener) {
+        limitChangeListeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeLimitChangeListener(final Runnable listener) {
+        limitChangeListeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onMessageProcessed(final Duration processingTime, final boolean successful) {
+        final double latencyInNanos = Math.max(1, processingTime.toNanos());
+        if (longTermLatencyInNanos < 0) {
+            longTermLatencyInNanos = latencyInNanos;
+        } else {
+            longTermLatencyInNanos =
+                LONG_TERM_LATENCY_SMOOTHING * latencyInNanos + (1 - LONG_TERM_LATENCY_SMOOTHING) * longTermLatencyInNanos;
+        }
+
+        // when the latency has recovered after a spike, the long term latency should catch up quicker so that the limit is not held back
+        if (longTermLatencyInNanos / latencyInNanos > 2) {
+            longTermLatencyInNanos *= 0.95;
+        }
+
+        final double gradient = successful
+            ? Math.max(MIN_GRADIENT, Math.min(1.0, latencyTolerance * longTermLatencyInNanos / latencyInNanos))
+            : MIN_GRADIENT;
+        final double queueSize = Math.max(1, Math.sqrt(estimatedLimit));
+        final double newLimit = estimatedLimit * gradient + queueSize;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, (1 - smoothing) * estimatedLimit + smoothing * newLimit));
+
+        final int roundedLimit = (int) estimatedLimit;
+        if (roundedLimit != limit) {
+            log.debug("Changing concurrency limit from {} to {}", limit, roundedLimit);
+            limit = roundedLimit;
+            limitChangeListeners.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.jashmore.sqs.broker.concurrent.pool;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.Positive;
+import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
+import com.jashmore.sqs.util.Preconditions;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of concurrency that is shared between multiple {@link ConcurrentMessageBroker}s so that the total number of messages being processed across
+ * all of them is bounded, for example to stop the CPU or a database connection pool from being oversubscribed when multiple queues spike at once.
+ *
+ * <p>Each broker registers with the pool with a guaranteed concurrency, which is reserved for that broker so that it can always process that many
+ * messages regardless of how busy the other brokers are. The rest of the pool is shared between all of the brokers on a first come, first served
+ * basis, which results in the busiest brokers obtaining the most of it. Each broker is still limited by its own concurrency level, which acts as the
+ * maximum concurrency that it can obtain from this pool.
+ *
+ * <p>The shared concurrency is not weighted between the members. A listener that should be given a larger share of the pool is given a larger
+ * guaranteed concurrency, and a smaller concurrency level caps how much of the shared concurrency it can take.
+ */
+@ThreadSafe
+public class SharedConcurrencyPool {
+
+    private final int totalConcurrency;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition concurrencyReleased = lock.newCondition();
+
+    /**
+     * The total concurrency that has been guaranteed to the registered members.
+     */
+    @GuardedBy("lock")
+    private int reservedConcurrency;
+
+    /**
+     * The number of permits that are currently being used by members above their guaranteed concurrency.
+     */
+    @GuardedBy("lock")
+    private int sharedConcurrencyInUse;
+
+    /**
+     * Constructor.
+     *
+     * @param totalConcurrency the maximum number of messages that can be processed at once across all members of the pool
+     */
+    public SharedConcurrencyPool(@Positive final int totalConcurrency) {
+        Preconditions.checkArgument(totalConcurrency > 0, "totalConcurrency should be greater than zero");
+
+        this.totalConcurrency = totalConcurrency;
+    }
+
+    /**
+     * Register a new member of the pool, which is able to acquire concurrency from this pool.
+     *
+     * @param guaranteedConcurrency the concurrency that should be reserved for this member
+     * @return the member of the pool
+     * @throws IllegalArgumentException if there is not enough unreserved concurrency left in the pool for the guarantee
+     */
+    public Member register(@PositiveOrZero final int guaranteedConcurrency) {
+        Preconditions.checkPositiveOrZero(guaranteedConcurrency, "guaranteedConcurrency should be greater than or equal to zero");
+
+        lock.lock();
+        try {
+            Preconditions.checkArgument(
+                reservedConcurrency + guaranteedConcurrency <= totalConcurrency,
+                "Not enough concurrency in the pool to guarantee " + guaranteedConcurrency + " as " + reservedConcurrency + " of " + totalConcurrency +
+                " has already been reserved"
+            );
+            reservedConcurrency += guaranteedConcurrency;
+            return new Member(guaranteedConcurrency);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The maximum number of messages that can be processed at once across all members of the pool.
+     *
+     * @return the total concurrency of the pool
+     */
+    public int getTotalConcurrency() {
+        return totalConcurrency;
+    }
+
+    /**
+     * The amount of concurrency that is not reserved by any member and can currently be acquired by any of them.
+     *
+     * @return the available shared concurrency
+     */
+    public int getAvailableSharedConcurrency() {
+        lock.lock();
+        try {
+            return totalConcurrency - reservedConcurrency - sharedConcurrencyInUse;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A member of the {@link SharedConcurrencyPool}, e.g. a single {@link ConcurrentMessageBroker}, that acquires concurrency from the pool for
+     * each message that it processes.
+     */
+    @ThreadSafe
+    public final class Member {
+
+        @GuardedBy("lock")
+        private int guaranteedConcurrency;
+
+        @GuardedBy("lock")
+        private int concurrencyInUse;
+
+        @GuardedBy("lock")
+        private boolean deregistered;
+
+        private Member(final int guaranteedConcurrency) {
+            this.guaranteedConcurrency = guaranteedConcurrency;
+        }
+
+        /**
+         * Acquire a permit from the pool, blocking until one is available.
+         *
+         * <p>A permit is available if this member is using less than its guaranteed concurrency or there is unreserved concurrency that is not
+         * being used by any other member.
+         *
+         * @throws InterruptedException if the thread was interrupted while waiting for a permit
+         * @throws IllegalStateException if this member has been deregistered from the pool
+         */
+        public void acquire() throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                if (deregistered) {
+                    throw new IllegalStateException("Member has been deregistered from the pool");
+                }
+                while (concurrencyInUse >= guaranteedConcurrency && sharedConcurrencyInUse >= totalConcurrency - reservedConcurrency) {
+                    concurrencyReleased.await();
+                }
+                concurrencyInUse++;
+                if (concurrencyInUse > guaranteedConcurrency) {
+                    sharedConcurrencyInUse++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Release a permit that was previously acquired, allowing for another member to acquire it.
+         */
+        public void release() {
+            lock.lock();
+            try {
+                if (concurrencyInUse > guaranteedConcurrency) {
+                    sharedConcurrencyInUse--;
+                }
+                concurrencyInUse--;
+                concurrencyReleased.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Remove this member from the pool, releasing the concurrency that was guaranteed to it.
+         *
+         * <p>Any permits that are still in use can be released after this member has been deregistered.
+         */
+        public void deregister() {
+            lock.lock();
+            try {
+                if (deregistered) {
+                    return;
+                }
+                deregistered = true;
+                reservedConcurrency -= guaranteedConcurrency;
+                // any permits still in use are now taken from the shared concurrency as the guarantee no longer exists
+                sharedConcurrencyInUse += Math.min(concurrencyInUse, guaranteedConcurrency);
+                guaranteedConcurrency = 0;
+                concurrencyReleased.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
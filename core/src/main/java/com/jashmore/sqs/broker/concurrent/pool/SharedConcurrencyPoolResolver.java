@@ -0,0 +1,18 @@
+package com.jashmore.sqs.broker.concurrent.pool;
+
+/**
+ * Resolves a {@link SharedConcurrencyPool} by name, for example by finding the bean with that name in a dependency injection framework.
+ *
+ * <p>This allows for annotations to reference a pool that has been configured elsewhere in the application.
+ */
+@FunctionalInterface
+public interface SharedConcurrencyPoolResolver {
+    /**
+     * Resolve the pool with the provided name.
+     *
+     * @param name the name of the pool
+     * @return the pool with this name
+     * @throws IllegalArgumentException if there is no pool with this name
+     */
+    SharedConcurrencyPool resolvePool(String name);
+}
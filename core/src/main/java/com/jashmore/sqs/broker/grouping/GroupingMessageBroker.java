@@ -8,10 +8,10 @@ import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
@@ -53,6 +53,11 @@ import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 @Slf4j
 public class GroupingMessageBroker implements MessageBroker {
 
+    /**
+     * The period after a message has failed to be processed that any newly received messages in the same group will be purged.
+     */
+    private static final Duration FAILED_MESSAGE_GROUP_PURGE_PERIOD = Duration.ofSeconds(1);
+
     private final GroupingMessageBrokerProperties properties;
     private final ConcurrentMessageBroker concurrentMessageBroker;
     private final ReentrantLock reentrantLock = new ReentrantLock();
@@ -61,7 +66,16 @@ public class GroupingMessageBroker implements MessageBroker {
      * Contains all of the messages that have been received but cannot be processed because there is not a thread to take it or there is currently already
      * a message in the same message group being processed.
      */
-    private final Map<String, Queue<Message>> internalMessageCache = new LinkedHashMap<>();
+    private final Map<String, Queue<Message>> internalMessageCache = new HashMap<>();
+
+    /**
+     * The message groups that have internally cached messages and are not currently being processed, in the order that they became available.
+     *
+     * <p>This allows for the next message to process to be found without needing to scan through all of the cached message groups. A message group
+     * will only be in this queue once as it is added when it first has a cached message and is not processing, or when it has finished processing a
+     * message and still has more messages cached.
+     */
+    private final Deque<String> messageGroupsReadyForProcessing = new ArrayDeque<>();
 
     /**
      * All of the requests for messages.
@@ -104,6 +118,12 @@ public class GroupingMessageBroker implements MessageBroker {
                     public @Nullable @PositiveOrZero Duration getErrorBackoffTime() {
                         return properties.getErrorBackoffTime();
                     }
+
+                    @Override
+                    public boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+                        // a fixed concurrency level never changes so the broker can wait for a permit without polling it
+                        return properties.fixedConcurrencyLevel();
+                    }
                 }
             );
     }
@@ -196,7 +216,10 @@ public class GroupingMessageBroker implements MessageBroker {
                                 internalMessageCache.remove(messageGroupKey);
                             }
                         }
-                        messageGroupsCurrentlyProcessing.remove(properties.messageGroupingFunction().apply(message));
+                        messageGroupsCurrentlyProcessing.remove(messageGroupKey);
+                        if (internalMessageCache.containsKey(messageGroupKey)) {
+                            messageGroupsReadyForProcessing.addLast(messageGroupKey);
+                        }
 
                         tryProcessAnotherMessage();
                     } finally {
@@ -262,17 +285,15 @@ public class GroupingMessageBroker implements MessageBroker {
                     final String messageGroupKey = properties.messageGroupingFunction().apply(message);
                     reentrantLock.lock();
                     try {
-                        final boolean messageWithSameGroupFailedInShortPeriod = failingMessages
-                            .entrySet()
-                            .stream()
-                            .filter(entry -> System.currentTimeMillis() - entry.getValue() < Duration.ofSeconds(1).toMillis())
-                            .anyMatch(entry -> entry.getKey().equals(messageGroupKey));
+                        final Long messageGroupFailureTime = failingMessages.get(messageGroupKey);
+                        final boolean messageWithSameGroupFailedInShortPeriod =
+                            messageGroupFailureTime != null &&
+                            System.currentTimeMillis() - messageGroupFailureTime < FAILED_MESSAGE_GROUP_PURGE_PERIOD.toMillis();
 
                         actualMessageRequests.remove(messageRetrievalFuture);
                         if (!messageWithSameGroupFailedInShortPeriod) {
                             failingMessages.remove(messageGroupKey);
-                            internalMessageCache.putIfAbsent(messageGroupKey, new LinkedList<>());
-                            internalMessageCache.get(messageGroupKey).add(message);
+                            cacheMessage(messageGroupKey, message);
                         }
 
                         tryProcessAnotherMessage();
@@ -288,26 +309,39 @@ public class GroupingMessageBroker implements MessageBroker {
         }
     }
 
+    /**
+     * Internally cache the message so that it can be processed when there is a thread available and no other message in the group is processing.
+     *
+     * @param messageGroupKey the key for the group of the message
+     * @param message         the message to cache
+     */
+    private void cacheMessage(final String messageGroupKey, final Message message) {
+        final Queue<Message> messageQueueCache = internalMessageCache.get(messageGroupKey);
+        if (messageQueueCache != null) {
+            messageQueueCache.add(message);
+            return;
+        }
+
+        final Queue<Message> newMessageQueueCache = new LinkedList<>();
+        newMessageQueueCache.add(message);
+        internalMessageCache.put(messageGroupKey, newMessageQueueCache);
+        if (!messageGroupsCurrentlyProcessing.contains(messageGroupKey)) {
+            messageGroupsReadyForProcessing.addLast(messageGroupKey);
+        }
+    }
+
     /**
      * Determine if there is an internally cached message that can begin to be processed.
      *
      * @return the optional message to process
      */
     private Optional<Message> getInternalCachedMessageAvailableForProcessing() {
-        final Optional<Map.Entry<String, Queue<Message>>> optionalMessageGroupValue = internalMessageCache
-            .entrySet()
-            .stream()
-            .filter(entry -> !messageGroupsCurrentlyProcessing.contains(entry.getKey()))
-            .findFirst();
-
-        if (!optionalMessageGroupValue.isPresent()) {
+        final String messageGroupKey = messageGroupsReadyForProcessing.pollFirst();
+        if (messageGroupKey == null) {
             return Optional.empty();
         }
 
-        final Map.Entry<String, Queue<Message>> optionalMessageGroup = optionalMessageGroupValue.get();
-
-        final String messageGroupKey = optionalMessageGroup.getKey();
-        final Queue<Message> messageQueueCache = optionalMessageGroup.getValue();
+        final Queue<Message> messageQueueCache = internalMessageCache.get(messageGroupKey);
         final Message message = messageQueueCache.remove();
         if (messageQueueCache.isEmpty()) {
             internalMessageCache.remove(messageGroupKey);
@@ -81,6 +81,19 @@ public interface GroupingMessageBrokerProperties {
     @Positive
     Duration getConcurrencyPollingRate();
 
+    /**
+     * Whether the {@link #getConcurrencyLevel()} stays the same for the lifetime of the broker.
+     *
+     * <p>When the concurrency level is fixed the broker waits for a permit to process a message without periodically checking the concurrency level
+     * every {@link #getConcurrencyPollingRate()}.
+     *
+     * @return whether the concurrency level never changes
+     */
+    @Value.Default
+    default boolean fixedConcurrencyLevel() {
+        return false;
+    }
+
     /**
      * The duration that the coordinating thread should backoff if there was an error trying to request a message.
      *
@@ -1,32 +1,39 @@
 package com.jashmore.sqs.container;
 
+import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_CONTAINER_RUNTIME;
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_INTERRUPT_MESSAGE_PROCESSING_ON_SHUTDOWN;
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN;
+import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS;
 import static com.jashmore.sqs.container.CoreMessageListenerContainerConstants.DEFAULT_SHUTDOWN_TIME;
 import static com.jashmore.sqs.util.properties.PropertyUtils.safelyGetPositiveOrZeroDuration;
 import static com.jashmore.sqs.util.thread.ThreadUtils.multiNamedThreadFactory;
-import static com.jashmore.sqs.util.thread.ThreadUtils.singleNamedThreadFactory;
+import static com.jashmore.sqs.util.thread.ThreadUtils.newVirtualThreadPerTaskExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.jashmore.documentation.annotations.GuardedBy;
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.documentation.annotations.VisibleForTesting;
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.Preconditions;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -39,6 +46,9 @@ import software.amazon.awssdk.utils.StringUtils;
  * also will wait for all background threads to finish, for example it will wait until all of the resolved messages in a {@link MessageResolver} to
  * be completed before finishing the shutdown.
  *
+ * <p>The threads that run the long running components of this container are provided by the {@link ContainerRuntime}, which can be shared between
+ * containers to stop the number of threads growing with each container.
+ *
  * <p>This container expects a new instance of each component (e.g. {@link MessageResolver}) each time that it is started up to remove the need for each
  * component to maintain state between start up.
  */
@@ -48,7 +58,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
 
     private final String identifier;
     private final Supplier<MessageBroker> messageBrokerSupplier;
-    private final Supplier<MessageRetriever> messageRetrieverSupplier;
+    private final Function<RequiredMessageAttributes, MessageRetriever> messageRetrieverFactory;
     private final Supplier<MessageProcessor> messageProcessorSupplier;
     private final Supplier<MessageResolver> messageResolverSupplier;
     private final CoreMessageListenerContainerProperties properties;
@@ -89,12 +99,43 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
         final Supplier<MessageProcessor> messageProcessorSupplier,
         final Supplier<MessageResolver> messageResolverSupplier,
         final CoreMessageListenerContainerProperties properties
+    ) {
+        this(
+            identifier,
+            messageBrokerSupplier,
+            requiredMessageAttributes -> messageRetrieverSupplier.get(),
+            messageProcessorSupplier,
+            messageResolverSupplier,
+            properties
+        );
+    }
+
+    /**
+     * Constructor for a container whose {@link MessageRetriever} should only request the attributes needed by the {@link MessageProcessor}.
+     *
+     * <p>Each time the container is started the {@link MessageProcessor} is built first and its
+     * {@link MessageProcessor#getRequiredMessageAttributes()} are provided when building the {@link MessageRetriever}.
+     *
+     * @param identifier               the unique identifier for this container
+     * @param messageBrokerSupplier    the supplier of the broker for each time the container is started
+     * @param messageRetrieverFactory  the factory for building the retriever from the attributes required by the processor
+     * @param messageProcessorSupplier the supplier of the processor for each time the container is started
+     * @param messageResolverSupplier  the supplier of the resolver for each time the container is started
+     * @param properties               the properties for configuring the container
+     */
+    public CoreMessageListenerContainer(
+        final String identifier,
+        final Supplier<MessageBroker> messageBrokerSupplier,
+        final Function<RequiredMessageAttributes, MessageRetriever> messageRetrieverFactory,
+        final Supplier<MessageProcessor> messageProcessorSupplier,
+        final Supplier<MessageResolver> messageResolverSupplier,
+        final CoreMessageListenerContainerProperties properties
     ) {
         Preconditions.checkArgument(StringUtils.isNotBlank(identifier), "identifier should not be empty");
 
         this.identifier = identifier;
         this.messageBrokerSupplier = messageBrokerSupplier;
-        this.messageRetrieverSupplier = messageRetrieverSupplier;
+        this.messageRetrieverFactory = messageRetrieverFactory;
         this.messageProcessorSupplier = messageProcessorSupplier;
         this.messageResolverSupplier = messageResolverSupplier;
         this.properties = properties;
@@ -111,7 +152,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
             log.info("Container '{}' has already been started. No action taken", identifier);
         } else {
             log.info("Container '{}' is being started", identifier);
-            executorService = Executors.newSingleThreadExecutor(singleNamedThreadFactory(identifier + "-message-container"));
+            executorService = getContainerRuntime().newComponentExecutorService(identifier + "-message-container");
             containerFuture = CompletableFuture.runAsync(this::runContainer, executorService);
         }
         return containerFuture;
@@ -151,10 +192,10 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
     @VisibleForTesting
     void runContainer() {
         try {
-            final MessageRetriever messageRetriever = messageRetrieverSupplier.get();
+            final MessageProcessor messageProcessor = messageProcessorSupplier.get();
+            final MessageRetriever messageRetriever = messageRetrieverFactory.apply(messageProcessor.getRequiredMessageAttributes());
             final MessageResolver messageResolver = messageResolverSupplier.get();
             final MessageBroker messageBroker = messageBrokerSupplier.get();
-            final MessageProcessor messageProcessor = messageProcessorSupplier.get();
 
             final BlockingRunnable shutdownMessageResolver = startupMessageResolver(messageResolver);
             final ExecutorService messageProcessingExecutorService = buildMessageProcessingExecutorService();
@@ -215,12 +256,28 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
         final MessageResolver messageResolver,
         final ExecutorService messageProcessingExecutorService
     ) throws InterruptedException {
+        // the time that each message was received so that the resolver knows how long it has until the message's visibility timeout expires
+        final Map<Message, Long> messageReceivedNanoTimes = new ConcurrentHashMap<>();
         try {
             runBrokerUntilInterrupted(() ->
                 messageBroker.processMessages(
                     messageProcessingExecutorService,
-                    messageRetriever::retrieveMessage,
-                    message -> messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message))
+                    () ->
+                        messageRetriever
+                            .retrieveMessage()
+                            .thenApply(message -> {
+                                if (message != null) {
+                                    messageReceivedNanoTimes.put(message, System.nanoTime());
+                                }
+                                return message;
+                            }),
+                    message -> {
+                        final Long receivedNanoTime = message != null ? messageReceivedNanoTimes.remove(message) : null;
+                        if (receivedNanoTime == null) {
+                            return messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message));
+                        }
+                        return messageProcessor.processMessage(message, () -> messageResolver.resolveMessage(message, receivedNanoTime));
+                    }
                 )
             );
         } catch (final ExecutionException executionException) {
@@ -268,9 +325,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      * @throws ExecutionException   if there was an error running the runnable
      */
     private void runBrokerUntilInterrupted(final BlockingRunnable runnable) throws InterruptedException, ExecutionException {
-        final ExecutorService messageBrokerExecutorService = Executors.newSingleThreadExecutor(
-            singleNamedThreadFactory(identifier + "-message-broker")
-        );
+        final ExecutorService messageBrokerExecutorService = getContainerRuntime().newComponentExecutorService(identifier + "-message-broker");
         try {
             CompletableFuture
                 .runAsync(
@@ -361,9 +416,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
         final MessageRetriever messageRetriever,
         final Consumer<List<Message>> extraMessagesConsumer
     ) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor(
-            singleNamedThreadFactory(getIdentifier() + "-message-retriever")
-        );
+        final ExecutorService executorService = getContainerRuntime().newComponentExecutorService(getIdentifier() + "-message-retriever");
         CompletableFuture.supplyAsync(messageRetriever::run, executorService).thenAccept(extraMessagesConsumer);
         return () -> {
             executorService.shutdownNow();
@@ -392,9 +445,7 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
      * @return the optional {@link ExecutorService} for this background thread if it was started
      */
     private BlockingRunnable startupMessageResolver(final MessageResolver messageResolver) {
-        final ExecutorService executorService = Executors.newSingleThreadExecutor(
-            singleNamedThreadFactory(getIdentifier() + "-message-resolver")
-        );
+        final ExecutorService executorService = getContainerRuntime().newComponentExecutorService(getIdentifier() + "-message-resolver");
         CompletableFuture.runAsync(messageResolver::run, executorService);
         return () -> {
             executorService.shutdownNow();
@@ -418,10 +469,21 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
     /**
      * Build the {@link ExecutorService} that will be used for the threads that are processing the messages.
      *
+     * <p>Depending on {@link CoreMessageListenerContainerProperties#shouldProcessMessagesOnVirtualThreads()} each message will be processed on a new
+     * virtual thread, falling back to platform threads if the runtime does not support them.
+     *
      * @return the executor service that will be used for processing messages
      */
     private ExecutorService buildMessageProcessingExecutorService() {
-        return Executors.newCachedThreadPool(multiNamedThreadFactory(getIdentifier() + "-message-processing"));
+        final String threadNamePrefix = getIdentifier() + "-message-processing";
+        if (shouldProcessMessagesOnVirtualThreads()) {
+            final Optional<ExecutorService> virtualThreadExecutorService = newVirtualThreadPerTaskExecutor(threadNamePrefix);
+            if (virtualThreadExecutorService.isPresent()) {
+                return virtualThreadExecutorService.get();
+            }
+            log.warn("Container '{}' is unable to process messages on virtual threads as they are not supported by this runtime", identifier);
+        }
+        return Executors.newCachedThreadPool(multiNamedThreadFactory(threadNamePrefix));
     }
 
     private boolean shouldInterruptMessageProcessingThreadsOnShutdown() {
@@ -436,6 +498,14 @@ public class CoreMessageListenerContainer implements MessageListenerContainer {
             .orElse(DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN);
     }
 
+    private boolean shouldProcessMessagesOnVirtualThreads() {
+        return Optional.ofNullable(properties.shouldProcessMessagesOnVirtualThreads()).orElse(DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS);
+    }
+
+    private ContainerRuntime getContainerRuntime() {
+        return Optional.ofNullable(properties.getContainerRuntime()).orElse(DEFAULT_CONTAINER_RUNTIME);
+    }
+
     /**
      * Similar to a {@link Runnable} but it allows for {@link InterruptedException}s to be thrown.
      */
@@ -1,5 +1,7 @@
 package com.jashmore.sqs.container;
 
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
+import com.jashmore.sqs.container.runtime.DedicatedThreadContainerRuntime;
 import com.jashmore.sqs.retriever.MessageRetriever;
 import java.time.Duration;
 import lombok.experimental.UtilityClass;
@@ -22,4 +24,14 @@ class CoreMessageListenerContainerConstants {
      * completely shut down.
      */
     static boolean DEFAULT_SHOULD_PROCESS_EXTRA_MESSAGES_ON_SHUTDOWN = true;
+
+    /**
+     * The default setting for whether the messages should be processed on virtual threads, if the runtime supports them.
+     */
+    static boolean DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS = false;
+
+    /**
+     * The default runtime that will provide the threads for the components of the container, which starts a new thread for each component.
+     */
+    static final ContainerRuntime DEFAULT_CONTAINER_RUNTIME = new DedicatedThreadContainerRuntime();
 }
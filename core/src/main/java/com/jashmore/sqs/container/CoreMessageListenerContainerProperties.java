@@ -2,6 +2,7 @@ package com.jashmore.sqs.container;
 
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
 import java.time.Duration;
@@ -79,4 +80,33 @@ public interface CoreMessageListenerContainerProperties {
     @Nullable
     @PositiveOrZero
     Duration getMessageResolverShutdownTimeout();
+
+    /**
+     * Whether the messages should be processed on virtual threads instead of platform threads.
+     *
+     * <p>Virtual threads are much cheaper to create and block than platform threads, which allows for listeners that are waiting on I/O to have much
+     * higher concurrency levels. If the runtime does not support virtual threads, platform threads will be used instead. If this value is null, it will
+     * default to {@link CoreMessageListenerContainerConstants#DEFAULT_SHOULD_PROCESS_MESSAGES_ON_VIRTUAL_THREADS} in the
+     * {@link CoreMessageListenerContainer}.
+     *
+     * @return whether messages should be processed on virtual threads
+     */
+    @Nullable
+    default Boolean shouldProcessMessagesOnVirtualThreads() {
+        return null;
+    }
+
+    /**
+     * The runtime that provides the threads for running the long running components of the container, e.g. the {@link MessageRetriever}.
+     *
+     * <p>Providing the same {@link com.jashmore.sqs.container.runtime.VirtualThreadContainerRuntime} to each container allows for the number of threads
+     * to stay the same as the number of containers grows. If this value is null, it will default to
+     * {@link CoreMessageListenerContainerConstants#DEFAULT_CONTAINER_RUNTIME} in the {@link CoreMessageListenerContainer}.
+     *
+     * @return the runtime for the components of the container
+     */
+    @Nullable
+    default ContainerRuntime getContainerRuntime() {
+        return null;
+    }
 }
@@ -2,6 +2,7 @@ package com.jashmore.sqs.container;
 
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import java.time.Duration;
 import lombok.Builder;
 import lombok.Value;
@@ -16,6 +17,8 @@ public class StaticCoreMessageListenerContainerProperties implements CoreMessage
     Duration messageRetrieverShutdownTimeout;
     Duration messageResolverShutdownTimeout;
     Duration messageBrokerShutdownTimeout;
+    Boolean shouldProcessMessagesOnVirtualThreads;
+    ContainerRuntime containerRuntime;
 
     @Nullable
     @Override
@@ -56,4 +59,16 @@ public class StaticCoreMessageListenerContainerProperties implements CoreMessage
     public Duration getMessageResolverShutdownTimeout() {
         return messageResolverShutdownTimeout;
     }
+
+    @Nullable
+    @Override
+    public Boolean shouldProcessMessagesOnVirtualThreads() {
+        return shouldProcessMessagesOnVirtualThreads;
+    }
+
+    @Nullable
+    @Override
+    public ContainerRuntime getContainerRuntime() {
+        return containerRuntime;
+    }
 }
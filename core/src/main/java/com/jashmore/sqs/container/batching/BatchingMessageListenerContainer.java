@@ -10,18 +10,22 @@ import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.broker.MessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.CoreMessageListenerContainerProperties;
 import com.jashmore.sqs.container.MessageListenerContainer;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolverProperties;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetriever;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
@@ -45,7 +49,7 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
             new CoreMessageListenerContainer(
                 identifier,
                 buildMessageBrokerSupplier(properties),
-                buildMessageRetrieverSupplier(queueProperties, sqsAsyncClient, properties),
+                buildMessageRetrieverFactory(queueProperties, sqsAsyncClient, properties),
                 messageProcessorSupplier,
                 buildMessageResolver(queueProperties, sqsAsyncClient, properties),
                 new CoreMessageListenerContainerProperties() {
@@ -88,6 +92,18 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
                     public Duration getMessageResolverShutdownTimeout() {
                         return null;
                     }
+
+                    @Nullable
+                    @Override
+                    public Boolean shouldProcessMessagesOnVirtualThreads() {
+                        return properties.processMessagesOnVirtualThreads();
+                    }
+
+                    @Nullable
+                    @Override
+                    public ContainerRuntime getContainerRuntime() {
+                        return properties.containerRuntime();
+                    }
                 }
             );
     }
@@ -113,6 +129,11 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
     }
 
     private Supplier<MessageBroker> buildMessageBrokerSupplier(final BatchingMessageListenerContainerProperties properties) {
+        // registered once for the lifetime of the container so the guaranteed concurrency is validated when the listener is built
+        final SharedConcurrencyPool sharedConcurrencyPool = properties.sharedConcurrencyPool();
+        final SharedConcurrencyPool.Member sharedConcurrencyPoolMember = sharedConcurrencyPool != null
+            ? sharedConcurrencyPool.register(properties.guaranteedConcurrency())
+            : null;
         return () ->
             new ConcurrentMessageBroker(
                 new ConcurrentMessageBrokerProperties() {
@@ -130,16 +151,28 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
                     public @Nullable @PositiveOrZero Duration getErrorBackoffTime() {
                         return properties.errorBackoffTime();
                     }
+
+                    @Override
+                    public @Nullable SharedConcurrencyPool.Member getSharedConcurrencyPoolMember() {
+                        return sharedConcurrencyPoolMember;
+                    }
+
+                    @Override
+                    public boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+                        // a fixed concurrency level never changes so the broker can wait for a permit without polling it
+                        return properties.fixedConcurrencyLevel();
+                    }
                 }
             );
     }
 
-    private Supplier<MessageRetriever> buildMessageRetrieverSupplier(
+    private Function<RequiredMessageAttributes, MessageRetriever> buildMessageRetrieverFactory(
         final QueueProperties queueProperties,
         final SqsAsyncClient sqsAsyncClient,
         final BatchingMessageListenerContainerProperties properties
     ) {
-        return () ->
+        // only the attributes needed to process the message are requested, which are determined by the processor for this listener
+        return requiredMessageAttributes ->
             new BatchingMessageRetriever(
                 queueProperties,
                 sqsAsyncClient,
@@ -171,6 +204,12 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
                     public Duration getErrorBackoffTime() {
                         return properties.errorBackoffTime();
                     }
+
+                    @Nullable
+                    @Override
+                    public RequiredMessageAttributes getRequiredMessageAttributes() {
+                        return requiredMessageAttributes;
+                    }
                 }
             );
     }
@@ -198,6 +237,13 @@ public class BatchingMessageListenerContainer implements MessageListenerContaine
                     public Duration getBufferingTime() {
                         return properties.getBatchingPeriod();
                     }
+
+                    @Nullable
+                    @Positive
+                    @Override
+                    public Duration getMessageVisibilityTimeout() {
+                        return properties.messageVisibilityTimeout();
+                    }
                 }
             );
     }
@@ -6,7 +6,9 @@ import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.container.CoreMessageListenerContainerProperties;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import java.time.Duration;
 import org.immutables.value.Value;
@@ -33,6 +35,21 @@ public interface BatchingMessageListenerContainerProperties {
     @Nullable
     Duration concurrencyPollingRate();
 
+    /**
+     * Whether the {@link #concurrencyLevel()} stays the same for the lifetime of the container, e.g. when it is set from an annotation.
+     *
+     * <p>When the concurrency level is fixed the broker waits for a permit to process a message without periodically checking the concurrency level.
+     * Implementations where the concurrency level can change should return false so that changes are picked up within the
+     * {@link #concurrencyPollingRate()}.
+     *
+     * @return whether the concurrency level never changes
+     * @see ConcurrentMessageBrokerProperties#addConcurrencyLevelChangeListener(Runnable) for more details
+     */
+    @Value.Default
+    default boolean fixedConcurrencyLevel() {
+        return true;
+    }
+
     /**
      * The amount of time to backoff if there was an exception obtaining a message to process.
      *
@@ -110,4 +127,56 @@ public interface BatchingMessageListenerContainerProperties {
     default boolean interruptThreadsProcessingMessagesOnShutdown() {
         return false;
     }
+
+    /**
+     * Determines whether the messages should be processed on virtual threads, if the runtime supports them.
+     *
+     * @return whether to process messages on virtual threads
+     * @see CoreMessageListenerContainerProperties#shouldProcessMessagesOnVirtualThreads() for more details
+     */
+    @Value.Default
+    default boolean processMessagesOnVirtualThreads() {
+        return false;
+    }
+
+    /**
+     * The pool of concurrency that is shared with other containers, which bounds the total number of messages being processed across all of them.
+     *
+     * <p>The container registers with this pool once when it is built, which will fail if the pool cannot provide the {@link #guaranteedConcurrency()}.
+     * If this is null, the container will only be limited by its own concurrency level.
+     *
+     * @return the shared pool of concurrency
+     * @see ConcurrentMessageBrokerProperties#getSharedConcurrencyPoolMember() for more details
+     */
+    @Nullable
+    @Value.Default
+    default SharedConcurrencyPool sharedConcurrencyPool() {
+        return null;
+    }
+
+    /**
+     * The concurrency in the {@link #sharedConcurrencyPool()} that is reserved for this container.
+     *
+     * @return the concurrency guaranteed to this container from the shared pool
+     * @see SharedConcurrencyPool#register(int) for more details
+     */
+    @PositiveOrZero
+    @Value.Default
+    default int guaranteedConcurrency() {
+        return 0;
+    }
+
+    /**
+     * The runtime that provides the threads for the long running components of the container, which can be shared between containers.
+     *
+     * <p>If this is null, a new thread will be started for each component of the container.
+     *
+     * @return the runtime for the components of the container
+     * @see CoreMessageListenerContainerProperties#getContainerRuntime() for more details
+     */
+    @Nullable
+    @Value.Default
+    default ContainerRuntime containerRuntime() {
+        return null;
+    }
 }
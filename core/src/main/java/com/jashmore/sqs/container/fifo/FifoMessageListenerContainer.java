@@ -15,7 +15,9 @@ import com.jashmore.sqs.container.StaticCoreMessageListenerContainerProperties;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
+import com.jashmore.sqs.resolver.batching.StaticBatchingMessageResolverProperties;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetriever;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import java.time.Duration;
@@ -60,13 +62,15 @@ public class FifoMessageListenerContainer implements MessageListenerContainer {
             new CoreMessageListenerContainer(
                 identifier,
                 messageBrokerSupplier(properties),
-                messageRetrieverSupplier(queueProperties, sqsAsyncClient, properties),
+                messageRetrieverFactory(queueProperties, sqsAsyncClient, properties),
                 messageProcessorSupplier,
-                messageResolverSupplier(queueProperties, sqsAsyncClient),
+                messageResolverSupplier(queueProperties, sqsAsyncClient, properties),
                 StaticCoreMessageListenerContainerProperties
                     .builder()
                     .shouldInterruptThreadsProcessingMessagesOnShutdown(properties.interruptThreadsProcessingMessagesOnShutdown())
                     .shouldProcessAnyExtraRetrievedMessagesOnShutdown(false)
+                    .shouldProcessMessagesOnVirtualThreads(properties.processMessagesOnVirtualThreads())
+                    .containerRuntime(properties.containerRuntime())
                     .build()
             );
     }
@@ -90,6 +94,11 @@ public class FifoMessageListenerContainer implements MessageListenerContainer {
                         return properties.errorBackoffTime();
                     }
 
+                    @Override
+                    public boolean fixedConcurrencyLevel() {
+                        return properties.fixedConcurrencyLevel();
+                    }
+
                     @Override
                     public int getMaximumNumberOfCachedMessageGroups() {
                         return properties.maximumCachedMessageGroups();
@@ -113,13 +122,17 @@ public class FifoMessageListenerContainer implements MessageListenerContainer {
             );
     }
 
-    private Supplier<MessageRetriever> messageRetrieverSupplier(
+    private Function<RequiredMessageAttributes, MessageRetriever> messageRetrieverFactory(
         final QueueProperties queueProperties,
         final SqsAsyncClient sqsAsyncClient,
         final FifoMessageListenerContainerProperties properties
     ) {
-        return () ->
-            new BatchingMessageRetriever(
+        return processorRequiredMessageAttributes -> {
+            // only the attributes needed to process the message are requested, as well as the message group needed for grouping the messages
+            final RequiredMessageAttributes requiredMessageAttributes = processorRequiredMessageAttributes.and(
+                RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.MESSAGE_GROUP_ID)
+            );
+            return new BatchingMessageRetriever(
                 queueProperties,
                 sqsAsyncClient,
                 new BatchingMessageRetrieverProperties() {
@@ -150,12 +163,34 @@ public class FifoMessageListenerContainer implements MessageListenerContainer {
                     public Duration getErrorBackoffTime() {
                         return properties.errorBackoffTime();
                     }
+
+                    @Override
+                    @Nullable
+                    public RequiredMessageAttributes getRequiredMessageAttributes() {
+                        return requiredMessageAttributes;
+                    }
                 }
             );
+        };
     }
 
-    private Supplier<MessageResolver> messageResolverSupplier(final QueueProperties queueProperties, final SqsAsyncClient sqsAsyncClient) {
-        return () -> new BatchingMessageResolver(queueProperties, sqsAsyncClient);
+    private Supplier<MessageResolver> messageResolverSupplier(
+        final QueueProperties queueProperties,
+        final SqsAsyncClient sqsAsyncClient,
+        final FifoMessageListenerContainerProperties properties
+    ) {
+        // each message is deleted as soon as it is resolved, with the visibility timeout used to stop retrying the deletion once it expires
+        return () ->
+            new BatchingMessageResolver(
+                queueProperties,
+                sqsAsyncClient,
+                StaticBatchingMessageResolverProperties
+                    .builder()
+                    .bufferingSizeLimit(1)
+                    .bufferingTime(Duration.ofHours(1))
+                    .messageVisibilityTimeout(properties.messageVisibilityTimeout())
+                    .build()
+            );
     }
 
     @Override
@@ -3,6 +3,8 @@ package com.jashmore.sqs.container.fifo;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.sqs.broker.MessageBroker;
 import com.jashmore.sqs.broker.grouping.GroupingMessageBrokerProperties;
+import com.jashmore.sqs.container.CoreMessageListenerContainerProperties;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
 import com.jashmore.sqs.retriever.MessageRetriever;
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties;
 import java.time.Duration;
@@ -34,6 +36,21 @@ public interface FifoMessageListenerContainerProperties {
     @Nullable
     Duration concurrencyPollingRate();
 
+    /**
+     * Whether the {@link #concurrencyLevel()} stays the same for the lifetime of the container, e.g. when it is set from an annotation.
+     *
+     * <p>When the concurrency level is fixed the broker waits for a permit to process a message without periodically checking the concurrency level.
+     * Implementations where the concurrency level can change should return false so that changes are picked up within the
+     * {@link #concurrencyPollingRate()}.
+     *
+     * @return whether the concurrency level never changes
+     * @see GroupingMessageBrokerProperties#fixedConcurrencyLevel() for more details
+     */
+    @Value.Default
+    default boolean fixedConcurrencyLevel() {
+        return true;
+    }
+
     /**
      * The amount of time to backoff if there was an exception obtaining a message to process.
      *
@@ -105,4 +122,28 @@ public interface FifoMessageListenerContainerProperties {
     default boolean interruptThreadsProcessingMessagesOnShutdown() {
         return false;
     }
+
+    /**
+     * Whether to process messages on virtual threads, if the runtime supports them.
+     *
+     * @return whether to process messages on virtual threads
+     */
+    @Value.Default
+    default boolean processMessagesOnVirtualThreads() {
+        return false;
+    }
+
+    /**
+     * The runtime that provides the threads for the long running components of the container, which can be shared between containers.
+     *
+     * <p>If this is null, a new thread will be started for each component of the container.
+     *
+     * @return the runtime for the components of the container
+     * @see CoreMessageListenerContainerProperties#getContainerRuntime() for more details
+     */
+    @Nullable
+    @Value.Default
+    default ContainerRuntime containerRuntime() {
+        return null;
+    }
 }
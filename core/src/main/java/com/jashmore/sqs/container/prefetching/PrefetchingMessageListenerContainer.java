@@ -7,17 +7,21 @@ import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.broker.MessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker;
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.container.CoreMessageListenerContainer;
 import com.jashmore.sqs.container.MessageListenerContainer;
 import com.jashmore.sqs.container.StaticCoreMessageListenerContainerProperties;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.resolver.batching.BatchingMessageResolver;
+import com.jashmore.sqs.resolver.batching.StaticBatchingMessageResolverProperties;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetriever;
 import com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverProperties;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
@@ -41,18 +45,25 @@ public class PrefetchingMessageListenerContainer implements MessageListenerConta
             new CoreMessageListenerContainer(
                 identifier,
                 buildMessageBrokerSupplier(properties),
-                buildMessageRetrieverSupplier(properties, queueProperties, sqsAsyncClient),
+                buildMessageRetrieverFactory(properties, queueProperties, sqsAsyncClient),
                 messageProcessorSupplier,
-                buildMessageResolverSupplier(queueProperties, sqsAsyncClient),
+                buildMessageResolverSupplier(queueProperties, sqsAsyncClient, properties),
                 StaticCoreMessageListenerContainerProperties
                     .builder()
                     .shouldProcessAnyExtraRetrievedMessagesOnShutdown(properties.processAnyExtraRetrievedMessagesOnShutdown())
                     .shouldInterruptThreadsProcessingMessagesOnShutdown(properties.interruptThreadsProcessingMessagesOnShutdown())
+                    .shouldProcessMessagesOnVirtualThreads(properties.processMessagesOnVirtualThreads())
+                    .containerRuntime(properties.containerRuntime())
                     .build()
             );
     }
 
     private Supplier<MessageBroker> buildMessageBrokerSupplier(final PrefetchingMessageListenerContainerProperties properties) {
+        // registered once for the lifetime of the container so the guaranteed concurrency is validated when the listener is built
+        final SharedConcurrencyPool sharedConcurrencyPool = properties.sharedConcurrencyPool();
+        final SharedConcurrencyPool.Member sharedConcurrencyPoolMember = sharedConcurrencyPool != null
+            ? sharedConcurrencyPool.register(properties.guaranteedConcurrency())
+            : null;
         return () ->
             new ConcurrentMessageBroker(
                 new ConcurrentMessageBrokerProperties() {
@@ -75,16 +86,29 @@ public class PrefetchingMessageListenerContainer implements MessageListenerConta
                     public Duration getErrorBackoffTime() {
                         return properties.errorBackoffTime();
                     }
+
+                    @Nullable
+                    @Override
+                    public SharedConcurrencyPool.Member getSharedConcurrencyPoolMember() {
+                        return sharedConcurrencyPoolMember;
+                    }
+
+                    @Override
+                    public boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+                        // a fixed concurrency level never changes so the broker can wait for a permit without polling it
+                        return properties.fixedConcurrencyLevel();
+                    }
                 }
             );
     }
 
-    private Supplier<MessageRetriever> buildMessageRetrieverSupplier(
+    private Function<RequiredMessageAttributes, MessageRetriever> buildMessageRetrieverFactory(
         final PrefetchingMessageListenerContainerProperties properties,
         final QueueProperties queueProperties,
         final SqsAsyncClient sqsAsyncClient
     ) {
-        return () ->
+        // only the attributes needed to process the message are requested, which are determined by the processor for this listener
+        return requiredMessageAttributes ->
             new PrefetchingMessageRetriever(
                 sqsAsyncClient,
                 queueProperties,
@@ -100,6 +124,13 @@ public class PrefetchingMessageListenerContainer implements MessageListenerConta
                         return properties.maxPrefetchedMessages();
                     }
 
+                    @Nullable
+                    @Positive
+                    @Override
+                    public Integer getMaxConcurrentReceiveRequests() {
+                        return properties.maxConcurrentReceiveRequests();
+                    }
+
                     @Nullable
                     @Positive
                     @Override
@@ -113,15 +144,33 @@ public class PrefetchingMessageListenerContainer implements MessageListenerConta
                     public Duration getErrorBackoffTime() {
                         return properties.errorBackoffTime();
                     }
+
+                    @Nullable
+                    @Override
+                    public RequiredMessageAttributes getRequiredMessageAttributes() {
+                        return requiredMessageAttributes;
+                    }
                 }
             );
     }
 
     private Supplier<MessageResolver> buildMessageResolverSupplier(
         final QueueProperties queueProperties,
-        final SqsAsyncClient sqsAsyncClient
+        final SqsAsyncClient sqsAsyncClient,
+        final PrefetchingMessageListenerContainerProperties properties
     ) {
-        return () -> new BatchingMessageResolver(queueProperties, sqsAsyncClient);
+        // each message is deleted as soon as it is resolved, with the visibility timeout used to stop retrying the deletion once it expires
+        return () ->
+            new BatchingMessageResolver(
+                queueProperties,
+                sqsAsyncClient,
+                StaticBatchingMessageResolverProperties
+                    .builder()
+                    .bufferingSizeLimit(1)
+                    .bufferingTime(Duration.ofHours(1))
+                    .messageVisibilityTimeout(properties.messageVisibilityTimeout())
+                    .build()
+            );
     }
 
     @Override
@@ -0,0 +1,31 @@
+package com.jashmore.sqs.container.runtime;
+
+import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.container.CoreMessageListenerContainer;
+import com.jashmore.sqs.resolver.MessageResolver;
+import com.jashmore.sqs.retriever.MessageRetriever;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Provides the threads that a {@link CoreMessageListenerContainer} uses to run its long running components, e.g. the container's own coordination
+ * thread, the {@link MessageBroker}, the {@link MessageRetriever} and the {@link MessageResolver}.
+ *
+ * <p>Each of these components spends almost all of its time waiting, for example for a message to be downloaded or for a message to finish processing,
+ * and therefore a single runtime can be shared between all of the containers in the application to stop the number of threads from growing with the
+ * number of listeners.
+ *
+ * @see DedicatedThreadContainerRuntime
+ * @see VirtualThreadContainerRuntime
+ */
+public interface ContainerRuntime {
+    /**
+     * Build the {@link ExecutorService} that will run a single long running component of a container.
+     *
+     * <p>The container will call {@link ExecutorService#shutdownNow()} when the component should be stopped, which must interrupt the thread that is
+     * running the component, and will then wait for the {@link ExecutorService} to terminate.
+     *
+     * @param threadName the name for the thread running the component
+     * @return the executor service for running the component
+     */
+    ExecutorService newComponentExecutorService(String threadName);
+}
@@ -0,0 +1,21 @@
+package com.jashmore.sqs.container.runtime;
+
+import static com.jashmore.sqs.util.thread.ThreadUtils.singleNamedThreadFactory;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link ContainerRuntime} that starts a new platform thread for each component of each container.
+ *
+ * <p>This is the default runtime used by the containers, which means that each running container will have multiple mostly idle threads.
+ */
+@ThreadSafe
+public class DedicatedThreadContainerRuntime implements ContainerRuntime {
+
+    @Override
+    public ExecutorService newComponentExecutorService(final String threadName) {
+        return Executors.newSingleThreadExecutor(singleNamedThreadFactory(threadName));
+    }
+}
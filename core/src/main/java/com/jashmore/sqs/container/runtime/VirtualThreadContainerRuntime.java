@@ -0,0 +1,38 @@
+package com.jashmore.sqs.container.runtime;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.util.thread.ThreadUtils;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ContainerRuntime} that runs each component of each container on a virtual thread, which should be shared between all of the containers.
+ *
+ * <p>As the components spend almost all of their time waiting, the virtual threads will be unmounted from the small, fixed set of carrier threads
+ * that the JVM uses to schedule virtual threads. This allows for the number of platform threads to stay the same regardless of the number of
+ * listeners in the application. The number of carrier threads defaults to the number of available processors and can be configured via the
+ * <pre>jdk.virtualThreadScheduler.parallelism</pre> system property.
+ *
+ * <p>If the runtime does not support virtual threads, a platform thread will be started for each component like the
+ * {@link DedicatedThreadContainerRuntime}.
+ */
+@Slf4j
+@ThreadSafe
+public class VirtualThreadContainerRuntime implements ContainerRuntime {
+
+    private final ContainerRuntime fallbackRuntime = new DedicatedThreadContainerRuntime();
+    private final AtomicBoolean hasLoggedVirtualThreadsNotSupported = new AtomicBoolean(false);
+
+    @Override
+    public ExecutorService newComponentExecutorService(final String threadName) {
+        return ThreadUtils
+            .newSingleNamedVirtualThreadPerTaskExecutor(threadName)
+            .orElseGet(() -> {
+                if (hasLoggedVirtualThreadsNotSupported.compareAndSet(false, true)) {
+                    log.warn("Virtual threads are not supported by this runtime, container components will be run on platform threads");
+                }
+                return fallbackRuntime.newComponentExecutorService(threadName);
+            });
+    }
+}
@@ -1,27 +1,25 @@
 package com.jashmore.sqs.decorator;
 
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.aws.AwsConstants;
-import com.jashmore.sqs.util.collections.CollectionUtils;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.thread.ThreadUtils;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
-import org.immutables.value.Value;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
-import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
@@ -34,10 +32,18 @@ import software.amazon.awssdk.services.sqs.model.Message;
  * {@link AutoVisibilityExtenderMessageProcessingDecoratorProperties#bufferDuration()} to be 20 seconds and therefore you will have 3 attempts to successfully
  * extend the message.
  *
- * <p>Note that this only works with synchronous implementations of the message listener, e.g. functions that are executed using the
- * {@link com.jashmore.sqs.processor.LambdaMessageProcessor} or the {@link com.jashmore.sqs.processor.CoreMessageProcessor} where the function does not
- * return a {@link CompletableFuture}. This is because it is not easy to interrupt the processing of a message if it has been placed onto a different
- * thread to process.
+ * <p>This works with both synchronous and asynchronous implementations of the message listener. If the message takes longer than the
+ * {@link AutoVisibilityExtenderMessageProcessingDecoratorProperties#maxDuration()} to process, the thread processing the message will be interrupted
+ * if the message listener has not yet returned, and the {@link CompletableFuture} for the processing of the message will be cancelled. Therefore, for
+ * asynchronous message listeners, the {@link CompletableFuture} returned should respond to being cancelled by stopping the processing of the message.
+ *
+ * <p>The extensions and interruptions for all of the messages being processed, across all instances of this decorator, are scheduled on a single
+ * shared scheduler thread by default. Registering and removing a message are therefore cheap operations that do not need a thread to be started
+ * or a lock to be obtained across all of the messages. The extensions are buffered for a short time before being sent, so that the extensions of
+ * messages that are due within that time of each other are sent in the same batch.
+ *
+ * <p>Stopping a message that has exceeded the maximum duration is handed off to the {@link ForkJoinPool#commonPool()}, as cancelling its
+ * future runs the callbacks of the message processing, so that these callbacks do not delay the extensions of the other messages.
  *
  * <p>This {@link MessageProcessingDecorator} is thread safe and will work safely when multiple messages are all being processed at once.
  *
@@ -48,62 +54,132 @@ public class AutoVisibilityExtenderMessageProcessingDecorator implements Message
 
     private static final Logger log = LoggerFactory.getLogger(AutoVisibilityExtenderMessageProcessingDecorator.class);
 
-    private final SqsAsyncClient sqsAsyncClient;
-    private final QueueProperties queueProperties;
+    /**
+     * The amount of time that an extension is buffered for when using the default {@link BatchingMessageVisibilityChanger}, allowing for the
+     * extensions of messages that are due within this window to be sent in the same batch.
+     *
+     * <p>This is kept small as the extension is delayed by up to this amount, which is taken out of the
+     * {@link AutoVisibilityExtenderMessageProcessingDecoratorProperties#bufferDuration()}.
+     */
+    private static final Duration DEFAULT_EXTENSION_BUFFERING_TIME = Duration.ofMillis(100);
+
     private final AutoVisibilityExtenderMessageProcessingDecoratorProperties decoratorProperties;
+    private final BatchingMessageVisibilityChanger visibilityChanger;
+    private final ScheduledExecutorService scheduler;
     private final Map<Message, MessageProcessingState> currentMessagesProcessing;
-    private final Object waitingLock = new Object();
+    /**
+     * Lock used when calling the {@link #decoratorProperties} as they are not required to be thread safe.
+     */
+    private final Object propertiesLock = new Object();
 
     public AutoVisibilityExtenderMessageProcessingDecorator(
         final SqsAsyncClient sqsAsyncClient,
         final QueueProperties queueProperties,
         final AutoVisibilityExtenderMessageProcessingDecoratorProperties decoratorProperties
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this(
+            decoratorProperties,
+            new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_EXTENSION_BUFFERING_TIME),
+            SharedScheduler.INSTANCE
+        );
+    }
+
+    /**
+     * Constructor that allows for the scheduler and {@link BatchingMessageVisibilityChanger} to be shared with other components.
+     *
+     * <p>The scheduler should have a small number of threads as the tasks that it runs are short. If it is a {@link ScheduledThreadPoolExecutor}, it
+     * should be configured to remove tasks when they are cancelled as the task for a message is cancelled whenever it finishes processing.
+     *
+     * @param decoratorProperties the properties for configuring the decorator
+     * @param visibilityChanger   the changer used to send the visibility extensions
+     * @param scheduler           the scheduler used to extend the messages and determine when they should be stopped
+     */
+    public AutoVisibilityExtenderMessageProcessingDecorator(
+        final AutoVisibilityExtenderMessageProcessingDecoratorProperties decoratorProperties,
+        final BatchingMessageVisibilityChanger visibilityChanger,
+        final ScheduledExecutorService scheduler
+    ) {
         this.decoratorProperties = decoratorProperties;
+        this.visibilityChanger = visibilityChanger;
+        this.scheduler = scheduler;
 
-        this.currentMessagesProcessing = new HashMap<>();
+        this.currentMessagesProcessing = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return decoratorProperties.requiredMessageAttributes();
     }
 
     @Override
     public void onPreMessageProcessing(final MessageProcessingContext context, final Message message) {
-        synchronized (waitingLock) {
-            final Instant timeNow = Instant.now();
-            log.debug("Registering message {} with visibility auto extender", message.messageId());
-            currentMessagesProcessing.put(
-                message,
-                ImmutableMessageProcessingState
-                    .builder()
-                    .thread(Thread.currentThread())
-                    .startTime(timeNow)
-                    .nextVisibilityExtensionTime(nextExtensionTime(timeNow, message, decoratorProperties.bufferDuration()))
-                    .build()
-            );
+        final Duration maxDuration;
+        final Duration timeUntilNextExtension;
+        synchronized (propertiesLock) {
+            maxDuration = decoratorProperties.maxDuration();
+            timeUntilNextExtension = decoratorProperties.visibilityTimeout(message).minus(decoratorProperties.bufferDuration());
+        }
 
-            if (currentMessagesProcessing.size() == 1) {
-                CompletableFuture
-                    .runAsync(
-                        this::performBackgroundThread,
-                        Executors.newSingleThreadExecutor(
-                            ThreadUtils.singleNamedThreadFactory(context.getListenerIdentifier() + "-auto-visibility-extender")
-                        )
-                    )
-                    .whenComplete((ignored, throwable) -> {
-                        if (throwable != null) {
-                            log.error("Unexpected error with visibility timeout extender", throwable);
-                        }
-                    });
-            }
+        log.debug("Registering message {} with visibility auto extender", message.messageId());
+        final long nanoTimeNow = System.nanoTime();
+        final MessageProcessingState state = new MessageProcessingState(
+            message,
+            Thread.currentThread(),
+            nanoTimeNow + maxDuration.toNanos(),
+            nanoTimeNow + timeUntilNextExtension.toNanos()
+        );
+        currentMessagesProcessing.put(message, state);
+        synchronized (state) {
+            scheduleNextAction(state);
+        }
+    }
+
+    @Override
+    public void onMessageProcessingFuture(
+        final MessageProcessingContext context,
+        final Message message,
+        final CompletableFuture<?> processingFuture
+    ) {
+        final MessageProcessingState state = currentMessagesProcessing.get(message);
+        if (state == null) {
+            return;
+        }
 
-            // We need to notify the background thread to recalculate the updated time in case it has configured this message to have a smaller visibility
-            // timeout then the current wait time
-            waitingLock.notify();
+        final boolean maxDurationExceeded;
+        synchronized (state) {
+            state.processingFuture = processingFuture;
+            maxDurationExceeded = state.maxDurationExceeded;
+        }
+        if (maxDurationExceeded) {
+            processingFuture.cancel(true);
         }
     }
 
     @Override
     public void onMessageProcessingThreadComplete(final MessageProcessingContext context, final Message message) {
+        final MessageProcessingState state = currentMessagesProcessing.get(message);
+        if (state == null) {
+            return;
+        }
+
+        final boolean stillProcessing;
+        synchronized (state) {
+            // the thread may now process other messages and therefore must not be interrupted
+            state.thread = null;
+            stillProcessing = state.processingFuture != null && !state.processingFuture.isDone();
+        }
+        if (!stillProcessing) {
+            removeMessageFromAutoVisibilityExtender(message);
+        }
+    }
+
+    @Override
+    public void onMessageProcessingSuccess(final MessageProcessingContext context, final Message message, @Nullable final Object object) {
+        removeMessageFromAutoVisibilityExtender(message);
+    }
+
+    @Override
+    public void onMessageProcessingFailure(final MessageProcessingContext context, final Message message, final Throwable throwable) {
         removeMessageFromAutoVisibilityExtender(message);
     }
 
@@ -114,210 +190,209 @@ public class AutoVisibilityExtenderMessageProcessingDecorator implements Message
     }
 
     private void removeMessageFromAutoVisibilityExtender(final Message message) {
-        synchronized (waitingLock) {
-            final MessageProcessingState valueStored = currentMessagesProcessing.remove(message);
-            // Makes sure we only do this once for the message
-            if (valueStored != null) {
-                decoratorProperties.messageDoneProcessing(message);
-                waitingLock.notify();
-            }
+        final MessageProcessingState state = currentMessagesProcessing.remove(message);
+        // Makes sure we only do this once for the message
+        if (state == null) {
+            return;
         }
-    }
-
-    private void performBackgroundThread() {
-        log.debug("Starting background thread for auto visibility extender");
-        synchronized (waitingLock) {
-            while (!currentMessagesProcessing.isEmpty()) {
-                final Instant timeNow = Instant.now();
-                final Duration maxDuration = decoratorProperties.maxDuration();
-                final Duration bufferDuration = decoratorProperties.bufferDuration();
-
-                interruptLongRunningThreads(timeNow, maxDuration);
-
-                extendThreadsWithMoreTime(timeNow, bufferDuration);
 
-                try {
-                    waitUntilNextIteration(maxDuration);
-                } catch (final InterruptedException interruptedException) {
-                    break;
-                }
-            }
+        synchronized (state) {
+            state.finished = true;
+            state.nextAction.cancel(false);
+        }
+        synchronized (propertiesLock) {
+            decoratorProperties.messageDoneProcessing(message);
         }
-        log.debug("Finished background thread for auto visibility extender");
-    }
-
-    private void interruptLongRunningThreads(final Instant timeNow, final Duration maxDuration) {
-        final Map<Message, MessageProcessingState> messagesToInterrupt = currentMessagesProcessing
-            .entrySet()
-            .stream()
-            .filter(messageStateEntry -> timeNow.compareTo(messageStateEntry.getValue().startTime().plus(maxDuration)) >= 0)
-            .collect(CollectionUtils.pairsToMap());
-
-        messagesToInterrupt.forEach((message, state) -> {
-            log.info("Interrupting message processing thread due to exceeded time for message {}", message.messageId());
-            state.thread().interrupt();
-            currentMessagesProcessing.remove(message);
-        });
     }
 
     /**
-     * For each message that has hit the visibility timeout extension time, attempt to extend the visibility.
+     * Schedule the next extension or stopping of the message, whichever is earliest.
      *
-     * <p>This method does not wait for the response from the visibility timeout extension and just assumes that it works.
+     * <p>The lock for the state must be held when calling this method.
      *
-     * @param timeNow the time that this iteration started at
-     * @param bufferDuration the amount of buffer time for the next visibility timeout extension
+     * @param state the state of the message
      */
-    private void extendThreadsWithMoreTime(final Instant timeNow, final Duration bufferDuration) {
-        final Map<Message, MessageProcessingState> messagesToExtend = currentMessagesProcessing
-            .entrySet()
-            .stream()
-            .filter(messageStateEntry -> timeNow.compareTo(messageStateEntry.getValue().nextVisibilityExtensionTime()) >= 0)
-            .collect(CollectionUtils.pairsToMap());
-
-        List<Message> messageBatch = new ArrayList<>(AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH);
-        for (final Map.Entry<Message, MessageProcessingState> stateEntry : messagesToExtend.entrySet()) {
-            final Message message = stateEntry.getKey();
-            final MessageProcessingState state = stateEntry.getValue();
-            log.info("Automatically extending visibility timeout of message {}", message.messageId());
-            messageBatch.add(message);
-            if (messageBatch.size() == AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH) {
-                extendMessageBatch(messageBatch);
-                messageBatch.clear();
-            }
-            currentMessagesProcessing.put(
-                message,
-                ImmutableMessageProcessingState
-                    .builder()
-                    .from(state)
-                    .nextVisibilityExtensionTime(timeNow.plus(decoratorProperties.visibilityTimeout(message).minus(bufferDuration)))
-                    .build()
-            );
-        }
-
-        if (!messageBatch.isEmpty()) {
-            extendMessageBatch(messageBatch);
-        }
+    private void scheduleNextAction(final MessageProcessingState state) {
+        final long nextActionNanoTime = state.nextVisibilityExtensionNanoTime - state.interruptNanoTime < 0
+            ? state.nextVisibilityExtensionNanoTime
+            : state.interruptNanoTime;
+        state.nextAction = scheduler.schedule(() -> performNextAction(state), nextActionNanoTime - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
 
-    private void extendMessageBatch(final List<Message> messageBatch) {
-        sqsAsyncClient
-            .changeMessageVisibilityBatch(builder ->
-                builder
-                    .queueUrl(queueProperties.getQueueUrl())
-                    .entries(
-                        messageBatch
-                            .stream()
-                            .map(message ->
-                                ChangeMessageVisibilityBatchRequestEntry
-                                    .builder()
-                                    .id(message.messageId())
-                                    .receiptHandle(message.receiptHandle())
-                                    .visibilityTimeout((int) decoratorProperties.visibilityTimeout(message).getSeconds())
-                                    .build()
-                            )
-                            .collect(Collectors.toList())
-                    )
-            )
-            .whenComplete((ignoredResponse, throwable) -> {
-                if (throwable != null) {
-                    log.error(
-                        "Error changing visibility timeout for message. The following messages were not extended: " +
-                        messageBatch.stream().map(Message::messageId).collect(Collectors.toList()),
-                        throwable
-                    );
+    private void performNextAction(final MessageProcessingState state) {
+        try {
+            synchronized (state) {
+                if (state.finished) {
+                    return;
                 }
 
-                if (ignoredResponse.hasFailed()) {
-                    log.error(
-                        "Some messages failed to be have their visibility timeout changed: {}",
-                        ignoredResponse.failed().stream().map(BatchResultErrorEntry::id).collect(Collectors.toList())
-                    );
+                final long nanoTimeNow = System.nanoTime();
+                if (nanoTimeNow - state.interruptNanoTime < 0) {
+                    extendMessage(state, nanoTimeNow);
+                    scheduleNextAction(state);
+                    return;
                 }
-            });
+
+                state.finished = true;
+                state.maxDurationExceeded = true;
+            }
+
+            // the shared scheduler thread only extends and schedules the messages, so stopping them is done on another thread
+            ForkJoinPool.commonPool().execute(() -> stopProcessing(state));
+        } catch (final RuntimeException runtimeException) {
+            log.error("Unexpected error with visibility timeout extender", runtimeException);
+        }
     }
 
     /**
-     * If there are more messages that are currently processing, determine the next time that a message needs to be interrupted or extended and wait until
-     * that.
+     * Stop the processing of the message that has exceeded the maximum duration, by interrupting the thread processing it and cancelling
+     * the future for its processing.
      *
-     * @param maxDuration the maximum amount of time to wait for a message
-     * @throws InterruptedException if the thread was interrupted while waiting
+     * @param state the state of the message to stop
      */
-    private void waitUntilNextIteration(final Duration maxDuration) throws InterruptedException {
-        final Optional<Instant> optionalEarliestNextUpdateTime = currentMessagesProcessing
-            .values()
-            .stream()
-            .map(state -> determineEarliestTrigger(state, maxDuration))
-            .min(Instant::compareTo);
-
-        if (!optionalEarliestNextUpdateTime.isPresent()) {
-            return;
-        }
+    private void stopProcessing(final MessageProcessingState state) {
+        try {
+            final CompletableFuture<?> futureToCancel;
+            synchronized (state) {
+                // this is checked while locked as the thread may have finished this message and started processing another message
+                if (state.thread != null) {
+                    log.info("Interrupting message processing thread due to exceeded time for message {}", state.message.messageId());
+                    state.thread.interrupt();
+                }
+                futureToCancel = state.processingFuture;
+            }
 
-        final long nextTime = Instant.now().until(optionalEarliestNextUpdateTime.get(), ChronoUnit.MILLIS);
-        if (nextTime <= 0) {
-            return;
+            // this is done outside of the lock as cancelling the future will run the callbacks of the message processing
+            if (futureToCancel != null) {
+                log.info("Cancelling message processing due to exceeded time for message {}", state.message.messageId());
+                futureToCancel.cancel(true);
+            }
+        } catch (final RuntimeException runtimeException) {
+            log.error("Unexpected error stopping message processing", runtimeException);
         }
-
-        log.debug("Waiting {}ms to change visibility timeout", nextTime);
-        waitingLock.wait(nextTime);
     }
 
     /**
-     * Determines the next time that the message needs to be extended to stop its visibility from expiring.
+     * Attempt to extend the visibility of the message.
      *
-     * @param timeNow the time that this iteration started at
-     * @param message the message to determine the visibility timeout for
-     * @param bufferDuration the buffer to change the visibility timeout before it actually expires
-     * @return the time to extend the message's visibility
+     * <p>This method does not wait for the response from the visibility timeout extension and just assumes that it works.
+     *
+     * @param state       the state of the message to extend
+     * @param nanoTimeNow the time that this extension started at
      */
-    private Instant nextExtensionTime(final Instant timeNow, final Message message, final Duration bufferDuration) {
-        return timeNow.plus(decoratorProperties.visibilityTimeout(message)).minus(bufferDuration);
+    private void extendMessage(final MessageProcessingState state, final long nanoTimeNow) {
+        final Message message = state.message;
+        final Duration visibilityTimeout;
+        final Duration bufferDuration;
+        synchronized (propertiesLock) {
+            visibilityTimeout = decoratorProperties.visibilityTimeout(message);
+            bufferDuration = decoratorProperties.bufferDuration();
+        }
+
+        log.info("Automatically extending visibility timeout of message {}", message.messageId());
+        visibilityChanger
+            .changeMessageVisibility(message, visibilityTimeout)
+            .whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    log.error("Error changing visibility timeout for message {}", message.messageId(), throwable);
+                }
+            });
+        state.nextVisibilityExtensionNanoTime = nanoTimeNow + visibilityTimeout.minus(bufferDuration).toNanos();
     }
 
     /**
-     * Determines whether the earliest time for this message should be when it should be interrupted or the next visibility extension time.
-     *
-     * @param state the state of this message
-     * @param maxDuration the maximum time the message should process
-     * @return the next time that the message should be extended or interrupted
+     * The state of a message that is being processed, which is guarded by the lock of the state itself so that messages can be extended and
+     * removed without contending with each other.
      */
-    private static Instant determineEarliestTrigger(final MessageProcessingState state, final Duration maxDuration) {
-        final Instant maxTime = state.startTime().plus(maxDuration);
-        final Instant nextVisibilityExtensionTime = state.nextVisibilityExtensionTime();
-        if (maxTime.isBefore(nextVisibilityExtensionTime)) {
-            return maxTime;
-        } else {
-            return nextVisibilityExtensionTime;
-        }
-    }
+    private static class MessageProcessingState {
+
+        /**
+         * The message being processed.
+         */
+        private final Message message;
 
-    @Value.Immutable
-    interface MessageProcessingState {
         /**
-         * The thread that is processing this message.
+         * The thread that is processing this message, which will be null once the message listener has returned.
          *
          * <p> This is used to interrupt the processing if has run too long.
-         *
-         * @return the thread processing the message
          */
-        Thread thread();
+        @Nullable
+        @GuardedBy("this")
+        private Thread thread;
 
         /**
-         * The time that the message began processing.
+         * The future for the processing of this message, which will be null until the message listener has returned.
          *
-         * @return the start time for the message
+         * <p> This is used to cancel the processing of an asynchronous message listener if it has run too long.
          */
-        Instant startTime();
+        @Nullable
+        @GuardedBy("this")
+        private CompletableFuture<?> processingFuture;
 
         /**
-         * The next time that the visibility of the message will need to be extended.
+         * The value of {@link System#nanoTime()} when the processing of the message should be interrupted or cancelled.
+         */
+        private final long interruptNanoTime;
+
+        /**
+         * The value of {@link System#nanoTime()} when the visibility of the message will next need to be extended.
          *
          * <p> This includes the buffer time and therefore will occur before the message's timeout actually expires.
-         *
-         * @return the next visibility extension time
          */
-        Instant nextVisibilityExtensionTime();
+        @GuardedBy("this")
+        private long nextVisibilityExtensionNanoTime;
+
+        /**
+         * The task that will perform the next extension or interruption of the message.
+         */
+        @GuardedBy("this")
+        private ScheduledFuture<?> nextAction;
+
+        /**
+         * Whether the message has finished processing, or has been stopped, and therefore should no longer be extended.
+         */
+        @GuardedBy("this")
+        private boolean finished;
+
+        /**
+         * Whether the message has been processing for longer than the maximum duration and therefore should be stopped.
+         */
+        @GuardedBy("this")
+        private boolean maxDurationExceeded;
+
+        MessageProcessingState(
+            final Message message,
+            final Thread thread,
+            final long interruptNanoTime,
+            final long nextVisibilityExtensionNanoTime
+        ) {
+            this.message = message;
+            this.thread = thread;
+            this.interruptNanoTime = interruptNanoTime;
+            this.nextVisibilityExtensionNanoTime = nextVisibilityExtensionNanoTime;
+        }
+    }
+
+    /**
+     * Holder of the scheduler that is shared between all of the decorators, which is only created when the first decorator is.
+     */
+    private static class SharedScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = buildScheduler();
+
+        private static ScheduledExecutorService buildScheduler() {
+            final ThreadFactory threadFactory = ThreadUtils.singleNamedThreadFactory("auto-visibility-extender");
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                1,
+                runnable -> {
+                    final Thread thread = threadFactory.newThread(runnable);
+                    // this thread is shared by all of the listeners and therefore should not stop the application from exiting
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.jashmore.sqs.decorator;
 
 import com.jashmore.documentation.annotations.NotThreadSafe;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.time.Duration;
 import software.amazon.awssdk.services.sqs.model.Message;
 
@@ -23,6 +24,9 @@ public interface AutoVisibilityExtenderMessageProcessingDecoratorProperties {
     /**
      * The maximum duration that a message should be allowed to process before it should be stopped.
      *
+     * <p>The message is stopped by interrupting the thread processing the message, if the message listener has not yet returned, and cancelling the
+     * {@link java.util.concurrent.CompletableFuture} for the processing of the message, which is how asynchronous message listeners are stopped.
+     *
      * @return the time to keep processing the message and extending its visibility
      */
     Duration maxDuration();
@@ -71,4 +75,16 @@ public interface AutoVisibilityExtenderMessageProcessingDecoratorProperties {
     default void messageDoneProcessing(final Message message) {
         // override if desired
     }
+
+    /**
+     * The attributes of the message that are used when determining the visibility timeout of the message.
+     *
+     * <p>As {@link #visibilityTimeout(Message)} may be using any of the attributes of the message, by default all attributes are required. This should
+     * be overridden if the visibility timeout does not depend on the attributes of the message.
+     *
+     * @return the attributes of the message that are needed
+     */
+    default RequiredMessageAttributes requiredMessageAttributes() {
+        return RequiredMessageAttributes.all();
+    }
 }
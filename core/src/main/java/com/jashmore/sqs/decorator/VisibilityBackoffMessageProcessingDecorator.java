@@ -0,0 +1,122 @@
+package com.jashmore.sqs.decorator;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.documentation.annotations.VisibleForTesting;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+/**
+ * {@link MessageProcessingDecorator} that will change the visibility timeout of a message that failed to be processed so that it is retried after an
+ * exponential backoff, instead of waiting for the whole visibility timeout of the queue.
+ *
+ * <p>The backoff is determined from the number of times that the message has been received, which allows for transient failures to be retried
+ * within seconds while messages that continually fail are retried less often. The visibility changes are sent in batches with the other messages
+ * that failed at a similar time using a {@link BatchingMessageVisibilityChanger}.
+ *
+ * <p>No effort is made to guarantee that the visibility of the message is changed, and if it fails the message will be retried once the original
+ * visibility timeout of the message expires.
+ *
+ * @see VisibilityBackoffMessageProcessingDecoratorProperties for configuration options
+ */
+@ThreadSafe
+public class VisibilityBackoffMessageProcessingDecorator implements MessageProcessingDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(VisibilityBackoffMessageProcessingDecorator.class);
+
+    /**
+     * The maximum number of times the visibility timeout is doubled, which stops it from overflowing.
+     */
+    private static final int MAXIMUM_BACKOFF_DOUBLINGS = 30;
+
+    private final VisibilityBackoffMessageProcessingDecoratorProperties decoratorProperties;
+    private final BatchingMessageVisibilityChanger visibilityChanger;
+
+    public VisibilityBackoffMessageProcessingDecorator(
+        final SqsAsyncClient sqsAsyncClient,
+        final QueueProperties queueProperties,
+        final VisibilityBackoffMessageProcessingDecoratorProperties decoratorProperties
+    ) {
+        this(
+            decoratorProperties,
+            new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, decoratorProperties.bufferingTime())
+        );
+    }
+
+    /**
+     * Constructor that allows for the {@link BatchingMessageVisibilityChanger} to be shared with other components using the same queue.
+     *
+     * @param decoratorProperties the properties for configuring the backoff
+     * @param visibilityChanger   the changer used to send the visibility changes
+     */
+    public VisibilityBackoffMessageProcessingDecorator(
+        final VisibilityBackoffMessageProcessingDecoratorProperties decoratorProperties,
+        final BatchingMessageVisibilityChanger visibilityChanger
+    ) {
+        this.decoratorProperties = decoratorProperties;
+        this.visibilityChanger = visibilityChanger;
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+    }
+
+    @Override
+    public void onMessageProcessingFailure(final MessageProcessingContext context, final Message message, final Throwable throwable) {
+        final Duration visibilityTimeout = jitter(backoffVisibilityTimeout(message));
+        log.debug("Message {} failed to be processed, retrying in {}ms", message.messageId(), visibilityTimeout.toMillis());
+        visibilityChanger
+            .changeMessageVisibility(message, visibilityTimeout)
+            .whenComplete((ignored, changeThrowable) -> {
+                if (changeThrowable != null) {
+                    log.warn("Failed to change the visibility of failed message {}", message.messageId(), changeThrowable);
+                }
+            });
+    }
+
+    /**
+     * Determine the visibility timeout for the message before the jitter is applied.
+     *
+     * @param message the message that failed to be processed
+     * @return the visibility timeout for the message
+     */
+    @VisibleForTesting
+    Duration backoffVisibilityTimeout(final Message message) {
+        final int receiveCount = getReceiveCount(message);
+        final Duration maximumVisibilityTimeout = decoratorProperties.maximumVisibilityTimeout();
+        final long initialVisibilityTimeoutInMillis = decoratorProperties.initialVisibilityTimeout().toMillis();
+        final int doublings = Math.min(receiveCount - 1, MAXIMUM_BACKOFF_DOUBLINGS);
+        if (initialVisibilityTimeoutInMillis > (maximumVisibilityTimeout.toMillis() >> doublings)) {
+            return maximumVisibilityTimeout;
+        }
+        return Duration.ofMillis(initialVisibilityTimeoutInMillis << doublings);
+    }
+
+    private static Duration jitter(final Duration visibilityTimeout) {
+        final long halfVisibilityTimeoutInMillis = visibilityTimeout.toMillis() / 2;
+        return visibilityTimeout.minusMillis(ThreadLocalRandom.current().nextLong(halfVisibilityTimeoutInMillis + 1));
+    }
+
+    private static int getReceiveCount(final Message message) {
+        return Optional
+            .ofNullable(message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT))
+            .map(receiveCount -> {
+                try {
+                    return Integer.parseInt(receiveCount);
+                } catch (final NumberFormatException numberFormatException) {
+                    return 1;
+                }
+            })
+            .map(receiveCount -> Math.max(receiveCount, 1))
+            .orElse(1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.jashmore.sqs.decorator;
+
+import java.time.Duration;
+
+/**
+ * Properties for configuring the {@link VisibilityBackoffMessageProcessingDecorator}.
+ *
+ * <p>The visibility timeout for a failed message is the {@link #initialVisibilityTimeout()} doubled for each time that the message has been received
+ * before, limited to the {@link #maximumVisibilityTimeout()}. For example, with an initial visibility timeout of 1 second the message will be retried
+ * after roughly 1, 2, 4, 8 seconds and so on. To stop many failed messages from being retried at the same time, a random jitter of up to half of
+ * this time is taken off.
+ */
+public interface VisibilityBackoffMessageProcessingDecoratorProperties {
+    /**
+     * The visibility timeout that a message should have after it has failed to be processed for the first time.
+     *
+     * @return the visibility timeout for the first failure of a message
+     */
+    default Duration initialVisibilityTimeout() {
+        return Duration.ofSeconds(1);
+    }
+
+    /**
+     * The maximum visibility timeout that a message should have after it has failed to be processed, which will be reached by messages that
+     * continually fail, e.g. poison messages.
+     *
+     * <p>SQS limits the visibility timeout of a message to 12 hours and therefore any value larger than this will be reduced.
+     *
+     * @return the maximum visibility timeout for a failed message
+     */
+    default Duration maximumVisibilityTimeout() {
+        return Duration.ofMinutes(15);
+    }
+
+    /**
+     * The maximum amount of time that the visibility change for a failed message can be buffered to be sent in a batch with other failed messages.
+     *
+     * @return the time that the visibility change can be buffered for
+     */
+    default Duration bufferingTime() {
+        return Duration.ofMillis(100);
+    }
+}
@@ -1,9 +1,12 @@
 package com.jashmore.sqs.processor;
 
+import static com.jashmore.sqs.argument.visibility.BatchingVisibilityExtender.DEFAULT_BUFFERING_TIME;
+
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.argument.visibility.DefaultVisibilityExtender;
+import com.jashmore.sqs.argument.visibility.BatchingVisibilityExtender;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -15,12 +18,14 @@ import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * {@link MessageProcessor} that takes a lambda/function for asynchronous processing of a message.
+ *
+ * <p>The {@link VisibilityExtender}s provided to the function share a {@link BatchingMessageVisibilityChanger} so that the extensions of the
+ * messages being processed at the same time are sent to SQS in batches.
  */
 @Slf4j
 public class AsyncLambdaMessageProcessor implements MessageProcessor {
 
-    private final SqsAsyncClient sqsAsyncClient;
-    private final QueueProperties queueProperties;
+    private final BatchingMessageVisibilityChanger visibilityChanger;
     private final MessageProcessingFunction messageProcessingFunction;
     private final boolean usesAcknowledgeParameter;
 
@@ -36,8 +41,7 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final Function<Message, CompletableFuture<?>> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
         this.usesAcknowledgeParameter = false;
 
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.apply(message);
@@ -55,8 +59,7 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final BiFunction<Message, Acknowledge, CompletableFuture<?>> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
         this.usesAcknowledgeParameter = true;
 
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.apply(message, acknowledge);
@@ -74,8 +77,7 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final MessageProcessingFunction messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
         this.usesAcknowledgeParameter = true;
 
         this.messageProcessingFunction = messageProcessor;
@@ -99,8 +101,7 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
         @SuppressWarnings("unused") final boolean ignoredForTypeErasure,
         final BiFunction<Message, VisibilityExtender, CompletableFuture<?>> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
         this.usesAcknowledgeParameter = false;
 
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.apply(message, visibilityExtender);
@@ -109,7 +110,7 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
     @Override
     public CompletableFuture<?> processMessage(Message message, Supplier<CompletableFuture<?>> resolveMessageCallback) {
         final Acknowledge acknowledge = resolveMessageCallback::get;
-        final VisibilityExtender visibilityExtender = new DefaultVisibilityExtender(sqsAsyncClient, queueProperties, message);
+        final VisibilityExtender visibilityExtender = new BatchingVisibilityExtender(visibilityChanger, message);
         final CompletableFuture<?> result;
         try {
             result = messageProcessingFunction.processMessage(message, acknowledge, visibilityExtender);
@@ -142,7 +143,14 @@ public class AsyncLambdaMessageProcessor implements MessageProcessor {
             }
         };
 
-        return result.thenAccept(ignored -> resolveCallbackLoggingErrorsOnly.run());
+        final CompletableFuture<?> processingFuture = result.thenAccept(ignored -> resolveCallbackLoggingErrorsOnly.run());
+        // the processing may be cancelled, e.g. if it has taken too long, and therefore the message listener should be informed
+        processingFuture.whenComplete((ignored, throwable) -> {
+            if (processingFuture.isCancelled()) {
+                result.cancel(true);
+            }
+        });
+        return processingFuture;
     }
 
     /**
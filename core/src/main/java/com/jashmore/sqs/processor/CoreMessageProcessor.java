@@ -1,27 +1,27 @@
 package com.jashmore.sqs.processor;
 
-import static java.util.stream.Collectors.toList;
-
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolutionScope;
 import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -35,6 +35,7 @@ import software.amazon.awssdk.services.sqs.model.Message;
 public class CoreMessageProcessor implements MessageProcessor {
 
     private final MessageProcessor delegate;
+    private final RequiredMessageAttributes requiredMessageAttributes;
 
     public CoreMessageProcessor(
         final ArgumentResolverService argumentResolverService,
@@ -50,15 +51,15 @@ public class CoreMessageProcessor implements MessageProcessor {
             queueProperties,
             messageConsumerMethod
         );
+        this.requiredMessageAttributes = argumentResolvers.getRequiredMessageAttributes();
+        final MessageListenerMethodInvoker methodInvoker = MessageListenerMethodInvoker.bind(messageConsumerMethod, messageConsumerBean);
 
         if (isAsynchronous) {
             final Function<Object[], CompletableFuture<?>> messageExecutor = arguments -> {
                 try {
-                    return (CompletableFuture<?>) messageConsumerMethod.invoke(messageConsumerBean, arguments);
-                } catch (IllegalAccessException exception) {
-                    return CompletableFutureUtils.completedExceptionally(new MessageProcessingException(exception));
-                } catch (InvocationTargetException exception) {
-                    return CompletableFutureUtils.completedExceptionally(new MessageProcessingException(exception.getCause()));
+                    return (CompletableFuture<?>) methodInvoker.invoke(arguments);
+                } catch (final Throwable throwable) {
+                    return CompletableFutureUtils.completedExceptionally(new MessageProcessingException(throwable));
                 }
             };
 
@@ -87,11 +88,9 @@ public class CoreMessageProcessor implements MessageProcessor {
         } else {
             final Consumer<Object[]> messageExecutor = arguments -> {
                 try {
-                    messageConsumerMethod.invoke(messageConsumerBean, arguments);
-                } catch (IllegalAccessException illegalAccessException) {
-                    throw new MessageProcessingException(illegalAccessException);
-                } catch (InvocationTargetException exception) {
-                    throw new MessageProcessingException(exception.getCause());
+                    methodInvoker.invoke(arguments);
+                } catch (final Throwable throwable) {
+                    throw new MessageProcessingException(throwable);
                 }
             };
 
@@ -126,37 +125,72 @@ public class CoreMessageProcessor implements MessageProcessor {
         final Method method
     ) {
         final Parameter[] parameters = method.getParameters();
-        List<InternalArgumentResolver> argumentResolvers = IntStream
-            .range(0, parameters.length)
-            .<InternalArgumentResolver>mapToObj(parameterIndex -> {
-                final Parameter parameter = parameters[parameterIndex];
-
-                final MethodParameter methodParameter = DefaultMethodParameter
-                    .builder()
-                    .method(method)
-                    .parameter(parameter)
-                    .parameterIndex(parameterIndex)
-                    .build();
-
-                if (isAcknowledgeParameter(parameter)) {
-                    return (message, acknowledge, visibilityExtender) -> acknowledge;
-                }
+        final InternalArgumentResolver[] argumentResolvers = new InternalArgumentResolver[parameters.length];
+        RequiredMessageAttributes requiredMessageAttributes = RequiredMessageAttributes.none();
+        for (int parameterIndex = 0; parameterIndex < parameters.length; ++parameterIndex) {
+            final Parameter parameter = parameters[parameterIndex];
+
+            final MethodParameter methodParameter = DefaultMethodParameter
+                .builder()
+                .method(method)
+                .parameter(parameter)
+                .parameterIndex(parameterIndex)
+                .build();
+
+            if (isAcknowledgeParameter(parameter)) {
+                argumentResolvers[parameterIndex] = (message, acknowledge, visibilityExtender, scope) -> acknowledge;
+                continue;
+            }
+
+            if (isVisibilityExtenderParameter(parameter)) {
+                argumentResolvers[parameterIndex] = (message, acknowledge, visibilityExtender, scope) -> visibilityExtender;
+                continue;
+            }
 
-                if (isVisibilityExtenderParameter(parameter)) {
-                    return (message, acknowledge, visibilityExtender) -> visibilityExtender;
+            final ArgumentResolver<?> argumentResolver = argumentResolverService.getArgumentResolver(methodParameter);
+            // custom resolvers may not know which attributes they need so all of them are requested to be safe
+            requiredMessageAttributes =
+                requiredMessageAttributes.and(
+                    Optional
+                        .ofNullable(argumentResolver.getRequiredMessageAttributes(methodParameter))
+                        .orElse(RequiredMessageAttributes.all())
+                );
+            if (argumentResolver instanceof BindableArgumentResolver) {
+                // the parameter is inspected once here so that resolving each message only needs to read the value from the message
+                final BoundArgumentResolver<?> boundArgumentResolver = ((BindableArgumentResolver<?>) argumentResolver).bindToParameter(
+                        queueProperties,
+                        methodParameter
+                    );
+                argumentResolvers[parameterIndex] =
+                    (message, acknowledge, visibilityExtender, scope) -> boundArgumentResolver.resolveArgument(message, scope);
+            } else {
+                argumentResolvers[parameterIndex] =
+                    (message, acknowledge, visibilityExtender, scope) ->
+                        argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message);
+            }
+        }
+
+        final RequiredMessageAttributes requiredMessageAttributesForAllParameters = requiredMessageAttributes;
+        return new ArgumentResolvers() {
+            @Override
+            public Object[] resolveArgument(
+                final Message message,
+                @Nullable final Acknowledge acknowledge,
+                @Nullable final VisibilityExtender visibilityExtender
+            ) {
+                final Object[] arguments = new Object[argumentResolvers.length];
+                final ArgumentResolutionScope scope = new ArgumentResolutionScope();
+                for (int i = 0; i < argumentResolvers.length; ++i) {
+                    arguments[i] = argumentResolvers[i].resolveArgument(message, acknowledge, visibilityExtender, scope);
                 }
+                return arguments;
+            }
 
-                final ArgumentResolver<?> argumentResolver = argumentResolverService.getArgumentResolver(methodParameter);
-                return (message, acknowledge, visibilityExtender) ->
-                    argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message);
-            })
-            .collect(toList());
-
-        return (message, acknowledge, visibilityExtender) ->
-            argumentResolvers
-                .stream()
-                .map(argumentResolver -> argumentResolver.resolveArgument(message, acknowledge, visibilityExtender))
-                .toArray(Object[]::new);
+            @Override
+            public RequiredMessageAttributes getRequiredMessageAttributes() {
+                return requiredMessageAttributesForAllParameters;
+            }
+        };
     }
 
     private static boolean hasAcknowledgeParameter(final Method method) {
@@ -176,27 +210,39 @@ public class CoreMessageProcessor implements MessageProcessor {
         return delegate.processMessage(message, resolveMessageCallback);
     }
 
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return requiredMessageAttributes;
+    }
+
     /**
-     * Internal resolver for resolving the argument given the message.
+     * Internal resolver for resolving the argument given the message, where the scope is shared by all of the parameters for that message.
      */
     @FunctionalInterface
     interface InternalArgumentResolver {
         Object resolveArgument(
             final Message message,
             @Nullable final Acknowledge acknowledge,
-            @Nullable final VisibilityExtender visibilityExtender
+            @Nullable final VisibilityExtender visibilityExtender,
+            final ArgumentResolutionScope scope
         );
     }
 
     /**
      * Resolve all of the arguments for this message.
      */
-    @FunctionalInterface
     interface ArgumentResolvers {
         Object[] resolveArgument(
             final Message message,
             @Nullable final Acknowledge acknowledge,
             @Nullable final VisibilityExtender visibilityExtender
         );
+
+        /**
+         * The attributes of the message that are needed to resolve all of the arguments.
+         *
+         * @return the required message attributes
+         */
+        RequiredMessageAttributes getRequiredMessageAttributes();
     }
 }
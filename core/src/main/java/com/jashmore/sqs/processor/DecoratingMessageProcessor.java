@@ -1,27 +1,42 @@
 package com.jashmore.sqs.processor;
 
+import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.decorator.MessageProcessingContext;
 import com.jashmore.sqs.decorator.MessageProcessingDecorator;
-import java.util.HashMap;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * {@link MessageProcessor} that will decorate the processing of the message using the supplied {@link MessageProcessingDecorator}s.
+ *
+ * <p>The decorators are split into a separate array for each of the {@link MessageProcessingDecorator} methods when this processor is built,
+ * containing only the decorators that override that method. This means that a decorator only adds a cost to the processing of each message for the
+ * methods that it actually implements, and the callbacks for the resolving or processing of the message are not added at all if no decorator
+ * needs them.
  */
 @Slf4j
 public class DecoratingMessageProcessor implements MessageProcessor {
 
     private final String listenerIdentifier;
     private final QueueProperties queueProperties;
-    private final List<MessageProcessingDecorator> decorators;
+    private final MessageProcessingDecorator[] decorators;
     private final MessageProcessor delegate;
 
+    private final MessageProcessingDecorator[] preMessageProcessingDecorators;
+    private final MessageProcessingDecorator[] messageProcessingFutureDecorators;
+    private final MessageProcessingDecorator[] messageProcessingFailureDecorators;
+    private final MessageProcessingDecorator[] messageProcessingSuccessDecorators;
+    private final MessageProcessingDecorator[] messageProcessingThreadCompleteDecorators;
+    private final MessageProcessingDecorator[] messageResolveDecorators;
+    private final MessageProcessingDecorator[] messageResolvedSuccessDecorators;
+    private final MessageProcessingDecorator[] messageResolvedFailureDecorators;
+
     public DecoratingMessageProcessor(
         final String listenerIdentifier,
         final QueueProperties queueProperties,
@@ -30,8 +45,23 @@ public class DecoratingMessageProcessor implements MessageProcessor {
     ) {
         this.listenerIdentifier = listenerIdentifier;
         this.queueProperties = queueProperties;
-        this.decorators = decorators;
+        this.decorators = decorators.toArray(new MessageProcessingDecorator[0]);
         this.delegate = delegate;
+
+        this.preMessageProcessingDecorators = decoratorsOverriding("onPreMessageProcessing", MessageProcessingContext.class, Message.class);
+        this.messageProcessingFutureDecorators =
+            decoratorsOverriding("onMessageProcessingFuture", MessageProcessingContext.class, Message.class, CompletableFuture.class);
+        this.messageProcessingFailureDecorators =
+            decoratorsOverriding("onMessageProcessingFailure", MessageProcessingContext.class, Message.class, Throwable.class);
+        this.messageProcessingSuccessDecorators =
+            decoratorsOverriding("onMessageProcessingSuccess", MessageProcessingContext.class, Message.class, Object.class);
+        this.messageProcessingThreadCompleteDecorators =
+            decoratorsOverriding("onMessageProcessingThreadComplete", MessageProcessingContext.class, Message.class);
+        this.messageResolveDecorators = decoratorsOverriding("onMessageResolve", MessageProcessingContext.class, Message.class);
+        this.messageResolvedSuccessDecorators =
+            decoratorsOverriding("onMessageResolvedSuccess", MessageProcessingContext.class, Message.class);
+        this.messageResolvedFailureDecorators =
+            decoratorsOverriding("onMessageResolvedFailure", MessageProcessingContext.class, Message.class, Throwable.class);
     }
 
     @Override
@@ -41,65 +71,188 @@ public class DecoratingMessageProcessor implements MessageProcessor {
             .builder()
             .listenerIdentifier(listenerIdentifier)
             .queueProperties(queueProperties)
-            .attributes(new HashMap<>())
             .build();
 
-        decorators.forEach(decorator -> {
+        for (final MessageProcessingDecorator decorator : preMessageProcessingDecorators) {
             try {
                 decorator.onPreMessageProcessing(context, message);
             } catch (RuntimeException runtimeException) {
                 throw new MessageProcessingException(runtimeException);
             }
-        });
+        }
 
         try {
-            final Supplier<CompletableFuture<?>> wrappedResolveMessageCallback = () -> {
-                safelyRun(decorators, decorator -> decorator.onMessageResolve(context, message));
-                return resolveMessageCallback
-                    .get()
-                    .whenComplete((returnValue, throwable) -> {
+            final Supplier<CompletableFuture<?>> decoratedResolveMessageCallback;
+            final boolean hasResolveDecorators =
+                messageResolveDecorators.length > 0 ||
+                messageResolvedSuccessDecorators.length > 0 ||
+                messageResolvedFailureDecorators.length > 0;
+            if (!hasResolveDecorators) {
+                decoratedResolveMessageCallback = resolveMessageCallback;
+            } else {
+                decoratedResolveMessageCallback =
+                    () -> {
+                        runOnMessageResolve(context, message);
+                        return resolveMessageCallback
+                            .get()
+                            .whenComplete((returnValue, throwable) -> {
+                                if (throwable != null) {
+                                    runOnMessageResolvedFailure(context, message, throwable);
+                                } else {
+                                    runOnMessageResolvedSuccess(context, message);
+                                }
+                            });
+                    };
+            }
+
+            final CompletableFuture<?> processingFuture = delegate.processMessage(message, decoratedResolveMessageCallback);
+            final CompletableFuture<?> decoratedProcessingFuture;
+            if (messageProcessingFailureDecorators.length == 0 && messageProcessingSuccessDecorators.length == 0) {
+                decoratedProcessingFuture = processingFuture;
+            } else {
+                decoratedProcessingFuture =
+                    processingFuture.whenComplete((returnValue, throwable) -> {
                         if (throwable != null) {
-                            safelyRun(decorators, decorator -> decorator.onMessageResolvedFailure(context, message, throwable));
+                            runOnMessageProcessingFailure(context, message, throwable);
                         } else {
-                            safelyRun(decorators, decorator -> decorator.onMessageResolvedSuccess(context, message));
+                            runOnMessageProcessingSuccess(context, message, returnValue);
                         }
                     });
-            };
-
-            return delegate
-                .processMessage(message, wrappedResolveMessageCallback)
-                .whenComplete((returnValue, throwable) -> {
-                    if (throwable != null) {
-                        safelyRun(decorators, decorator -> decorator.onMessageProcessingFailure(context, message, throwable));
-                    } else {
-                        safelyRun(decorators, decorator -> decorator.onMessageProcessingSuccess(context, message, returnValue));
-                    }
-                });
+            }
+            runOnMessageProcessingFuture(context, message, processingFuture);
+            return decoratedProcessingFuture;
         } catch (RuntimeException runtimeException) {
-            safelyRun(decorators, decorator -> decorator.onMessageProcessingFailure(context, message, runtimeException));
+            runOnMessageProcessingFailure(context, message, runtimeException);
             throw runtimeException;
         } finally {
-            safelyRun(decorators, decorator -> decorator.onMessageProcessingThreadComplete(context, message));
+            runOnMessageProcessingThreadComplete(context, message);
         }
     }
 
-    /**
-     * Used to run the {@link MessageProcessingDecorator} methods for each of the decorators, completing all regardless of whether a previous decorator
-     * failed.
-     *
-     * @param messageProcessingDecorators the decorators to consume
-     * @param decoratorConsumer           the consumer method that would be used to run one of the decorator methods
-     */
-    private void safelyRun(
-        final List<MessageProcessingDecorator> messageProcessingDecorators,
-        final Consumer<MessageProcessingDecorator> decoratorConsumer
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        RequiredMessageAttributes requiredMessageAttributes = delegate.getRequiredMessageAttributes();
+        for (final MessageProcessingDecorator decorator : decorators) {
+            requiredMessageAttributes = requiredMessageAttributes.and(decorator.getRequiredMessageAttributes());
+        }
+        return requiredMessageAttributes;
+    }
+
+    private void runOnMessageProcessingFuture(
+        final MessageProcessingContext context,
+        final Message message,
+        final CompletableFuture<?> processingFuture
+    ) {
+        for (final MessageProcessingDecorator decorator : messageProcessingFutureDecorators) {
+            try {
+                decorator.onMessageProcessingFuture(context, message, processingFuture);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageProcessingFailure(final MessageProcessingContext context, final Message message, final Throwable throwable) {
+        for (final MessageProcessingDecorator decorator : messageProcessingFailureDecorators) {
+            try {
+                decorator.onMessageProcessingFailure(context, message, throwable);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageProcessingSuccess(
+        final MessageProcessingContext context,
+        final Message message,
+        @Nullable final Object returnValue
     ) {
-        messageProcessingDecorators.forEach(decorator -> {
+        for (final MessageProcessingDecorator decorator : messageProcessingSuccessDecorators) {
+            try {
+                decorator.onMessageProcessingSuccess(context, message, returnValue);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageProcessingThreadComplete(final MessageProcessingContext context, final Message message) {
+        for (final MessageProcessingDecorator decorator : messageProcessingThreadCompleteDecorators) {
+            try {
+                decorator.onMessageProcessingThreadComplete(context, message);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageResolve(final MessageProcessingContext context, final Message message) {
+        for (final MessageProcessingDecorator decorator : messageResolveDecorators) {
             try {
-                decoratorConsumer.accept(decorator);
+                decorator.onMessageResolve(context, message);
             } catch (RuntimeException runtimeException) {
-                log.error("Error processing decorator: " + decorator.getClass().getSimpleName(), runtimeException);
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageResolvedSuccess(final MessageProcessingContext context, final Message message) {
+        for (final MessageProcessingDecorator decorator : messageResolvedSuccessDecorators) {
+            try {
+                decorator.onMessageResolvedSuccess(context, message);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    private void runOnMessageResolvedFailure(final MessageProcessingContext context, final Message message, final Throwable throwable) {
+        for (final MessageProcessingDecorator decorator : messageResolvedFailureDecorators) {
+            try {
+                decorator.onMessageResolvedFailure(context, message, throwable);
+            } catch (RuntimeException runtimeException) {
+                logDecoratorFailure(decorator, runtimeException);
+            }
+        }
+    }
+
+    /**
+     * Failures in the decorator methods are logged and do not stop the other decorators from being run.
+     *
+     * @param decorator        the decorator that failed
+     * @param runtimeException the exception thrown by the decorator
+     */
+    private static void logDecoratorFailure(final MessageProcessingDecorator decorator, final RuntimeException runtimeException) {
+        log.error("Error processing decorator: " + decorator.getClass().getSimpleName(), runtimeException);
+    }
+
+    /**
+     * Obtain the decorators that override the given {@link MessageProcessingDecorator} method, and therefore need to be called for it.
+     *
+     * @param methodName     the name of the method in the {@link MessageProcessingDecorator}
+     * @param parameterTypes the parameter types of the method
+     * @return the decorators that override the method, in the same order as they were provided
+     */
+    private MessageProcessingDecorator[] decoratorsOverriding(final String methodName, final Class<?>... parameterTypes) {
+        final List<MessageProcessingDecorator> overridingDecorators = new ArrayList<>(decorators.length);
+        for (final MessageProcessingDecorator decorator : decorators) {
+            if (overridesMethod(decorator, methodName, parameterTypes)) {
+                overridingDecorators.add(decorator);
             }
-        });
+        }
+        return overridingDecorators.toArray(new MessageProcessingDecorator[0]);
+    }
+
+    private static boolean overridesMethod(
+        final MessageProcessingDecorator decorator,
+        final String methodName,
+        final Class<?>... parameterTypes
+    ) {
+        try {
+            return decorator.getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != MessageProcessingDecorator.class;
+        } catch (final NoSuchMethodException noSuchMethodException) {
+            // should not happen but calling the decorator is always safe
+            return true;
+        }
     }
 }
@@ -1,9 +1,12 @@
 package com.jashmore.sqs.processor;
 
+import static com.jashmore.sqs.argument.visibility.BatchingVisibilityExtender.DEFAULT_BUFFERING_TIME;
+
 import com.jashmore.sqs.QueueProperties;
-import com.jashmore.sqs.argument.visibility.DefaultVisibilityExtender;
+import com.jashmore.sqs.argument.visibility.BatchingVisibilityExtender;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
@@ -15,12 +18,14 @@ import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * {@link MessageProcessor} that takes a lambda/function for synchronous processing of a message.
+ *
+ * <p>The {@link VisibilityExtender}s provided to the function share a {@link BatchingMessageVisibilityChanger} so that the extensions of the
+ * messages being processed at the same time are sent to SQS in batches.
  */
 @Slf4j
 public class LambdaMessageProcessor implements MessageProcessor {
 
-    private final SqsAsyncClient sqsAsyncClient;
-    private final QueueProperties queueProperties;
+    private final BatchingMessageVisibilityChanger visibilityChanger;
 
     private final boolean usesAcknowledgeParameter;
     private final MessageProcessingFunction messageProcessingFunction;
@@ -37,8 +42,7 @@ public class LambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final Consumer<Message> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
 
         this.usesAcknowledgeParameter = false;
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.accept(message);
@@ -56,8 +60,7 @@ public class LambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final BiConsumer<Message, Acknowledge> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
 
         this.usesAcknowledgeParameter = true;
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.accept(message, acknowledge);
@@ -81,8 +84,7 @@ public class LambdaMessageProcessor implements MessageProcessor {
         @SuppressWarnings("unused") final boolean ignoredForTypeErasure,
         final BiConsumer<Message, VisibilityExtender> messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
 
         this.usesAcknowledgeParameter = false;
         this.messageProcessingFunction = (message, acknowledge, visibilityExtender) -> messageProcessor.accept(message, visibilityExtender);
@@ -100,8 +102,7 @@ public class LambdaMessageProcessor implements MessageProcessor {
         final QueueProperties queueProperties,
         final MessageProcessingFunction messageProcessor
     ) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.queueProperties = queueProperties;
+        this.visibilityChanger = new BatchingMessageVisibilityChanger(sqsAsyncClient, queueProperties, DEFAULT_BUFFERING_TIME);
 
         this.usesAcknowledgeParameter = true;
         this.messageProcessingFunction = messageProcessor;
@@ -110,7 +111,7 @@ public class LambdaMessageProcessor implements MessageProcessor {
     @Override
     public CompletableFuture<?> processMessage(Message message, Supplier<CompletableFuture<?>> resolveMessageCallback) {
         final Acknowledge acknowledge = resolveMessageCallback::get;
-        final VisibilityExtender visibilityExtender = new DefaultVisibilityExtender(sqsAsyncClient, queueProperties, message);
+        final VisibilityExtender visibilityExtender = new BatchingVisibilityExtender(visibilityChanger, message);
         try {
             messageProcessingFunction.processMessage(message, acknowledge, visibilityExtender);
         } catch (final MessageProcessingException messageProcessingException) {
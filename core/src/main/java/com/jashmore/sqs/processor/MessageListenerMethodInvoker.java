@@ -0,0 +1,66 @@
+package com.jashmore.sqs.processor;
+
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a message listener method on its bean using a {@link MethodHandle} that is bound once, so that no reflective access checks or lookups
+ * are needed when processing each message.
+ *
+ * <p>Unlike {@link Method#invoke(Object, Object...)}, any exception thrown by the message listener is thrown directly instead of being wrapped
+ * in an {@link java.lang.reflect.InvocationTargetException}.
+ */
+@ThreadSafe
+final class MessageListenerMethodInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * Handle with the type <pre>(Object[])Object</pre> that spreads the arguments into the method bound to the bean.
+     */
+    private final MethodHandle methodHandle;
+
+    private MessageListenerMethodInvoker(final MethodHandle methodHandle) {
+        this.methodHandle = methodHandle;
+    }
+
+    /**
+     * Bind the message listener method to the bean that it will be invoked on.
+     *
+     * <p>If the method is not accessible, for example it is private, the {@link IllegalAccessException} will be thrown each time that the invoker
+     * is invoked, which matches the behaviour of invoking the method reflectively.
+     *
+     * @param method the message listener method
+     * @param bean   the bean that the method should be invoked on
+     * @return the invoker for the method
+     */
+    static MessageListenerMethodInvoker bind(final Method method, final Object bean) {
+        MethodHandle methodHandle;
+        try {
+            methodHandle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                methodHandle = methodHandle.bindTo(bean);
+            }
+            methodHandle = methodHandle.asSpreader(Object[].class, method.getParameterCount());
+        } catch (final IllegalAccessException illegalAccessException) {
+            methodHandle = MethodHandles.throwException(Object.class, IllegalAccessException.class).bindTo(illegalAccessException);
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object[].class);
+        }
+        return new MessageListenerMethodInvoker(methodHandle.asType(INVOKER_TYPE));
+    }
+
+    /**
+     * Invoke the message listener method with the provided arguments.
+     *
+     * @param arguments the arguments for each of the parameters of the method
+     * @return the value returned by the method, or null if the method is void
+     * @throws Throwable any exception thrown by the message listener method, or an {@link IllegalAccessException} if the method is not accessible
+     */
+    Object invoke(final Object[] arguments) throws Throwable {
+        return methodHandle.invokeExact(arguments);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jashmore.sqs.processor.batching;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The outcome of processing a batch of messages, which determines which of the messages should be resolved.
+ *
+ * <p>Any message that is not marked as failed is considered to be successfully processed and will be resolved, e.g. deleted from the queue.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchProcessingResult {
+
+    private static final BatchProcessingResult SUCCESSFUL = new BatchProcessingResult(Collections.emptySet());
+
+    /**
+     * The IDs of the messages that failed to be processed.
+     */
+    Set<String> failedMessageIds;
+
+    /**
+     * All of the messages in the batch were processed successfully.
+     *
+     * @return the result for a successful batch
+     */
+    public static BatchProcessingResult successful() {
+        return SUCCESSFUL;
+    }
+
+    /**
+     * The messages with the provided IDs failed to be processed, with the rest of the messages in the batch being successful.
+     *
+     * @param failedMessageIds the IDs of the messages that failed
+     * @return the result for the batch
+     */
+    public static BatchProcessingResult failed(final String... failedMessageIds) {
+        return failed(Arrays.asList(failedMessageIds));
+    }
+
+    /**
+     * The messages with the provided IDs failed to be processed, with the rest of the messages in the batch being successful.
+     *
+     * @param failedMessageIds the IDs of the messages that failed
+     * @return the result for the batch
+     */
+    public static BatchProcessingResult failed(final Collection<String> failedMessageIds) {
+        return new BatchProcessingResult(Set.copyOf(failedMessageIds));
+    }
+
+    /**
+     * Whether the message with the provided ID failed to be processed.
+     *
+     * @param messageId the ID of the message
+     * @return true if the message failed to be processed
+     */
+    public boolean hasFailed(final String messageId) {
+        return failedMessageIds.contains(messageId);
+    }
+}
@@ -0,0 +1,198 @@
+package com.jashmore.sqs.processor.batching;
+
+import static java.util.stream.Collectors.toList;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.util.properties.PropertyUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * {@link MessageProcessor} that gathers messages into batches so that they can be processed by the listener in a single call, for example to
+ * insert all of the messages into a database at once instead of one row at a time.
+ *
+ * <p>A batch is processed once it has reached the size defined by {@link BatchingMessageProcessorProperties#getBatchSize()} or the first message in
+ * the batch has waited for the {@link BatchingMessageProcessorProperties#getBatchingPeriod()}. The future returned for each message will only be
+ * completed when the batch containing it has been processed, which means that the {@link com.jashmore.sqs.broker.MessageBroker} will consider all of
+ * the messages in the batch to be processing until then.
+ *
+ * <p>The {@link BatchProcessingResult} returned by the listener determines which of the messages were successful and should be resolved. If the listener
+ * throws an exception, all of the messages in the batch are considered to have failed.
+ *
+ * <p>The thread that supplied the first message of a batch will wait until the batch has been filled or the batching period has elapsed and then
+ * process the batch, while the threads supplying the rest of the messages return straight away. This means that batches are always processed on the
+ * message processing threads of the container. If this waiting thread is interrupted, for example when the container is being shutdown, the messages
+ * in the batch will be failed instead of being processed.
+ */
+@Slf4j
+@ThreadSafe
+public class BatchingMessageProcessor implements MessageProcessor {
+
+    private final BatchingMessageProcessorProperties properties;
+    private final BatchProcessingFunction batchProcessingFunction;
+
+    @GuardedBy("this")
+    private List<PendingMessage> currentBatch = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param properties              the properties for configuring how messages are batched
+     * @param batchProcessingFunction the function to process a batch of messages
+     */
+    public BatchingMessageProcessor(
+        final BatchingMessageProcessorProperties properties,
+        final BatchProcessingFunction batchProcessingFunction
+    ) {
+        this.properties = properties;
+        this.batchProcessingFunction = batchProcessingFunction;
+    }
+
+    @Override
+    public CompletableFuture<?> processMessage(final Message message, final Supplier<CompletableFuture<?>> resolveMessageCallback) {
+        final PendingMessage pendingMessage = new PendingMessage(message, resolveMessageCallback, new CompletableFuture<>());
+        final List<PendingMessage> batch;
+        synchronized (this) {
+            batch = currentBatch;
+            batch.add(pendingMessage);
+            if (batch.size() >= getBatchSize()) {
+                // later messages will start a new batch while the thread that started this batch processes it
+                takeCurrentBatch();
+                notifyAll();
+            }
+
+            if (batch.size() > 1) {
+                return pendingMessage.getFuture();
+            }
+
+            try {
+                waitForBatchToBeFilled(batch);
+            } catch (final InterruptedException interruptedException) {
+                log.debug("Thread interrupted waiting for batch to be filled, failing batch of {} messages", batch.size());
+                if (currentBatch == batch) {
+                    takeCurrentBatch();
+                }
+                final MessageProcessingException exception = new MessageProcessingException(
+                    "Thread interrupted before the batch could be processed"
+                );
+                batch.forEach(batchedMessage -> batchedMessage.getFuture().completeExceptionally(exception));
+                Thread.currentThread().interrupt();
+                return pendingMessage.getFuture();
+            }
+
+            if (currentBatch == batch) {
+                log.trace("Batching period elapsed, processing batch of {} messages", batch.size());
+                takeCurrentBatch();
+            }
+        }
+
+        processBatch(batch);
+        return pendingMessage.getFuture();
+    }
+
+    /**
+     * Wait until the batch has been filled by other threads or the batching period has elapsed, must be called while holding the lock on this
+     * processor.
+     *
+     * @param batch the batch that was started by this thread
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    private void waitForBatchToBeFilled(final List<PendingMessage> batch) throws InterruptedException {
+        final long batchingPeriodEndInNanos = System.nanoTime() + getBatchingPeriod().toNanos();
+        long remainingTimeInNanos = batchingPeriodEndInNanos - System.nanoTime();
+        while (currentBatch == batch && remainingTimeInNanos > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remainingTimeInNanos);
+            remainingTimeInNanos = batchingPeriodEndInNanos - System.nanoTime();
+        }
+    }
+
+    /**
+     * Replace the current batch with a new batch, must be called while holding the lock on this processor.
+     *
+     * @return the batch that should be processed
+     */
+    private List<PendingMessage> takeCurrentBatch() {
+        final List<PendingMessage> batch = currentBatch;
+        currentBatch = new ArrayList<>();
+        return batch;
+    }
+
+    private void processBatch(final List<PendingMessage> batch) {
+        final List<Message> messages = batch.stream().map(PendingMessage::getMessage).collect(toList());
+        final BatchProcessingResult result;
+        try {
+            result = batchProcessingFunction.processMessages(messages);
+        } catch (final Throwable throwable) {
+            final MessageProcessingException exception = throwable instanceof MessageProcessingException
+                ? (MessageProcessingException) throwable
+                : new MessageProcessingException(throwable);
+            batch.forEach(pendingMessage -> pendingMessage.getFuture().completeExceptionally(exception));
+            return;
+        }
+
+        for (final PendingMessage pendingMessage : batch) {
+            if (result != null && result.hasFailed(pendingMessage.getMessage().messageId())) {
+                pendingMessage.getFuture().completeExceptionally(new MessageProcessingException("Message failed to be processed in batch"));
+            } else {
+                resolveMessage(pendingMessage);
+                pendingMessage.getFuture().complete(null);
+            }
+        }
+    }
+
+    private void resolveMessage(final PendingMessage pendingMessage) {
+        try {
+            pendingMessage
+                .getResolveMessageCallback()
+                .get()
+                .handle((ignored, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Error resolving successfully processed message", throwable);
+                    }
+                    return null;
+                });
+        } catch (final RuntimeException runtimeException) {
+            log.error("Failed to trigger message resolving", runtimeException);
+        }
+    }
+
+    private int getBatchSize() {
+        return PropertyUtils.safelyGetPositiveIntegerValue("batchSize", properties::getBatchSize, 1);
+    }
+
+    private Duration getBatchingPeriod() {
+        return PropertyUtils.safelyGetPositiveOrZeroDuration("batchingPeriod", properties::getBatchingPeriod, Duration.ZERO);
+    }
+
+    /**
+     * Represents the listener function that processes a batch of messages.
+     */
+    @FunctionalInterface
+    public interface BatchProcessingFunction {
+        /**
+         * Process the batch of messages.
+         *
+         * @param messages the messages in the batch, which will not be empty
+         * @return the result indicating which messages failed, where a null result is considered to be all messages succeeding
+         */
+        BatchProcessingResult processMessages(List<Message> messages);
+    }
+
+    @Value
+    private static class PendingMessage {
+
+        Message message;
+        Supplier<CompletableFuture<?>> resolveMessageCallback;
+        CompletableFuture<Object> future;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jashmore.sqs.processor.batching;
+
+import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.Positive;
+import java.time.Duration;
+
+/**
+ * Properties used for configuring how the {@link BatchingMessageProcessor} gathers messages into a batch.
+ */
+public interface BatchingMessageProcessorProperties {
+    /**
+     * The maximum number of messages that will be gathered before the batch is processed.
+     *
+     * <p>As each message in the batch is still considered to be processing until the whole batch has been processed, the concurrency of the
+     * {@link com.jashmore.sqs.broker.MessageBroker} should be at least this size, otherwise batches will only be processed when the
+     * {@link #getBatchingPeriod()} has elapsed.
+     *
+     * @return the maximum size of a batch
+     */
+    @Positive
+    int getBatchSize();
+
+    /**
+     * The maximum amount of time that a message will wait for the batch to be filled before the batch is processed.
+     *
+     * <p>This is measured from the time that the first message was added to the batch.
+     *
+     * @return the maximum time to wait for the batch to be filled
+     */
+    @Nonnull
+    @Positive
+    Duration getBatchingPeriod();
+}
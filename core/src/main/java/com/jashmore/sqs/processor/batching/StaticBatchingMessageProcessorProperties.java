@@ -0,0 +1,31 @@
+package com.jashmore.sqs.processor.batching;
+
+import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.Positive;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Static implementation that will contain a constant size and time limit for each batch.
+ */
+@Value
+@Builder(toBuilder = true)
+public class StaticBatchingMessageProcessorProperties implements BatchingMessageProcessorProperties {
+
+    int batchSize;
+    Duration batchingPeriod;
+
+    @Positive
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Nonnull
+    @Positive
+    @Override
+    public Duration getBatchingPeriod() {
+        return batchingPeriod;
+    }
+}
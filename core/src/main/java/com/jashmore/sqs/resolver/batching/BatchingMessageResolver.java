@@ -1,45 +1,71 @@
 package com.jashmore.sqs.resolver.batching;
 
 import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.DEFAULT_DELETION_RETRY_TIMEOUT;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.DEFAULT_MAXIMUM_CONCURRENT_BATCH_DELETIONS;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.DELETION_RETRY_VISIBILITY_TIMEOUT_SAFETY_MARGIN;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.IDLE_BATCH_DELETION_THREAD_TIMEOUT_IN_SECONDS;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.INITIAL_DELETION_RETRY_BACKOFF;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.MAXIMUM_DELETION_RETRY_BACKOFF;
+import static com.jashmore.sqs.resolver.batching.BatchingMessageResolverConstants.THROTTLING_ERROR_CODES;
 
 import com.jashmore.documentation.annotations.ThreadSafe;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.resolver.MessageResolver;
-import com.jashmore.sqs.util.collections.QueueUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
 import com.jashmore.sqs.util.thread.ThreadUtils;
 import java.time.Duration;
-import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 /**
  * {@link MessageResolver} that will batch the deletions of messages into a group to reduce the amount of messages that are being sent to SQS queue.
  *
- * <p>This uses a {@link BlockingQueue} to store all of the messages that need to be resolved and once the timeout provided by
- * {@link BatchingMessageResolverProperties#getBufferingTime()} is reached or the number of messages goes above
- * {@link BatchingMessageResolverProperties#getBufferingSizeLimit()}, the messages are sent out to be deleted.
+ * <p>This uses a {@link BlockingQueue} to store all of the messages that need to be resolved and once the number of messages reaches
+ * {@link BatchingMessageResolverProperties#getBufferingSizeLimit()} or the oldest message has been waiting for
+ * {@link BatchingMessageResolverProperties#getBufferingTime()}, the messages are sent out to be deleted.
+ *
+ * <p>The number of batches being deleted at once is limited by {@link BatchingMessageResolverProperties#getMaximumConcurrentBatchDeletions()}. When
+ * this limit is reached the messages will remain in the queue until one of the batches has completed, so that a slow SQS will result in fuller
+ * batches instead of an increasing number of requests and threads.
+ *
+ * <p>Messages that SQS failed to delete due to a transient error, e.g. the request was throttled, are added back to the buffer after an exponential
+ * backoff so that they are sent in a later batch. This continues until {@link BatchingMessageResolverProperties#getDeletionRetryTimeout()} has
+ * passed since the message was first submitted, or until the message's visibility timeout is about to expire when the time that it was received
+ * and {@link BatchingMessageResolverProperties#getMessageVisibilityTimeout()} are known, so that the deletion is not retried after the message's
+ * receipt handle has expired.
  */
 @Slf4j
 @ThreadSafe
 public class BatchingMessageResolver implements MessageResolver {
 
+    /**
+     * The maximum number of times the backoff is doubled, which stops the backoff from overflowing.
+     */
+    private static final int MAXIMUM_BACKOFF_DOUBLINGS = 20;
+
     private final QueueProperties queueProperties;
     private final SqsAsyncClient sqsAsyncClient;
     private final BatchingMessageResolverProperties properties;
@@ -81,48 +107,114 @@ public class BatchingMessageResolver implements MessageResolver {
 
     @Override
     public CompletableFuture<?> resolveMessage(final Message message) {
+        final long submittedNanoTime = System.nanoTime();
+        return addMessageToBeResolved(message, submittedNanoTime, getDeletionRetryDeadlineNanoTime(submittedNanoTime));
+    }
+
+    @Override
+    public CompletableFuture<?> resolveMessage(final Message message, final long receivedNanoTime) {
+        final long submittedNanoTime = System.nanoTime();
+        final long deletionRetryDeadlineNanoTime = getDeletionRetryDeadlineNanoTime(submittedNanoTime);
+        final Duration messageVisibilityTimeout = properties.getMessageVisibilityTimeout();
+        if (messageVisibilityTimeout == null || messageVisibilityTimeout.isNegative() || messageVisibilityTimeout.isZero()) {
+            return addMessageToBeResolved(message, submittedNanoTime, deletionRetryDeadlineNanoTime);
+        }
+
+        final long visibilityDeadlineNanoTime =
+            receivedNanoTime + messageVisibilityTimeout.toNanos() - DELETION_RETRY_VISIBILITY_TIMEOUT_SAFETY_MARGIN.toNanos();
+        // the difference is compared as the nano times can overflow
+        final boolean visibilityDeadlineIsFirst = visibilityDeadlineNanoTime - deletionRetryDeadlineNanoTime < 0;
+        return addMessageToBeResolved(
+            message,
+            submittedNanoTime,
+            visibilityDeadlineIsFirst ? visibilityDeadlineNanoTime : deletionRetryDeadlineNanoTime
+        );
+    }
+
+    private CompletableFuture<?> addMessageToBeResolved(
+        final Message message,
+        final long submittedNanoTime,
+        final long retryDeadlineNanoTime
+    ) {
         final CompletableFuture<Object> completableFuture = new CompletableFuture<>();
-        messagesToBeResolved.add(new MessageResolutionBean(message, completableFuture));
+        messagesToBeResolved.add(new MessageResolutionBean(message, completableFuture, submittedNanoTime, retryDeadlineNanoTime, 0));
         return completableFuture;
     }
 
+    /**
+     * Get the time after which the deletion of a message submitted now can no longer be retried, based on the configured deletion retry timeout.
+     *
+     * @param submittedNanoTime the value of {@link System#nanoTime()} when the message was submitted
+     * @return the value of {@link System#nanoTime()} after which the deletion should not be retried
+     */
+    private long getDeletionRetryDeadlineNanoTime(final long submittedNanoTime) {
+        final Duration deletionRetryTimeout = PropertyUtils.safelyGetPositiveOrZeroDuration(
+            "deletionRetryTimeout",
+            properties::getDeletionRetryTimeout,
+            DEFAULT_DELETION_RETRY_TIMEOUT
+        );
+        return submittedNanoTime + deletionRetryTimeout.toNanos();
+    }
+
     @Override
     public void run() {
         log.info("Started MessageResolver background thread");
+        final int maximumConcurrentBatchDeletions = PropertyUtils.safelyGetPositiveIntegerValue(
+            "maximumConcurrentBatchDeletions",
+            properties::getMaximumConcurrentBatchDeletions,
+            DEFAULT_MAXIMUM_CONCURRENT_BATCH_DELETIONS
+        );
+        // a permit is held for each batch that is currently being deleted so that they can be limited and waited on during shutdown
+        final Semaphore batchDeletionPermits = new Semaphore(maximumConcurrentBatchDeletions);
+        final ExecutorService executorService = buildExecutorServiceForSendingBatchDeletion(maximumConcurrentBatchDeletions);
+        // the request is built before the batch is submitted and therefore this list can be reused for each batch
+        final List<MessageResolutionBean> batchOfMessagesToResolve = new ArrayList<>(MAX_NUMBER_OF_MESSAGES_IN_BATCH);
         boolean continueProcessing = true;
-        final ExecutorService executorService = buildExecutorServiceForSendingBatchDeletion();
-        // all of the batches currently being sent so that they can be waited on during shutdown
-        final List<CompletableFuture<?>> batchesBeingPublished = new ArrayList<>();
-        while (!Thread.currentThread().isInterrupted() && continueProcessing) {
-            final List<MessageResolutionBean> batchOfMessagesToResolve = new LinkedList<>();
+        while (continueProcessing) {
+            try {
+                batchDeletionPermits.acquire();
+            } catch (final InterruptedException interruptedException) {
+                log.info("Shutting down MessageResolver");
+                break;
+            }
+
             try {
                 final int batchSize = getBatchSize();
                 final Duration bufferingTime = properties.getBufferingTime();
-                log.trace("Waiting {}ms for {} messages to be submitted for deletion", bufferingTime.toMillis(), batchSize);
-                QueueUtils.drain(messagesToBeResolved, batchOfMessagesToResolve, batchSize, bufferingTime);
+                log.trace("Waiting up to {}ms for {} messages to be submitted for deletion", bufferingTime.toMillis(), batchSize);
+                fillBatch(batchOfMessagesToResolve, batchSize, bufferingTime);
             } catch (final InterruptedException interruptedException) {
                 log.info("Shutting down MessageResolver");
                 // Do nothing, we still want to send the current batch of messages
                 continueProcessing = false;
             }
 
-            if (!batchOfMessagesToResolve.isEmpty()) {
-                log.debug("Sending batch deletion for {} messages", batchOfMessagesToResolve.size());
-                final CompletableFuture<?> completableFuture = submitMessageDeletionBatch(batchOfMessagesToResolve, executorService);
-                batchesBeingPublished.add(completableFuture);
-                completableFuture.whenComplete((response, throwable) -> batchesBeingPublished.remove(completableFuture));
-            }
+            submitMessageDeletionBatch(batchOfMessagesToResolve, batchDeletionPermits, executorService);
         }
+
         try {
-            log.debug("Waiting for {} batches to complete", batchesBeingPublished.size());
-            CompletableFuture.allOf(batchesBeingPublished.toArray(new CompletableFuture<?>[0])).get();
-            executorService.shutdownNow();
+            while (true) {
+                // any messages that were submitted before shutting down should still be deleted
+                while (!messagesToBeResolved.isEmpty()) {
+                    batchDeletionPermits.acquireUninterruptibly();
+                    messagesToBeResolved.drainTo(batchOfMessagesToResolve, getBatchSize());
+                    submitMessageDeletionBatch(batchOfMessagesToResolve, batchDeletionPermits, executorService);
+                }
+
+                log.debug("Waiting for {} batches to complete", maximumConcurrentBatchDeletions - batchDeletionPermits.availablePermits());
+                batchDeletionPermits.acquire(maximumConcurrentBatchDeletions);
+                // a batch only releases its permit after adding its failed messages back to the buffer, so these need to be sent too
+                if (messagesToBeResolved.isEmpty()) {
+                    break;
+                }
+                batchDeletionPermits.release(maximumConcurrentBatchDeletions);
+            }
             log.info("MessageResolver has been successfully stopped");
         } catch (final InterruptedException interruptedException) {
             log.warn("Thread interrupted while waiting for message batches to be completed");
             Thread.currentThread().interrupt();
-        } catch (final ExecutionException executionException) {
-            log.error("Error waiting for all message batches to be published", executionException.getCause());
+        } finally {
+            executorService.shutdownNow();
         }
     }
 
@@ -133,12 +225,55 @@ public class BatchingMessageResolver implements MessageResolver {
      * ultimately not what we want. We instead want to know that this has been done and wait for the delete requests to eventually finish. Therefore,
      * running it on extra threads provides this extra safety.
      *
-     * <p>The extra service also allows for multiple batches to be sent concurrently.
+     * <p>The extra service also allows for multiple batches to be sent concurrently, up to the maximum number of concurrent batch deletions. As the
+     * deletion itself is asynchronous, the threads are only briefly used and are allowed to time out when idle so that a container that is not
+     * resolving messages does not keep these threads alive.
      *
+     * @param maximumConcurrentBatchDeletions the maximum number of batches that can be deleted at once
      * @return the service for running message deletion on a separate thread
      */
-    private ExecutorService buildExecutorServiceForSendingBatchDeletion() {
-        return Executors.newCachedThreadPool(ThreadUtils.multiNamedThreadFactory(Thread.currentThread().getName() + "-batch-delete"));
+    private ExecutorService buildExecutorServiceForSendingBatchDeletion(final int maximumConcurrentBatchDeletions) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            maximumConcurrentBatchDeletions,
+            maximumConcurrentBatchDeletions,
+            IDLE_BATCH_DELETION_THREAD_TIMEOUT_IN_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            ThreadUtils.multiNamedThreadFactory(Thread.currentThread().getName() + "-batch-delete")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Wait for the next batch of messages to be resolved, which will be completed when the batch size has been reached or the oldest message in the
+     * batch has been buffered for the buffering time.
+     *
+     * <p>If the thread is interrupted while waiting, the messages already added to the batch will remain in it.
+     *
+     * @param batchOfMessagesToResolve the list to add the messages to
+     * @param batchSize                the maximum number of messages in the batch
+     * @param bufferingTime            the maximum time that the oldest message can be buffered for
+     * @throws InterruptedException if the thread was interrupted while waiting for messages
+     */
+    private void fillBatch(final List<MessageResolutionBean> batchOfMessagesToResolve, final int batchSize, final Duration bufferingTime)
+        throws InterruptedException {
+        final MessageResolutionBean oldestMessage = messagesToBeResolved.take();
+        batchOfMessagesToResolve.add(oldestMessage);
+        final long deadlineNanoTime = oldestMessage.getSubmittedNanoTime() + bufferingTime.toNanos();
+        while (batchOfMessagesToResolve.size() < batchSize) {
+            messagesToBeResolved.drainTo(batchOfMessagesToResolve, batchSize - batchOfMessagesToResolve.size());
+            final long remainingNanos = deadlineNanoTime - System.nanoTime();
+            if (batchOfMessagesToResolve.size() >= batchSize || remainingNanos <= 0) {
+                return;
+            }
+
+            final MessageResolutionBean nextMessage = messagesToBeResolved.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (nextMessage == null) {
+                return;
+            }
+            batchOfMessagesToResolve.add(nextMessage);
+        }
     }
 
     /**
@@ -157,59 +292,129 @@ public class BatchingMessageResolver implements MessageResolver {
     /**
      * Submit the batch of messages to be resolved asynchronously.
      *
-     * <p>When the batch is completed successfully (or unsuccessfully), the futures for each message will be completed.
+     * <p>When the batch is completed successfully (or unsuccessfully), the futures for each message will be completed, or the message will be added
+     * back to the buffer to be retried, and the permit for the batch released. The batch will be cleared so that it can be reused for the next batch
+     * of messages.
      *
      * @param batchOfMessagesToResolve the messages to resolve
+     * @param batchDeletionPermits     the permits for the batches being deleted, one of which has been acquired for this batch
+     * @param executorService          the service for sending the batch deletion
      */
-    private CompletableFuture<?> submitMessageDeletionBatch(
+    private void submitMessageDeletionBatch(
         final List<MessageResolutionBean> batchOfMessagesToResolve,
+        final Semaphore batchDeletionPermits,
         final ExecutorService executorService
     ) {
-        final Map<String, CompletableFuture<Object>> messageCompletableFutures = batchOfMessagesToResolve
-            .stream()
-            .map(bean -> new AbstractMap.SimpleImmutableEntry<>(bean.getMessage().messageId(), bean.getCompletableFuture()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        return CompletableFuture
-            .supplyAsync(() -> buildBatchDeleteMessageRequest(batchOfMessagesToResolve))
-            .thenComposeAsync(sqsAsyncClient::deleteMessageBatch, executorService)
-            .whenComplete((response, exception) -> {
-                if (exception != null) {
-                    log.error("Error deleting messages", exception);
-
-                    messageCompletableFutures.values().forEach(completableFuture -> completableFuture.completeExceptionally(exception));
-                    return;
-                }
+        if (batchOfMessagesToResolve.isEmpty()) {
+            batchDeletionPermits.release();
+            return;
+        }
 
-                log.debug("{} messages successfully deleted, {} failed", response.successful().size(), response.failed().size());
+        log.debug("Sending batch deletion for {} messages", batchOfMessagesToResolve.size());
+        final Map<String, MessageResolutionBean> messagesBeingResolved = new HashMap<>();
+        batchOfMessagesToResolve.forEach(bean -> messagesBeingResolved.put(bean.getMessage().messageId(), bean));
+        final DeleteMessageBatchRequest deleteMessageBatchRequest = buildBatchDeleteMessageRequest(batchOfMessagesToResolve);
+        batchOfMessagesToResolve.clear();
 
-                response
-                    .successful()
-                    .stream()
-                    .map(entry -> messageCompletableFutures.remove(entry.id()))
-                    .forEach(completableFuture -> completableFuture.complete("completed"));
-
-                response
-                    .failed()
-                    .forEach(entry -> {
-                        final CompletableFuture<?> completableFuture = messageCompletableFutures.remove(entry.id());
-                        completableFuture.completeExceptionally(new RuntimeException(entry.message()));
-                    });
-
-                if (!messageCompletableFutures.isEmpty()) {
-                    log.error(
-                        "{} messages were not handled in the deletion. This could be a bug in the AWS SDK",
-                        messageCompletableFutures.size()
+        CompletableFuture
+            .supplyAsync(() -> sqsAsyncClient.deleteMessageBatch(deleteMessageBatchRequest), executorService)
+            .thenCompose(Function.identity())
+            .handle((response, exception) -> resolveMessages(messagesBeingResolved, response, exception))
+            .thenCompose(Function.identity())
+            .whenComplete((ignored, throwable) -> batchDeletionPermits.release());
+    }
+
+    /**
+     * Complete the futures for the messages in the batch from the response of the batch deletion.
+     *
+     * @param messagesBeingResolved the messages in the batch keyed by their message ID
+     * @param response              the response of the batch deletion, null if the request failed
+     * @param exception             the exception deleting the batch, null if the request was successful
+     * @return the future that is completed when the messages being retried have been added back to the buffer
+     */
+    private CompletableFuture<?> resolveMessages(
+        final Map<String, MessageResolutionBean> messagesBeingResolved,
+        final DeleteMessageBatchResponse response,
+        final Throwable exception
+    ) {
+        if (exception != null) {
+            log.error("Error deleting messages", exception);
+
+            messagesBeingResolved.values().forEach(bean -> bean.getCompletableFuture().completeExceptionally(exception));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.debug("{} messages successfully deleted, {} failed", response.successful().size(), response.failed().size());
+
+        response
+            .successful()
+            .stream()
+            .map(entry -> messagesBeingResolved.remove(entry.id()))
+            .forEach(bean -> bean.getCompletableFuture().complete("completed"));
+
+        final List<CompletableFuture<?>> messagesBeingRetried = new ArrayList<>();
+        response
+            .failed()
+            .forEach(entry -> {
+                final MessageResolutionBean bean = messagesBeingResolved.remove(entry.id());
+                final Optional<Duration> retryBackoff = isRetriable(entry) ? getRetryBackoff(bean) : Optional.empty();
+                if (retryBackoff.isPresent()) {
+                    log.debug(
+                        "Retrying deletion of message {} in {}ms due to error: {}",
+                        entry.id(),
+                        retryBackoff.get().toMillis(),
+                        entry.code()
+                    );
+                    messagesBeingRetried.add(
+                        CompletableFuture.runAsync(
+                            () -> messagesToBeResolved.add(bean.nextAttempt()),
+                            CompletableFuture.delayedExecutor(retryBackoff.get().toNanos(), TimeUnit.NANOSECONDS)
+                        )
                     );
-                    messageCompletableFutures
-                        .values()
-                        .forEach(completableFuture ->
-                            completableFuture.completeExceptionally(
-                                new RuntimeException("Message not handled by batch delete. This should not happen")
-                            )
-                        );
+                } else {
+                    bean.getCompletableFuture().completeExceptionally(new RuntimeException(entry.message()));
                 }
             });
+
+        if (!messagesBeingResolved.isEmpty()) {
+            log.error("{} messages were not handled in the deletion. This could be a bug in the AWS SDK", messagesBeingResolved.size());
+            messagesBeingResolved
+                .values()
+                .forEach(bean ->
+                    bean
+                        .getCompletableFuture()
+                        .completeExceptionally(new RuntimeException("Message not handled by batch delete. This should not happen"))
+                );
+        }
+
+        return CompletableFuture.allOf(messagesBeingRetried.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Determine whether the message failed to be deleted due to a transient error, e.g. SQS throttled the request or had an internal error.
+     *
+     * @param entry the failed entry in the batch
+     * @return whether the deletion can be retried
+     */
+    private static boolean isRetriable(final BatchResultErrorEntry entry) {
+        return Boolean.FALSE.equals(entry.senderFault()) || THROTTLING_ERROR_CODES.contains(entry.code());
+    }
+
+    /**
+     * Get the backoff before the message's deletion should be retried, which doubles for each attempt.
+     *
+     * @param bean the message that failed to be deleted
+     * @return the backoff before retrying, or empty if the message should not be retried as its retry deadline would have passed
+     */
+    private Optional<Duration> getRetryBackoff(final MessageResolutionBean bean) {
+        final long backoffInNanos = Math.min(
+            INITIAL_DELETION_RETRY_BACKOFF.toNanos() << Math.min(bean.getRetryAttempts(), MAXIMUM_BACKOFF_DOUBLINGS),
+            MAXIMUM_DELETION_RETRY_BACKOFF.toNanos()
+        );
+        if (System.nanoTime() + backoffInNanos - bean.getRetryDeadlineNanoTime() >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(backoffInNanos));
     }
 
     private DeleteMessageBatchRequest buildBatchDeleteMessageRequest(final List<MessageResolutionBean> batchOfMessagesToResolve) {
@@ -247,5 +452,22 @@ public class BatchingMessageResolver implements MessageResolver {
          * The future that should be resolved when the message is successfully or unsuccessfully deleted.
          */
         CompletableFuture<Object> completableFuture;
+        /**
+         * The value of {@link System#nanoTime()} when the message was added to the buffer, used to determine when the batch should be sent.
+         */
+        long submittedNanoTime;
+        /**
+         * The value of {@link System#nanoTime()} after which the deletion of this message should not be retried, which is the earlier of the
+         * deletion retry timeout since it was first submitted and its visibility timeout expiring.
+         */
+        long retryDeadlineNanoTime;
+        /**
+         * The number of times that the deletion of this message has been retried.
+         */
+        int retryAttempts;
+
+        MessageResolutionBean nextAttempt() {
+            return new MessageResolutionBean(message, completableFuture, System.nanoTime(), retryDeadlineNanoTime, retryAttempts + 1);
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.jashmore.sqs.resolver.batching;
+
+import java.time.Duration;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class BatchingMessageResolverConstants {
+
+    /**
+     * The default maximum number of batch deletion requests that can be in flight to SQS at the same time.
+     */
+    static final int DEFAULT_MAXIMUM_CONCURRENT_BATCH_DELETIONS = 10;
+
+    /**
+     * The amount of time that a thread used to send the batch deletions can be idle before it is stopped.
+     */
+    static final long IDLE_BATCH_DELETION_THREAD_TIMEOUT_IN_SECONDS = 60;
+
+    /**
+     * The default amount of time after a message was submitted for resolution that a failed deletion can be retried, which is a third of the
+     * default visibility timeout of a queue.
+     */
+    static final Duration DEFAULT_DELETION_RETRY_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The amount of time before the visibility timeout of a message expires that its deletion will no longer be retried, which allows for the time
+     * taken to send the deletion request.
+     */
+    static final Duration DELETION_RETRY_VISIBILITY_TIMEOUT_SAFETY_MARGIN = Duration.ofSeconds(2);
+
+    /**
+     * The backoff before the first retry of a failed deletion, which is doubled for each subsequent attempt.
+     */
+    static final Duration INITIAL_DELETION_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    /**
+     * The maximum backoff between retries of a failed deletion.
+     */
+    static final Duration MAXIMUM_DELETION_RETRY_BACKOFF = Duration.ofSeconds(2);
+
+    /**
+     * The error codes of failed deletions that were caused by the request being throttled and can therefore be retried, even though they are
+     * marked as a sender fault.
+     */
+    static final Set<String> THROTTLING_ERROR_CODES = Set.of("ThrottlingException", "RequestThrottled");
+}
@@ -2,7 +2,9 @@ package com.jashmore.sqs.resolver.batching;
 
 import com.jashmore.documentation.annotations.Max;
 import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
+import com.jashmore.documentation.annotations.PositiveOrZero;
 import com.jashmore.sqs.aws.AwsConstants;
 import java.time.Duration;
 
@@ -29,9 +31,70 @@ public interface BatchingMessageResolverProperties {
      * <p>This value must be greater than zero as it does not make sense for it to be negative. It is also recommended not to have this as a
      * very small time duration as a small duration will result in a constant looping of the buffering thread.
      *
+     * <p>The time is measured from when the oldest message in the batch was submitted for resolution, so a message will not wait longer than this
+     * even if the resolver was busy sending other batches when it was submitted.
+     *
      * @return the amount of time that a message can be buffered for resolution
      */
     @Nonnull
     @Positive
     Duration getBufferingTime();
+
+    /**
+     * The maximum number of batch deletion requests that can be in flight to SQS at the same time.
+     *
+     * <p>When this limit is reached, messages will continue to be buffered until one of the requests completes, which will result in fuller batches
+     * being sent when SQS is slow to respond.
+     *
+     * <p>This value is not able to be dynamic during the execution and will only be obtained when the resolver is started. If this value is null or
+     * non-positive, {@link BatchingMessageResolverConstants#DEFAULT_MAXIMUM_CONCURRENT_BATCH_DELETIONS} will be used.
+     *
+     * @return the maximum number of concurrent batch deletion requests
+     */
+    @Nullable
+    @Positive
+    default Integer getMaximumConcurrentBatchDeletions() {
+        return null;
+    }
+
+    /**
+     * The maximum amount of time after a message was first submitted for resolution that its deletion can be retried if SQS failed to delete it
+     * with a retriable error, e.g. it was throttled or there was an internal error.
+     *
+     * <p>Failed messages are added back to the buffer after an exponential backoff so that they are sent in a later batch with other messages. A
+     * message will not be retried if the backoff would take it past this time, in which case the message's future will be rejected and the message
+     * will be processed again once its visibility timeout expires. This should therefore be less than the visibility timeout of the queue, as the
+     * receipt handle used to delete the message is no longer valid once the message has become visible again.
+     *
+     * <p>If this value is zero, failed deletions will not be retried. If this value is null or negative,
+     * {@link BatchingMessageResolverConstants#DEFAULT_DELETION_RETRY_TIMEOUT} will be used.
+     *
+     * @return the maximum amount of time that a message's deletion can be retried for
+     */
+    @Nullable
+    @PositiveOrZero
+    default Duration getDeletionRetryTimeout() {
+        return null;
+    }
+
+    /**
+     * The visibility timeout that the messages were received with, which is used to stop retrying the deletion of a message before its receipt
+     * handle expires.
+     *
+     * <p>When this is provided and the time that the message was received is known, see
+     * {@link com.jashmore.sqs.resolver.MessageResolver#resolveMessage(software.amazon.awssdk.services.sqs.model.Message, long)}, the deletion of a
+     * message will not be retried after its visibility timeout, less
+     * {@link BatchingMessageResolverConstants#DELETION_RETRY_VISIBILITY_TIMEOUT_SAFETY_MARGIN}, has passed since it was received. This is in
+     * addition to the {@link #getDeletionRetryTimeout()}, with the deletion not being retried once either of these has passed.
+     *
+     * <p>If this value is null or non-positive, e.g. the messages were received with the default visibility timeout of the queue, only the
+     * {@link #getDeletionRetryTimeout()} is used.
+     *
+     * @return the visibility timeout of the messages being resolved
+     */
+    @Nullable
+    @Positive
+    default Duration getMessageVisibilityTimeout() {
+        return null;
+    }
 }
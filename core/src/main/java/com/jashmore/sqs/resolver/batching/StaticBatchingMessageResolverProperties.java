@@ -3,7 +3,9 @@ package com.jashmore.sqs.resolver.batching;
 import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
 
 import com.jashmore.documentation.annotations.Max;
+import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
+import com.jashmore.documentation.annotations.PositiveOrZero;
 import java.time.Duration;
 import lombok.Builder;
 import lombok.NonNull;
@@ -18,6 +20,9 @@ public class StaticBatchingMessageResolverProperties implements BatchingMessageR
 
     int bufferingSizeLimit;
     Duration bufferingTime;
+    Integer maximumConcurrentBatchDeletions;
+    Duration deletionRetryTimeout;
+    Duration messageVisibilityTimeout;
 
     @Positive
     @Max(MAX_NUMBER_OF_MESSAGES_IN_BATCH)
@@ -32,4 +37,25 @@ public class StaticBatchingMessageResolverProperties implements BatchingMessageR
     public Duration getBufferingTime() {
         return bufferingTime;
     }
+
+    @Nullable
+    @Positive
+    @Override
+    public Integer getMaximumConcurrentBatchDeletions() {
+        return maximumConcurrentBatchDeletions;
+    }
+
+    @Nullable
+    @PositiveOrZero
+    @Override
+    public Duration getDeletionRetryTimeout() {
+        return deletionRetryTimeout;
+    }
+
+    @Nullable
+    @Positive
+    @Override
+    public Duration getMessageVisibilityTimeout() {
+        return messageVisibilityTimeout;
+    }
 }
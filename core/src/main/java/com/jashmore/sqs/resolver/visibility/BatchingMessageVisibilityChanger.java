@@ -0,0 +1,216 @@
+package com.jashmore.sqs.resolver.visibility;
+
+import static com.jashmore.sqs.aws.AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH;
+import static com.jashmore.sqs.aws.AwsConstants.MAX_VISIBILITY_TIMEOUT_IN_SECONDS;
+
+import com.jashmore.documentation.annotations.GuardedBy;
+import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.util.Preconditions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Changes the visibility timeout of messages by gathering the requests into batches that are sent as a single
+ * {@link SqsAsyncClient#changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest)} call.
+ *
+ * <p>A batch is sent as soon as it contains the maximum number of messages that SQS allows in a batch, or once the buffering time has passed since
+ * the first message was added to it. This does not need a background thread to be started, as the sending of a partial batch is scheduled when its
+ * first message is added, and therefore a single instance can be shared between all of the message listeners for the same queue.
+ */
+@Slf4j
+@ThreadSafe
+public class BatchingMessageVisibilityChanger {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueProperties queueProperties;
+    private final Executor delayedExecutor;
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private List<VisibilityChange> pendingVisibilityChanges = new ArrayList<>(MAX_NUMBER_OF_MESSAGES_IN_BATCH);
+
+    /**
+     * Constructor.
+     *
+     * @param sqsAsyncClient  the client for communicating with SQS
+     * @param queueProperties details about the queue that the messages are from
+     * @param bufferingTime   the maximum amount of time that a visibility change can be buffered before it is sent
+     */
+    public BatchingMessageVisibilityChanger(
+        final SqsAsyncClient sqsAsyncClient,
+        final QueueProperties queueProperties,
+        @PositiveOrZero final Duration bufferingTime
+    ) {
+        Preconditions.checkArgument(!bufferingTime.isNegative(), "bufferingTime should be positive or zero");
+
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueProperties = queueProperties;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(bufferingTime.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Change the visibility timeout of the message, which will be sent in a batch with the other messages being changed.
+     *
+     * <p>The visibility timeout is rounded up to the nearest second and limited to the maximum visibility timeout that SQS allows.
+     *
+     * @param message           the message to change the visibility of
+     * @param visibilityTimeout the time from now that the message should next be visible
+     * @return a future that is completed when the visibility of the message has been changed, or rejected if it failed to be changed
+     */
+    public CompletableFuture<?> changeMessageVisibility(final Message message, @PositiveOrZero final Duration visibilityTimeout) {
+        final VisibilityChange visibilityChange = new VisibilityChange(message, toVisibilityTimeoutInSeconds(visibilityTimeout));
+        List<VisibilityChange> batchContainingMessage = null;
+        final List<VisibilityChange> fullBatch;
+        synchronized (lock) {
+            // the message ID is used as the entry ID, which must be unique in the batch, so the current batch is sent early if needed
+            final String messageId = message.messageId();
+            if (pendingVisibilityChanges.stream().anyMatch(pending -> Objects.equals(pending.getMessage().messageId(), messageId))) {
+                batchContainingMessage = pendingVisibilityChanges;
+                pendingVisibilityChanges = new ArrayList<>(MAX_NUMBER_OF_MESSAGES_IN_BATCH);
+            }
+            pendingVisibilityChanges.add(visibilityChange);
+            if (pendingVisibilityChanges.size() == 1) {
+                final List<VisibilityChange> batch = pendingVisibilityChanges;
+                delayedExecutor.execute(() -> sendBatchIfStillPending(batch));
+            }
+            if (pendingVisibilityChanges.size() < MAX_NUMBER_OF_MESSAGES_IN_BATCH) {
+                fullBatch = null;
+            } else {
+                fullBatch = pendingVisibilityChanges;
+                pendingVisibilityChanges = new ArrayList<>(MAX_NUMBER_OF_MESSAGES_IN_BATCH);
+            }
+        }
+
+        if (batchContainingMessage != null) {
+            sendBatch(batchContainingMessage);
+        }
+        if (fullBatch != null) {
+            sendBatch(fullBatch);
+        }
+        return visibilityChange.getCompletableFuture();
+    }
+
+    private void sendBatchIfStillPending(final List<VisibilityChange> batch) {
+        synchronized (lock) {
+            // the batch will have already been sent if it was filled before the buffering time passed
+            if (pendingVisibilityChanges != batch) {
+                return;
+            }
+            pendingVisibilityChanges = new ArrayList<>(MAX_NUMBER_OF_MESSAGES_IN_BATCH);
+        }
+
+        sendBatch(batch);
+    }
+
+    private void sendBatch(final List<VisibilityChange> batch) {
+        log.debug("Changing the visibility of {} messages", batch.size());
+        final Map<String, CompletableFuture<Object>> messageCompletableFutures = new HashMap<>();
+        batch.forEach(visibilityChange ->
+            messageCompletableFutures.put(visibilityChange.getMessage().messageId(), visibilityChange.getCompletableFuture())
+        );
+
+        final CompletableFuture<ChangeMessageVisibilityBatchResponse> responseFuture;
+        try {
+            responseFuture =
+                sqsAsyncClient.changeMessageVisibilityBatch(builder ->
+                    builder
+                        .queueUrl(queueProperties.getQueueUrl())
+                        .entries(
+                            batch
+                                .stream()
+                                .map(visibilityChange ->
+                                    ChangeMessageVisibilityBatchRequestEntry
+                                        .builder()
+                                        .id(visibilityChange.getMessage().messageId())
+                                        .receiptHandle(visibilityChange.getMessage().receiptHandle())
+                                        .visibilityTimeout(visibilityChange.getVisibilityTimeoutInSeconds())
+                                        .build()
+                                )
+                                .collect(Collectors.toList())
+                        )
+                );
+        } catch (final RuntimeException runtimeException) {
+            log.error("Error changing the visibility of messages", runtimeException);
+            batch.forEach(visibilityChange -> visibilityChange.getCompletableFuture().completeExceptionally(runtimeException));
+            return;
+        }
+
+        responseFuture.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                log.error("Error changing the visibility of messages", throwable);
+                batch.forEach(visibilityChange -> visibilityChange.getCompletableFuture().completeExceptionally(throwable));
+                return;
+            }
+
+            response
+                .successful()
+                .stream()
+                .map(entry -> messageCompletableFutures.remove(entry.id()))
+                .filter(Objects::nonNull)
+                .forEach(completableFuture -> completableFuture.complete("completed"));
+            response
+                .failed()
+                .forEach(entry -> {
+                    final CompletableFuture<?> completableFuture = messageCompletableFutures.remove(entry.id());
+                    if (completableFuture != null) {
+                        completableFuture.completeExceptionally(new RuntimeException(entry.message()));
+                    }
+                });
+            messageCompletableFutures
+                .values()
+                .forEach(completableFuture ->
+                    completableFuture.completeExceptionally(
+                        new RuntimeException("Message not handled by batch visibility change. This should not happen")
+                    )
+                );
+        });
+    }
+
+    private static int toVisibilityTimeoutInSeconds(final Duration visibilityTimeout) {
+        final long roundedUpSeconds = visibilityTimeout.plusNanos(999_999_999).getSeconds();
+        return (int) Math.max(0, Math.min(roundedUpSeconds, MAX_VISIBILITY_TIMEOUT_IN_SECONDS));
+    }
+
+    /**
+     * Internal bean used for storing the visibility change of a message while it is buffered.
+     */
+    @Value
+    @AllArgsConstructor
+    private static class VisibilityChange {
+
+        /**
+         * The message to change the visibility of.
+         */
+        Message message;
+        /**
+         * The visibility timeout to set for the message.
+         */
+        int visibilityTimeoutInSeconds;
+        /**
+         * The future that should be resolved when the visibility has been successfully or unsuccessfully changed.
+         */
+        CompletableFuture<Object> completableFuture;
+
+        VisibilityChange(final Message message, final int visibilityTimeoutInSeconds) {
+            this(message, visibilityTimeoutInSeconds, new CompletableFuture<>());
+        }
+    }
+}
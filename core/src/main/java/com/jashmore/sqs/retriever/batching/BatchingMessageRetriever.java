@@ -8,12 +8,14 @@ import static com.jashmore.sqs.util.properties.PropertyUtils.safelyGetPositiveOr
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.collections.QueueUtils;
 import com.jashmore.sqs.util.properties.PropertyUtils;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -23,8 +25,6 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
-import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
@@ -41,6 +41,7 @@ public class BatchingMessageRetriever implements MessageRetriever {
     private final QueueProperties queueProperties;
     private final SqsAsyncClient sqsAsyncClient;
     private final BatchingMessageRetrieverProperties properties;
+    private final RequiredMessageAttributes requiredMessageAttributes;
 
     private final LinkedBlockingDeque<CompletableFuture<Message>> futuresWaitingForMessages;
 
@@ -52,6 +53,8 @@ public class BatchingMessageRetriever implements MessageRetriever {
         this.queueProperties = queueProperties;
         this.sqsAsyncClient = sqsAsyncClient;
         this.properties = properties;
+        this.requiredMessageAttributes =
+            Optional.ofNullable(properties.getRequiredMessageAttributes()).orElse(RequiredMessageAttributes.all());
 
         this.futuresWaitingForMessages = new LinkedBlockingDeque<>();
     }
@@ -185,11 +188,9 @@ public class BatchingMessageRetriever implements MessageRetriever {
      * @return the request that will be sent to SQS
      */
     private ReceiveMessageRequest buildReceiveMessageRequest(final int numberOfMessagesToObtain) {
-        final ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest
-            .builder()
+        final ReceiveMessageRequest.Builder requestBuilder = requiredMessageAttributes
+            .applyTo(ReceiveMessageRequest.builder())
             .queueUrl(queueProperties.getQueueUrl())
-            .messageSystemAttributeNames(MessageSystemAttributeName.ALL)
-            .messageAttributeNames(QueueAttributeName.ALL.toString())
             .maxNumberOfMessages(numberOfMessagesToObtain)
             .waitTimeSeconds(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS);
 
@@ -5,6 +5,7 @@ import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
 import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.time.Duration;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
@@ -80,4 +81,19 @@ public interface BatchingMessageRetrieverProperties {
     @Nullable
     @PositiveOrZero
     Duration getErrorBackoffTime();
+
+    /**
+     * The attributes of the message that should be requested when receiving messages.
+     *
+     * <p>Requesting only the attributes that are needed to process the message reduces the size of the response from SQS as well as the time taken to
+     * parse it. Any attributes that are not requested will not be present on the retrieved messages.
+     *
+     * <p>If this value is null, all message system attributes and message attributes will be requested.
+     *
+     * @return the attributes of the message to request
+     */
+    @Nullable
+    default RequiredMessageAttributes getRequiredMessageAttributes() {
+        return null;
+    }
 }
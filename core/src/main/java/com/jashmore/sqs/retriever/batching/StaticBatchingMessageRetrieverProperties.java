@@ -3,6 +3,7 @@ package com.jashmore.sqs.retriever.batching;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.time.Duration;
 import lombok.Builder;
 import lombok.Value;
@@ -18,6 +19,7 @@ public class StaticBatchingMessageRetrieverProperties implements BatchingMessage
     Duration batchingPeriod;
     Duration messageVisibilityTimeout;
     Duration errorBackoffTime;
+    RequiredMessageAttributes requiredMessageAttributes;
 
     @Positive
     @Override
@@ -45,4 +47,10 @@ public class StaticBatchingMessageRetrieverProperties implements BatchingMessage
     public Duration getErrorBackoffTime() {
         return errorBackoffTime;
     }
+
+    @Nullable
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return requiredMessageAttributes;
+    }
 }
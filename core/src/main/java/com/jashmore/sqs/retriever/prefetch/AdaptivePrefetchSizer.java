@@ -0,0 +1,147 @@
+package com.jashmore.sqs.retriever.prefetch;
+
+import com.jashmore.documentation.annotations.Nullable;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Calculates the number of messages that the {@link PrefetchingMessageRetriever} should prefetch based on how fast messages are being consumed.
+ *
+ * <p>The desired number of prefetched messages is the number of messages that will be consumed during one round trip to SQS, so that the consumers do
+ * not run out of messages while the next batch is being requested. This is then limited so that, at the current consume rate, a message would not be
+ * kept in the prefetched queue for longer than {@link #VISIBILITY_TIMEOUT_SAFE_RATIO} of the visibility timeout of the message.
+ *
+ * <p>The consume rate and the round trip time are both smoothed using an exponentially weighted moving average so that a single slow request or burst
+ * of consumption does not cause large changes in the prefetched messages.
+ */
+@Slf4j
+@ThreadSafe
+class AdaptivePrefetchSizer {
+
+    /**
+     * The weight given to a new sample when calculating the moving averages.
+     */
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    /**
+     * The minimum period of time that the consume rate is sampled over.
+     */
+    private static final long CONSUME_RATE_SAMPLE_PERIOD_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The ratio of the visibility timeout that a message is able to spend in the prefetched queue.
+     */
+    private static final double VISIBILITY_TIMEOUT_SAFE_RATIO = 0.5;
+
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int initialPrefetchedMessages;
+    private final int maxPrefetchedMessages;
+    private final LongSupplier nanoTimeSupplier;
+    private final LongAdder messagesRequested = new LongAdder();
+
+    private long lastConsumeRateSampleTimeInNanos;
+    private double consumeRatePerSecond = -1;
+    private double roundTripTimeInSeconds = -1;
+    private Duration visibilityTimeout;
+
+    /**
+     * Constructor.
+     *
+     * @param initialPrefetchedMessages the number of messages to prefetch before the consume rate and round trip time have been measured
+     * @param maxPrefetchedMessages     the maximum number of messages that can be prefetched
+     */
+    AdaptivePrefetchSizer(final int initialPrefetchedMessages, final int maxPrefetchedMessages) {
+        this(initialPrefetchedMessages, maxPrefetchedMessages, System::nanoTime);
+    }
+
+    AdaptivePrefetchSizer(final int initialPrefetchedMessages, final int maxPrefetchedMessages, final LongSupplier nanoTimeSupplier) {
+        this.initialPrefetchedMessages = initialPrefetchedMessages;
+        this.maxPrefetchedMessages = maxPrefetchedMessages;
+        this.nanoTimeSupplier = nanoTimeSupplier;
+        this.lastConsumeRateSampleTimeInNanos = nanoTimeSupplier.getAsLong();
+    }
+
+    /**
+     * Record that a message has been requested by a consumer.
+     */
+    void messageRequested() {
+        messagesRequested.increment();
+    }
+
+    /**
+     * Record the time taken for a request to SQS that returned messages.
+     *
+     * <p>Requests that did not return any messages should not be recorded as these would have been waiting for messages to be placed onto the queue
+     * and do not represent the round trip time to SQS.
+     *
+     * @param roundTripTime the time taken for the request
+     */
+    synchronized void receiveRequestCompleted(final Duration roundTripTime) {
+        final double roundTripTimeSample = roundTripTime.toNanos() / NANOS_IN_SECOND;
+        roundTripTimeInSeconds = movingAverage(roundTripTimeInSeconds, roundTripTimeSample);
+    }
+
+    /**
+     * Set the visibility timeout of the messages being prefetched.
+     *
+     * @param visibilityTimeout the visibility timeout of the messages or null if it is not known
+     */
+    synchronized void setVisibilityTimeout(@Nullable final Duration visibilityTimeout) {
+        this.visibilityTimeout = visibilityTimeout;
+    }
+
+    /**
+     * Calculate the number of messages that should be prefetched.
+     *
+     * @return the desired number of prefetched messages, which will be between one and the maximum prefetched messages
+     */
+    synchronized int calculateDesiredPrefetchedMessages() {
+        sampleConsumeRate();
+
+        if (consumeRatePerSecond < 0 || roundTripTimeInSeconds < 0) {
+            return clamp(initialPrefetchedMessages);
+        }
+
+        int desiredPrefetchedMessages = (int) Math.ceil(consumeRatePerSecond * roundTripTimeInSeconds);
+        if (visibilityTimeout != null && !visibilityTimeout.isZero() && !visibilityTimeout.isNegative()) {
+            final double safeVisibilityTimeoutInSeconds = (visibilityTimeout.toNanos() / NANOS_IN_SECOND) * VISIBILITY_TIMEOUT_SAFE_RATIO;
+            final int visibilityTimeoutLimit = (int) Math.floor(consumeRatePerSecond * safeVisibilityTimeoutInSeconds);
+            desiredPrefetchedMessages = Math.min(desiredPrefetchedMessages, visibilityTimeoutLimit);
+        }
+        log.trace(
+            "Desired prefetched messages: {} (consume rate: {}/s, round trip time: {}s)",
+            desiredPrefetchedMessages,
+            consumeRatePerSecond,
+            roundTripTimeInSeconds
+        );
+        return clamp(desiredPrefetchedMessages);
+    }
+
+    private void sampleConsumeRate() {
+        final long currentTimeInNanos = nanoTimeSupplier.getAsLong();
+        final long elapsedNanos = currentTimeInNanos - lastConsumeRateSampleTimeInNanos;
+        if (elapsedNanos < CONSUME_RATE_SAMPLE_PERIOD_IN_NANOS) {
+            return;
+        }
+
+        final double consumeRateSample = messagesRequested.sumThenReset() / (elapsedNanos / NANOS_IN_SECOND);
+        consumeRatePerSecond = movingAverage(consumeRatePerSecond, consumeRateSample);
+        lastConsumeRateSampleTimeInNanos = currentTimeInNanos;
+    }
+
+    private int clamp(final int prefetchedMessages) {
+        return Math.max(1, Math.min(maxPrefetchedMessages, prefetchedMessages));
+    }
+
+    private static double movingAverage(final double currentAverage, final double sample) {
+        if (currentAverage < 0) {
+            return sample;
+        }
+        return SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * currentAverage;
+    }
+}
@@ -0,0 +1,204 @@
+package com.jashmore.sqs.retriever.prefetch;
+
+import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Lock-free implementation of the {@link MessageFutureConsumerQueue} that can be used to reduce the contention between the threads requesting messages
+ * and the thread prefetching the messages.
+ *
+ * <p>The messages are stored in a bounded ring buffer backed by an array and the futures waiting for messages are stored in a non-blocking
+ * {@link ConcurrentLinkedQueue}. These two queues are coordinated by a single atomic {@link #balance} where a positive value is the number of messages
+ * that are available for processing and a negative value is the number of futures that are waiting for a message. As each thread reserves a message or
+ * a future by changing this balance, the invariant that there are batched {@link CompletableFuture}s <b>OR</b> batched {@link Message}s is maintained
+ * without needing to lock both queues.
+ *
+ * <p>The message producing thread will publish a message into the ring buffer before incrementing the balance. If the balance was negative, there is a
+ * future waiting and the producing thread will take the oldest message and the oldest future and resolve them together. Otherwise, the message is left
+ * in the ring buffer to be taken by the next thread that pushes a future.
+ *
+ * <p>This implementation assumes that there is only a single thread submitting {@link Message}s and this is the only thread that will block, via
+ * {@link LockSupport#park(Object)}, when the message capacity has been reached.
+ */
+@ThreadSafe
+class LockFreePrefetchingMessageFutureConsumerQueue implements MessageFutureConsumerQueue {
+
+    private final int messageCapacity;
+
+    /**
+     * The number of messages available, if positive, or the number of futures waiting for messages, if negative.
+     */
+    private final AtomicInteger balance = new AtomicInteger();
+
+    private final Queue<CompletableFuture<Message>> futureQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicReferenceArray<Message> messageRing;
+    private final AtomicLong messageRingHead = new AtomicLong();
+
+    /**
+     * The index of the next slot in the ring buffer that a message will be placed, only modified by the single message producing thread.
+     */
+    private long messageRingTail;
+
+    /**
+     * The message producing thread that is currently waiting for messages to be removed from the message queue, or null if it is not waiting.
+     */
+    private volatile Thread threadWaitingForFreeSlot;
+
+    /**
+     * Constructor.
+     *
+     * @param messageCapacity the maximum number of messages to batch before {@link #pushMessage(Message)} blocks until
+     *     {@link #pushCompletableFuture(CompletableFuture)} is called
+     */
+    LockFreePrefetchingMessageFutureConsumerQueue(final int messageCapacity) {
+        this.messageCapacity = messageCapacity;
+        this.messageRing = new AtomicReferenceArray<>(messageCapacity);
+    }
+
+    @Override
+    public void pushCompletableFuture(@Nonnull final CompletableFuture<Message> completableFuture) {
+        if (balance.getAndDecrement() > 0) {
+            final Message message = pollReservedMessage();
+            signalFreeSlotForMessage();
+            completableFuture.complete(message);
+        } else {
+            futureQueue.add(completableFuture);
+        }
+    }
+
+    @Override
+    public void pushMessage(@Nonnull final Message message) throws InterruptedException {
+        blockUntilFreeSlotForMessage();
+
+        publishMessage(message);
+        if (balance.getAndIncrement() < 0) {
+            // There was a future waiting for a message so the oldest message should be given to the oldest future
+            final Message oldestMessage = pollReservedMessage();
+            pollReservedFuture().complete(oldestMessage);
+        }
+    }
+
+    @Override
+    public void blockUntilFreeSlotForMessage() throws InterruptedException {
+        blockUntilNumberOfBatchedMessagesBelow(messageCapacity);
+    }
+
+    @Override
+    public void blockUntilNumberOfBatchedMessagesBelow(final int numberOfMessages) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        while (balance.get() >= numberOfMessages) {
+            threadWaitingForFreeSlot = Thread.currentThread();
+            try {
+                if (balance.get() >= numberOfMessages) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                threadWaitingForFreeSlot = null;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public int getNumberOfBatchedMessages() {
+        return Math.max(0, balance.get());
+    }
+
+    @Override
+    public QueueDrain drain() {
+        final LinkedList<CompletableFuture<Message>> futuresWaitingForMessages = new LinkedList<>();
+        final LinkedList<Message> messagesAvailableForProcessing = new LinkedList<>();
+        while (true) {
+            final int currentBalance = balance.get();
+            if (currentBalance > 0) {
+                if (balance.compareAndSet(currentBalance, currentBalance - 1)) {
+                    messagesAvailableForProcessing.add(pollReservedMessage());
+                }
+            } else if (currentBalance < 0) {
+                if (balance.compareAndSet(currentBalance, currentBalance + 1)) {
+                    futuresWaitingForMessages.add(pollReservedFuture());
+                }
+            } else {
+                break;
+            }
+        }
+        signalFreeSlotForMessage();
+
+        return QueueDrain
+            .builder()
+            .futuresWaitingForMessages(futuresWaitingForMessages)
+            .messagesAvailableForProcessing(messagesAvailableForProcessing)
+            .build();
+    }
+
+    /**
+     * Place the message into the next slot of the ring buffer.
+     *
+     * <p>As the balance is below the message capacity, the slot can only contain a message that has already been reserved by another thread which is
+     * in the process of taking it. Therefore, we only need to spin until that thread has finished.
+     *
+     * @param message the message to publish
+     */
+    private void publishMessage(final Message message) {
+        final int index = (int) (messageRingTail % messageCapacity);
+        while (!messageRing.compareAndSet(index, null, message)) {
+            Thread.onSpinWait();
+        }
+        messageRingTail++;
+    }
+
+    /**
+     * Take the oldest message from the ring buffer, which must have been reserved by decreasing the {@link #balance} from a positive value.
+     *
+     * <p>As the message is published before the balance is incremented, the message will be in the ring buffer apart from the case where the message
+     * in the slot is still being taken by the previous thread.
+     *
+     * @return the oldest message
+     */
+    private Message pollReservedMessage() {
+        final int index = (int) (messageRingHead.getAndIncrement() % messageCapacity);
+        Message message;
+        while ((message = messageRing.getAndSet(index, null)) == null) {
+            Thread.onSpinWait();
+        }
+        return message;
+    }
+
+    /**
+     * Take the oldest future waiting for a message, which must have been reserved by increasing the {@link #balance} from a negative value.
+     *
+     * <p>As the future is added to the queue after the balance is decremented, we may need to spin until that thread has finished adding it.
+     *
+     * @return the oldest future
+     */
+    private CompletableFuture<Message> pollReservedFuture() {
+        CompletableFuture<Message> future;
+        while ((future = futureQueue.poll()) == null) {
+            Thread.onSpinWait();
+        }
+        return future;
+    }
+
+    private void signalFreeSlotForMessage() {
+        final Thread waitingThread = threadWaitingForFreeSlot;
+        if (waitingThread != null) {
+            LockSupport.unpark(waitingThread);
+        }
+    }
+}
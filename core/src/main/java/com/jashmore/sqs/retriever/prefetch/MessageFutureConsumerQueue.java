@@ -0,0 +1,73 @@
+package com.jashmore.sqs.retriever.prefetch;
+
+import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.ThreadSafe;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+/**
+ * Queue used by the {@link PrefetchingMessageRetriever} to pair the {@link CompletableFuture}s requesting messages with the {@link Message}s that have
+ * been prefetched.
+ *
+ * <p>Implementations must maintain the invariant that there may be batched {@link CompletableFuture}s <b>OR</b> batched {@link Message}s but never both,
+ * as well as resolving the first future with the first message received.
+ *
+ * <p>Implementations must be thread safe as there can be multiple threads submitting {@link CompletableFuture}s concurrently, though it is assumed that
+ * there is only a single thread submitting {@link Message}s.
+ *
+ * @see PrefetchingMessageFutureConsumerQueue
+ * @see LockFreePrefetchingMessageFutureConsumerQueue
+ */
+@ThreadSafe
+interface MessageFutureConsumerQueue {
+    /**
+     * Add a new {@link CompletableFuture} and if there is a {@link Message} in the queue resolve the future with this message. If there is no {@link Message}
+     * currently in the queue, add the {@link CompletableFuture} into the queue which will be resolved when more {@link Message}s are added.
+     *
+     * @param completableFuture the future to include in the queue
+     */
+    void pushCompletableFuture(@Nonnull CompletableFuture<Message> completableFuture);
+
+    /**
+     * Add a new {@link Message} and if there is already a {@link CompletableFuture} in the queue resolve the future with this message. If there is
+     * no {@link CompletableFuture} internally it will add it onto the {@link Message} queue.
+     *
+     * <p>Adding it to the {@link Message} queue is a blocking operation as there is a capacity for this queue so the thread will block until a
+     * {@link CompletableFuture} is pushed by the {@link #pushCompletableFuture(CompletableFuture)} method.
+     *
+     * @param message the message to add
+     * @throws InterruptedException if the thread was interrupted while waiting to add a message onto the internal message queue
+     */
+    void pushMessage(@Nonnull Message message) throws InterruptedException;
+
+    /**
+     * This will block the current thread until there is an available slot in the message queue.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting for a slot
+     */
+    void blockUntilFreeSlotForMessage() throws InterruptedException;
+
+    /**
+     * This will block the current thread until the number of batched messages is below the provided limit.
+     *
+     * <p>This can be used to wait for a limit that is lower than the capacity of the message queue.
+     *
+     * @param numberOfMessages the limit that the number of batched messages must be below
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    void blockUntilNumberOfBatchedMessagesBelow(int numberOfMessages) throws InterruptedException;
+
+    /**
+     * Get a snapshot of the total number of {@link Message}s that are currently batched.
+     *
+     * @return the total messages batched
+     */
+    int getNumberOfBatchedMessages();
+
+    /**
+     * Drain the queues (thus emptying) and return the messages to be resolved as well as the messages that have not been used yet.
+     *
+     * @return the queues of futures and messages that were in this queue
+     */
+    QueueDrain drain();
+}
@@ -26,17 +26,19 @@ import software.amazon.awssdk.services.sqs.model.Message;
  *
  * <p>This implementation must be thread safe as there can be multiple threads submitting {@link CompletableFuture}s concurrently, though it is assumed that
  * there is only a single thread submitting {@link Message}s.
+ *
+ * @see LockFreePrefetchingMessageFutureConsumerQueue for an implementation that does not require a lock
  */
 @Slf4j
 @ThreadSafe
-class PrefetchingMessageFutureConsumerQueue {
+class PrefetchingMessageFutureConsumerQueue implements MessageFutureConsumerQueue {
 
     private final Queue<CompletableFuture<Message>> futureQueue;
     private final Queue<Message> messageQueue;
     private final Integer messageCapacity;
 
     private final ReentrantLock lock = new ReentrantLock();
-    private final Condition messageQueueNotFull = lock.newCondition();
+    private final Condition messageRemoved = lock.newCondition();
 
     /**
      * Constructor.
@@ -50,20 +52,15 @@ class PrefetchingMessageFutureConsumerQueue {
         this.messageCapacity = messageCapacity;
     }
 
-    /**
-     * Add a new {@link CompletableFuture} and if there is a {@link Message} in the queue resolve the future with this message. If there is no {@link Message}
-     * currently in the queue, add the {@link CompletableFuture} into the queue which will be resolved when more {@link Message}s are added.
-     *
-     * @param completableFuture the future to include in the queue
-     */
-    void pushCompletableFuture(@Nonnull CompletableFuture<Message> completableFuture) {
+    @Override
+    public void pushCompletableFuture(@Nonnull CompletableFuture<Message> completableFuture) {
         final Message message;
         lock.lock();
         try {
             message = messageQueue.poll();
-            // We took a message of the queue resulting in it not being full anymore so we should signal this
-            if (message != null && (messageQueue.size() + 1 == messageCapacity)) {
-                messageQueueNotFull.signal();
+            // We took a message of the queue resulting in there being more space so we should signal this
+            if (message != null) {
+                messageRemoved.signal();
             }
 
             if (message == null) {
@@ -78,24 +75,15 @@ class PrefetchingMessageFutureConsumerQueue {
         }
     }
 
-    /**
-     * Add a new {@link Message} and if there is already a {@link CompletableFuture} in the queue resolve the future with this message. If there is
-     * no {@link CompletableFuture} internally it will add it onto the {@link Message} queue.
-     *
-     * <p>Adding it to the {@link Message} queue is a blocking operation as there is a capacity for this queue so the thread will block until a
-     * {@link CompletableFuture} is pushed by the {@link #pushCompletableFuture(CompletableFuture)} method.
-     *
-     * @param message the message to add
-     * @throws InterruptedException if the thread was interrupted while waiting for the lock or adding a message onto the internal message queue
-     */
-    void pushMessage(@Nonnull final Message message) throws InterruptedException {
+    @Override
+    public void pushMessage(@Nonnull final Message message) throws InterruptedException {
         CompletableFuture<Message> completableFuture;
         lock.lockInterruptibly();
         try {
             // Keep waiting for an empty slot in the message queue. Note that each iteration rechecks if a future was added in the case that multiple futures
             // were added since an empty slot opened
             while ((completableFuture = futureQueue.poll()) == null && messageQueue.size() == messageCapacity) {
-                messageQueueNotFull.await();
+                messageRemoved.await();
             }
 
             if (completableFuture == null) {
@@ -110,37 +98,30 @@ class PrefetchingMessageFutureConsumerQueue {
         }
     }
 
-    /**
-     * This will block the current thread until there is an available slot in the message queue.
-     *
-     * @throws InterruptedException if the thread was interrupted while waiting for a slot
-     */
-    void blockUntilFreeSlotForMessage() throws InterruptedException {
+    @Override
+    public void blockUntilFreeSlotForMessage() throws InterruptedException {
+        blockUntilNumberOfBatchedMessagesBelow(messageCapacity);
+    }
+
+    @Override
+    public void blockUntilNumberOfBatchedMessagesBelow(final int numberOfMessages) throws InterruptedException {
         lock.lockInterruptibly();
         try {
-            while (messageQueue.size() == messageCapacity) {
-                messageQueueNotFull.await();
+            while (messageQueue.size() >= numberOfMessages) {
+                messageRemoved.await();
             }
         } finally {
             lock.unlock();
         }
     }
 
-    /**
-     * Get a snapshot of the total number of {@link Message}s that are currently batched.
-     *
-     * @return the total messages batched
-     */
-    int getNumberOfBatchedMessages() {
+    @Override
+    public int getNumberOfBatchedMessages() {
         return messageQueue.size();
     }
 
-    /**
-     * Drain the queues (thus emptying) and return the messages to be resolved as well as the messages that have not been used yet.
-     *
-     * @return the queues of futures and messages that were in this queue
-     */
-    QueueDrain drain() {
+    @Override
+    public QueueDrain drain() {
         lock.lock();
         try {
             final LinkedList<CompletableFuture<Message>> futuresWaitingForMessages = new LinkedList<>(futureQueue);
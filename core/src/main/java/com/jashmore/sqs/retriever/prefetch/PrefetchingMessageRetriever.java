@@ -2,25 +2,43 @@ package com.jashmore.sqs.retriever.prefetch;
 
 import static com.jashmore.sqs.aws.AwsConstants.MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS;
 import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_ERROR_BACKOFF_TIMEOUT;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_SHOULD_USE_ADAPTIVE_PREFETCHING;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.DEFAULT_SHOULD_USE_LOCK_FREE_MESSAGE_QUEUE;
+import static com.jashmore.sqs.retriever.prefetch.PrefetchingMessageRetrieverConstants.PREFETCHED_MESSAGES_CHECK_INTERVAL;
 import static com.jashmore.sqs.util.properties.PropertyUtils.safelyGetPositiveOrZeroDuration;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.Preconditions;
 import com.jashmore.sqs.util.collections.CollectionUtils;
+import com.jashmore.sqs.util.properties.PropertyUtils;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
-import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
@@ -29,7 +47,7 @@ import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
  * Message retriever that allows for the prefetching of messages for faster throughput by making sure that there are always messages in a queue locally to be
  * pulled from when one is needed.
  *
- * <p>The way this works is via the usage of the {@link PrefetchingMessageFutureConsumerQueue} that contains an internal queue of desired prefetched messages.
+ * <p>The way this works is via the usage of the {@link MessageFutureConsumerQueue} that contains an internal queue of desired prefetched messages.
  * This retriever will keep trying to prefetch until this queue is filled or the {@link PrefetchingMessageRetriever#maxPrefetchedMessages} limit is reached.
  * If the number of prefetched messages is below the max but above the desired amount it will block until it is below the desired amount.
  *
@@ -53,8 +71,20 @@ import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
  *     <li>This process repeats as more messages are consumed and placed onto the queues.</li>
  * </ol>
  *
+ * <p>To increase the throughput of the retriever, multiple requests for messages can be in flight at the same time by configuring
+ * {@link PrefetchingMessageRetrieverProperties#getMaxConcurrentReceiveRequests()}. The total number of messages requested across all of these requests,
+ * as well as the messages already prefetched, will never exceed the {@link PrefetchingMessageRetriever#maxPrefetchedMessages} limit. The responses are
+ * placed onto the internal queue in the order that they are received.
+ *
+ * <p>Instead of using a fixed number of desired prefetched messages, the retriever can adapt the number of messages that it prefetches to the rate that
+ * they are being consumed by enabling {@link PrefetchingMessageRetrieverProperties#shouldUseAdaptivePrefetching()}. In this mode the internal queue is
+ * able to store up to {@link PrefetchingMessageRetriever#maxPrefetchedMessages} and the {@link AdaptivePrefetchSizer} determines how many of these
+ * should be prefetched.
+ *
  * <p>Note that because these messages are being prefetched they could be in the internal queue for a long period and could even remain in the prefetched queue
  * after the visibility timeout for the message has expired. This could cause it to be placed in the dead letter queue or attempted again at a future time.
+ * To prevent these messages from being processed, {@link PrefetchingMessageRetrieverProperties#getStalePrefetchedMessageThreshold()} can be configured
+ * so that messages that have been prefetched for too long are released back to the queue instead of being provided for processing.
  */
 @Slf4j
 public class PrefetchingMessageRetriever implements MessageRetriever {
@@ -63,8 +93,18 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
     private final QueueProperties queueProperties;
     private final PrefetchingMessageRetrieverProperties properties;
 
-    private final PrefetchingMessageFutureConsumerQueue pairConsumerQueue;
+    private final MessageFutureConsumerQueue pairConsumerQueue;
+    private final int desiredMinPrefetchedMessages;
     private final int maxPrefetchedMessages;
+    private final int maxConcurrentReceiveRequests;
+    private final AdaptivePrefetchSizer adaptivePrefetchSizer;
+    private final Duration stalePrefetchedMessageThreshold;
+    private final RequiredMessageAttributes requiredMessageAttributes;
+
+    /**
+     * The time that each prefetched message was received, only used if stale messages are being released.
+     */
+    private final Map<Message, Long> messageReceivedTimesInNanos = new ConcurrentHashMap<>();
 
     public PrefetchingMessageRetriever(
         final SqsAsyncClient sqsAsyncClient,
@@ -80,7 +120,13 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         this.properties = properties;
 
         this.maxPrefetchedMessages = properties.getMaxPrefetchedMessages();
-        final int desiredMinPrefetchedMessages = properties.getDesiredMinPrefetchedMessages();
+        this.desiredMinPrefetchedMessages = properties.getDesiredMinPrefetchedMessages();
+        this.maxConcurrentReceiveRequests =
+            PropertyUtils.safelyGetPositiveIntegerValue(
+                "maxConcurrentReceiveRequests",
+                properties::getMaxConcurrentReceiveRequests,
+                DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS
+            );
 
         Preconditions.checkArgument(
             maxPrefetchedMessages >= desiredMinPrefetchedMessages,
@@ -88,13 +134,47 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         );
         Preconditions.checkArgument(desiredMinPrefetchedMessages > 0, "desiredMinPrefetchedMessages must be greater than zero");
 
-        pairConsumerQueue = new PrefetchingMessageFutureConsumerQueue(desiredMinPrefetchedMessages);
+        this.requiredMessageAttributes =
+            Optional.ofNullable(properties.getRequiredMessageAttributes()).orElse(RequiredMessageAttributes.all());
+        this.stalePrefetchedMessageThreshold = properties.getStalePrefetchedMessageThreshold();
+        Preconditions.checkArgument(
+            stalePrefetchedMessageThreshold == null || (!stalePrefetchedMessageThreshold.isNegative() && !stalePrefetchedMessageThreshold.isZero()),
+            "stalePrefetchedMessageThreshold should be positive"
+        );
+
+        final boolean shouldUseAdaptivePrefetching = Optional
+            .ofNullable(properties.shouldUseAdaptivePrefetching())
+            .orElse(DEFAULT_SHOULD_USE_ADAPTIVE_PREFETCHING);
+        final int messageCapacity;
+        if (shouldUseAdaptivePrefetching) {
+            adaptivePrefetchSizer = new AdaptivePrefetchSizer(desiredMinPrefetchedMessages, maxPrefetchedMessages);
+            messageCapacity = maxPrefetchedMessages;
+        } else {
+            adaptivePrefetchSizer = null;
+            messageCapacity = desiredMinPrefetchedMessages;
+        }
+
+        final boolean shouldUseLockFreeMessageQueue = Optional
+            .ofNullable(properties.shouldUseLockFreeMessageQueue())
+            .orElse(DEFAULT_SHOULD_USE_LOCK_FREE_MESSAGE_QUEUE);
+        if (shouldUseLockFreeMessageQueue) {
+            pairConsumerQueue = new LockFreePrefetchingMessageFutureConsumerQueue(messageCapacity);
+        } else {
+            pairConsumerQueue = new PrefetchingMessageFutureConsumerQueue(messageCapacity);
+        }
     }
 
     @Override
     public CompletableFuture<Message> retrieveMessage() {
+        if (adaptivePrefetchSizer != null) {
+            adaptivePrefetchSizer.messageRequested();
+        }
         final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
-        pairConsumerQueue.pushCompletableFuture(completableFuture);
+        if (stalePrefetchedMessageThreshold == null) {
+            pairConsumerQueue.pushCompletableFuture(completableFuture);
+        } else {
+            retrieveNonStaleMessage(completableFuture, new ArrayList<>());
+        }
         return completableFuture;
     }
 
@@ -102,15 +182,60 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
     public List<Message> run() {
         log.info("Started MessageRetriever");
 
+        if (adaptivePrefetchSizer != null) {
+            adaptivePrefetchSizer.setVisibilityTimeout(determineVisibilityTimeout());
+        }
+
+        final List<ReceiveRequest> inFlightReceiveRequests = new LinkedList<>();
+        final BlockingQueue<ReceiveRequest> completedReceiveRequests = new LinkedBlockingQueue<>();
         final List<Message> listsNotPublished = new LinkedList<>();
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                pairConsumerQueue.blockUntilFreeSlotForMessage();
-                final List<Message> messages = CompletableFuture
-                    .supplyAsync(this::buildReceiveMessageRequest)
-                    .thenCompose(sqsAsyncClient::receiveMessage)
-                    .thenApply(ReceiveMessageResponse::messages)
-                    .get();
+                if (inFlightReceiveRequests.size() < maxConcurrentReceiveRequests) {
+                    final int desiredPrefetchedMessages = desiredPrefetchedMessages();
+                    if (inFlightReceiveRequests.isEmpty()) {
+                        pairConsumerQueue.blockUntilNumberOfBatchedMessagesBelow(desiredPrefetchedMessages);
+                    }
+
+                    final int numberOfMessagesToObtain = numberOfMessagesToObtain(desiredPrefetchedMessages, inFlightReceiveRequests);
+                    if (numberOfMessagesToObtain > 0) {
+                        final long requestStartTimeInNanos = System.nanoTime();
+                        final ReceiveRequest receiveRequest = new ReceiveRequest(
+                            numberOfMessagesToObtain,
+                            sqsAsyncClient.receiveMessage(buildReceiveMessageRequest(numberOfMessagesToObtain))
+                        );
+                        inFlightReceiveRequests.add(receiveRequest);
+                        receiveRequest
+                            .getResponse()
+                            .whenComplete((response, throwable) -> {
+                                final long requestEndTimeInNanos = System.nanoTime();
+                                if (response != null && response.hasMessages()) {
+                                    if (adaptivePrefetchSizer != null) {
+                                        adaptivePrefetchSizer.receiveRequestCompleted(Duration.ofNanos(requestEndTimeInNanos - requestStartTimeInNanos));
+                                    }
+                                    if (stalePrefetchedMessageThreshold != null) {
+                                        response.messages().forEach(message -> messageReceivedTimesInNanos.put(message, requestEndTimeInNanos));
+                                    }
+                                }
+                                completedReceiveRequests.add(receiveRequest);
+                            });
+                        continue;
+                    }
+                }
+
+                final ReceiveRequest completedReceiveRequest;
+                if (inFlightReceiveRequests.size() < maxConcurrentReceiveRequests) {
+                    // another request can be made once enough prefetched messages are consumed so don't wait for the in flight requests
+                    completedReceiveRequest =
+                        completedReceiveRequests.poll(PREFETCHED_MESSAGES_CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                    if (completedReceiveRequest == null) {
+                        continue;
+                    }
+                } else {
+                    completedReceiveRequest = completedReceiveRequests.take();
+                }
+                inFlightReceiveRequests.remove(completedReceiveRequest);
+                final List<Message> messages = completedReceiveRequest.getResponse().get().messages();
 
                 log.debug("Received {} messages", messages.size());
 
@@ -149,26 +274,143 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
             }
         }
 
+        // Requests that completed but were not taken from the completed queue are still in flight, so release their messages to SQS
+        inFlightReceiveRequests.forEach(receiveRequest -> receiveRequest.getResponse().cancel(true));
+        inFlightReceiveRequests
+            .stream()
+            .map(ReceiveRequest::getResponse)
+            .filter(response -> !response.isCompletedExceptionally())
+            .map(response -> response.join().messages())
+            .forEach(messages -> releaseMessages(messages, "unpublished received"));
+        completedReceiveRequests.clear();
+
         final QueueDrain pairQueue = pairConsumerQueue.drain();
         pairQueue.getFuturesWaitingForMessages().forEach(future -> future.cancel(true));
+        messageReceivedTimesInNanos.clear();
         return CollectionUtils.immutableListFrom(pairQueue.getMessagesAvailableForProcessing(), listsNotPublished);
     }
 
+    /**
+     * Retrieve the next prefetched message that is not stale, releasing any stale messages found before it back to the queue.
+     *
+     * <p>As the prefetched messages are provided in the order that they were received, the stale messages will be found before any newer messages.
+     * These are collected and released together once a non-stale message has been found, or when the batch limit has been reached.
+     *
+     * @param messageFuture the future to complete with the non-stale message
+     * @param staleMessages the stale messages that have been found so far and have not yet been released
+     */
+    private void retrieveNonStaleMessage(final CompletableFuture<Message> messageFuture, final List<Message> staleMessages) {
+        final CompletableFuture<Message> prefetchedMessageFuture = new CompletableFuture<>();
+        prefetchedMessageFuture.whenComplete((message, throwable) -> {
+            if (throwable != null) {
+                releaseMessages(staleMessages, "stale prefetched");
+                messageFuture.completeExceptionally(throwable);
+                return;
+            }
+
+            final Long receivedTimeInNanos = messageReceivedTimesInNanos.remove(message);
+            if (receivedTimeInNanos == null || System.nanoTime() - receivedTimeInNanos < stalePrefetchedMessageThreshold.toNanos()) {
+                releaseMessages(staleMessages, "stale prefetched");
+                messageFuture.complete(message);
+                return;
+            }
+
+            log.debug("Prefetched message {} is stale and will be released", message.messageId());
+            staleMessages.add(message);
+            if (staleMessages.size() == AwsConstants.MAX_NUMBER_OF_MESSAGES_IN_BATCH) {
+                releaseMessages(staleMessages, "stale prefetched");
+                retrieveNonStaleMessage(messageFuture, new ArrayList<>());
+            } else {
+                retrieveNonStaleMessage(messageFuture, staleMessages);
+            }
+        });
+        pairConsumerQueue.pushCompletableFuture(prefetchedMessageFuture);
+    }
+
+    /**
+     * Release the messages back to the queue by resetting their visibility timeout so that they can be received again.
+     *
+     * @param messages    the messages to release, which must not be more than can be changed in a single batch
+     * @param description the description of the messages being released used for logging
+     */
+    private void releaseMessages(final List<Message> messages, final String description) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // The same message may have been received more than once if its visibility timeout expired so the index is used as the entry identifier
+        final List<ChangeMessageVisibilityBatchRequestEntry> entries = IntStream
+            .range(0, messages.size())
+            .mapToObj(index ->
+                ChangeMessageVisibilityBatchRequestEntry
+                    .builder()
+                    .id(String.valueOf(index))
+                    .receiptHandle(messages.get(index).receiptHandle())
+                    .visibilityTimeout(0)
+                    .build()
+            )
+            .collect(Collectors.toList());
+        sqsAsyncClient
+            .changeMessageVisibilityBatch(builder -> builder.queueUrl(queueProperties.getQueueUrl()).entries(entries))
+            .whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    log.error("Error releasing {} {} messages", entries.size(), description, throwable);
+                } else if (response.hasFailed() && !response.failed().isEmpty()) {
+                    log.warn("Unable to release {} {} messages, they may have already expired", response.failed().size(), description);
+                }
+            });
+    }
+
+    /**
+     * Determine the number of messages that should be prefetched before it stops requesting more messages.
+     *
+     * @return the desired number of prefetched messages
+     */
+    private int desiredPrefetchedMessages() {
+        if (adaptivePrefetchSizer == null) {
+            return desiredMinPrefetchedMessages;
+        }
+
+        return adaptivePrefetchSizer.calculateDesiredPrefetchedMessages();
+    }
+
+    /**
+     * Determine the number of messages that can be requested in a new receive request.
+     *
+     * <p>This will make sure that the messages already prefetched and those being requested by the currently in flight requests do not go over the
+     * {@link #maxPrefetchedMessages} limit, or the desired prefetched messages if the number of prefetched messages is being adapted. If the internal
+     * queue is already at the desired prefetched messages, no more messages should be requested.
+     *
+     * @param desiredPrefetchedMessages the desired number of prefetched messages
+     * @param inFlightReceiveRequests   the requests currently in flight with the number of messages that each requested
+     * @return the number of messages to request, where zero or less means that no request should be made
+     */
+    private int numberOfMessagesToObtain(final int desiredPrefetchedMessages, final List<ReceiveRequest> inFlightReceiveRequests) {
+        final int numberOfBatchedMessages = pairConsumerQueue.getNumberOfBatchedMessages();
+        if (numberOfBatchedMessages >= desiredPrefetchedMessages) {
+            return 0;
+        }
+
+        int numberOfMessagesInFlight = 0;
+        for (final ReceiveRequest receiveRequest : inFlightReceiveRequests) {
+            numberOfMessagesInFlight += receiveRequest.getNumberOfMessagesRequested();
+        }
+        final int prefetchLimit = adaptivePrefetchSizer == null ? maxPrefetchedMessages : desiredPrefetchedMessages;
+        final int numberOfPrefetchSlotsLeft = prefetchLimit - numberOfBatchedMessages - numberOfMessagesInFlight;
+        return Math.min(AwsConstants.MAX_NUMBER_OF_MESSAGES_FROM_SQS, numberOfPrefetchSlotsLeft);
+    }
+
     /**
      * Build the request that will download the messages from SQS.
      *
+     * @param numberOfMessagesToObtain the maximum number of messages to obtain
      * @return the request that will be sent to SQS
      */
-    private ReceiveMessageRequest buildReceiveMessageRequest() {
-        final int numberOfPrefetchSlotsLeft = maxPrefetchedMessages - pairConsumerQueue.getNumberOfBatchedMessages();
-        final int numberOfMessagesToObtain = Math.min(AwsConstants.MAX_NUMBER_OF_MESSAGES_FROM_SQS, numberOfPrefetchSlotsLeft);
-
+    private ReceiveMessageRequest buildReceiveMessageRequest(final int numberOfMessagesToObtain) {
         log.debug("Retrieving {} messages asynchronously", numberOfMessagesToObtain);
-        final ReceiveMessageRequest.Builder requestBuilder = ReceiveMessageRequest
-            .builder()
+        final ReceiveMessageRequest.Builder requestBuilder = requiredMessageAttributes
+            .applyTo(ReceiveMessageRequest.builder())
             .queueUrl(queueProperties.getQueueUrl())
-            .messageSystemAttributeNames(MessageSystemAttributeName.ALL)
-            .messageAttributeNames(QueueAttributeName.ALL.toString())
             .waitTimeSeconds(MAX_SQS_RECEIVE_WAIT_TIME_IN_SECONDS)
             .maxNumberOfMessages(numberOfMessagesToObtain);
         final Duration visibilityTimeout = properties.getMessageVisibilityTimeout();
@@ -179,6 +421,38 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
         return requestBuilder.build();
     }
 
+    /**
+     * Determine the visibility timeout of the messages being retrieved, which is either the one provided in the properties or the visibility timeout
+     * set on the queue.
+     *
+     * @return the visibility timeout or null if it could not be determined
+     */
+    private Duration determineVisibilityTimeout() {
+        final Duration visibilityTimeout = properties.getMessageVisibilityTimeout();
+        if (visibilityTimeout != null && visibilityTimeout.getSeconds() > 0) {
+            return visibilityTimeout;
+        }
+
+        try {
+            return sqsAsyncClient
+                .getQueueAttributes(
+                    GetQueueAttributesRequest
+                        .builder()
+                        .queueUrl(queueProperties.getQueueUrl())
+                        .attributeNames(QueueAttributeName.VISIBILITY_TIMEOUT)
+                        .build()
+                )
+                .thenApply(response -> Duration.ofSeconds(Long.parseLong(response.attributes().get(QueueAttributeName.VISIBILITY_TIMEOUT))))
+                .get();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (final ExecutionException | RuntimeException exception) {
+            log.warn("Unable to determine the visibility timeout of the queue, prefetched messages will not be limited by it", exception);
+            return null;
+        }
+    }
+
     private void performBackoff() {
         try {
             final Duration errorBackoffTime = safelyGetPositiveOrZeroDuration(
@@ -193,4 +467,21 @@ public class PrefetchingMessageRetriever implements MessageRetriever {
             Thread.currentThread().interrupt();
         }
     }
+
+    /**
+     * Internal bean used for tracking a request for messages that has been sent to SQS.
+     */
+    @Value
+    @AllArgsConstructor
+    private static class ReceiveRequest {
+
+        /**
+         * The maximum number of messages that were requested.
+         */
+        int numberOfMessagesRequested;
+        /**
+         * The future that will be resolved with the response from SQS.
+         */
+        CompletableFuture<ReceiveMessageResponse> response;
+    }
 }
@@ -10,4 +10,25 @@ class PrefetchingMessageRetrieverConstants {
      * The default backoff timeout for when there is an error retrieving messages.
      */
     static final Duration DEFAULT_ERROR_BACKOFF_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The default number of receive message requests that can be in flight at the same time.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS = 1;
+
+    /**
+     * The default setting for whether the lock-free queue should be used for storing prefetched messages.
+     */
+    static final boolean DEFAULT_SHOULD_USE_LOCK_FREE_MESSAGE_QUEUE = false;
+
+    /**
+     * The default setting for whether the number of prefetched messages should adapt to the consume rate.
+     */
+    static final boolean DEFAULT_SHOULD_USE_ADAPTIVE_PREFETCHING = false;
+
+    /**
+     * How often the number of prefetched messages is checked while waiting for in flight receive requests, so that another request can be made once
+     * the prefetched messages have been consumed.
+     */
+    static final Duration PREFETCHED_MESSAGES_CHECK_INTERVAL = Duration.ofMillis(100);
 }
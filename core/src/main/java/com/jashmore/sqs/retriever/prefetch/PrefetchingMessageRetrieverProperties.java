@@ -3,6 +3,8 @@ package com.jashmore.sqs.retriever.prefetch;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.time.Duration;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
@@ -73,4 +75,98 @@ public interface PrefetchingMessageRetrieverProperties {
     @Nullable
     @PositiveOrZero
     Duration getErrorBackoffTime();
+
+    /**
+     * The maximum number of requests to receive messages that can be in flight to SQS at the same time.
+     *
+     * <p>A single request can only obtain {@link AwsConstants#MAX_NUMBER_OF_MESSAGES_FROM_SQS} messages and therefore having a
+     * single request at a time limits the throughput of the retriever to the round trip time of that request. Increasing this allows for more messages
+     * to be obtained concurrently, noting that the total number of messages requested by all of these requests, plus those already prefetched, will
+     * never exceed {@link #getMaxPrefetchedMessages()}.
+     *
+     * <p>This value is not able to be dynamic during the execution and will only be obtained when the retriever is constructed.
+     *
+     * <p>If this value is null or non-positive, {@link PrefetchingMessageRetrieverConstants#DEFAULT_MAX_CONCURRENT_RECEIVE_REQUESTS} will be used.
+     *
+     * @return the maximum number of concurrent receive message requests
+     */
+    @Nullable
+    @Positive
+    default Integer getMaxConcurrentReceiveRequests() {
+        return null;
+    }
+
+    /**
+     * Whether the {@link LockFreePrefetchingMessageFutureConsumerQueue} should be used for storing the prefetched messages instead of the
+     * {@link PrefetchingMessageFutureConsumerQueue}.
+     *
+     * <p>The lock-free implementation reduces the contention between the threads requesting messages and the thread prefetching messages which can be
+     * useful when there is a high level of concurrency.
+     *
+     * <p>This value is not able to be dynamic during the execution and will only be obtained when the retriever is constructed.
+     *
+     * <p>If this value is null, {@link PrefetchingMessageRetrieverConstants#DEFAULT_SHOULD_USE_LOCK_FREE_MESSAGE_QUEUE} will be used.
+     *
+     * @return whether the lock-free message queue should be used
+     */
+    @Nullable
+    default Boolean shouldUseLockFreeMessageQueue() {
+        return null;
+    }
+
+    /**
+     * Whether the number of messages prefetched should be adapted to the rate that messages are being consumed.
+     *
+     * <p>When enabled, the retriever will measure the rate that messages are being consumed as well as the time it takes to receive messages from SQS
+     * and will try to keep enough messages prefetched to cover one of these round trips. This is limited so that at the measured consume rate a message
+     * will only spend a safe portion of its visibility timeout in the prefetched queue. If {@link #getMessageVisibilityTimeout()} is null, the
+     * visibility timeout of the queue will be used for this limit.
+     *
+     * <p>In this mode, {@link #getDesiredMinPrefetchedMessages()} is used as the number of messages to prefetch before any measurements have been made
+     * and {@link #getMaxPrefetchedMessages()} is the upper limit of messages that can be prefetched.
+     *
+     * <p>This value is not able to be dynamic during the execution and will only be obtained when the retriever is constructed.
+     *
+     * <p>If this value is null, {@link PrefetchingMessageRetrieverConstants#DEFAULT_SHOULD_USE_ADAPTIVE_PREFETCHING} will be used.
+     *
+     * @return whether the number of prefetched messages should adapt to the consume rate
+     */
+    @Nullable
+    default Boolean shouldUseAdaptivePrefetching() {
+        return null;
+    }
+
+    /**
+     * The amount of time that a message can be in the prefetched queue before it is considered stale and will not be processed.
+     *
+     * <p>As messages are prefetched, their visibility timeout may be close to expiring, or may have already expired and another consumer has received
+     * the message, by the time they are requested for processing. When a stale message would be provided for processing it will instead be released
+     * back to the queue by resetting its visibility timeout to zero and the next prefetched message will be used. The stale messages found while
+     * looking for a message are released together via a single ChangeMessageVisibilityBatch request.
+     *
+     * <p>This should be less than the visibility timeout of the messages with enough time left for the message to be processed. If this value is null,
+     * messages will be processed regardless of how long they have been prefetched for.
+     *
+     * @return the amount of time that a message can be prefetched for before it is released
+     */
+    @Nullable
+    @Positive
+    default Duration getStalePrefetchedMessageThreshold() {
+        return null;
+    }
+
+    /**
+     * The attributes of the message that should be requested when receiving messages.
+     *
+     * <p>Requesting only the attributes that are needed to process the message reduces the size of the response from SQS as well as the time taken to
+     * parse it. Any attributes that are not requested will not be present on the retrieved messages.
+     *
+     * <p>If this value is null, all message system attributes and message attributes will be requested.
+     *
+     * @return the attributes of the message to request
+     */
+    @Nullable
+    default RequiredMessageAttributes getRequiredMessageAttributes() {
+        return null;
+    }
 }
@@ -4,6 +4,7 @@ import com.jashmore.documentation.annotations.Min;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.documentation.annotations.Positive;
 import com.jashmore.documentation.annotations.PositiveOrZero;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.time.Duration;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -23,6 +24,11 @@ public class StaticPrefetchingMessageRetrieverProperties implements PrefetchingM
 
     private final Duration messageVisibilityTimeout;
     private final Duration errorBackoffTime;
+    private final Integer maxConcurrentReceiveRequests;
+    private final Boolean shouldUseLockFreeMessageQueue;
+    private final Boolean shouldUseAdaptivePrefetching;
+    private final Duration stalePrefetchedMessageThreshold;
+    private final RequiredMessageAttributes requiredMessageAttributes;
 
     @Override
     @Positive
@@ -49,4 +55,36 @@ public class StaticPrefetchingMessageRetrieverProperties implements PrefetchingM
     public Duration getErrorBackoffTime() {
         return errorBackoffTime;
     }
+
+    @Override
+    @Nullable
+    @Positive
+    public Integer getMaxConcurrentReceiveRequests() {
+        return maxConcurrentReceiveRequests;
+    }
+
+    @Override
+    @Nullable
+    public Boolean shouldUseLockFreeMessageQueue() {
+        return shouldUseLockFreeMessageQueue;
+    }
+
+    @Override
+    @Nullable
+    public Boolean shouldUseAdaptivePrefetching() {
+        return shouldUseAdaptivePrefetching;
+    }
+
+    @Override
+    @Nullable
+    @Positive
+    public Duration getStalePrefetchedMessageThreshold() {
+        return stalePrefetchedMessageThreshold;
+    }
+
+    @Override
+    @Nullable
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return requiredMessageAttributes;
+    }
 }
@@ -6,9 +6,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 import lombok.Builder;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
@@ -57,6 +60,83 @@ class MessageAttributeArgumentResolverTest {
         assertThat(value).isEqualTo("my attribute value");
     }
 
+    @Test
+    void boundResolverCanBeUsedToResolveTheAttributeForMultipleMessages() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consume", String.class);
+        final MethodParameter methodParameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+        final BoundArgumentResolver<Object> boundArgumentResolver = messageAttributeArgumentResolver.bindToParameter(null, methodParameter);
+
+        // act
+        final Object firstValue = boundArgumentResolver.resolveArgument(messageWithStringAttribute("first"));
+        final Object secondValue = boundArgumentResolver.resolveArgument(messageWithStringAttribute("second"));
+
+        // assert
+        assertThat(firstValue).isEqualTo("first");
+        assertThat(secondValue).isEqualTo("second");
+    }
+
+    @Test
+    void lazyMessageAttributeWillOnlyBeParsedWhenFirstCalled() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consumeLazily", Supplier.class);
+        final MethodParameter methodParameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+        final Message message = Message
+            .builder()
+            .messageAttributes(
+                singletonMap(
+                    "pojo",
+                    MessageAttributeValue.builder().dataType(MessageAttributeDataTypes.STRING.getValue()).stringValue("{invalid").build()
+                )
+            )
+            .build();
+
+        // act
+        final Object value = messageAttributeArgumentResolver.resolveArgumentForParameter(null, methodParameter, message);
+
+        // assert
+        assertThat(value).isInstanceOf(Supplier.class);
+        Assertions.assertThrows(ArgumentResolutionException.class, ((Supplier<?>) value)::get);
+    }
+
+    @Test
+    void lazyMessageAttributeWillBeParsedToTheTypeOfTheSupplier() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consumeLazily", Supplier.class);
+        final MethodParameter methodParameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+        final Message message = Message
+            .builder()
+            .messageAttributes(
+                singletonMap(
+                    "pojo",
+                    MessageAttributeValue
+                        .builder()
+                        .dataType(MessageAttributeDataTypes.STRING.getValue())
+                        .stringValue("{\"name\": \"myName\"}")
+                        .build()
+                )
+            )
+            .build();
+
+        // act
+        final Object value = messageAttributeArgumentResolver.resolveArgumentForParameter(null, methodParameter, message);
+
+        // assert
+        assertThat(((Supplier<?>) value).get()).isEqualTo(MyPojo.builder().name("myName").build());
+    }
+
     @Test
     void unknownDataTypeWillThrowArgumentResolutionException() throws Exception {
         final Message message = Message
@@ -101,6 +181,25 @@ class MessageAttributeArgumentResolverTest {
         assertThat(value).isNull();
     }
 
+    @Test
+    void onlyTheMessageAttributeWithTheProvidedNameIsRequired() throws Exception {
+        final Method method = MessageAttributeArgumentResolverTest.class.getMethod("consume", String.class);
+        final MethodParameter methodParameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+
+        // act
+        final RequiredMessageAttributes requiredMessageAttributes = messageAttributeArgumentResolver.getRequiredMessageAttributes(
+            methodParameter
+        );
+
+        // assert
+        assertThat(requiredMessageAttributes).isEqualTo(RequiredMessageAttributes.messageAttributes("string"));
+    }
+
     @Test
     void missingMessageAttributeWillThrowArgumentResolutionExceptionWhenRequired() throws Exception {
         final Message message = Message.builder().messageAttributes(emptyMap()).build();
@@ -634,6 +733,9 @@ class MessageAttributeArgumentResolverTest {
     @SuppressWarnings({ "unused", "WeakerAccess" })
     public void consume(@MessageAttribute("bytes") final byte[] b) {}
 
+    @SuppressWarnings({ "unused", "WeakerAccess" })
+    public void consumeLazily(@MessageAttribute("pojo") final Supplier<MyPojo> pojo) {}
+
     @Value
     @Builder
     @SuppressWarnings("WeakerAccess")
@@ -641,4 +743,16 @@ class MessageAttributeArgumentResolverTest {
 
         String name;
     }
+
+    private static Message messageWithStringAttribute(final String value) {
+        return Message
+            .builder()
+            .messageAttributes(
+                singletonMap(
+                    "string",
+                    MessageAttributeValue.builder().dataType(MessageAttributeDataTypes.STRING.getValue()).stringValue(value).build()
+                )
+            )
+            .build();
+    }
 }
@@ -12,6 +12,7 @@ import static software.amazon.awssdk.services.sqs.model.MessageSystemAttributeNa
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.lang.reflect.Method;
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -43,6 +44,25 @@ public class MessageSystemAttributeArgumentResolverTest {
         assertThat(value).isNull();
     }
 
+    @Test
+    public void onlyTheMessageSystemAttributeWithTheProvidedNameIsRequired() throws Exception {
+        final Method method = MessageSystemAttributeArgumentResolverTest.class.getMethod("consume", String.class);
+        final MethodParameter methodParameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+
+        // act
+        final RequiredMessageAttributes requiredMessageAttributes = messageSystemAttributeArgumentResolver.getRequiredMessageAttributes(
+            methodParameter
+        );
+
+        // assert
+        assertThat(requiredMessageAttributes).isEqualTo(RequiredMessageAttributes.messageSystemAttributes(SENDER_ID));
+    }
+
     @Test
     public void systemAttributesThatDoNotExistForRequiredAttributeWillThrowArgumentResolutionException() throws Exception {
         final Message message = Message.builder().attributes(emptyMap()).build();
@@ -2,15 +2,23 @@ package com.jashmore.sqs.argument.payload;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.argument.payload.mapper.BindablePayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMapper;
 import com.jashmore.sqs.argument.payload.mapper.PayloadMappingException;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +32,9 @@ class PayloadArgumentResolverTest {
     @Mock
     private PayloadMapper payloadMapper;
 
+    @Mock
+    private BindablePayloadMapper bindablePayloadMapper;
+
     @Mock
     private QueueProperties queueProperties;
 
@@ -89,6 +100,61 @@ class PayloadArgumentResolverTest {
         assertThat(argument).isEqualTo(parsedObject);
     }
 
+    @Test
+    void bindablePayloadMapperIsBoundToTheGenericTypeOfTheParameter() throws Exception {
+        // arrange
+        final Method method = PayloadArgumentResolverTest.class.getMethod("listMethod", List.class);
+        final MethodParameter parameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+        final Message message = Message.builder().build();
+        final List<Pojo> parsedObject = Collections.singletonList(new Pojo("test"));
+        when(bindablePayloadMapper.bindToType(method.getGenericParameterTypes()[0])).thenReturn(messageToMap -> parsedObject);
+
+        // act
+        final Object argument = new PayloadArgumentResolver(bindablePayloadMapper)
+            .bindToParameter(queueProperties, parameter)
+            .resolveArgument(message);
+
+        // assert
+        assertThat(argument).isSameAs(parsedObject);
+    }
+
+    @Test
+    void lazyPayloadWillOnlyBeMappedWhenFirstCalled() throws Exception {
+        // arrange
+        final Method method = PayloadArgumentResolverTest.class.getMethod("lazyMethod", Supplier.class);
+        final MethodParameter parameter = DefaultMethodParameter
+            .builder()
+            .method(method)
+            .parameter(method.getParameters()[0])
+            .parameterIndex(0)
+            .build();
+        final Message message = Message.builder().build();
+        final Pojo parsedObject = new Pojo("test");
+        when(payloadMapper.map(message, Pojo.class)).thenReturn(parsedObject);
+
+        // act
+        final Object argument = payloadArgumentResolver.resolveArgumentForParameter(queueProperties, parameter, message);
+        verify(payloadMapper, never()).map(any(), any());
+        final Object firstCall = ((Supplier<?>) argument).get();
+        final Object secondCall = ((Supplier<?>) argument).get();
+
+        // assert
+        assertThat(firstCall).isSameAs(parsedObject);
+        assertThat(secondCall).isSameAs(parsedObject);
+        verify(payloadMapper, times(1)).map(message, Pojo.class);
+    }
+
+    @SuppressWarnings({ "unused" })
+    public void lazyMethod(@Payload final Supplier<Pojo> payloadPojo) {}
+
+    @SuppressWarnings({ "unused" })
+    public void listMethod(@Payload final List<Pojo> payloadPojos) {}
+
     @SuppressWarnings({ "unused" })
     public void method(
         @Payload final String payloadString,
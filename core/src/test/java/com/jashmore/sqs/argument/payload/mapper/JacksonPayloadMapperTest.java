@@ -1,5 +1,6 @@
 package com.jashmore.sqs.argument.payload.mapper;
 
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -8,13 +9,18 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.util.compression.PayloadCompression;
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import lombok.Data;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 
 @ExtendWith(MockitoExtension.class)
 class JacksonPayloadMapperTest {
@@ -68,6 +74,144 @@ class JacksonPayloadMapperTest {
         assertThat(exception.getCause()).isInstanceOf(IOException.class);
     }
 
+    @Test
+    void boundMapperWillMaintainGenericTypeArguments() throws Exception {
+        // arrange
+        final Type listOfPojosType = JacksonPayloadMapperTest.class.getMethod("consumeList", List.class).getGenericParameterTypes()[0];
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper()).bindToType(listOfPojosType);
+        final Message message = Message.builder().body("[{\"name\": \"first\"}, {\"name\": \"second\"}]").build();
+
+        // act
+        final Object argument = boundPayloadMapper.map(message);
+
+        // assert
+        assertThat((List<?>) argument).hasOnlyElementsOfType(MutablePojo.class).extracting("name").containsExactly("first", "second");
+    }
+
+    @Test
+    void boundMapperForStringWillReturnMessageBody() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(objectMapper).bindToType(String.class);
+
+        // act
+        final Object argument = boundPayloadMapper.map(Message.builder().body("body").build());
+
+        // assert
+        assertThat(argument).isEqualTo("body");
+    }
+
+    @Test
+    void errorMappingWithBoundMapperThrowsPayloadMappingException() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper()).bindToType(MutablePojo.class);
+        final Message message = Message.builder().body("not json").build();
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> boundPayloadMapper.map(message));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void boundMapperWillDecompressGzipCompressedBody() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper()).bindToType(MutablePojo.class);
+        final Message message = compressedMessage(PayloadCompression.GZIP, "{\"name\": \"compressed\"}");
+
+        // act
+        final Object argument = boundPayloadMapper.map(message);
+
+        // assert
+        assertThat(argument).isInstanceOf(MutablePojo.class).extracting("name").isEqualTo("compressed");
+    }
+
+    @Test
+    void boundMapperForStringWillDecompressDeflateCompressedBody() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(objectMapper).bindToType(String.class);
+        final Message message = compressedMessage(PayloadCompression.DEFLATE, "body");
+
+        // act
+        final Object argument = boundPayloadMapper.map(message);
+
+        // assert
+        assertThat(argument).isEqualTo("body");
+    }
+
+    @Test
+    void unboundMapperWillDecompressCompressedBody() {
+        // arrange
+        final PayloadMapper mapper = new JacksonPayloadMapper(new ObjectMapper());
+        final Message message = compressedMessage(PayloadCompression.GZIP, "{\"name\": \"compressed\"}");
+
+        // act
+        final Object argument = mapper.map(message, MutablePojo.class);
+
+        // assert
+        assertThat(argument).isInstanceOf(MutablePojo.class).extracting("name").isEqualTo("compressed");
+    }
+
+    @Test
+    void unsupportedContentEncodingWillMapTheBodyWithoutDecompressingIt() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(new ObjectMapper()).bindToType(MutablePojo.class);
+        final Message message = Message
+            .builder()
+            .body("{\"name\": \"uncompressed\"}")
+            .messageAttributes(
+                singletonMap(
+                    PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME,
+                    MessageAttributeValue.builder().dataType("String").stringValue("identity").build()
+                )
+            )
+            .build();
+
+        // act
+        final Object argument = boundPayloadMapper.map(message);
+
+        // assert
+        assertThat(argument).isInstanceOf(MutablePojo.class).extracting("name").isEqualTo("uncompressed");
+    }
+
+    @Test
+    void bodyThatDecompressesToMoreThanTheMaximumSizeThrowsPayloadMappingException() {
+        // arrange
+        final BoundPayloadMapper boundPayloadMapper = new JacksonPayloadMapper(objectMapper).bindToType(String.class);
+        final Message message = compressedMessage(
+            PayloadCompression.GZIP,
+            "a".repeat(PayloadCompression.DEFAULT_MAX_DECOMPRESSED_SIZE_IN_BYTES + 1)
+        );
+
+        // act
+        final PayloadMappingException exception = assertThrows(PayloadMappingException.class, () -> boundPayloadMapper.map(message));
+
+        // assert
+        assertThat(exception.getCause()).isInstanceOf(IOException.class).hasMessageContaining("maximum size");
+    }
+
+    private static Message compressedMessage(final PayloadCompression compression, final String body) {
+        return Message
+            .builder()
+            .body(compression.compress(body))
+            .messageAttributes(
+                singletonMap(
+                    PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME,
+                    MessageAttributeValue.builder().dataType("String").stringValue(compression.getContentEncoding()).build()
+                )
+            )
+            .build();
+    }
+
+    @SuppressWarnings("unused")
+    public void consumeList(final List<MutablePojo> pojos) {}
+
+    @Data
+    public static class MutablePojo {
+
+        private String name;
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static class Pojo {
 
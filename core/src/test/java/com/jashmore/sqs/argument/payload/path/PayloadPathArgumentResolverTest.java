@@ -0,0 +1,247 @@
+package com.jashmore.sqs.argument.payload.path;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jashmore.sqs.argument.ArgumentResolutionException;
+import com.jashmore.sqs.argument.ArgumentResolutionScope;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
+import com.jashmore.sqs.argument.DefaultMethodParameter;
+import com.jashmore.sqs.argument.MethodParameter;
+import com.jashmore.sqs.util.compression.PayloadCompression;
+import java.lang.reflect.Method;
+import java.util.List;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+class PayloadPathArgumentResolverTest {
+
+    private static final String BODY =
+        "{\"customer\": {\"name\": \"Bob\", \"addresses\": [{\"city\": \"Sydney\"}]}, \"order\": {\"id\": \"order-id\", \"quantity\": 2, " +
+        "\"items\": [{\"name\": \"first\"}, {\"name\": \"second\"}]}}";
+
+    private final PayloadPathArgumentResolver payloadPathArgumentResolver = new PayloadPathArgumentResolver(new ObjectMapper());
+
+    @Test
+    void parameterWithPayloadPathAnnotationCanBeResolved() {
+        // act
+        final boolean canResolveParameter = payloadPathArgumentResolver.canResolveParameter(getParameter(0));
+
+        // assert
+        assertThat(canResolveParameter).isTrue();
+    }
+
+    @Test
+    void parameterWithoutPayloadPathAnnotationCannotBeResolved() {
+        // act
+        final boolean canResolveParameter = payloadPathArgumentResolver.canResolveParameter(getParameter(5));
+
+        // assert
+        assertThat(canResolveParameter).isFalse();
+    }
+
+    @Test
+    void nestedFieldCanBeResolved() {
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(0), message(BODY));
+
+        // assert
+        assertThat(argument).isEqualTo("order-id");
+    }
+
+    @Test
+    void fieldWillBeMappedToTheTypeOfTheParameter() {
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(1), message(BODY));
+
+        // assert
+        assertThat(argument).isEqualTo(2);
+    }
+
+    @Test
+    void genericTypeArgumentsOfTheParameterAreMaintained() {
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(2), message(BODY));
+
+        // assert
+        assertThat((List<?>) argument).hasOnlyElementsOfType(Item.class).extracting("name").containsExactly("first", "second");
+    }
+
+    @Test
+    void fieldWithinArrayCanBeResolved() {
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(3), message(BODY));
+
+        // assert
+        assertThat(argument).isEqualTo("Sydney");
+    }
+
+    @Test
+    void missingFieldWillReturnNullWhenNotRequired() {
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(4), message("{}"));
+
+        // assert
+        assertThat(argument).isNull();
+    }
+
+    @Test
+    void missingFieldWillThrowExceptionWhenRequired() {
+        // act
+        final ArgumentResolutionException exception = assertThrows(
+            ArgumentResolutionException.class,
+            () -> payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(0), message("{\"order\": {}}"))
+        );
+
+        // assert
+        assertThat(exception).hasMessage("Required Payload Path '/order/id' is missing from message");
+    }
+
+    @Test
+    void fieldCanBeResolvedFromCompressedBody() {
+        // arrange
+        final Message message = Message
+            .builder()
+            .body(PayloadCompression.GZIP.compress(BODY))
+            .messageAttributes(
+                singletonMap(
+                    PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME,
+                    MessageAttributeValue.builder().dataType("String").stringValue("gzip").build()
+                )
+            )
+            .build();
+
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(0), message);
+
+        // assert
+        assertThat(argument).isEqualTo("order-id");
+    }
+
+    @Test
+    void parsingWillStopOnceAllPathsHaveBeenFound() {
+        // arrange
+        final Message message = message(BODY.substring(0, BODY.length() - 1) + ", \"invalid\": ");
+
+        // act
+        final Object argument = payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(0), message);
+
+        // assert
+        assertThat(argument).isEqualTo("order-id");
+    }
+
+    @Test
+    void invalidJsonWillThrowArgumentResolutionException() {
+        // act
+        final ArgumentResolutionException exception = assertThrows(
+            ArgumentResolutionException.class,
+            () -> payloadPathArgumentResolver.resolveArgumentForParameter(null, getParameter(0), message("{\"order\": "))
+        );
+
+        // assert
+        assertThat(exception).hasMessage("Error parsing message body for Payload Path '/order/id'");
+    }
+
+    @Test
+    void allPathsOfTheMethodAreExtractedInTheSameParseOfTheBody() throws Exception {
+        // arrange
+        final ObjectMapper objectMapper = spy(new ObjectMapper());
+        final PayloadPathArgumentResolver resolver = new PayloadPathArgumentResolver(objectMapper);
+        final Method method = PayloadPathArgumentResolverTest.class.getMethod("twoPathMethod", String.class, String.class);
+        final BoundArgumentResolver<Object> orderIdResolver = resolver.bindToParameter(null, getParameter(method, 0));
+        final BoundArgumentResolver<Object> customerNameResolver = resolver.bindToParameter(null, getParameter(method, 1));
+        final Message message = message(BODY);
+        final ArgumentResolutionScope scope = new ArgumentResolutionScope();
+
+        // act
+        final Object orderId = orderIdResolver.resolveArgument(message, scope);
+        final Object customerName = customerNameResolver.resolveArgument(message, scope);
+
+        // assert
+        assertThat(orderId).isEqualTo("order-id");
+        assertThat(customerName).isEqualTo("Bob");
+        verify(objectMapper, times(2)).readTree(any(JsonParser.class));
+    }
+
+    @Test
+    void bodyWillBeParsedAgainForEachResolutionScope() throws Exception {
+        // arrange
+        final ObjectMapper objectMapper = spy(new ObjectMapper());
+        final PayloadPathArgumentResolver resolver = new PayloadPathArgumentResolver(objectMapper);
+        final Method method = PayloadPathArgumentResolverTest.class.getMethod("twoPathMethod", String.class, String.class);
+        final BoundArgumentResolver<Object> orderIdResolver = resolver.bindToParameter(null, getParameter(method, 0));
+        final Message message = message(BODY);
+
+        // act
+        orderIdResolver.resolveArgument(message, new ArgumentResolutionScope());
+        orderIdResolver.resolveArgument(message, new ArgumentResolutionScope());
+
+        // assert
+        verify(objectMapper, times(4)).readTree(any(JsonParser.class));
+    }
+
+    @Test
+    void invalidPathWillThrowExceptionWhenBinding() throws Exception {
+        // arrange
+        final Method method = PayloadPathArgumentResolverTest.class.getMethod("invalidPathMethod", String.class);
+
+        // act
+        assertThrows(ArgumentResolutionException.class, () -> payloadPathArgumentResolver.bindToParameter(null, getParameter(method, 0)));
+    }
+
+    @SuppressWarnings("unused")
+    public void method(
+        @PayloadPath(value = "/order/id", required = true) final String orderId,
+        @PayloadPath("/order/quantity") final int quantity,
+        @PayloadPath("/order/items") final List<Item> items,
+        @PayloadPath("/customer/addresses/0/city") final String city,
+        @PayloadPath("/customer/name") final String customerName,
+        final String parameterWithNoAnnotation
+    ) {}
+
+    @SuppressWarnings("unused")
+    public void twoPathMethod(@PayloadPath("/order/id") final String orderId, @PayloadPath("/customer/name") final String customerName) {}
+
+    @SuppressWarnings("unused")
+    public void invalidPathMethod(@PayloadPath("order") final String order) {}
+
+    private static Message message(final String body) {
+        return Message.builder().body(body).build();
+    }
+
+    private static MethodParameter getParameter(final int index) {
+        try {
+            final Method method = PayloadPathArgumentResolverTest.class.getMethod(
+                "method",
+                String.class,
+                int.class,
+                List.class,
+                String.class,
+                String.class,
+                String.class
+            );
+            return getParameter(method, index);
+        } catch (final NoSuchMethodException noSuchMethodException) {
+            throw new RuntimeException(noSuchMethodException);
+        }
+    }
+
+    private static MethodParameter getParameter(final Method method, final int index) {
+        return DefaultMethodParameter.builder().method(method).parameter(method.getParameters()[index]).parameterIndex(index).build();
+    }
+
+    @Data
+    public static class Item {
+
+        private String name;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jashmore.sqs.argument.visibility;
+
+import static com.jashmore.sqs.processor.argument.VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingVisibilityExtenderTest {
+
+    @Mock
+    private BatchingMessageVisibilityChanger visibilityChanger;
+
+    private final Message message = Message.builder().messageId("id").receiptHandle("handle").build();
+
+    private BatchingVisibilityExtender batchingVisibilityExtender;
+
+    @BeforeEach
+    void setUp() {
+        batchingVisibilityExtender = new BatchingVisibilityExtender(visibilityChanger, message);
+    }
+
+    @Test
+    void defaultExtendShouldIncreaseVisibilityByDefaultAmount() {
+        // act
+        batchingVisibilityExtender.extend();
+
+        // assert
+        verify(visibilityChanger).changeMessageVisibility(message, Duration.ofSeconds(DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS));
+    }
+
+    @Test
+    void extendShouldIncreaseVisibilityByAmountSet() {
+        // act
+        batchingVisibilityExtender.extend(10);
+
+        // assert
+        verify(visibilityChanger).changeMessageVisibility(message, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void extendShouldReturnFutureForTheMessageInTheBatch() {
+        // arrange
+        final CompletableFuture<Object> changeVisibilityFuture = new CompletableFuture<>();
+        when(visibilityChanger.changeMessageVisibility(message, Duration.ofSeconds(10))).thenAnswer(invocation -> changeVisibilityFuture);
+
+        // act
+        final Future<?> extendFuture = batchingVisibilityExtender.extend(10);
+
+        // assert
+        assertThat(extendFuture).isSameAs(changeVisibilityFuture);
+    }
+}
@@ -5,22 +5,30 @@ import static com.jashmore.sqs.broker.util.MessageBrokerTestUtils.runBrokerProce
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
 import com.jashmore.sqs.processor.MessageProcessingException;
 import com.jashmore.sqs.util.ExpectedTestException;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +36,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -131,6 +140,143 @@ class ConcurrentMessageBrokerTest {
         assertThat(countDownLatch.await(concurrencyPollingRateInMs * 3, MILLISECONDS)).isTrue();
     }
 
+    @Test
+    void whenConcurrencyLevelChangesArePublishedTheBrokerIsWokenUpWithoutWaitingForThePollingRate() throws Exception {
+        // arrange
+        final AtomicInteger concurrencyLevel = new AtomicInteger(0);
+        final AtomicReference<Runnable> concurrencyLevelChangeListener = new AtomicReference<>();
+        final CountDownLatch listenerRegisteredLatch = new CountDownLatch(1);
+        final ConcurrentMessageBrokerProperties properties = new ConcurrentMessageBrokerProperties() {
+            @Override
+            public int getConcurrencyLevel() {
+                return concurrencyLevel.get();
+            }
+
+            @Override
+            public Duration getConcurrencyPollingRate() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration getErrorBackoffTime() {
+                return Duration.ZERO;
+            }
+
+            @Override
+            public boolean addConcurrencyLevelChangeListener(final Runnable listener) {
+                concurrencyLevelChangeListener.set(listener);
+                listenerRegisteredLatch.countDown();
+                return true;
+            }
+        };
+        final CountDownLatch messageProcessingLatch = new CountDownLatch(1);
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+        runBrokerProcessMessageOnThread(
+            broker,
+            () -> CompletableFuture.completedFuture(Message.builder().build()),
+            processingMessageWillBlockUntilInterrupted(messageProcessingLatch, messageProcessorExecutorService),
+            brokerExecutorService
+        );
+        assertThat(listenerRegisteredLatch.await(5, SECONDS)).isTrue();
+
+        // act
+        concurrencyLevel.set(1);
+        concurrencyLevelChangeListener.get().run();
+
+        // assert
+        assertThat(messageProcessingLatch.await(5, SECONDS)).isTrue();
+    }
+
+    @Test
+    void concurrencyLimiterChangeListenerIsRemovedWhenTheBrokerStops() throws Exception {
+        // arrange
+        final ConcurrencyLimiter concurrencyLimiter = mock(ConcurrencyLimiter.class);
+        when(concurrencyLimiter.addLimitChangeListener(any())).thenReturn(true);
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES.toBuilder().concurrencyLimiter(concurrencyLimiter).build();
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        final Future<?> future = runBrokerProcessMessageOnThread(broker, () -> false, messageSupplier, MESSAGE_NO_OP, brokerExecutorService);
+        future.get(30, SECONDS);
+
+        // assert
+        final ArgumentCaptor<Runnable> listenerCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(concurrencyLimiter).addLimitChangeListener(listenerCaptor.capture());
+        verify(concurrencyLimiter).removeLimitChangeListener(listenerCaptor.getValue());
+    }
+
+    @Test
+    void sharedConcurrencyPoolWillLimitTheConcurrencyOfTheBroker() throws InterruptedException {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(2);
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .concurrencyLevel(5)
+            .sharedConcurrencyPoolMember(pool.register(0))
+            .build();
+        final CountDownLatch messagesProcessingLatch = new CountDownLatch(3);
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        runBrokerProcessMessageOnThread(
+            broker,
+            () -> CompletableFuture.completedFuture(Message.builder().build()),
+            processingMessageWillBlockUntilInterrupted(messagesProcessingLatch, messageProcessorExecutorService),
+            brokerExecutorService
+        );
+
+        // assert
+        assertThat(messagesProcessingLatch.await(1, SECONDS)).isFalse();
+        assertThat(messagesProcessingLatch.getCount()).isEqualTo(1);
+        assertThat(pool.getAvailableSharedConcurrency()).isZero();
+    }
+
+    @Test
+    void sharedConcurrencyIsNotHeldWhileWaitingForMessages() throws InterruptedException {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(2);
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .concurrencyLevel(5)
+            .sharedConcurrencyPoolMember(pool.register(0))
+            .build();
+        final CountDownLatch messagesRequestedLatch = new CountDownLatch(5);
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        runBrokerProcessMessageOnThread(
+            broker,
+            () -> {
+                messagesRequestedLatch.countDown();
+                return new CompletableFuture<>();
+            },
+            MESSAGE_NO_OP,
+            brokerExecutorService
+        );
+
+        // assert
+        assertThat(messagesRequestedLatch.await(5, SECONDS)).isTrue();
+        assertThat(pool.getAvailableSharedConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void brokerWillKeepTheSameSharedConcurrencyPoolMembershipEachTimeItProcessesMessages() throws Exception {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(2);
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .sharedConcurrencyPoolMember(pool.register(2))
+            .build();
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        runBrokerProcessMessageOnThread(broker, () -> false, messageSupplier, MESSAGE_NO_OP, brokerExecutorService).get(30, SECONDS);
+        runBrokerProcessMessageOnThread(broker, () -> false, messageSupplier, MESSAGE_NO_OP, brokerExecutorService).get(30, SECONDS);
+
+        // assert
+        assertThat(pool.getAvailableSharedConcurrency()).isZero();
+    }
+
     @Test
     void willStopProcessingMessagesIfKeepProcessingMessagesReturnsFalse() throws Exception {
         // arrange
@@ -239,6 +385,68 @@ class ConcurrentMessageBrokerTest {
         assertThat(messageProcessingLatch.await(30, SECONDS)).isTrue();
     }
 
+    @Test
+    void concurrencyLimiterWillBeUsedInsteadOfTheConcurrencyLevel() throws InterruptedException {
+        // arrange
+        final ConcurrencyLimiter concurrencyLimiter = mock(ConcurrencyLimiter.class);
+        when(concurrencyLimiter.getLimit()).thenReturn(3);
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .concurrencyLevel(0)
+            .concurrencyLimiter(concurrencyLimiter)
+            .build();
+        final CountDownLatch messagesProcessingLatch = new CountDownLatch(3);
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        runBrokerProcessMessageOnThread(
+            broker,
+            () -> CompletableFuture.completedFuture(Message.builder().build()),
+            processingMessageWillBlockUntilInterrupted(messagesProcessingLatch, messageProcessorExecutorService),
+            brokerExecutorService
+        );
+
+        // assert
+        assertThat(messagesProcessingLatch.await(30, SECONDS)).isTrue();
+    }
+
+    @Test
+    void concurrencyLimiterWillBeNotifiedOfTheOutcomeOfEachMessage() throws InterruptedException {
+        // arrange
+        final ConcurrencyLimiter concurrencyLimiter = mock(ConcurrencyLimiter.class);
+        when(concurrencyLimiter.getLimit()).thenReturn(1);
+        final CountDownLatch outcomesLatch = new CountDownLatch(2);
+        final List<Boolean> outcomes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+                outcomes.add(invocation.getArgument(1));
+                outcomesLatch.countDown();
+                return null;
+            })
+            .when(concurrencyLimiter)
+            .onMessageProcessed(any(Duration.class), anyBoolean());
+        final ConcurrentMessageBrokerProperties properties = DEFAULT_PROPERTIES.toBuilder().concurrencyLimiter(concurrencyLimiter).build();
+        final AtomicBoolean isFirst = new AtomicBoolean(true);
+        final Function<Message, CompletableFuture<?>> messageProcessor = message -> {
+            if (isFirst.getAndSet(false)) {
+                return CompletableFutureUtils.completedExceptionally(new ExpectedTestException());
+            }
+            return CompletableFuture.completedFuture(null);
+        };
+        final ConcurrentMessageBroker broker = new ConcurrentMessageBroker(properties);
+
+        // act
+        runBrokerProcessMessageOnThread(
+            broker,
+            () -> CompletableFuture.completedFuture(Message.builder().build()),
+            messageProcessor,
+            brokerExecutorService
+        );
+
+        // assert
+        assertThat(outcomesLatch.await(30, SECONDS)).isTrue();
+        assertThat(outcomes.subList(0, 2)).containsExactly(false, true);
+    }
+
     @Test
     void threadInterruptedDuringBackoffShouldStopBroker() throws Exception {
         // arrange
@@ -3,6 +3,8 @@ package com.jashmore.sqs.broker.concurrent;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.jashmore.sqs.broker.concurrent.limiter.AimdConcurrencyLimiter;
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter;
 import java.time.Duration;
 import org.junit.jupiter.api.Test;
 
@@ -25,6 +27,27 @@ class StaticConcurrentMessageBrokerPropertiesTest {
         assertThrows(IllegalArgumentException.class, () -> StaticConcurrentMessageBrokerProperties.builder().concurrencyLevel(-1).build());
     }
 
+    @Test
+    void nullConcurrencyLevelWithoutConcurrencyLimiterThrowsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> StaticConcurrentMessageBrokerProperties.builder().build());
+    }
+
+    @Test
+    void concurrencyLevelIsObtainedFromConcurrencyLimiterWhenNotProvided() {
+        // arrange
+        final ConcurrencyLimiter concurrencyLimiter = AimdConcurrencyLimiter.builder().maxLimit(10).initialLimit(4).build();
+
+        // act
+        final StaticConcurrentMessageBrokerProperties retriever = StaticConcurrentMessageBrokerProperties
+            .builder()
+            .concurrencyLimiter(concurrencyLimiter)
+            .build();
+
+        // assert
+        assertThat(retriever.getConcurrencyLevel()).isEqualTo(4);
+        assertThat(retriever.getConcurrencyLimiter()).isSameAs(concurrencyLimiter);
+    }
+
     @Test
     void concurrencyPollingRateReturnedFromConstructor() {
         // act
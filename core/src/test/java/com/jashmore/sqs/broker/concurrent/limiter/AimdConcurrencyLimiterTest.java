@@ -0,0 +1,159 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AimdConcurrencyLimiterTest {
+
+    private static final Duration PROCESSING_TIME = Duration.ofMillis(100);
+
+    @Test
+    void initialLimitIsUsedBeforeAnyMessagesHaveBeenProcessed() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(10).initialLimit(5).build();
+
+        // act
+        final int limit = limiter.getLimit();
+
+        // assert
+        assertThat(limit).isEqualTo(5);
+    }
+
+    @Test
+    void minLimitIsUsedWhenNoInitialLimitIsProvided() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().minLimit(2).maxLimit(10).build();
+
+        // act
+        final int limit = limiter.getLimit();
+
+        // assert
+        assertThat(limit).isEqualTo(2);
+    }
+
+    @Test
+    void limitIsIncreasedByOneWhenTheLimitOfMessagesHaveBeenProcessedSuccessfully() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(10).initialLimit(3).build();
+        processSuccessfully(limiter, 2);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        // act
+        limiter.onMessageProcessed(PROCESSING_TIME, true);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void limitWillNotIncreasePastTheMaxLimit() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(3).initialLimit(3).build();
+
+        // act
+        processSuccessfully(limiter, 20);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void failureWillMultiplyTheLimitByTheBackoffRatio() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(100).initialLimit(50).backoffRatio(0.5).build();
+
+        // act
+        limiter.onMessageProcessed(PROCESSING_TIME, false);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void failureWillAlwaysDecreaseTheLimitEvenWhenTheBackoffRatioWouldNotChangeIt() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(10).initialLimit(5).backoffRatio(0.99).build();
+
+        // act
+        limiter.onMessageProcessed(PROCESSING_TIME, false);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void limitWillNotDecreaseBelowTheMinLimit() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().minLimit(2).maxLimit(10).initialLimit(3).build();
+
+        // act
+        IntStream.range(0, 5).forEach(index -> limiter.onMessageProcessed(PROCESSING_TIME, false));
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void processingSlowerThanTheLatencyThresholdIsConsideredAnOverload() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter
+            .builder()
+            .maxLimit(100)
+            .initialLimit(50)
+            .backoffRatio(0.5)
+            .latencyThreshold(Duration.ofSeconds(1))
+            .build();
+
+        // act
+        limiter.onMessageProcessed(Duration.ofSeconds(2), true);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void initialLimitOutsideOfTheBoundsWillThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> AimdConcurrencyLimiter.builder().minLimit(2).maxLimit(10).initialLimit(11).build());
+    }
+
+    @Test
+    void backoffRatioOutsideOfZeroAndOneWillThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> AimdConcurrencyLimiter.builder().maxLimit(10).backoffRatio(1.0).build());
+    }
+
+    @Test
+    void minLimitOfZeroWillThrowIllegalArgumentException() {
+        final IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> AimdConcurrencyLimiter.builder().minLimit(0).maxLimit(10).initialLimit(1).build()
+        );
+        assertThat(exception).hasMessage("minLimit should be greater than zero");
+    }
+
+    @Test
+    void limitChangeListenersAreNotifiedWhenTheLimitChanges() {
+        // arrange
+        final AimdConcurrencyLimiter limiter = AimdConcurrencyLimiter.builder().maxLimit(10).initialLimit(1).build();
+        final AtomicInteger numberOfChanges = new AtomicInteger();
+        final Runnable listener = numberOfChanges::incrementAndGet;
+        assertThat(limiter.addLimitChangeListener(listener)).isTrue();
+
+        // act
+        processSuccessfully(limiter, 1);
+        limiter.removeLimitChangeListener(listener);
+        processSuccessfully(limiter, 2);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(numberOfChanges).hasValue(1);
+    }
+
+    private void processSuccessfully(final AimdConcurrencyLimiter limiter, final int numberOfMessages) {
+        IntStream.range(0, numberOfMessages).forEach(index -> limiter.onMessageProcessed(PROCESSING_TIME, true));
+    }
+}
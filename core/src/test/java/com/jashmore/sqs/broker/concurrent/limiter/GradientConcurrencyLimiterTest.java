@@ -0,0 +1,125 @@
+package com.jashmore.sqs.broker.concurrent.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final Duration PROCESSING_TIME = Duration.ofMillis(100);
+
+    @Test
+    void initialLimitIsUsedBeforeAnyMessagesHaveBeenProcessed() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().maxLimit(10).initialLimit(5).build();
+
+        // act
+        final int limit = limiter.getLimit();
+
+        // assert
+        assertThat(limit).isEqualTo(5);
+    }
+
+    @Test
+    void limitIncreasesWhileTheLatencyIsStable() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().maxLimit(100).initialLimit(10).build();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME, true, 20);
+
+        // assert
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void limitWillNotIncreasePastTheMaxLimit() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().maxLimit(15).initialLimit(10).build();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME, true, 100);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(15);
+    }
+
+    @Test
+    void limitDecreasesWhenTheLatencyIncreasesPastTheTolerance() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().maxLimit(100).initialLimit(50).build();
+        processMessages(limiter, PROCESSING_TIME, true, 10);
+        final int limitBeforeLatencyIncrease = limiter.getLimit();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME.multipliedBy(4), true, 10);
+
+        // assert
+        assertThat(limiter.getLimit()).isLessThan(limitBeforeLatencyIncrease);
+    }
+
+    @Test
+    void limitDecreasesWhenMessagesFail() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().maxLimit(100).initialLimit(50).build();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME, false, 10);
+
+        // assert
+        assertThat(limiter.getLimit()).isLessThan(50);
+    }
+
+    @Test
+    void limitWillNotDecreaseBelowTheMinLimit() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().minLimit(5).maxLimit(100).initialLimit(10).build();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME, false, 100);
+
+        // assert
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void latencyToleranceLessThanOneWillThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> GradientConcurrencyLimiter.builder().maxLimit(10).latencyTolerance(0.5).build());
+    }
+
+    @Test
+    void minLimitOfZeroWillThrowIllegalArgumentException() {
+        final IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GradientConcurrencyLimiter.builder().minLimit(0).maxLimit(10).initialLimit(1).build()
+        );
+        assertThat(exception).hasMessage("minLimit should be greater than zero");
+    }
+
+    @Test
+    void limitChangeListenersAreNotifiedWhenTheLimitChanges() {
+        // arrange
+        final GradientConcurrencyLimiter limiter = GradientConcurrencyLimiter.builder().minLimit(5).maxLimit(100).initialLimit(10).build();
+        final AtomicInteger numberOfChanges = new AtomicInteger();
+        assertThat(limiter.addLimitChangeListener(numberOfChanges::incrementAndGet)).isTrue();
+
+        // act
+        processMessages(limiter, PROCESSING_TIME, false, 100);
+
+        // assert
+        assertThat(numberOfChanges).hasPositiveValue();
+    }
+
+    private void processMessages(
+        final GradientConcurrencyLimiter limiter,
+        final Duration processingTime,
+        final boolean successful,
+        final int numberOfMessages
+    ) {
+        IntStream.range(0, numberOfMessages).forEach(index -> limiter.onMessageProcessed(processingTime, successful));
+    }
+}
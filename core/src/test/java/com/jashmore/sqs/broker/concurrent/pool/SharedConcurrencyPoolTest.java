@@ -0,0 +1,131 @@
+package com.jashmore.sqs.broker.concurrent.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SharedConcurrencyPoolTest {
+
+    @Test
+    void poolMustHaveATotalConcurrencyGreaterThanZero() {
+        assertThrows(IllegalArgumentException.class, () -> new SharedConcurrencyPool(0));
+    }
+
+    @Test
+    void registeringMoreGuaranteedConcurrencyThanThePoolHasWillThrowException() {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(5);
+        pool.register(3);
+
+        // act
+        assertThrows(IllegalArgumentException.class, () -> pool.register(3));
+    }
+
+    @Test
+    void guaranteedConcurrencyIsNotAvailableToOtherMembers() {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(5);
+
+        // act
+        pool.register(3);
+
+        // assert
+        assertThat(pool.getAvailableSharedConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void memberCanAlwaysAcquireItsGuaranteedConcurrency() throws Exception {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(3);
+        final SharedConcurrencyPool.Member greedyMember = pool.register(0);
+        final SharedConcurrencyPool.Member guaranteedMember = pool.register(1);
+        greedyMember.acquire();
+        greedyMember.acquire();
+
+        // act
+        final CompletableFuture<?> acquireFuture = CompletableFuture.runAsync(() -> acquireUninterruptibly(guaranteedMember));
+
+        // assert
+        acquireFuture.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void memberWillBlockWhenItHasUsedItsGuaranteeAndTheSharedConcurrencyIsExhausted() throws Exception {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(2);
+        final SharedConcurrencyPool.Member firstMember = pool.register(0);
+        final SharedConcurrencyPool.Member secondMember = pool.register(0);
+        firstMember.acquire();
+        firstMember.acquire();
+        final CountDownLatch acquiringPermit = new CountDownLatch(1);
+
+        // act
+        final CompletableFuture<?> acquireFuture = CompletableFuture.runAsync(() -> {
+            acquiringPermit.countDown();
+            acquireUninterruptibly(secondMember);
+        });
+        assertThat(acquiringPermit.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        // assert
+        assertThat(acquireFuture).isNotDone();
+        firstMember.release();
+        acquireFuture.get(5, TimeUnit.SECONDS);
+        assertThat(pool.getAvailableSharedConcurrency()).isZero();
+    }
+
+    @Test
+    void deregisteringMemberReleasesItsGuaranteedConcurrency() {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(5);
+        final SharedConcurrencyPool.Member member = pool.register(3);
+
+        // act
+        member.deregister();
+
+        // assert
+        assertThat(pool.getAvailableSharedConcurrency()).isEqualTo(5);
+    }
+
+    @Test
+    void permitsInUseWhenDeregisteringAreReturnedToThePoolWhenReleased() throws Exception {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(5);
+        final SharedConcurrencyPool.Member member = pool.register(3);
+        member.acquire();
+        member.acquire();
+
+        // act
+        member.deregister();
+        assertThat(pool.getAvailableSharedConcurrency()).isEqualTo(3);
+        member.release();
+        member.release();
+
+        // assert
+        assertThat(pool.getAvailableSharedConcurrency()).isEqualTo(5);
+    }
+
+    @Test
+    void acquiringFromDeregisteredMemberWillThrowException() {
+        // arrange
+        final SharedConcurrencyPool pool = new SharedConcurrencyPool(5);
+        final SharedConcurrencyPool.Member member = pool.register(1);
+        member.deregister();
+
+        // act
+        assertThrows(IllegalStateException.class, member::acquire);
+    }
+
+    private static void acquireUninterruptibly(final SharedConcurrencyPool.Member member) {
+        try {
+            member.acquire();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(interruptedException);
+        }
+    }
+}
@@ -7,9 +7,13 @@ import com.jashmore.sqs.util.ExpectedTestException;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -18,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -178,6 +183,52 @@ class GroupingMessageBrokerTest {
         assertThat(processingMessages).containsExactlyInAnyOrder(firstMessage, secondMessage, thirdMessage);
     }
 
+    @Test
+    void messagesForManyGroupsAreAllProcessedInOrderWithinEachGroup() throws Exception {
+        // arrange
+        final int numberOfGroups = 1000;
+        final int messagesPerGroup = 3;
+        final GroupingMessageBroker broker = new GroupingMessageBroker(
+            ImmutableGroupingMessageBrokerProperties
+                .builder()
+                .from(DEFAULT_PROPERTIES)
+                .concurrencyLevel(8)
+                .maximumNumberOfCachedMessageGroups(100)
+                .build()
+        );
+        final Message[] messages = IntStream
+            .range(0, numberOfGroups * messagesPerGroup)
+            .mapToObj(index -> createMessage("group" + (index % numberOfGroups)))
+            .toArray(Message[]::new);
+        final CountDownLatch messageProcessingLatch = new CountDownLatch(messages.length);
+        final Map<String, List<Message>> processedMessagesByGroup = new ConcurrentHashMap<>();
+
+        // act
+        runBrokerProcessMessageOnThread(
+            broker,
+            buildMessageSupplier(messages),
+            message ->
+                CompletableFuture.runAsync(
+                    () -> {
+                        final String messageGroupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+                        processedMessagesByGroup.computeIfAbsent(messageGroupId, group -> new CopyOnWriteArrayList<>()).add(message);
+                        messageProcessingLatch.countDown();
+                    },
+                    messageProcessorExecutorService
+                ),
+            brokerExecutorService
+        );
+
+        // assert
+        assertThat(messageProcessingLatch.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(processedMessagesByGroup).hasSize(numberOfGroups);
+        processedMessagesByGroup.forEach((group, processedMessages) ->
+            assertThat(processedMessages)
+                .extracting(Message::messageId)
+                .isSortedAccordingTo(Comparator.comparingInt(Integer::parseInt))
+        );
+    }
+
     @Nested
     class PurgeExtraMessagesOnError {
 
@@ -13,12 +13,17 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.broker.MessageBroker;
+import com.jashmore.sqs.container.runtime.ContainerRuntime;
+import com.jashmore.sqs.container.runtime.DedicatedThreadContainerRuntime;
 import com.jashmore.sqs.processor.MessageProcessor;
 import com.jashmore.sqs.resolver.MessageResolver;
 import com.jashmore.sqs.retriever.MessageRetriever;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -35,6 +40,7 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
@@ -88,6 +94,34 @@ class CoreMessageListenerContainerTest {
         assertThat(actualIdentifier).isEqualTo("id");
     }
 
+    @Test
+    void messageRetrieverIsBuiltWithTheMessageAttributesRequiredByTheMessageProcessor() {
+        // arrange
+        final RequiredMessageAttributes requiredMessageAttributes = RequiredMessageAttributes.messageSystemAttributes(
+            MessageSystemAttributeName.MESSAGE_GROUP_ID
+        );
+        when(messageProcessor.getRequiredMessageAttributes()).thenReturn(requiredMessageAttributes);
+        when(messageRetriever.retrieveMessage()).thenReturn(STUB_MESSAGE_BROKER_DONE);
+        final List<RequiredMessageAttributes> retrieverRequiredMessageAttributes = new CopyOnWriteArrayList<>();
+        final CoreMessageListenerContainer container = new CoreMessageListenerContainer(
+            "id",
+            StubMessageBroker::new,
+            processorRequiredMessageAttributes -> {
+                retrieverRequiredMessageAttributes.add(processorRequiredMessageAttributes);
+                return messageRetriever;
+            },
+            () -> messageProcessor,
+            () -> messageResolver,
+            DEFAULT_PROPERTIES
+        );
+
+        // act
+        container.runContainer();
+
+        // assert
+        assertThat(retrieverRequiredMessageAttributes).containsExactly(requiredMessageAttributes);
+    }
+
     @Test
     void forEachAvailableMessageFromRetrieverTheMessageWillBeProcessedViaTheProcessor() {
         // arrange
@@ -249,6 +283,33 @@ class CoreMessageListenerContainerTest {
         assertThat(retrieverThreadName).hasValue("container-id-message-retriever");
     }
 
+    @Test
+    void componentsWillBeRunOnThreadsProvidedByTheContainerRuntime() {
+        // arrange
+        final List<String> requestedThreadNames = new CopyOnWriteArrayList<>();
+        final DedicatedThreadContainerRuntime delegateRuntime = new DedicatedThreadContainerRuntime();
+        final ContainerRuntime containerRuntime = threadName -> {
+            requestedThreadNames.add(threadName);
+            return delegateRuntime.newComponentExecutorService(threadName);
+        };
+        when(messageRetriever.retrieveMessage()).thenReturn(STUB_MESSAGE_BROKER_DONE);
+        final CoreMessageListenerContainer container = buildContainer(
+            "container-id",
+            new StubMessageBroker(),
+            messageResolver,
+            messageProcessor,
+            messageRetriever,
+            DEFAULT_PROPERTIES.toBuilder().containerRuntime(containerRuntime).build()
+        );
+
+        // act
+        container.runContainer();
+
+        // assert
+        assertThat(requestedThreadNames)
+            .containsExactlyInAnyOrder("container-id-message-resolver", "container-id-message-retriever", "container-id-message-broker");
+    }
+
     @Test
     void messageProcessingThreadNamesShouldBeMadeFromIdentifier() {
         // arrange
@@ -279,6 +340,39 @@ class CoreMessageListenerContainerTest {
         assertThat(retrieverThreadName.get()).matches("container-id-message-processing-\\d+");
     }
 
+    @Test
+    void messagesWillBeProcessedOnNamedThreadsWhenVirtualThreadsAreRequested() {
+        // arrange
+        final AtomicReference<String> processingThreadName = new AtomicReference<>();
+        doAnswer(invocation -> {
+                processingThreadName.set(Thread.currentThread().getName());
+                return null;
+            })
+            .when(messageProcessor)
+            .processMessage(any(Message.class), any());
+        when(messageRetriever.retrieveMessage())
+            .thenReturn(CompletableFuture.completedFuture(Message.builder().build()))
+            .thenReturn(STUB_MESSAGE_BROKER_DONE);
+        final StaticCoreMessageListenerContainerProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .shouldProcessMessagesOnVirtualThreads(true)
+            .build();
+        final CoreMessageListenerContainer container = buildContainer(
+            "container-id",
+            new StubMessageBroker(),
+            messageResolver,
+            messageProcessor,
+            messageRetriever,
+            properties
+        );
+
+        // act
+        container.runContainer();
+
+        // assert
+        assertThat(processingThreadName.get()).matches("container-id-message-processing-\\d+");
+    }
+
     @Test
     void anyExtraMessagesLeftoverByAsyncMessageRetrieverWillNotBeProcessedOnShutdownWhenPropertyIsFalse() {
         // arrange
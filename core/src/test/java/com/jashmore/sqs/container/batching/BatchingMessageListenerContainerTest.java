@@ -0,0 +1,110 @@
+package com.jashmore.sqs.container.batching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.documentation.annotations.Nullable;
+import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingMessageListenerContainerTest {
+
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder().queueUrl("url").build();
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private MessageProcessor messageProcessor;
+
+    @Test
+    void fixedConcurrencyLevelWillWaitForAPermitWithoutPollingTheConcurrencyLevel() throws Exception {
+        // arrange
+        final AtomicInteger numberOfTimesConcurrencyLevelObtained = new AtomicInteger();
+        final BatchingMessageListenerContainer container = buildContainer(true, numberOfTimesConcurrencyLevelObtained);
+
+        // act
+        container.start();
+        Thread.sleep(500);
+        container.stop();
+
+        // assert
+        assertThat(numberOfTimesConcurrencyLevelObtained).hasValueLessThan(5);
+    }
+
+    @Test
+    void dynamicConcurrencyLevelWillPollTheConcurrencyLevelWhileWaitingForAPermit() throws Exception {
+        // arrange
+        final AtomicInteger numberOfTimesConcurrencyLevelObtained = new AtomicInteger();
+        final BatchingMessageListenerContainer container = buildContainer(false, numberOfTimesConcurrencyLevelObtained);
+
+        // act
+        container.start();
+        Thread.sleep(500);
+        container.stop();
+
+        // assert
+        assertThat(numberOfTimesConcurrencyLevelObtained).hasValueGreaterThan(10);
+    }
+
+    private BatchingMessageListenerContainer buildContainer(
+        final boolean fixedConcurrencyLevel,
+        final AtomicInteger numberOfTimesConcurrencyLevelObtained
+    ) {
+        when(messageProcessor.getRequiredMessageAttributes()).thenReturn(RequiredMessageAttributes.none());
+        return new BatchingMessageListenerContainer(
+            "identifier",
+            QUEUE_PROPERTIES,
+            sqsAsyncClient,
+            () -> messageProcessor,
+            new BatchingMessageListenerContainerProperties() {
+                @Override
+                public int concurrencyLevel() {
+                    numberOfTimesConcurrencyLevelObtained.incrementAndGet();
+                    return 0;
+                }
+
+                @Override
+                public Duration concurrencyPollingRate() {
+                    return Duration.ofMillis(10);
+                }
+
+                @Override
+                public boolean fixedConcurrencyLevel() {
+                    return fixedConcurrencyLevel;
+                }
+
+                @Nullable
+                @Override
+                public Duration errorBackoffTime() {
+                    return null;
+                }
+
+                @Override
+                public int batchSize() {
+                    return 1;
+                }
+
+                @Override
+                public Duration getBatchingPeriod() {
+                    return Duration.ofMillis(10);
+                }
+
+                @Nullable
+                @Override
+                public Duration messageVisibilityTimeout() {
+                    return null;
+                }
+            }
+        );
+    }
+}
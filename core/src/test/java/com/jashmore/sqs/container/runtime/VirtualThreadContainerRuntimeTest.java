@@ -0,0 +1,51 @@
+package com.jashmore.sqs.container.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadContainerRuntimeTest {
+
+    private final VirtualThreadContainerRuntime containerRuntime = new VirtualThreadContainerRuntime();
+
+    @Test
+    void componentWillBeRunOnThreadWithTheProvidedName() throws Exception {
+        // arrange
+        final ExecutorService executorService = containerRuntime.newComponentExecutorService("my-component");
+
+        // act
+        final Future<String> threadNameFuture = executorService.submit(() -> Thread.currentThread().getName());
+
+        // assert
+        assertThat(threadNameFuture.get(5, TimeUnit.SECONDS)).isEqualTo("my-component");
+        executorService.shutdown();
+    }
+
+    @Test
+    void shuttingDownTheExecutorServiceWillInterruptTheComponent() throws Exception {
+        // arrange
+        final ExecutorService executorService = containerRuntime.newComponentExecutorService("my-component");
+        final CountDownLatch componentStarted = new CountDownLatch(1);
+        final CountDownLatch componentInterrupted = new CountDownLatch(1);
+        executorService.submit(() -> {
+            componentStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException interruptedException) {
+                componentInterrupted.countDown();
+            }
+        });
+        assertThat(componentStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // act
+        executorService.shutdownNow();
+
+        // assert
+        assertThat(componentInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -1,20 +1,25 @@
 package com.jashmore.sqs.decorator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.processor.AsyncLambdaMessageProcessor;
 import com.jashmore.sqs.processor.DecoratingMessageProcessor;
 import com.jashmore.sqs.processor.LambdaMessageProcessor;
 import com.jashmore.sqs.processor.MessageProcessor;
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
 import com.jashmore.sqs.util.collections.CollectionUtils;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -43,7 +48,7 @@ class AutoVisibilityExtenderMessageProcessingDecoratorTest {
 
     @BeforeEach
     void setUp() {
-        changeVisibilityRequests = new ArrayList<>();
+        changeVisibilityRequests = new CopyOnWriteArrayList<>();
     }
 
     @Test
@@ -275,6 +280,243 @@ class AutoVisibilityExtenderMessageProcessingDecoratorTest {
         verifyVisibilityChangedOnce(message);
     }
 
+    @Test
+    void asynchronousMessageThatTakesLongerThanVisibilityTimeoutToProcessWillBeExtended() throws Exception {
+        // arrange
+        changingVisibilityIsSuccessful();
+        final DecoratingMessageProcessor decoratingMessageProcessor = buildProcessor(
+            new AutoVisibilityExtenderMessageProcessingDecoratorProperties() {
+                @Override
+                public Duration visibilityTimeout() {
+                    return Duration.ofSeconds(2);
+                }
+
+                @Override
+                public Duration maxDuration() {
+                    return Duration.ofSeconds(10);
+                }
+
+                @Override
+                public Duration bufferDuration() {
+                    return Duration.ofSeconds(1);
+                }
+            },
+            new AsyncLambdaMessageProcessor(
+                sqsAsyncClient,
+                QUEUE_PROPERTIES,
+                message -> CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(1200, TimeUnit.MILLISECONDS))
+            )
+        );
+
+        // act
+        final Message message = Message.builder().messageId("a").receiptHandle("aHandle").build();
+        decoratingMessageProcessor.processMessage(message, () -> CompletableFuture.completedFuture(null)).get(5, TimeUnit.SECONDS);
+
+        // assert
+        verifyVisibilityChangedOnce(message);
+    }
+
+    @Test
+    void asynchronousMessageThatTakesLongerThanMaximumDurationWillBeCancelled() throws Exception {
+        // arrange
+        final CompletableFuture<?> messageListenerFuture = new CompletableFuture<>();
+        final DecoratingMessageProcessor decoratingMessageProcessor = buildProcessor(
+            new AutoVisibilityExtenderMessageProcessingDecoratorProperties() {
+                @Override
+                public Duration visibilityTimeout() {
+                    return Duration.ofSeconds(99);
+                }
+
+                @Override
+                public Duration maxDuration() {
+                    return Duration.ofSeconds(1);
+                }
+
+                @Override
+                public Duration bufferDuration() {
+                    return Duration.ofSeconds(1);
+                }
+            },
+            new AsyncLambdaMessageProcessor(sqsAsyncClient, QUEUE_PROPERTIES, message -> messageListenerFuture)
+        );
+
+        // act
+        final Message message = Message.builder().messageId("a").receiptHandle("aHandle").build();
+        final CompletableFuture<?> processingFuture = decoratingMessageProcessor.processMessage(
+            message,
+            () -> CompletableFuture.completedFuture(null)
+        );
+
+        // assert
+        assertThrows(ExecutionException.class, () -> processingFuture.get(5, TimeUnit.SECONDS));
+        assertThat(messageListenerFuture).isCancelled();
+        verifyVisibilityNeverChanged(message);
+    }
+
+    @Test
+    void messageProcessingIsCancelledOffTheSchedulerThread() throws Exception {
+        // arrange
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+            new Thread(runnable, "visibility-scheduler")
+        );
+        final AutoVisibilityExtenderMessageProcessingDecorator decorator = new AutoVisibilityExtenderMessageProcessingDecorator(
+            new AutoVisibilityExtenderMessageProcessingDecoratorProperties() {
+                @Override
+                public Duration visibilityTimeout() {
+                    return Duration.ofSeconds(99);
+                }
+
+                @Override
+                public Duration maxDuration() {
+                    return Duration.ofSeconds(1);
+                }
+
+                @Override
+                public Duration bufferDuration() {
+                    return Duration.ofSeconds(1);
+                }
+            },
+            new BatchingMessageVisibilityChanger(sqsAsyncClient, QUEUE_PROPERTIES, Duration.ofMillis(100)),
+            scheduler
+        );
+        final CompletableFuture<?> messageListenerFuture = new CompletableFuture<>();
+        final CompletableFuture<String> cancellingThreadName = messageListenerFuture.handle((ignored, throwable) ->
+            Thread.currentThread().getName()
+        );
+        final DecoratingMessageProcessor decoratingMessageProcessor = new DecoratingMessageProcessor(
+            "identifier",
+            QUEUE_PROPERTIES,
+            Collections.singletonList(decorator),
+            new AsyncLambdaMessageProcessor(sqsAsyncClient, QUEUE_PROPERTIES, message -> messageListenerFuture)
+        );
+
+        try {
+            // act
+            final Message message = Message.builder().messageId("a").receiptHandle("aHandle").build();
+            decoratingMessageProcessor.processMessage(message, () -> CompletableFuture.completedFuture(null));
+
+            // assert
+            assertThat(cancellingThreadName.get(5, TimeUnit.SECONDS)).isNotEqualTo("visibility-scheduler");
+            assertThat(messageListenerFuture).isCancelled();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void messagesThatNeedToBeExtendedAtTheSameTimeWillBeExtendedInTheSameBatch() throws Exception {
+        // arrange
+        changingVisibilityIsSuccessful();
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final AutoVisibilityExtenderMessageProcessingDecorator decorator = new AutoVisibilityExtenderMessageProcessingDecorator(
+            new AutoVisibilityExtenderMessageProcessingDecoratorProperties() {
+                @Override
+                public Duration visibilityTimeout() {
+                    return Duration.ofSeconds(2);
+                }
+
+                @Override
+                public Duration maxDuration() {
+                    return Duration.ofSeconds(10);
+                }
+
+                @Override
+                public Duration bufferDuration() {
+                    return Duration.ofSeconds(1);
+                }
+            },
+            new BatchingMessageVisibilityChanger(sqsAsyncClient, QUEUE_PROPERTIES, Duration.ofMillis(500)),
+            scheduler
+        );
+        final DecoratingMessageProcessor decoratingMessageProcessor = new DecoratingMessageProcessor(
+            "identifier",
+            QUEUE_PROPERTIES,
+            Collections.singletonList(decorator),
+            new LambdaMessageProcessor(
+                sqsAsyncClient,
+                QUEUE_PROPERTIES,
+                message -> {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(1).plusMillis(700).toMillis());
+                    } catch (InterruptedException interruptedException) {
+                        throw new RuntimeException("Unexpected interruption");
+                    }
+                }
+            )
+        );
+
+        try {
+            // act
+            final Message firstMessage = Message.builder().messageId("a").receiptHandle("aHandle").build();
+            final Message secondMessage = Message.builder().messageId("b").receiptHandle("bHandle").build();
+            final CompletableFuture<?> firstMessageProcessed = CompletableFuture.runAsync(() ->
+                decoratingMessageProcessor.processMessage(firstMessage, () -> CompletableFuture.completedFuture(null)).join()
+            );
+            final CompletableFuture<?> secondMessageProcessed = CompletableFuture.runAsync(() ->
+                decoratingMessageProcessor.processMessage(secondMessage, () -> CompletableFuture.completedFuture(null)).join()
+            );
+            CompletableFuture.allOf(firstMessageProcessed, secondMessageProcessed).get(5, TimeUnit.SECONDS);
+
+            // assert
+            verifyVisibilityChangedOnce(firstMessage);
+            verifyVisibilityChangedOnce(secondMessage);
+            assertThat(changeVisibilityRequests).hasSize(1);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void messagesThatNeedToBeExtendedAtTheSameTimeWillBeBatchedByDefault() throws Exception {
+        // arrange
+        changingVisibilityIsSuccessful();
+        final DecoratingMessageProcessor decoratingMessageProcessor = buildProcessor(
+            new AutoVisibilityExtenderMessageProcessingDecoratorProperties() {
+                @Override
+                public Duration visibilityTimeout() {
+                    return Duration.ofSeconds(2);
+                }
+
+                @Override
+                public Duration maxDuration() {
+                    return Duration.ofSeconds(10);
+                }
+
+                @Override
+                public Duration bufferDuration() {
+                    return Duration.ofSeconds(1);
+                }
+            },
+            new LambdaMessageProcessor(
+                sqsAsyncClient,
+                QUEUE_PROPERTIES,
+                message -> {
+                    try {
+                        Thread.sleep(Duration.ofSeconds(1).plusMillis(500).toMillis());
+                    } catch (InterruptedException interruptedException) {
+                        throw new RuntimeException("Unexpected interruption");
+                    }
+                }
+            )
+        );
+        final Message firstMessage = Message.builder().messageId("a").receiptHandle("aHandle").build();
+        final Message secondMessage = Message.builder().messageId("b").receiptHandle("bHandle").build();
+
+        // act
+        final CompletableFuture<?> firstMessageProcessed = CompletableFuture.runAsync(() ->
+            decoratingMessageProcessor.processMessage(firstMessage, () -> CompletableFuture.completedFuture(null)).join()
+        );
+        final CompletableFuture<?> secondMessageProcessed = CompletableFuture.runAsync(() ->
+            decoratingMessageProcessor.processMessage(secondMessage, () -> CompletableFuture.completedFuture(null)).join()
+        );
+        CompletableFuture.allOf(firstMessageProcessed, secondMessageProcessed).get(5, TimeUnit.SECONDS);
+
+        // assert
+        verifyVisibilityChangedOnce(firstMessage);
+        verifyVisibilityChangedOnce(secondMessage);
+        assertThat(changeVisibilityRequests).hasSize(1);
+    }
+
     private DecoratingMessageProcessor buildProcessor(
         final AutoVisibilityExtenderMessageProcessingDecoratorProperties properties,
         final MessageProcessor delegate
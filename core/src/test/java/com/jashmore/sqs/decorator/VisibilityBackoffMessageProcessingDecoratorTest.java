@@ -0,0 +1,96 @@
+package com.jashmore.sqs.decorator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.resolver.visibility.BatchingMessageVisibilityChanger;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
+import com.jashmore.sqs.util.ExpectedTestException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+@ExtendWith(MockitoExtension.class)
+class VisibilityBackoffMessageProcessingDecoratorTest {
+
+    private static final VisibilityBackoffMessageProcessingDecoratorProperties PROPERTIES =
+        new VisibilityBackoffMessageProcessingDecoratorProperties() {
+            @Override
+            public Duration initialVisibilityTimeout() {
+                return Duration.ofSeconds(2);
+            }
+
+            @Override
+            public Duration maximumVisibilityTimeout() {
+                return Duration.ofSeconds(60);
+            }
+        };
+
+    @Mock
+    private BatchingMessageVisibilityChanger visibilityChanger;
+
+    private VisibilityBackoffMessageProcessingDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        decorator = new VisibilityBackoffMessageProcessingDecorator(PROPERTIES, visibilityChanger);
+    }
+
+    @Test
+    void onlyTheApproximateReceiveCountAttributeIsRequired() {
+        assertThat(decorator.getRequiredMessageAttributes())
+            .isEqualTo(RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT));
+    }
+
+    @Test
+    void firstFailureUsesTheInitialVisibilityTimeout() {
+        assertThat(decorator.backoffVisibilityTimeout(messageWithReceiveCount("1"))).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void visibilityTimeoutIsDoubledForEachReceive() {
+        assertThat(decorator.backoffVisibilityTimeout(messageWithReceiveCount("4"))).isEqualTo(Duration.ofSeconds(16));
+    }
+
+    @Test
+    void visibilityTimeoutIsLimitedToTheMaximum() {
+        assertThat(decorator.backoffVisibilityTimeout(messageWithReceiveCount("1000"))).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    void missingReceiveCountIsTreatedAsTheFirstReceive() {
+        assertThat(decorator.backoffVisibilityTimeout(Message.builder().build())).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void failedMessageWillHaveItsVisibilityChangedWithJitter() {
+        // arrange
+        final Message message = messageWithReceiveCount("3");
+        when(visibilityChanger.changeMessageVisibility(eq(message), any()))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+
+        // act
+        decorator.onMessageProcessingFailure(mock(MessageProcessingContext.class), message, new ExpectedTestException());
+
+        // assert
+        final ArgumentCaptor<Duration> visibilityTimeoutCaptor = ArgumentCaptor.forClass(Duration.class);
+        verify(visibilityChanger).changeMessageVisibility(eq(message), visibilityTimeoutCaptor.capture());
+        assertThat(visibilityTimeoutCaptor.getValue()).isBetween(Duration.ofSeconds(4), Duration.ofSeconds(8));
+    }
+
+    private static Message messageWithReceiveCount(final String receiveCount) {
+        return Message.builder().attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, receiveCount)).build();
+    }
+}
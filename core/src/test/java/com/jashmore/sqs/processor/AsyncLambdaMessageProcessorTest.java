@@ -3,6 +3,7 @@ package com.jashmore.sqs.processor;
 import static com.jashmore.sqs.processor.argument.VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -10,14 +11,19 @@ import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.util.ExpectedTestException;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +38,9 @@ class AsyncLambdaMessageProcessorTest {
     @Mock
     private Supplier<CompletableFuture<?>> resolveMessage;
 
+    @Captor
+    private ArgumentCaptor<Consumer<ChangeMessageVisibilityBatchRequest.Builder>> changeVisibilityCaptor;
+
     @Nested
     class OnlyConsumeMessage {
 
@@ -110,6 +119,8 @@ class AsyncLambdaMessageProcessorTest {
         void visibilityExtenderCanBeUsedToExtendMessageVisibility() {
             // arrange
             when(resolveMessage.get()).thenReturn(CompletableFuture.completedFuture(null));
+            when(sqsAsyncClient.changeMessageVisibilityBatch(ArgumentMatchers.<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>any()))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
             final AsyncLambdaMessageProcessor processor = new AsyncLambdaMessageProcessor(
                 sqsAsyncClient,
                 queueProperties,
@@ -125,15 +136,14 @@ class AsyncLambdaMessageProcessorTest {
 
             // assert
             assertThat(result).isCompleted();
-            verify(sqsAsyncClient)
-                .changeMessageVisibility(
-                    ChangeMessageVisibilityRequest
-                        .builder()
-                        .visibilityTimeout(DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS)
-                        .queueUrl("url")
-                        .receiptHandle("handle")
-                        .build()
-                );
+            verify(sqsAsyncClient, timeout(5_000)).changeMessageVisibilityBatch(changeVisibilityCaptor.capture());
+            final ChangeMessageVisibilityBatchRequest.Builder requestBuilder = ChangeMessageVisibilityBatchRequest.builder();
+            changeVisibilityCaptor.getValue().accept(requestBuilder);
+            final ChangeMessageVisibilityBatchRequest request = requestBuilder.build();
+            assertThat(request.queueUrl()).isEqualTo("url");
+            assertThat(request.entries()).hasSize(1);
+            assertThat(request.entries().get(0).receiptHandle()).isEqualTo("handle");
+            assertThat(request.entries().get(0).visibilityTimeout()).isEqualTo(DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS);
         }
     }
 
@@ -12,15 +12,21 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.QueueProperties;
+import com.jashmore.sqs.argument.ArgumentResolutionScope;
 import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.argument.BindableArgumentResolver;
+import com.jashmore.sqs.argument.BoundArgumentResolver;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.argument.UnsupportedArgumentResolutionException;
 import com.jashmore.sqs.processor.argument.Acknowledge;
 import com.jashmore.sqs.processor.argument.VisibilityExtender;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.ExpectedTestException;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +40,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 @ExtendWith(MockitoExtension.class)
 class CoreMessageProcessorTest {
@@ -52,6 +59,9 @@ class CoreMessageProcessorTest {
     @Mock
     private ArgumentResolver<String> mockArgumentResolver;
 
+    @Mock
+    private BindableArgumentResolver<String> mockBindableArgumentResolver;
+
     @Mock
     private Supplier<CompletableFuture<?>> mockMessageResolver;
 
@@ -116,6 +126,117 @@ class CoreMessageProcessorTest {
             verify(mockMessageListener).methodWithArguments("payload", "payload2");
         }
 
+        @Test
+        void bindableArgumentResolversAreOnlyBoundOnceForEachParameter() {
+            // arrange
+            final Method method = SynchronousMessageListenerScenarios.getMethod("methodWithArguments", String.class, String.class);
+            final SynchronousMessageListenerScenarios mockMessageListener = mock(SynchronousMessageListenerScenarios.class);
+            doReturn(mockBindableArgumentResolver).when(argumentResolverService).getArgumentResolver(any(MethodParameter.class));
+            when(mockBindableArgumentResolver.bindToParameter(eq(QUEUE_PROPERTIES), any(MethodParameter.class)))
+                .thenReturn(Message::body)
+                .thenReturn(Message::messageId);
+            final MessageProcessor processor = new CoreMessageProcessor(
+                argumentResolverService,
+                QUEUE_PROPERTIES,
+                sqsAsyncClient,
+                method,
+                mockMessageListener
+            );
+
+            // act
+            processor.processMessage(Message.builder().body("first").messageId("id1").build(), NO_OP);
+            processor.processMessage(Message.builder().body("second").messageId("id2").build(), NO_OP);
+
+            // assert
+            verify(mockBindableArgumentResolver, times(2)).bindToParameter(eq(QUEUE_PROPERTIES), any(MethodParameter.class));
+            verify(mockBindableArgumentResolver, never()).resolveArgumentForParameter(any(), any(), any());
+            verify(mockMessageListener).methodWithArguments("first", "id1");
+            verify(mockMessageListener).methodWithArguments("second", "id2");
+        }
+
+        @Test
+        void boundArgumentResolversShareTheSameResolutionScopeForEachMessage() {
+            // arrange
+            final Method method = SynchronousMessageListenerScenarios.getMethod("methodWithArguments", String.class, String.class);
+            final List<ArgumentResolutionScope> scopes = new ArrayList<>();
+            final BoundArgumentResolver<String> scopeRecordingResolver = new BoundArgumentResolver<>() {
+                @Override
+                public String resolveArgument(final Message message) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String resolveArgument(final Message message, final ArgumentResolutionScope scope) {
+                    scopes.add(scope);
+                    return message.body();
+                }
+            };
+            doReturn(mockBindableArgumentResolver).when(argumentResolverService).getArgumentResolver(any(MethodParameter.class));
+            when(mockBindableArgumentResolver.bindToParameter(eq(QUEUE_PROPERTIES), any(MethodParameter.class)))
+                .thenReturn(scopeRecordingResolver);
+            final MessageProcessor processor = new CoreMessageProcessor(
+                argumentResolverService,
+                QUEUE_PROPERTIES,
+                sqsAsyncClient,
+                method,
+                syncMessageListener
+            );
+
+            // act
+            processor.processMessage(Message.builder().body("first").build(), NO_OP);
+            processor.processMessage(Message.builder().body("second").build(), NO_OP);
+
+            // assert
+            assertThat(scopes).hasSize(4);
+            assertThat(scopes.get(1)).isSameAs(scopes.get(0));
+            assertThat(scopes.get(3)).isSameAs(scopes.get(2)).isNotSameAs(scopes.get(0));
+        }
+
+        @Test
+        void requiredMessageAttributesAreCombinedFromAllOfTheArgumentResolvers() {
+            // arrange
+            final Method method = SynchronousMessageListenerScenarios.getMethod("methodWithArguments", String.class, String.class);
+            doReturn(mockArgumentResolver).when(argumentResolverService).getArgumentResolver(any(MethodParameter.class));
+            when(mockArgumentResolver.getRequiredMessageAttributes(any(MethodParameter.class)))
+                .thenReturn(RequiredMessageAttributes.messageAttributes("key"))
+                .thenReturn(RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.SENDER_ID));
+            final MessageProcessor processor = new CoreMessageProcessor(
+                argumentResolverService,
+                QUEUE_PROPERTIES,
+                sqsAsyncClient,
+                method,
+                syncMessageListener
+            );
+
+            // act
+            final RequiredMessageAttributes requiredMessageAttributes = processor.getRequiredMessageAttributes();
+
+            // assert
+            assertThat(requiredMessageAttributes.getMessageAttributeNames()).containsExactly("key");
+            assertThat(requiredMessageAttributes.getMessageSystemAttributeNames()).containsExactly(MessageSystemAttributeName.SENDER_ID);
+            assertThat(requiredMessageAttributes.isAllMessageAttributesRequired()).isFalse();
+            assertThat(requiredMessageAttributes.isAllMessageSystemAttributesRequired()).isFalse();
+        }
+
+        @Test
+        void noMessageAttributesAreRequiredWhenOnlyAcknowledgeParameterIsUsed() {
+            // arrange
+            final Method method = SynchronousMessageListenerScenarios.getMethod("methodWithAcknowledge", Acknowledge.class);
+            final MessageProcessor processor = new CoreMessageProcessor(
+                argumentResolverService,
+                QUEUE_PROPERTIES,
+                sqsAsyncClient,
+                method,
+                syncMessageListener
+            );
+
+            // act
+            final RequiredMessageAttributes requiredMessageAttributes = processor.getRequiredMessageAttributes();
+
+            // assert
+            assertThat(requiredMessageAttributes).isEqualTo(RequiredMessageAttributes.none());
+        }
+
         @Test
         void methodWithVisibilityExtenderWillBeCorrectlyResolved() {
             // arrange
@@ -21,6 +21,7 @@ import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
+import com.jashmore.sqs.decorator.MessageProcessingAttribute;
 import com.jashmore.sqs.decorator.MessageProcessingContext;
 import com.jashmore.sqs.decorator.MessageProcessingDecorator;
 import com.jashmore.sqs.util.ExpectedTestException;
@@ -33,6 +34,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import lombok.SneakyThrows;
@@ -433,6 +435,81 @@ class DecoratingMessageProcessorTest {
             }
         }
 
+        @Nested
+        class OnMessageProcessingFuture {
+
+            @Test
+            void isCalledWithTheFutureBeforeTheMessageListenerHasCompleted() {
+                // when
+                final CompletableFuture<?> methodFuture = new CompletableFuture<>();
+                final MessageProcessor delegate = new AsyncLambdaMessageProcessor(
+                    sqsAsyncClient,
+                    QUEUE_PROPERTIES,
+                    message -> methodFuture
+                );
+                final AtomicReference<CompletableFuture<?>> processingFutureReference = new AtomicReference<>();
+                final MessageProcessingDecorator decorator = new MessageProcessingDecorator() {
+                    @Override
+                    public void onMessageProcessingFuture(
+                        final MessageProcessingContext context,
+                        final Message message,
+                        final CompletableFuture<?> processingFuture
+                    ) {
+                        processingFutureReference.set(processingFuture);
+                    }
+                };
+                final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                    "identifier",
+                    QUEUE_PROPERTIES,
+                    singletonList(decorator),
+                    delegate
+                );
+
+                // act
+                processor.processMessage(message, mockMessageResolver);
+
+                // assert
+                assertThat(processingFutureReference.get()).isNotNull();
+                assertThat(processingFutureReference.get()).isNotDone();
+            }
+
+            @Test
+            void cancellingTheFutureWillFailTheProcessingAndCancelTheMessageListenerFuture() {
+                // when
+                final CompletableFuture<?> methodFuture = new CompletableFuture<>();
+                final MessageProcessor delegate = new AsyncLambdaMessageProcessor(
+                    sqsAsyncClient,
+                    QUEUE_PROPERTIES,
+                    message -> methodFuture
+                );
+                final MessageProcessingDecorator cancellingDecorator = new MessageProcessingDecorator() {
+                    @Override
+                    public void onMessageProcessingFuture(
+                        final MessageProcessingContext context,
+                        final Message message,
+                        final CompletableFuture<?> processingFuture
+                    ) {
+                        processingFuture.cancel(true);
+                    }
+                };
+                final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                    "identifier",
+                    QUEUE_PROPERTIES,
+                    Arrays.asList(cancellingDecorator, decorator),
+                    delegate
+                );
+
+                // act
+                final CompletableFuture<?> future = processor.processMessage(message, mockMessageResolver);
+
+                // assert
+                assertThat(future).isCompletedExceptionally();
+                assertThat(methodFuture).isCancelled();
+                verify(decorator).onMessageProcessingFailure(eq(emptyContext), eq(message), any());
+                verify(mockMessageResolver, never()).get();
+            }
+        }
+
         @Nested
         class OnMessageProcessingThreadComplete {
 
@@ -1901,6 +1978,138 @@ class DecoratingMessageProcessorTest {
         }
     }
 
+    @Nested
+    class DecoratorMethodDispatch {
+
+        @Test
+        void resolveCallbackIsNotWrappedWhenNoDecoratorsImplementTheResolveMethods() {
+            // when
+            final MessageProcessor delegate = mock(MessageProcessor.class);
+            final CompletableFuture<?> processingFuture = new CompletableFuture<>();
+            doReturn(processingFuture).when(delegate).processMessage(message, mockMessageResolver);
+            final MessageProcessingDecorator preProcessingDecorator = new MessageProcessingDecorator() {
+                @Override
+                public void onPreMessageProcessing(final MessageProcessingContext context, final Message message) {}
+            };
+            final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                "identifier",
+                QUEUE_PROPERTIES,
+                singletonList(preProcessingDecorator),
+                delegate
+            );
+
+            // act
+            final CompletableFuture<?> future = processor.processMessage(message, mockMessageResolver);
+
+            // assert
+            verify(delegate).processMessage(message, mockMessageResolver);
+            assertThat(future).isSameAs(processingFuture);
+        }
+
+        @Test
+        void decoratorIsOnlyCalledForTheMethodsThatItImplements() {
+            // when
+            final MessageProcessor delegate = mock(MessageProcessor.class);
+            doAnswer(invocation -> {
+                    final Supplier<CompletableFuture<?>> resolveCallback = invocation.getArgument(1);
+                    return resolveCallback.get();
+                })
+                .when(delegate)
+                .processMessage(eq(message), any());
+            when(mockMessageResolver.get()).thenReturn(CompletableFuture.completedFuture(null));
+            final AtomicInteger numberOfCalls = new AtomicInteger();
+            final MessageProcessingDecorator resolvedSuccessDecorator = new MessageProcessingDecorator() {
+                @Override
+                public void onMessageResolvedSuccess(final MessageProcessingContext context, final Message message) {
+                    numberOfCalls.incrementAndGet();
+                }
+            };
+            final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                "identifier",
+                QUEUE_PROPERTIES,
+                Arrays.asList(resolvedSuccessDecorator, decorator),
+                delegate
+            );
+
+            // act
+            processor.processMessage(message, mockMessageResolver);
+
+            // assert
+            assertThat(numberOfCalls).hasValue(1);
+            verify(decorator).onMessageResolve(emptyContext, message);
+            verify(decorator).onMessageResolvedSuccess(emptyContext, message);
+        }
+
+        @Test
+        void typedAttributesCanBeSharedBetweenDecoratorMethods() {
+            // when
+            final MessageProcessingAttribute<String> attribute = new MessageProcessingAttribute<>("attribute");
+            final MessageProcessor delegate = mock(MessageProcessor.class);
+            doReturn(CompletableFuture.completedFuture(null)).when(delegate).processMessage(eq(message), any());
+            final AtomicReference<String> attributeValue = new AtomicReference<>();
+            final MessageProcessingDecorator attributeDecorator = new MessageProcessingDecorator() {
+                @Override
+                public void onPreMessageProcessing(final MessageProcessingContext context, final Message message) {
+                    context.setAttribute(attribute, "value");
+                }
+
+                @Override
+                public void onMessageProcessingSuccess(
+                    final MessageProcessingContext context,
+                    final Message message,
+                    @Nullable final Object object
+                ) {
+                    attributeValue.set(context.getAttribute(attribute));
+                }
+            };
+            final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                "identifier",
+                QUEUE_PROPERTIES,
+                singletonList(attributeDecorator),
+                delegate
+            );
+
+            // act
+            processor.processMessage(message, mockMessageResolver);
+
+            // assert
+            assertThat(attributeValue).hasValue("value");
+        }
+
+        @Test
+        void typedAttributesCreatedAfterTheContextWasBuiltCanStillBeSet() {
+            // when
+            final MessageProcessingAttribute<String> attribute = new MessageProcessingAttribute<>("attribute");
+            final MessageProcessor delegate = mock(MessageProcessor.class);
+            doReturn(CompletableFuture.completedFuture(null)).when(delegate).processMessage(eq(message), any());
+            final AtomicReference<String> attributeValue = new AtomicReference<>();
+            final AtomicReference<String> laterAttributeValue = new AtomicReference<>();
+            final MessageProcessingDecorator attributeDecorator = new MessageProcessingDecorator() {
+                @Override
+                public void onPreMessageProcessing(final MessageProcessingContext context, final Message message) {
+                    context.setAttribute(attribute, "value");
+                    final MessageProcessingAttribute<String> laterAttribute = new MessageProcessingAttribute<>("later-attribute");
+                    context.setAttribute(laterAttribute, "later-value");
+                    attributeValue.set(context.getAttribute(attribute));
+                    laterAttributeValue.set(context.getAttribute(laterAttribute));
+                }
+            };
+            final DecoratingMessageProcessor processor = new DecoratingMessageProcessor(
+                "identifier",
+                QUEUE_PROPERTIES,
+                singletonList(attributeDecorator),
+                delegate
+            );
+
+            // act
+            processor.processMessage(message, mockMessageResolver);
+
+            // assert
+            assertThat(attributeValue).hasValue("value");
+            assertThat(laterAttributeValue).hasValue("later-value");
+        }
+    }
+
     private CoreMessageProcessor createCoreProcessor(final Object bean, final Method method) {
         return new CoreMessageProcessor(argumentResolverService, QUEUE_PROPERTIES, sqsAsyncClient, method, bean);
     }
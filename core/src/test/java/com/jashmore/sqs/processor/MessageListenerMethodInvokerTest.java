@@ -0,0 +1,102 @@
+package com.jashmore.sqs.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.jashmore.sqs.util.ExpectedTestException;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.Test;
+
+class MessageListenerMethodInvokerTest {
+
+    @Test
+    void argumentsArePassedToTheMethodOnTheBean() throws Throwable {
+        // arrange
+        final Listener listener = new Listener();
+        final Method method = getMethod("concatenate", String.class, int.class);
+        final MessageListenerMethodInvoker invoker = MessageListenerMethodInvoker.bind(method, listener);
+
+        // act
+        final Object result = invoker.invoke(new Object[] { "value", 2 });
+
+        // assert
+        assertThat(result).isEqualTo("value2");
+    }
+
+    @Test
+    void voidMethodWillReturnNull() throws Throwable {
+        // arrange
+        final Listener listener = new Listener();
+        final Method method = getMethod("voidMethod");
+        final MessageListenerMethodInvoker invoker = MessageListenerMethodInvoker.bind(method, listener);
+
+        // act
+        final Object result = invoker.invoke(new Object[0]);
+
+        // assert
+        assertThat(result).isNull();
+        assertThat(listener.numberOfVoidMethodCalls).isEqualTo(1);
+    }
+
+    @Test
+    void staticMethodCanBeInvoked() throws Throwable {
+        // arrange
+        final Method method = getMethod("staticMethod", String.class);
+        final MessageListenerMethodInvoker invoker = MessageListenerMethodInvoker.bind(method, new Listener());
+
+        // act
+        final Object result = invoker.invoke(new Object[] { "value" });
+
+        // assert
+        assertThat(result).isEqualTo("static value");
+    }
+
+    @Test
+    void exceptionThrownByTheMethodIsNotWrapped() {
+        // arrange
+        final Method method = getMethod("methodThatThrowsException");
+        final MessageListenerMethodInvoker invoker = MessageListenerMethodInvoker.bind(method, new Listener());
+
+        // act
+        assertThrows(ExpectedTestException.class, () -> invoker.invoke(new Object[0]));
+    }
+
+    @Test
+    void inaccessibleMethodWillThrowIllegalAccessExceptionWhenInvoked() {
+        // arrange
+        final Method method = SynchronousMessageListenerScenarios.getMethod("privateMethod");
+        final MessageListenerMethodInvoker invoker = MessageListenerMethodInvoker.bind(method, new SynchronousMessageListenerScenarios());
+
+        // act
+        assertThrows(IllegalAccessException.class, () -> invoker.invoke(new Object[0]));
+    }
+
+    private static Method getMethod(final String name, final Class<?>... parameterTypes) {
+        try {
+            return Listener.class.getMethod(name, parameterTypes);
+        } catch (final NoSuchMethodException noSuchMethodException) {
+            throw new RuntimeException(noSuchMethodException);
+        }
+    }
+
+    public static class Listener {
+
+        int numberOfVoidMethodCalls = 0;
+
+        public String concatenate(final String value, final int number) {
+            return value + number;
+        }
+
+        public void voidMethod() {
+            numberOfVoidMethodCalls++;
+        }
+
+        public static String staticMethod(final String value) {
+            return "static " + value;
+        }
+
+        public void methodThatThrowsException() {
+            throw new ExpectedTestException();
+        }
+    }
+}
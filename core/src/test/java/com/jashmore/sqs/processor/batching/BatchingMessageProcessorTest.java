@@ -0,0 +1,267 @@
+package com.jashmore.sqs.processor.batching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.processor.MessageProcessingException;
+import com.jashmore.sqs.util.ExpectedTestException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+class BatchingMessageProcessorTest {
+
+    private static final StaticBatchingMessageProcessorProperties DEFAULT_PROPERTIES = StaticBatchingMessageProcessorProperties
+        .builder()
+        .batchSize(2)
+        .batchingPeriod(Duration.ofMinutes(1))
+        .build();
+
+    private final Message firstMessage = Message.builder().messageId("first").build();
+    private final Message secondMessage = Message.builder().messageId("second").build();
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void batchWillNotBeProcessedUntilTheBatchSizeIsReached() throws Exception {
+        // arrange
+        final List<List<Message>> processedBatches = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES,
+            messages -> {
+                processedBatches.add(messages);
+                return BatchProcessingResult.successful();
+            }
+        );
+
+        // act
+        final CompletableFuture<?> result = processMessageOnNewThread(processor, firstMessage, mockResolveMessage());
+        Thread.sleep(100);
+
+        // assert
+        assertThat(result).isNotDone();
+        assertThat(processedBatches).isEmpty();
+    }
+
+    @Test
+    void batchIsProcessedWhenTheBatchSizeIsReached() throws Exception {
+        // arrange
+        final List<List<Message>> processedBatches = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES,
+            messages -> {
+                processedBatches.add(messages);
+                return BatchProcessingResult.successful();
+            }
+        );
+        final Supplier<CompletableFuture<?>> firstResolveMessage = mockResolveMessage();
+        final Supplier<CompletableFuture<?>> secondResolveMessage = mockResolveMessage();
+
+        // act
+        final CompletableFuture<?> firstResult = processMessageOnNewThread(processor, firstMessage, firstResolveMessage);
+        final CompletableFuture<?> secondResult = processMessageOnNewThread(processor, secondMessage, secondResolveMessage);
+        firstResult.get(5, TimeUnit.SECONDS);
+        secondResult.get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(processedBatches).hasSize(1);
+        assertThat(processedBatches.get(0)).containsExactlyInAnyOrder(firstMessage, secondMessage);
+        verify(firstResolveMessage).get();
+        verify(secondResolveMessage).get();
+    }
+
+    @Test
+    void batchIsProcessedWhenTheBatchingPeriodHasElapsed() throws Exception {
+        // arrange
+        final List<List<Message>> processedBatches = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES.toBuilder().batchSize(10).batchingPeriod(Duration.ofMillis(100)).build(),
+            messages -> {
+                processedBatches.add(messages);
+                return BatchProcessingResult.successful();
+            }
+        );
+
+        // act
+        final CompletableFuture<?> result = processor.processMessage(firstMessage, mockResolveMessage());
+        result.get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(processedBatches).containsExactly(List.of(firstMessage));
+    }
+
+    @Test
+    void failedMessagesInTheResultWillNotBeResolved() throws Exception {
+        // arrange
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES,
+            messages -> BatchProcessingResult.failed("first")
+        );
+        final Supplier<CompletableFuture<?>> firstResolveMessage = mockResolveMessage();
+        final Supplier<CompletableFuture<?>> secondResolveMessage = mockResolveMessage();
+
+        // act
+        final CompletableFuture<?> firstResult = processMessageOnNewThread(processor, firstMessage, firstResolveMessage);
+        final CompletableFuture<?> secondResult = processMessageOnNewThread(processor, secondMessage, secondResolveMessage);
+        secondResult.get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(getException(firstResult)).isInstanceOf(MessageProcessingException.class);
+        verify(firstResolveMessage, never()).get();
+        verify(secondResolveMessage).get();
+    }
+
+    @Test
+    void exceptionThrownProcessingBatchWillFailAllMessages() throws Exception {
+        // arrange
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES,
+            messages -> {
+                throw new ExpectedTestException();
+            }
+        );
+        final Supplier<CompletableFuture<?>> firstResolveMessage = mockResolveMessage();
+        final Supplier<CompletableFuture<?>> secondResolveMessage = mockResolveMessage();
+
+        // act
+        final CompletableFuture<?> firstResult = processMessageOnNewThread(processor, firstMessage, firstResolveMessage);
+        final CompletableFuture<?> secondResult = processMessageOnNewThread(processor, secondMessage, secondResolveMessage);
+
+        // assert
+        assertThat(getException(firstResult)).isInstanceOf(MessageProcessingException.class);
+        assertThat(getException(secondResult)).isInstanceOf(MessageProcessingException.class);
+        verify(firstResolveMessage, never()).get();
+        verify(secondResolveMessage, never()).get();
+    }
+
+    @Test
+    void errorThrownProcessingBatchWillFailAllMessages() throws Exception {
+        // arrange
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES,
+            messages -> {
+                throw new AssertionError("Expected error");
+            }
+        );
+        final Supplier<CompletableFuture<?>> firstResolveMessage = mockResolveMessage();
+        final Supplier<CompletableFuture<?>> secondResolveMessage = mockResolveMessage();
+
+        // act
+        final CompletableFuture<?> firstResult = processMessageOnNewThread(processor, firstMessage, firstResolveMessage);
+        final CompletableFuture<?> secondResult = processMessageOnNewThread(processor, secondMessage, secondResolveMessage);
+
+        // assert
+        assertThat(getException(firstResult)).isInstanceOf(MessageProcessingException.class).hasCauseInstanceOf(AssertionError.class);
+        assertThat(getException(secondResult)).isInstanceOf(MessageProcessingException.class).hasCauseInstanceOf(AssertionError.class);
+        verify(firstResolveMessage, never()).get();
+        verify(secondResolveMessage, never()).get();
+    }
+
+    @Test
+    void batchIsProcessedOnTheThreadThatStartedTheBatch() throws Exception {
+        // arrange
+        final List<Thread> processingThreads = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES.toBuilder().batchSize(10).batchingPeriod(Duration.ofMillis(100)).build(),
+            messages -> {
+                processingThreads.add(Thread.currentThread());
+                return BatchProcessingResult.successful();
+            }
+        );
+
+        // act
+        processor.processMessage(firstMessage, mockResolveMessage()).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(processingThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void interruptingTheThreadWaitingForTheBatchWillFailTheMessagesInTheBatch() throws Exception {
+        // arrange
+        final List<List<Message>> processedBatches = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES.toBuilder().batchSize(10).build(),
+            messages -> {
+                processedBatches.add(messages);
+                return BatchProcessingResult.successful();
+            }
+        );
+        final Supplier<CompletableFuture<?>> firstResolveMessage = mockResolveMessage();
+        final CompletableFuture<?> firstResult = processMessageOnNewThread(processor, firstMessage, firstResolveMessage);
+        Thread.sleep(100);
+
+        // act
+        executorService.shutdownNow();
+
+        // assert
+        assertThat(getException(firstResult)).isInstanceOf(MessageProcessingException.class);
+        assertThat(processedBatches).isEmpty();
+        verify(firstResolveMessage, never()).get();
+    }
+
+    @Test
+    void nextBatchIsStartedAfterTheBatchIsProcessed() {
+        // arrange
+        final List<List<Message>> processedBatches = new CopyOnWriteArrayList<>();
+        final BatchingMessageProcessor processor = new BatchingMessageProcessor(
+            DEFAULT_PROPERTIES.toBuilder().batchSize(1).build(),
+            messages -> {
+                processedBatches.add(messages);
+                return BatchProcessingResult.successful();
+            }
+        );
+
+        // act
+        processor.processMessage(firstMessage, mockResolveMessage());
+        processor.processMessage(secondMessage, mockResolveMessage());
+
+        // assert
+        assertThat(processedBatches).containsExactly(List.of(firstMessage), List.of(secondMessage));
+    }
+
+    private CompletableFuture<?> processMessageOnNewThread(
+        final BatchingMessageProcessor processor,
+        final Message message,
+        final Supplier<CompletableFuture<?>> resolveMessage
+    ) {
+        return CompletableFuture
+            .supplyAsync(() -> processor.processMessage(message, resolveMessage), executorService)
+            .thenCompose(future -> future.thenApply(ignored -> null));
+    }
+
+    private Throwable getException(final CompletableFuture<?> future) throws Exception {
+        final Throwable throwable = future.handle((ignored, exception) -> exception).get(5, TimeUnit.SECONDS);
+        return throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<CompletableFuture<?>> mockResolveMessage() {
+        final Supplier<CompletableFuture<?>> resolveMessage = mock(Supplier.class);
+        when(resolveMessage.get()).thenAnswer(invocation -> CompletableFuture.completedFuture(null));
+        return resolveMessage;
+    }
+}
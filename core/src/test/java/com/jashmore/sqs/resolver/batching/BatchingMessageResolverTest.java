@@ -4,6 +4,7 @@ import static com.jashmore.sqs.util.thread.ThreadTestUtils.waitUntilThreadInStat
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -75,7 +76,6 @@ class BatchingMessageResolverTest {
             sqsAsyncClient,
             batchingProperties
         );
-        batchingMessageResolver.resolveMessage(Message.builder().messageId("id").receiptHandle("handle").build());
         when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
             .thenAnswer(invocation -> {
                 batchBeingDeletedLatch.countDown();
@@ -86,6 +86,7 @@ class BatchingMessageResolverTest {
 
         // act
         final long startTime = System.currentTimeMillis();
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id").receiptHandle("handle").build());
         executorService.submit(batchingMessageResolver::run);
         assertThat(batchBeingDeletedLatch.await(1, TimeUnit.SECONDS)).isTrue();
         final long endTime = System.currentTimeMillis();
@@ -94,6 +95,39 @@ class BatchingMessageResolverTest {
         assertThat(endTime - startTime).isGreaterThanOrEqualTo(bufferingTimeInMs);
     }
 
+    @Test
+    void bufferingTimeIsMeasuredFromWhenTheOldestMessageWasSubmitted() throws Exception {
+        // arrange
+        final long bufferingTimeInMs = 500;
+        final BatchingMessageResolverProperties batchingProperties = DEFAULT_BATCHING_PROPERTIES
+            .toBuilder()
+            .bufferingTime(Duration.ofMillis(bufferingTimeInMs))
+            .bufferingSizeLimit(2)
+            .build();
+        final CountDownLatch batchBeingDeletedLatch = new CountDownLatch(1);
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(
+            QUEUE_PROPERTIES,
+            sqsAsyncClient,
+            batchingProperties
+        );
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenAnswer(invocation -> {
+                batchBeingDeletedLatch.countDown();
+                return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build());
+            });
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id").receiptHandle("handle").build());
+        Thread.sleep(bufferingTimeInMs);
+
+        // act
+        final long startTime = System.currentTimeMillis();
+        executorService.submit(batchingMessageResolver::run);
+        assertThat(batchBeingDeletedLatch.await(1, TimeUnit.SECONDS)).isTrue();
+        final long endTime = System.currentTimeMillis();
+
+        // assert
+        assertThat(endTime - startTime).isLessThan(bufferingTimeInMs);
+    }
+
     @Test
     void whenBatchingSizeLimitReachedTheMessagesAreImmediatelySent() throws Exception {
         // arrange
@@ -408,4 +442,232 @@ class BatchingMessageResolverTest {
         blockDeleteMessage.countDown();
         waitUntilThreadInState(resolverThread, Thread.State.TERMINATED);
     }
+
+    @Test
+    void numberOfBatchesBeingDeletedAtOnceIsLimitedByTheMaximumConcurrentBatchDeletions() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES
+            .toBuilder()
+            .bufferingSizeLimit(1)
+            .maximumConcurrentBatchDeletions(1)
+            .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CompletableFuture<DeleteMessageBatchResponse> firstBatchResponse = new CompletableFuture<>();
+        final CountDownLatch firstBatchBeingDeletedLatch = new CountDownLatch(1);
+        final CountDownLatch secondBatchBeingDeletedLatch = new CountDownLatch(1);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenAnswer(invocation -> {
+                firstBatchBeingDeletedLatch.countDown();
+                return firstBatchResponse;
+            })
+            .thenAnswer(invocation -> {
+                secondBatchBeingDeletedLatch.countDown();
+                return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build());
+            });
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id").receiptHandle("handle").build());
+        batchingMessageResolver.resolveMessage(Message.builder().messageId("id2").receiptHandle("handle2").build());
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+        assertThat(firstBatchBeingDeletedLatch.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(secondBatchBeingDeletedLatch.await(500, TimeUnit.MILLISECONDS)).isFalse();
+        firstBatchResponse.complete(DeleteMessageBatchResponse.builder().build());
+
+        // assert
+        assertThat(secondBatchBeingDeletedLatch.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void messagesThatFailToBeDeletedWithARetriableErrorAreRetriedInALaterBatch() throws Exception {
+        // arrange
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(
+            QUEUE_PROPERTIES,
+            sqsAsyncClient,
+            DEFAULT_BATCHING_PROPERTIES
+        );
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse
+                        .builder()
+                        .failed(BatchResultErrorEntry.builder().id("id").code("InternalError").senderFault(false).build())
+                        .build()
+                )
+            )
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse.builder().successful(DeleteMessageBatchResultEntry.builder().id("id").build()).build()
+                )
+            );
+        final CompletableFuture<?> messageResolvedCompletableFuture = batchingMessageResolver.resolveMessage(
+            Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        messageResolvedCompletableFuture.get(5, TimeUnit.SECONDS);
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void messagesThatFailToBeDeletedDueToASenderFaultAreNotRetried() throws Exception {
+        // arrange
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(
+            QUEUE_PROPERTIES,
+            sqsAsyncClient,
+            DEFAULT_BATCHING_PROPERTIES
+        );
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse
+                        .builder()
+                        .failed(
+                            BatchResultErrorEntry
+                                .builder()
+                                .id("id")
+                                .code("ReceiptHandleIsInvalid")
+                                .message("Expected Test Error")
+                                .senderFault(true)
+                                .build()
+                        )
+                        .build()
+                )
+            );
+        final CompletableFuture<?> messageResolvedCompletableFuture = batchingMessageResolver.resolveMessage(
+            Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        final ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> messageResolvedCompletableFuture.get(5, TimeUnit.SECONDS)
+        );
+        assertThat(exception.getCause()).hasMessage("Expected Test Error");
+        verify(sqsAsyncClient, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void messagesAreNotRetriedWhenTheDeletionRetryTimeoutWouldBeExceeded() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES
+            .toBuilder()
+            .deletionRetryTimeout(Duration.ZERO)
+            .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse
+                        .builder()
+                        .failed(
+                            BatchResultErrorEntry
+                                .builder()
+                                .id("id")
+                                .code("RequestThrottled")
+                                .message("Expected Test Error")
+                                .senderFault(true)
+                                .build()
+                        )
+                        .build()
+                )
+            );
+        final CompletableFuture<?> messageResolvedCompletableFuture = batchingMessageResolver.resolveMessage(
+            Message.builder().messageId("id").receiptHandle("handle").build()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        final ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> messageResolvedCompletableFuture.get(5, TimeUnit.SECONDS)
+        );
+        assertThat(exception.getCause()).hasMessage("Expected Test Error");
+        verify(sqsAsyncClient, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void messagesThatWereReceivedCloseToTheirVisibilityTimeoutExpiringAreNotRetried() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES
+            .toBuilder()
+            .messageVisibilityTimeout(Duration.ofSeconds(30))
+            .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse
+                        .builder()
+                        .failed(
+                            BatchResultErrorEntry
+                                .builder()
+                                .id("id")
+                                .code("InternalError")
+                                .message("Expected Test Error")
+                                .senderFault(false)
+                                .build()
+                        )
+                        .build()
+                )
+            );
+        final long receivedNanoTime = System.nanoTime() - Duration.ofSeconds(29).toNanos();
+        final CompletableFuture<?> messageResolvedCompletableFuture = batchingMessageResolver.resolveMessage(
+            Message.builder().messageId("id").receiptHandle("handle").build(),
+            receivedNanoTime
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        final ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> messageResolvedCompletableFuture.get(5, TimeUnit.SECONDS)
+        );
+        assertThat(exception.getCause()).hasMessage("Expected Test Error");
+        verify(sqsAsyncClient, times(1)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void messagesThatWereRecentlyReceivedAreRetriedWhenTheVisibilityTimeoutIsProvided() throws Exception {
+        // arrange
+        final StaticBatchingMessageResolverProperties properties = DEFAULT_BATCHING_PROPERTIES
+            .toBuilder()
+            .messageVisibilityTimeout(Duration.ofSeconds(30))
+            .build();
+        final BatchingMessageResolver batchingMessageResolver = new BatchingMessageResolver(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse
+                        .builder()
+                        .failed(BatchResultErrorEntry.builder().id("id").code("InternalError").senderFault(false).build())
+                        .build()
+                )
+            )
+            .thenReturn(
+                CompletableFuture.completedFuture(
+                    DeleteMessageBatchResponse.builder().successful(DeleteMessageBatchResultEntry.builder().id("id").build()).build()
+                )
+            );
+        final CompletableFuture<?> messageResolvedCompletableFuture = batchingMessageResolver.resolveMessage(
+            Message.builder().messageId("id").receiptHandle("handle").build(),
+            System.nanoTime()
+        );
+
+        // act
+        executorService.submit(batchingMessageResolver::run);
+
+        // assert
+        messageResolvedCompletableFuture.get(5, TimeUnit.SECONDS);
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
 }
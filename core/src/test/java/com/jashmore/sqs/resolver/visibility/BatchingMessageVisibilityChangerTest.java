@@ -0,0 +1,193 @@
+package com.jashmore.sqs.resolver.visibility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.jashmore.sqs.QueueProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingMessageVisibilityChangerTest {
+
+    private static final QueueProperties QUEUE_PROPERTIES = QueueProperties.builder().queueUrl("queueUrl").build();
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    private List<ChangeMessageVisibilityBatchRequest> changeVisibilityRequests;
+
+    @BeforeEach
+    void setUp() {
+        changeVisibilityRequests = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void bufferingTimeMustNotBeNegative() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new BatchingMessageVisibilityChanger(sqsAsyncClient, QUEUE_PROPERTIES, Duration.ofSeconds(-1))
+        );
+    }
+
+    @Test
+    void fullBatchIsSentImmediately() {
+        // arrange
+        changingVisibilityRespondsWith(request -> ChangeMessageVisibilityBatchResponse.builder().build());
+        final BatchingMessageVisibilityChanger visibilityChanger = new BatchingMessageVisibilityChanger(
+            sqsAsyncClient,
+            QUEUE_PROPERTIES,
+            Duration.ofHours(1)
+        );
+
+        // act
+        for (int i = 0; i < 10; ++i) {
+            visibilityChanger.changeMessageVisibility(message(i), Duration.ofSeconds(i));
+        }
+
+        // assert
+        assertThat(changeVisibilityRequests).hasSize(1);
+        assertThat(changeVisibilityRequests.get(0).queueUrl()).isEqualTo("queueUrl");
+        assertThat(changeVisibilityRequests.get(0).entries()).hasSize(10);
+        assertThat(changeVisibilityRequests.get(0).entries().get(3))
+            .isEqualTo(ChangeMessageVisibilityBatchRequestEntry.builder().id("id3").receiptHandle("handle3").visibilityTimeout(3).build());
+    }
+
+    @Test
+    void partialBatchIsSentOnceTheBufferingTimeHasPassed() throws Exception {
+        // arrange
+        changingVisibilityRespondsWith(request -> successfulResponse(request.entries()));
+        final BatchingMessageVisibilityChanger visibilityChanger = new BatchingMessageVisibilityChanger(
+            sqsAsyncClient,
+            QUEUE_PROPERTIES,
+            Duration.ofMillis(200)
+        );
+
+        // act
+        final CompletableFuture<?> firstFuture = visibilityChanger.changeMessageVisibility(message(1), Duration.ofSeconds(1));
+        final CompletableFuture<?> secondFuture = visibilityChanger.changeMessageVisibility(message(2), Duration.ofSeconds(2));
+        assertThat(changeVisibilityRequests).isEmpty();
+
+        // assert
+        CompletableFuture.allOf(firstFuture, secondFuture).get(5, TimeUnit.SECONDS);
+        assertThat(changeVisibilityRequests).hasSize(1);
+        assertThat(changeVisibilityRequests.get(0).entries()).hasSize(2);
+    }
+
+    @Test
+    void changingTheSameMessageAgainWillSendTheCurrentBatchSoThatEntryIdsAreUnique() {
+        // arrange
+        changingVisibilityRespondsWith(request -> successfulResponse(request.entries()));
+        final BatchingMessageVisibilityChanger visibilityChanger = new BatchingMessageVisibilityChanger(
+            sqsAsyncClient,
+            QUEUE_PROPERTIES,
+            Duration.ofHours(1)
+        );
+        visibilityChanger.changeMessageVisibility(message(1), Duration.ofSeconds(1));
+
+        // act
+        visibilityChanger.changeMessageVisibility(message(1), Duration.ofSeconds(2));
+
+        // assert
+        assertThat(changeVisibilityRequests).hasSize(1);
+        assertThat(changeVisibilityRequests.get(0).entries())
+            .extracting(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout)
+            .containsExactly(1);
+    }
+
+    @Test
+    void visibilityTimeoutIsRoundedUpToTheNearestSecond() throws Exception {
+        // arrange
+        changingVisibilityRespondsWith(request -> successfulResponse(request.entries()));
+        final BatchingMessageVisibilityChanger visibilityChanger = new BatchingMessageVisibilityChanger(
+            sqsAsyncClient,
+            QUEUE_PROPERTIES,
+            Duration.ZERO
+        );
+
+        // act
+        visibilityChanger.changeMessageVisibility(message(1), Duration.ofMillis(1500)).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(changeVisibilityRequests.get(0).entries().get(0).visibilityTimeout()).isEqualTo(2);
+    }
+
+    @Test
+    void failedEntriesWillRejectTheFutureForThatMessage() {
+        // arrange
+        changingVisibilityRespondsWith(request ->
+            successfulResponse(request.entries().subList(1, 10))
+                .toBuilder()
+                .failed(BatchResultErrorEntry.builder().id("id0").message("Expected Test Error").build())
+                .build()
+        );
+        final BatchingMessageVisibilityChanger visibilityChanger = new BatchingMessageVisibilityChanger(
+            sqsAsyncClient,
+            QUEUE_PROPERTIES,
+            Duration.ofHours(1)
+        );
+
+        // act
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            futures.add(visibilityChanger.changeMessageVisibility(message(i), Duration.ofSeconds(1)));
+        }
+
+        // assert
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> futures.get(0).get(5, TimeUnit.SECONDS));
+        assertThat(exception.getCause()).hasMessage("Expected Test Error");
+        assertThat(futures.subList(1, 10)).allSatisfy(future -> assertThat(future).isCompleted());
+    }
+
+    private void changingVisibilityRespondsWith(
+        final Function<ChangeMessageVisibilityBatchRequest, ChangeMessageVisibilityBatchResponse> responseFunction
+    ) {
+        when(sqsAsyncClient.changeMessageVisibilityBatch(ArgumentMatchers.<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>any()))
+            .thenAnswer(invocation -> {
+                final Consumer<ChangeMessageVisibilityBatchRequest.Builder> builder = invocation.getArgument(0);
+                final ChangeMessageVisibilityBatchRequest.Builder requestBuilder = ChangeMessageVisibilityBatchRequest.builder();
+                builder.accept(requestBuilder);
+                final ChangeMessageVisibilityBatchRequest request = requestBuilder.build();
+                changeVisibilityRequests.add(request);
+                return CompletableFuture.completedFuture(responseFunction.apply(request));
+            });
+    }
+
+    private static ChangeMessageVisibilityBatchResponse successfulResponse(final List<ChangeMessageVisibilityBatchRequestEntry> entries) {
+        return ChangeMessageVisibilityBatchResponse
+            .builder()
+            .successful(
+                entries
+                    .stream()
+                    .map(entry -> ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build())
+                    .collect(Collectors.toList())
+            )
+            .build();
+    }
+
+    private static Message message(final int index) {
+        return Message.builder().messageId("id" + index).receiptHandle("handle" + index).build();
+    }
+}
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.aws.AwsConstants;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import com.jashmore.sqs.util.ExpectedTestException;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import com.jashmore.sqs.util.thread.ThreadTestUtils;
@@ -487,6 +488,45 @@ class BatchingMessageRetrieverTest {
             .containsExactly(MessageSystemAttributeName.ALL);
     }
 
+    @Test
+    void onlyTheRequiredMessageAttributesShouldBeDownloadedWhenRequestingMessages() {
+        // arrange
+        final StaticBatchingMessageRetrieverProperties properties = DEFAULT_PROPERTIES
+            .toBuilder()
+            .batchSize(1)
+            .requiredMessageAttributes(
+                RequiredMessageAttributes
+                    .messageAttributes("key")
+                    .and(RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.MESSAGE_GROUP_ID))
+            )
+            .build();
+        final BatchingMessageRetriever retriever = new BatchingMessageRetriever(QUEUE_PROPERTIES, sqsAsyncClient, properties);
+        final CountDownLatch receiveMessageRequestLatch = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenAnswer(invocation -> {
+                receiveMessageRequestLatch.countDown();
+                return mockReceiveMessageResponse(Message.builder().build());
+            });
+
+        // act
+        startRunnableInThread(
+            retriever::run,
+            thread -> {
+                retriever.retrieveMessage();
+                assertThat(receiveMessageRequestLatch.await(2, TimeUnit.SECONDS)).isTrue();
+            }
+        );
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(
+            ReceiveMessageRequest.class
+        );
+        verify(sqsAsyncClient).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().messageAttributeNames()).containsExactly("key");
+        assertThat(receiveMessageRequestArgumentCaptor.getValue().messageSystemAttributeNames())
+            .containsExactly(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+    }
+
     @Test
     void nullPollingPeriodWillStillAllowMessagesToBeReceivedWhenLimitReached() {
         // arrange
@@ -0,0 +1,153 @@
+package com.jashmore.sqs.retriever.prefetch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AdaptivePrefetchSizerTest {
+
+    private final AtomicLong currentTimeInNanos = new AtomicLong();
+
+    @Test
+    void initialPrefetchedMessagesIsUsedWhenNothingHasBeenMeasured() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(5, 20, currentTimeInNanos::get);
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(5);
+    }
+
+    @Test
+    void initialPrefetchedMessagesIsUsedWhenTheRoundTripTimeHasNotBeenMeasured() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(5, 20, currentTimeInNanos::get);
+        requestMessages(sizer, 10);
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(5);
+    }
+
+    @Test
+    void initialPrefetchedMessagesIsLimitedByTheMaxPrefetchedMessages() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(30, 20, currentTimeInNanos::get);
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(20);
+    }
+
+    @Test
+    void desiredPrefetchedMessagesIsTheNumberOfMessagesConsumedDuringOneRoundTrip() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(1, 100, currentTimeInNanos::get);
+        sizer.receiveRequestCompleted(Duration.ofMillis(200));
+        requestMessages(sizer, 50);
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(10);
+    }
+
+    @Test
+    void desiredPrefetchedMessagesIsLimitedByTheMaxPrefetchedMessages() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(1, 5, currentTimeInNanos::get);
+        sizer.receiveRequestCompleted(Duration.ofMillis(200));
+        requestMessages(sizer, 50);
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(5);
+    }
+
+    @Test
+    void desiredPrefetchedMessagesWillBeAtLeastOneWhenNoMessagesAreBeingConsumed() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(5, 20, currentTimeInNanos::get);
+        sizer.receiveRequestCompleted(Duration.ofMillis(200));
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(1);
+    }
+
+    @Test
+    void desiredPrefetchedMessagesIsLimitedSoMessagesDoNotWaitForMoreThanHalfTheVisibilityTimeout() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(1, 100, currentTimeInNanos::get);
+        sizer.setVisibilityTimeout(Duration.ofSeconds(2));
+        sizer.receiveRequestCompleted(Duration.ofSeconds(5));
+        requestMessages(sizer, 10);
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(10);
+    }
+
+    @Test
+    void consumeRateIsNotSampledUntilTheSamplePeriodHasElapsed() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(5, 100, currentTimeInNanos::get);
+        sizer.receiveRequestCompleted(Duration.ofSeconds(1));
+        requestMessages(sizer, 50);
+        advanceTime(Duration.ofMillis(500));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(5);
+    }
+
+    @Test
+    void changesInTheConsumeRateAreSmoothed() {
+        // arrange
+        final AdaptivePrefetchSizer sizer = new AdaptivePrefetchSizer(1, 100, currentTimeInNanos::get);
+        sizer.receiveRequestCompleted(Duration.ofSeconds(1));
+        requestMessages(sizer, 10);
+        advanceTime(Duration.ofSeconds(1));
+        assertThat(sizer.calculateDesiredPrefetchedMessages()).isEqualTo(10);
+        requestMessages(sizer, 20);
+        advanceTime(Duration.ofSeconds(1));
+
+        // act
+        final int desiredPrefetchedMessages = sizer.calculateDesiredPrefetchedMessages();
+
+        // assert
+        assertThat(desiredPrefetchedMessages).isEqualTo(13);
+    }
+
+    private void requestMessages(final AdaptivePrefetchSizer sizer, final int numberOfMessages) {
+        IntStream.range(0, numberOfMessages).forEach(index -> sizer.messageRequested());
+    }
+
+    private void advanceTime(final Duration duration) {
+        currentTimeInNanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+}
@@ -0,0 +1,285 @@
+package com.jashmore.sqs.retriever.prefetch;
+
+import static com.jashmore.sqs.util.thread.ThreadTestUtils.waitUntilThreadInState;
+import static java.lang.Thread.State.TERMINATED;
+import static java.lang.Thread.State.WAITING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class LockFreePrefetchingMessageFutureConsumerQueueTest {
+
+    @Mock
+    private CompletableFuture<Message> messageCompletableFuture;
+
+    private Thread thread = null;
+
+    @AfterEach
+    void setUp() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+        thread = null;
+    }
+
+    @Test
+    void whenMessagesInQueueHitsCapacityLimitFutureCallsAreBlocked() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        queue.pushMessage(Message.builder().build());
+
+        // act
+        final Thread thread = new Thread(() -> {
+            try {
+                queue.pushMessage(Message.builder().build());
+            } catch (InterruptedException interruptedException) {
+                // do nothing
+            }
+        });
+        thread.start();
+
+        // assert
+        waitUntilThreadInState(thread, WAITING);
+    }
+
+    @Test
+    void whenMessagesInQueueHitsCapacityLimitItWillStopWaitingWhenACompletableFutureIsProvided() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        queue.pushMessage(Message.builder().build());
+        thread =
+            new Thread(() -> {
+                try {
+                    queue.pushMessage(Message.builder().build());
+                } catch (InterruptedException interruptedException) {
+                    // do nothing
+                }
+            });
+        thread.start();
+        waitUntilThreadInState(thread, WAITING);
+
+        // act
+        queue.pushCompletableFuture(new CompletableFuture<>());
+
+        // assert
+        waitUntilThreadInState(thread, TERMINATED);
+    }
+
+    @Test
+    void addingCompletableFutureAndThenMessageWillCompleteFutureWithThatMessage() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        final Message message = Message.builder().build();
+
+        // act
+        queue.pushMessage(message);
+        queue.pushCompletableFuture(messageCompletableFuture);
+
+        // assert
+        verify(messageCompletableFuture).complete(message);
+    }
+
+    @Test
+    void addingMessageAndThenCompletableWillCompleteFutureWithThatMessage() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        final Message message = Message.builder().build();
+
+        // act
+        queue.pushCompletableFuture(messageCompletableFuture);
+        queue.pushMessage(message);
+
+        // assert
+        verify(messageCompletableFuture).complete(message);
+    }
+
+    @Test
+    void allMessagesAndCompletableFuturesAreResolvedWhenSubmittingMany() throws Exception {
+        // arrange
+        final int totalMessages = 1000;
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(20);
+        final ExecutorService executorService = Executors.newCachedThreadPool();
+        final Set<String> futuresCompleted = ConcurrentHashMap.newKeySet();
+        final Set<String> messagesCompleted = ConcurrentHashMap.newKeySet();
+        final List<CompletableFuture<?>> allFutures = new LinkedList<>();
+
+        // act
+        executorService.submit(() -> {
+            IntStream
+                .range(0, totalMessages)
+                .mapToObj(String::valueOf)
+                .map(index -> Message.builder().body(index).build())
+                .forEach(message -> {
+                    try {
+                        queue.pushMessage(message);
+                    } catch (final InterruptedException interruptedException) {
+                        // do nothing
+                    }
+                });
+
+            log.debug("Added all messages");
+        });
+        executorService.submit(() -> {
+            IntStream
+                .range(0, totalMessages)
+                .mapToObj(String::valueOf)
+                .forEach(index -> {
+                    final CompletableFuture<Message> completableFuture = new CompletableFuture<>();
+                    allFutures.add(completableFuture);
+                    completableFuture.thenApply(message -> {
+                        futuresCompleted.add(index);
+                        log.debug("Matched message {} with future {}", message.body(), index);
+                        messagesCompleted.add(message.body());
+                        return message;
+                    });
+                    queue.pushCompletableFuture(completableFuture);
+                });
+            log.debug("Added all futures");
+        });
+        executorService.shutdown();
+        executorService.awaitTermination(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(allFutures.toArray(new CompletableFuture<?>[0])).get(1, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(futuresCompleted).hasSize(totalMessages);
+        assertThat(messagesCompleted).hasSize(totalMessages);
+    }
+
+    @Test
+    void drainingQueueWhenExtraCompletableFuturesWillReturnThem() {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        final CompletableFuture<Message> firstCompletableFuture = new CompletableFuture<>();
+        final CompletableFuture<Message> secondCompletableFuture = new CompletableFuture<>();
+        queue.pushCompletableFuture(firstCompletableFuture);
+        queue.pushCompletableFuture(secondCompletableFuture);
+
+        // act
+        final QueueDrain drainedQueues = queue.drain();
+
+        // assert
+        assertThat(drainedQueues.getFuturesWaitingForMessages()).containsExactly(firstCompletableFuture, secondCompletableFuture);
+        assertThat(drainedQueues.getMessagesAvailableForProcessing()).isEmpty();
+    }
+
+    @Test
+    void drainingQueueWhenExtraMessagesWillReturnThem() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(2);
+        final Message firstMessage = Message.builder().body("first").build();
+        final Message secondMessage = Message.builder().body("second").build();
+        queue.pushMessage(firstMessage);
+        queue.pushMessage(secondMessage);
+
+        // act
+        final QueueDrain drainedQueues = queue.drain();
+
+        // assert
+        assertThat(drainedQueues.getFuturesWaitingForMessages()).isEmpty();
+        assertThat(drainedQueues.getMessagesAvailableForProcessing()).containsExactly(firstMessage, secondMessage);
+    }
+
+    @Test
+    void gettingBatchSizeWillReturnNumberOfMessagesInTheQueue() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(2);
+        final Message firstMessage = Message.builder().body("first").build();
+        final Message secondMessage = Message.builder().body("second").build();
+        queue.pushMessage(firstMessage);
+        queue.pushMessage(secondMessage);
+
+        // act
+        final int numberOfBatchedMessages = queue.getNumberOfBatchedMessages();
+
+        // assert
+        assertThat(numberOfBatchedMessages).isEqualTo(2);
+    }
+
+    @Test
+    void messagesAreResolvedInTheOrderThatTheyWereAdded() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(3);
+        final Message firstMessage = Message.builder().body("first").build();
+        final Message secondMessage = Message.builder().body("second").build();
+        final Message thirdMessage = Message.builder().body("third").build();
+        queue.pushMessage(firstMessage);
+        queue.pushMessage(secondMessage);
+        queue.pushMessage(thirdMessage);
+        final CompletableFuture<Message> firstFuture = new CompletableFuture<>();
+        final CompletableFuture<Message> secondFuture = new CompletableFuture<>();
+        final CompletableFuture<Message> thirdFuture = new CompletableFuture<>();
+
+        // act
+        queue.pushCompletableFuture(firstFuture);
+        queue.pushCompletableFuture(secondFuture);
+        queue.pushCompletableFuture(thirdFuture);
+
+        // assert
+        assertThat(firstFuture).isCompletedWithValue(firstMessage);
+        assertThat(secondFuture).isCompletedWithValue(secondMessage);
+        assertThat(thirdFuture).isCompletedWithValue(thirdMessage);
+    }
+
+    @Test
+    void messagesCanWrapAroundTheInternalRingBuffer() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(2);
+
+        for (int i = 0; i < 10; i++) {
+            final Message message = Message.builder().body(String.valueOf(i)).build();
+            queue.pushMessage(message);
+            final CompletableFuture<Message> future = new CompletableFuture<>();
+
+            // act
+            queue.pushCompletableFuture(future);
+
+            // assert
+            assertThat(future).isCompletedWithValue(message);
+        }
+        assertThat(queue.getNumberOfBatchedMessages()).isZero();
+    }
+
+    @Test
+    void threadInterruptedWhileWaitingForFreeSlotWillThrowInterruptedException() throws InterruptedException {
+        // arrange
+        final LockFreePrefetchingMessageFutureConsumerQueue queue = new LockFreePrefetchingMessageFutureConsumerQueue(1);
+        queue.pushMessage(Message.builder().build());
+        final CompletableFuture<Boolean> interruptedExceptionThrown = new CompletableFuture<>();
+        thread =
+            new Thread(() -> {
+                try {
+                    queue.blockUntilFreeSlotForMessage();
+                    interruptedExceptionThrown.complete(false);
+                } catch (InterruptedException interruptedException) {
+                    interruptedExceptionThrown.complete(true);
+                }
+            });
+        thread.start();
+        waitUntilThreadInState(thread, WAITING);
+
+        // act
+        thread.interrupt();
+
+        // assert
+        waitUntilThreadInState(thread, TERMINATED);
+        assertThat(interruptedExceptionThrown).isCompletedWithValue(true);
+    }
+}
@@ -18,24 +18,30 @@ import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkInterruptedException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
@@ -173,6 +179,108 @@ class PrefetchingMessageRetrieverTest {
         assertThat(leftOverMessages).containsExactly(firstBatchMessageOne, firstBatchMessageTwo, secondBatchMessageOne);
     }
 
+    @Test
+    void lockFreeMessageQueueCanBeUsedToStorePrefetchedMessages() throws Exception {
+        // arrange
+        final Message firstMessage = Message.builder().build();
+        final Message secondMessage = Message.builder().build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(mockReceiveMessageResponse(firstMessage, secondMessage))
+            .thenReturn(RECEIVE_MESSAGES_INTERRUPTED);
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(4)
+            .maxPrefetchedMessages(5)
+            .shouldUseLockFreeMessageQueue(true)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+        final CompletableFuture<Message> firstMessageFuture = retriever.retrieveMessage();
+
+        // act
+        final List<Message> leftOverMessages = retriever.run();
+
+        // assert
+        assertThat(firstMessageFuture.get(1, TimeUnit.SECONDS)).isSameAs(firstMessage);
+        assertThat(leftOverMessages).containsExactly(secondMessage);
+    }
+
+    @Test
+    void adaptivePrefetchingWillInitiallyOnlyRequestTheDesiredMinPrefetchedMessages() throws Exception {
+        // arrange
+        final Message firstMessage = Message.builder().build();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(mockReceiveMessageResponse(firstMessage))
+            .thenReturn(RECEIVE_MESSAGES_INTERRUPTED);
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(2)
+            .maxPrefetchedMessages(10)
+            .messageVisibilityTimeout(Duration.ofSeconds(30))
+            .shouldUseAdaptivePrefetching(true)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        // act
+        final List<Message> leftOverMessages = retriever.run();
+
+        // assert
+        final ArgumentCaptor<ReceiveMessageRequest> requestArgumentCaptor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient, times(2)).receiveMessage(requestArgumentCaptor.capture());
+        assertThat(requestArgumentCaptor.getAllValues().get(0).maxNumberOfMessages()).isEqualTo(2);
+        assertThat(requestArgumentCaptor.getAllValues().get(1).maxNumberOfMessages()).isEqualTo(1);
+        assertThat(leftOverMessages).containsExactly(firstMessage);
+    }
+
+    @Test
+    void stalePrefetchedMessagesWillBeReleasedInASingleBatchInsteadOfBeingProcessed() throws Exception {
+        // arrange
+        final Message firstMessage = Message.builder().messageId("1").receiptHandle("first").build();
+        final Message secondMessage = Message.builder().messageId("2").receiptHandle("second").build();
+        final Message thirdMessage = Message.builder().messageId("3").receiptHandle("third").build();
+        final CountDownLatch secondRequestMadeLatch = new CountDownLatch(1);
+        final CompletableFuture<ReceiveMessageResponse> secondResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(mockReceiveMessageResponse(firstMessage, secondMessage))
+            .thenAnswer(invocation -> {
+                secondRequestMadeLatch.countDown();
+                return secondResponse;
+            })
+            .thenReturn(RECEIVE_MESSAGES_INTERRUPTED);
+        final List<ChangeMessageVisibilityBatchRequest> changeVisibilityRequests = new CopyOnWriteArrayList<>();
+        when(sqsAsyncClient.changeMessageVisibilityBatch(ArgumentMatchers.<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>any()))
+            .thenAnswer(invocation -> {
+                final Consumer<ChangeMessageVisibilityBatchRequest.Builder> requestBuilderConsumer = invocation.getArgument(0);
+                final ChangeMessageVisibilityBatchRequest.Builder requestBuilder = ChangeMessageVisibilityBatchRequest.builder();
+                requestBuilderConsumer.accept(requestBuilder);
+                changeVisibilityRequests.add(requestBuilder.build());
+                return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build());
+            });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(2)
+            .maxPrefetchedMessages(2)
+            .stalePrefetchedMessageThreshold(Duration.ofMillis(100))
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+        final Future<List<Message>> retrieverFuture = executorService.submit(retriever::run);
+        Thread.sleep(200);
+
+        // act
+        final CompletableFuture<Message> messageFuture = retriever.retrieveMessage();
+        assertThat(secondRequestMadeLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        secondResponse.complete(ReceiveMessageResponse.builder().messages(thirdMessage).build());
+
+        // assert
+        assertThat(messageFuture.get(5, TimeUnit.SECONDS)).isSameAs(thirdMessage);
+        retrieverFuture.get(5, TimeUnit.SECONDS);
+        assertThat(changeVisibilityRequests).hasSize(1);
+        final ChangeMessageVisibilityBatchRequest request = changeVisibilityRequests.get(0);
+        assertThat(request.entries())
+            .extracting(ChangeMessageVisibilityBatchRequestEntry::receiptHandle)
+            .containsExactly("first", "second");
+        assertThat(request.entries()).extracting(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout).containsOnly(0);
+    }
+
     @Test
     void whenThereAreAlreadyPrefetchedMessagesItWillRequestUpToMaxBatchSize() {
         final Message firstBatchMessageOne = Message.builder().build();
@@ -282,6 +390,190 @@ class PrefetchingMessageRetrieverTest {
         future.get(5, TimeUnit.SECONDS);
     }
 
+    @Test
+    void multipleReceiveRequestsCanBeInFlightAtTheSameTime() {
+        // arrange
+        final CountDownLatch receiveMessagesRequested = new CountDownLatch(3);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenAnswer(invocation -> {
+                receiveMessagesRequested.countDown();
+                return new CompletableFuture<>();
+            });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(30)
+            .maxPrefetchedMessages(30)
+            .maxConcurrentReceiveRequests(3)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(
+            retriever::run,
+            thread -> {
+                // act
+                assertThat(receiveMessagesRequested.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // assert
+                final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(
+                    ReceiveMessageRequest.class
+                );
+                verify(sqsAsyncClient, times(3)).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+                assertThat(receiveMessageRequestArgumentCaptor.getAllValues())
+                    .extracting(ReceiveMessageRequest::maxNumberOfMessages)
+                    .containsExactly(10, 10, 10);
+            }
+        );
+    }
+
+    @Test
+    void concurrentReceiveRequestsWillNotRequestMoreThanTheMaximumPrefetchedMessages() {
+        // arrange
+        final CountDownLatch receiveMessagesRequested = new CountDownLatch(2);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenAnswer(invocation -> {
+                receiveMessagesRequested.countDown();
+                return new CompletableFuture<>();
+            });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(15)
+            .maxPrefetchedMessages(15)
+            .maxConcurrentReceiveRequests(3)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(
+            retriever::run,
+            thread -> {
+                // act
+                assertThat(receiveMessagesRequested.await(5, TimeUnit.SECONDS)).isTrue();
+                Thread.sleep(100); // Wait a little bit to make sure that no more requests are made
+
+                // assert
+                final ArgumentCaptor<ReceiveMessageRequest> receiveMessageRequestArgumentCaptor = ArgumentCaptor.forClass(
+                    ReceiveMessageRequest.class
+                );
+                verify(sqsAsyncClient, times(2)).receiveMessage(receiveMessageRequestArgumentCaptor.capture());
+                assertThat(receiveMessageRequestArgumentCaptor.getAllValues())
+                    .extracting(ReceiveMessageRequest::maxNumberOfMessages)
+                    .containsExactly(10, 5);
+            }
+        );
+    }
+
+    @Test
+    void messagesFromConcurrentReceiveRequestsArePlacedIntoTheInternalQueue() {
+        // arrange
+        final Message firstMessage = Message.builder().build();
+        final Message secondMessage = Message.builder().build();
+        final CompletableFuture<ReceiveMessageResponse> firstResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(firstResponse)
+            .thenAnswer(invocation -> {
+                firstResponse.complete(ReceiveMessageResponse.builder().messages(firstMessage).build());
+                return mockReceiveMessageResponse(secondMessage);
+            })
+            .thenReturn(RECEIVE_MESSAGES_INTERRUPTED);
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(20)
+            .maxPrefetchedMessages(20)
+            .maxConcurrentReceiveRequests(2)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        // act
+        final List<Message> leftOverMessages = retriever.run();
+
+        // assert
+        assertThat(leftOverMessages).containsExactlyInAnyOrder(firstMessage, secondMessage);
+    }
+
+    @Test
+    void prefetchedMessagesBeingConsumedWhileARequestIsInFlightWillTriggerAnotherRequest() {
+        // arrange
+        final Message message = Message.builder().build();
+        final CountDownLatch thirdRequestMade = new CountDownLatch(1);
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+            .thenReturn(new CompletableFuture<>())
+            .thenReturn(mockReceiveMessageResponse(message))
+            .thenAnswer(invocation -> {
+                thirdRequestMade.countDown();
+                return new CompletableFuture<>();
+            });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(1)
+            .maxPrefetchedMessages(20)
+            .maxConcurrentReceiveRequests(2)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+
+        startRunnableInThread(
+            retriever::run,
+            thread -> {
+                Thread.sleep(200); // Wait a little bit to make sure the internal queue is full while the first request is in flight
+
+                // act
+                assertThat(retriever.retrieveMessage().get(5, TimeUnit.SECONDS)).isSameAs(message);
+
+                // assert
+                assertThat(thirdRequestMade.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+        );
+    }
+
+    @Test
+    void messagesFromCompletedRequestsThatWereNotPrefetchedWillBeReleasedOnShutdown() {
+        // arrange
+        final Message firstMessage = Message.builder().receiptHandle("first").build();
+        final Message secondMessage = Message.builder().receiptHandle("second").build();
+        final Message thirdMessage = Message.builder().receiptHandle("third").build();
+        final CompletableFuture<ReceiveMessageResponse> firstResponse = new CompletableFuture<>();
+        final CompletableFuture<ReceiveMessageResponse> secondResponse = new CompletableFuture<>();
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(firstResponse).thenReturn(secondResponse);
+        final List<ChangeMessageVisibilityBatchRequest> changeVisibilityRequests = new CopyOnWriteArrayList<>();
+        when(sqsAsyncClient.changeMessageVisibilityBatch(ArgumentMatchers.<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>any()))
+            .thenAnswer(invocation -> {
+                final Consumer<ChangeMessageVisibilityBatchRequest.Builder> requestBuilderConsumer = invocation.getArgument(0);
+                final ChangeMessageVisibilityBatchRequest.Builder requestBuilder = ChangeMessageVisibilityBatchRequest.builder();
+                requestBuilderConsumer.accept(requestBuilder);
+                changeVisibilityRequests.add(requestBuilder.build());
+                return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build());
+            });
+        final StaticPrefetchingMessageRetrieverProperties properties = DEFAULT_PREFETCHING_PROPERTIES
+            .toBuilder()
+            .desiredMinPrefetchedMessages(1)
+            .maxPrefetchedMessages(20)
+            .maxConcurrentReceiveRequests(2)
+            .build();
+        final PrefetchingMessageRetriever retriever = new PrefetchingMessageRetriever(sqsAsyncClient, QUEUE_PROPERTIES, properties);
+        final CompletableFuture<List<Message>> leftOverMessagesFuture = new CompletableFuture<>();
+
+        startRunnableInThread(
+            () -> leftOverMessagesFuture.complete(retriever.run()),
+            thread -> {
+                Thread.sleep(100); // Wait a little bit to make sure that both requests are in flight
+                firstResponse.complete(ReceiveMessageResponse.builder().messages(firstMessage, secondMessage).build());
+                Thread.sleep(100); // Wait a little bit to make sure that we are blocked adding the second message to the internal queue
+                secondResponse.complete(ReceiveMessageResponse.builder().messages(thirdMessage).build());
+
+                // act
+                thread.interrupt();
+
+                // assert
+                assertThat(leftOverMessagesFuture.get(5, TimeUnit.SECONDS)).containsExactly(firstMessage, secondMessage);
+                assertThat(changeVisibilityRequests).hasSize(1);
+                assertThat(changeVisibilityRequests.get(0).entries())
+                    .extracting(ChangeMessageVisibilityBatchRequestEntry::receiptHandle)
+                    .containsExactly("third");
+                assertThat(changeVisibilityRequests.get(0).entries())
+                    .extracting(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout)
+                    .containsOnly(0);
+            }
+        );
+    }
+
     @Test
     void waitTimeForPrefetchingPropertiesWillBeSqsMaximum() {
         // arrange
@@ -6,8 +6,10 @@ import com.amazonaws.xray.entities.Segment;
 import com.amazonaws.xray.entities.Subsegment;
 import com.amazonaws.xray.entities.TraceHeader;
 import com.jashmore.documentation.annotations.Nullable;
+import com.jashmore.sqs.decorator.MessageProcessingAttribute;
 import com.jashmore.sqs.decorator.MessageProcessingContext;
 import com.jashmore.sqs.decorator.MessageProcessingDecorator;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import lombok.Builder;
 import lombok.Value;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -20,9 +22,21 @@ import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
  */
 public class BasicXrayMessageProcessingDecorator implements MessageProcessingDecorator {
 
-    private static final String SEGMENT_CONTEXT_ATTRIBUTE_NAME = BasicXrayMessageProcessingDecorator.class.getSimpleName() + ":segment";
-    private static final String SUBSEGMENT_CONTEXT_ATTRIBUTE_NAME =
-        BasicXrayMessageProcessingDecorator.class.getSimpleName() + ":subsegment";
+    /**
+     * The attribute of the {@link MessageProcessingContext} that contains the {@link Segment} for the message being processed.
+     */
+    public static final MessageProcessingAttribute<Segment> SEGMENT_CONTEXT_ATTRIBUTE = new MessageProcessingAttribute<>(
+        BasicXrayMessageProcessingDecorator.class.getSimpleName() + ":segment"
+    );
+
+    /**
+     * The attribute of the {@link MessageProcessingContext} that contains the {@link Subsegment} for the message being processed, if one
+     * was created.
+     */
+    public static final MessageProcessingAttribute<Subsegment> SUBSEGMENT_CONTEXT_ATTRIBUTE = new MessageProcessingAttribute<>(
+        BasicXrayMessageProcessingDecorator.class.getSimpleName() + ":subsegment"
+    );
+
     private static final String DEFAULT_SEGMENT_NAME = "message-listener";
 
     private final AWSXRayRecorder recorder;
@@ -31,6 +45,7 @@ public class BasicXrayMessageProcessingDecorator implements MessageProcessingDec
     private final DecoratorSubsegmentNamingStrategy subsegmentNamingStrategy;
     private final DecoratorSubsegmentMutator subsegmentMutator;
     private final boolean generateSubsegment;
+    private final RequiredMessageAttributes requiredMessageAttributes;
 
     public BasicXrayMessageProcessingDecorator(final Options options) {
         this.recorder = options.recorder != null ? options.recorder : AWSXRay.getGlobalRecorder();
@@ -45,6 +60,22 @@ public class BasicXrayMessageProcessingDecorator implements MessageProcessingDec
                 : (context, message) -> context.getListenerIdentifier();
         this.subsegmentMutator = options.subsegmentMutator;
         this.generateSubsegment = options.generateSubsegment != null ? options.generateSubsegment : true;
+        // custom naming strategies or mutators could be using any of the attributes of the message
+        if (
+            options.segmentNamingStrategy != null ||
+            options.segmentMutator != null ||
+            options.subsegmentNamingStrategy != null ||
+            options.subsegmentMutator != null
+        ) {
+            this.requiredMessageAttributes = RequiredMessageAttributes.all();
+        } else {
+            this.requiredMessageAttributes = RequiredMessageAttributes.messageSystemAttributes(MessageSystemAttributeName.AWS_TRACE_HEADER);
+        }
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return requiredMessageAttributes;
     }
 
     @Override
@@ -60,28 +91,28 @@ public class BasicXrayMessageProcessingDecorator implements MessageProcessingDec
         if (segmentMutator != null) {
             segmentMutator.mutateSegment(segment, context, message);
         }
-        context.setAttribute(SEGMENT_CONTEXT_ATTRIBUTE_NAME, segment);
+        context.setAttribute(SEGMENT_CONTEXT_ATTRIBUTE, segment);
 
         if (generateSubsegment) {
             final Subsegment subsegment = recorder.beginSubsegment(subsegmentNamingStrategy.getSubsegmentName(context, message));
             if (subsegmentMutator != null) {
                 subsegmentMutator.mutateSubsegment(subsegment, context, message);
             }
-            context.setAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE_NAME, subsegment);
+            context.setAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE, subsegment);
             recorder.setTraceEntity(subsegment);
         }
     }
 
     @Override
     public void onMessageProcessingFailure(final MessageProcessingContext context, final Message message, final Throwable throwable) {
-        final Subsegment subsegment = context.getAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE_NAME);
+        final Subsegment subsegment = context.getAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE);
         if (subsegment != null) {
             recorder.setTraceEntity(subsegment);
             subsegment.addException(throwable);
             recorder.endSubsegment();
         }
 
-        final Segment segment = context.getAttribute(SEGMENT_CONTEXT_ATTRIBUTE_NAME);
+        final Segment segment = context.getAttribute(SEGMENT_CONTEXT_ATTRIBUTE);
         if (segment != null) {
             recorder.setTraceEntity(segment);
             segment.addException(throwable);
@@ -92,13 +123,13 @@ public class BasicXrayMessageProcessingDecorator implements MessageProcessingDec
 
     @Override
     public void onMessageProcessingSuccess(final MessageProcessingContext context, final Message message, @Nullable final Object object) {
-        final Subsegment subsegment = context.getAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE_NAME);
+        final Subsegment subsegment = context.getAttribute(SUBSEGMENT_CONTEXT_ATTRIBUTE);
         if (subsegment != null) {
             recorder.setTraceEntity(subsegment);
             recorder.endSubsegment();
         }
 
-        final Segment segment = context.getAttribute(SEGMENT_CONTEXT_ATTRIBUTE_NAME);
+        final Segment segment = context.getAttribute(SEGMENT_CONTEXT_ATTRIBUTE);
         if (segment != null) {
             recorder.setTraceEntity(segment);
             recorder.endSegment();
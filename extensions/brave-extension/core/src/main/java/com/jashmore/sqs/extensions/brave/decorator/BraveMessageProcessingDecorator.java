@@ -7,8 +7,10 @@ import brave.propagation.TraceContext;
 import brave.propagation.TraceContextOrSamplingFlags;
 import com.jashmore.documentation.annotations.Nullable;
 import com.jashmore.sqs.brave.propogation.SendMessageRemoteGetter;
+import com.jashmore.sqs.decorator.MessageProcessingAttribute;
 import com.jashmore.sqs.decorator.MessageProcessingContext;
 import com.jashmore.sqs.decorator.MessageProcessingDecorator;
+import com.jashmore.sqs.retriever.RequiredMessageAttributes;
 import java.util.Map;
 import java.util.function.BiFunction;
 import lombok.Builder;
@@ -27,9 +29,24 @@ public class BraveMessageProcessingDecorator implements MessageProcessingDecorat
     private static final BiFunction<MessageProcessingContext, Message, String> DEFAULT_SPAN_NAME_CREATOR = (details, message) ->
         "sqs-listener-" + details.getListenerIdentifier();
 
+    /**
+     * The attribute of the {@link MessageProcessingContext} that contains the {@link Span} for the message being processed.
+     */
+    public static final MessageProcessingAttribute<Span> SPAN_ATTRIBUTE = new MessageProcessingAttribute<>(
+        BraveMessageProcessingDecorator.class.getSimpleName() + ":span"
+    );
+
+    /**
+     * The attribute of the {@link MessageProcessingContext} that contains the {@link Tracer.SpanInScope} for the message being processed.
+     */
+    public static final MessageProcessingAttribute<Tracer.SpanInScope> SPAN_IN_SCOPE_ATTRIBUTE = new MessageProcessingAttribute<>(
+        BraveMessageProcessingDecorator.class.getSimpleName() + ":span-in-scope"
+    );
+
     private final Tracer tracer;
     private final TraceContext.Extractor<Map<String, MessageAttributeValue>> traceExtractor;
     private final BiFunction<MessageProcessingContext, Message, String> spanNameCreator;
+    private final RequiredMessageAttributes requiredMessageAttributes;
 
     public BraveMessageProcessingDecorator(final Tracing tracing) {
         this(tracing, Options.builder().build());
@@ -39,6 +56,18 @@ public class BraveMessageProcessingDecorator implements MessageProcessingDecorat
         this.tracer = tracing.tracer();
         this.traceExtractor = options.getTraceExtractor() != null ? options.getTraceExtractor() : SendMessageRemoteGetter.create(tracing);
         this.spanNameCreator = options.getSpanNameCreator() != null ? options.getSpanNameCreator() : DEFAULT_SPAN_NAME_CREATOR;
+        // custom extractors or span names could be using any of the attributes of the message
+        if (options.getTraceExtractor() != null || options.getSpanNameCreator() != null) {
+            this.requiredMessageAttributes = RequiredMessageAttributes.all();
+        } else {
+            this.requiredMessageAttributes =
+                RequiredMessageAttributes.messageAttributes(tracing.propagation().keys().toArray(new String[0]));
+        }
+    }
+
+    @Override
+    public RequiredMessageAttributes getRequiredMessageAttributes() {
+        return requiredMessageAttributes;
     }
 
     @Override
@@ -47,15 +76,15 @@ public class BraveMessageProcessingDecorator implements MessageProcessingDecorat
         final Span span = tracer.nextSpan(traceContextOrSamplingFlags);
         if (span != null && !span.isNoop()) {
             span.name(spanNameCreator.apply(context, message)).kind(Span.Kind.CONSUMER).start();
-            context.setAttribute(this.getClass().getSimpleName() + ":span", span);
+            context.setAttribute(SPAN_ATTRIBUTE, span);
         }
         final Tracer.SpanInScope spanInScope = tracer.withSpanInScope(span);
-        context.setAttribute(this.getClass().getSimpleName() + ":span-in-scope", spanInScope);
+        context.setAttribute(SPAN_IN_SCOPE_ATTRIBUTE, spanInScope);
     }
 
     @Override
     public void onMessageProcessingFailure(MessageProcessingContext context, Message message, Throwable throwable) {
-        final Span span = context.getAttribute(this.getClass().getSimpleName() + ":span");
+        final Span span = context.getAttribute(SPAN_ATTRIBUTE);
         if (span != null) {
             span.error(throwable).finish();
         }
@@ -63,7 +92,7 @@ public class BraveMessageProcessingDecorator implements MessageProcessingDecorat
 
     @Override
     public void onMessageProcessingSuccess(MessageProcessingContext context, Message message, @Nullable Object object) {
-        final Span span = context.getAttribute(this.getClass().getSimpleName() + ":span");
+        final Span span = context.getAttribute(SPAN_ATTRIBUTE);
         if (span != null) {
             span.finish();
         }
@@ -71,7 +100,7 @@ public class BraveMessageProcessingDecorator implements MessageProcessingDecorat
 
     @Override
     public void onMessageProcessingThreadComplete(MessageProcessingContext context, Message message) {
-        final Tracer.SpanInScope spanInScope = context.getAttribute(this.getClass().getSimpleName() + ":span-in-scope");
+        final Tracer.SpanInScope spanInScope = context.getAttribute(SPAN_IN_SCOPE_ATTRIBUTE);
         if (spanInScope != null) {
             spanInScope.close();
         }
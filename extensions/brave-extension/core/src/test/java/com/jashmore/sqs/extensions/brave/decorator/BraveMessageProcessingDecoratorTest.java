@@ -58,7 +58,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // assert
-            final Object span = context.getAttribute("BraveMessageProcessingDecorator:span");
+            final Object span = context.getAttribute(BraveMessageProcessingDecorator.SPAN_ATTRIBUTE);
             assertThat(span).isInstanceOf(Span.class);
         }
 
@@ -84,7 +84,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // assert
-            final Object span = context.getAttribute("BraveMessageProcessingDecorator:span-in-scope");
+            final Object span = context.getAttribute(BraveMessageProcessingDecorator.SPAN_IN_SCOPE_ATTRIBUTE);
             assertThat(span).isInstanceOf(Tracer.SpanInScope.class);
         }
 
@@ -98,7 +98,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // assert
-            final Object span = context.getAttribute("BraveMessageProcessingDecorator:span");
+            final Object span = context.getAttribute(BraveMessageProcessingDecorator.SPAN_ATTRIBUTE);
             assertThat(span).isNull();
         }
     }
@@ -113,7 +113,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // act
-            context.setAttribute("BraveMessageProcessingDecorator:span-in-scope", null);
+            context.setAttribute(BraveMessageProcessingDecorator.SPAN_IN_SCOPE_ATTRIBUTE, null);
             decorator.onMessageProcessingThreadComplete(context, message);
             // assert not exception thrown
         }
@@ -157,7 +157,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // act
-            context.setAttribute("BraveMessageProcessingDecorator:span", null);
+            context.setAttribute(BraveMessageProcessingDecorator.SPAN_ATTRIBUTE, null);
             decorator.onMessageProcessingSuccess(context, message, null);
 
             // assert
@@ -190,7 +190,7 @@ class BraveMessageProcessingDecoratorTest {
             decorator.onPreMessageProcessing(context, message);
 
             // act
-            context.setAttribute("BraveMessageProcessingDecorator:span", null);
+            context.setAttribute(BraveMessageProcessingDecorator.SPAN_ATTRIBUTE, null);
             decorator.onMessageProcessingSuccess(context, message, null);
 
             // assert
@@ -10,6 +10,7 @@ import com.jashmore.sqs.argument.message.MessageArgumentResolver
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver
 import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper
+import com.jashmore.sqs.argument.payload.path.PayloadPathArgumentResolver
 import com.jashmore.sqs.core.kotlin.dsl.ArgumentResolverServiceDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
 import com.jashmore.sqs.core.kotlin.dsl.initComponent
@@ -31,6 +32,15 @@ class DelegatingArgumentResolverServiceDslBuilder : ArgumentResolverServiceDslBu
         add(PayloadArgumentResolver(JacksonPayloadMapper(objectMapper)))
     }
 
+    /**
+     * Add a [PayloadPathArgumentResolver] that is able to extract single fields from JSON message bodies using Jackson.
+     *
+     * @param objectMapper the optional object mapper to use, otherwise a default is used
+     */
+    fun payloadPathResolver(objectMapper: ObjectMapper = ObjectMapper()) {
+        add(PayloadPathArgumentResolver(objectMapper))
+    }
+
     /**
      * Add a [MessageIdArgumentResolver] that is used to resolve the message ID.
      */
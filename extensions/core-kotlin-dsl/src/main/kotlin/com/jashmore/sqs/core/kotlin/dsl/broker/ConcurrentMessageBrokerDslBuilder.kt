@@ -3,6 +3,8 @@ package com.jashmore.sqs.core.kotlin.dsl.broker
 import com.jashmore.sqs.broker.MessageBroker
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBroker
 import com.jashmore.sqs.broker.concurrent.ConcurrentMessageBrokerProperties
+import com.jashmore.sqs.broker.concurrent.limiter.ConcurrencyLimiter
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool
 import com.jashmore.sqs.container.MessageListenerContainer
 import com.jashmore.sqs.core.kotlin.dsl.MessageBrokerDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
@@ -44,8 +46,41 @@ class ConcurrentMessageBrokerDslBuilder : MessageBrokerDslBuilder {
      */
     var errorBackoffTime: (() -> Duration?) = { null }
 
+    /**
+     * The limiter that will dynamically determine the concurrency level based on how the messages are being processed.
+     *
+     * If this is set, the [concurrencyLevel] does not need to be provided as it will not be used.
+     *
+     * @see [ConcurrentMessageBrokerProperties.getConcurrencyLimiter] for in-depth details about this field
+     */
+    var concurrencyLimiter: ConcurrencyLimiter? = null
+
+    /**
+     * The pool of concurrency shared with other brokers that this broker should acquire its concurrency from.
+     *
+     * This is registered with once, the first time that the broker is built, and the membership is shared by every broker built for the container.
+     *
+     * @see [ConcurrentMessageBrokerProperties.getSharedConcurrencyPoolMember] for in-depth details about this field
+     */
+    var sharedConcurrencyPool: SharedConcurrencyPool? = null
+
+    /**
+     * The concurrency that should be reserved for this broker in the [sharedConcurrencyPool].
+     *
+     * @see [SharedConcurrencyPool.register] for in-depth details about this field
+     */
+    var guaranteedConcurrency: Int = 0
+
+    private val sharedConcurrencyPoolMember: SharedConcurrencyPool.Member? by lazy {
+        sharedConcurrencyPool?.register(guaranteedConcurrency)
+    }
+
     override fun invoke(): MessageBroker {
-        val actualConcurrencyLevel: () -> Int = concurrencyLevel ?: throw RequiredFieldException("concurrencyLevel", "ConcurrentMessageBroker")
+        val limiter = concurrencyLimiter
+        val actualConcurrencyLevel: () -> Int = concurrencyLevel
+            ?: limiter?.let { { it.limit } }
+            ?: throw RequiredFieldException("concurrencyLevel", "ConcurrentMessageBroker")
+        val poolMember = sharedConcurrencyPoolMember
         return ConcurrentMessageBroker(
             object : ConcurrentMessageBrokerProperties {
 
@@ -54,6 +89,10 @@ class ConcurrentMessageBrokerDslBuilder : MessageBrokerDslBuilder {
                 override fun getConcurrencyPollingRate(): Duration? = concurrencyPollingRate()
 
                 override fun getErrorBackoffTime(): Duration? = errorBackoffTime()
+
+                override fun getConcurrencyLimiter(): ConcurrencyLimiter? = limiter
+
+                override fun getSharedConcurrencyPoolMember(): SharedConcurrencyPool.Member? = poolMember
             }
         )
     }
@@ -5,12 +5,14 @@ import com.jashmore.sqs.container.MessageListenerContainer
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.MessageProcessorDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.processor.AsyncLambdaMessageProcessorDslBuilder
+import com.jashmore.sqs.core.kotlin.dsl.processor.BatchingMessageProcessorDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.processor.CoreMessageProcessorDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.processor.LambdaMessageProcessorDslBuilder
 import com.jashmore.sqs.processor.AsyncLambdaMessageProcessor
 import com.jashmore.sqs.processor.CoreMessageProcessor
 import com.jashmore.sqs.processor.LambdaMessageProcessor
 import com.jashmore.sqs.processor.MessageProcessor
+import com.jashmore.sqs.processor.batching.BatchingMessageProcessor
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
 
 /**
@@ -82,4 +84,26 @@ abstract class AbstractMessageListenerContainerDslBuilder(
             queueProperties,
             init
         )
+
+    /**
+     * Use the [BatchingMessageProcessor] as the [MessageProcessor] in this container.
+     *
+     * Usage:
+     * ```kotlin
+     * val container = coreMessageListener("identifier", sqsAsyncClient, queueUrl) {
+     *     processor = batchingProcessor {
+     *        batchSize = { 10 }
+     *        batchingPeriod = { Duration.ofSeconds(1) }
+     *        method { messages ->
+     *            // process all of the messages here
+     *
+     *            BatchProcessingResult.successful()
+     *        }
+     *     }
+     *     // other configuration
+     * }
+     * ```
+     */
+    fun batchingProcessor(init: BatchingMessageProcessorDslBuilder.() -> Unit) =
+        com.jashmore.sqs.core.kotlin.dsl.processor.batchingProcessor(identifier, queueProperties, init)
 }
@@ -7,6 +7,7 @@ import com.jashmore.sqs.container.CoreMessageListenerContainerProperties
 import com.jashmore.sqs.container.MessageListenerContainer
 import com.jashmore.sqs.container.batching.BatchingMessageListenerContainer
 import com.jashmore.sqs.container.batching.BatchingMessageListenerContainerProperties
+import com.jashmore.sqs.container.runtime.ContainerRuntime
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
 import com.jashmore.sqs.core.kotlin.dsl.retriever.BatchingMessageRetrieverDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.utils.RequiredFieldException
@@ -80,6 +81,20 @@ class BatchingMessageListenerContainerDslBuilder(
      */
     var interruptThreadsProcessingMessagesOnShutdown: Boolean = false
 
+    /**
+     * Set whether the messages should be processed on virtual threads, if the runtime supports them.
+     *
+     * @see [CoreMessageListenerContainerProperties.shouldProcessMessagesOnVirtualThreads] for more details about this field
+     */
+    var processMessagesOnVirtualThreads: Boolean = false
+
+    /**
+     * Set the runtime that provides the threads for the components of the container, which can be shared between containers.
+     *
+     * @see [CoreMessageListenerContainerProperties.getContainerRuntime] for more details about this field
+     */
+    var containerRuntime: ContainerRuntime? = null
+
     override fun invoke(): MessageListenerContainer {
         val actualConcurrencyLevel = concurrencyLevel ?: throw RequiredFieldException("concurrencyLevel", "BatchingMessageListenerContainer")
         return BatchingMessageListenerContainer(
@@ -90,6 +105,9 @@ class BatchingMessageListenerContainerDslBuilder(
             object : BatchingMessageListenerContainerProperties {
                 override fun concurrencyLevel(): Int = actualConcurrencyLevel()
 
+                // the concurrency level is a function that can be dynamically changed during runtime
+                override fun fixedConcurrencyLevel(): Boolean = false
+
                 override fun concurrencyPollingRate(): Duration? = null
 
                 override fun errorBackoffTime(): Duration? = null
@@ -105,6 +123,11 @@ class BatchingMessageListenerContainerDslBuilder(
 
                 override fun interruptThreadsProcessingMessagesOnShutdown(): Boolean =
                     this@BatchingMessageListenerContainerDslBuilder.interruptThreadsProcessingMessagesOnShutdown
+
+                override fun processMessagesOnVirtualThreads(): Boolean =
+                    this@BatchingMessageListenerContainerDslBuilder.processMessagesOnVirtualThreads
+
+                override fun containerRuntime(): ContainerRuntime? = this@BatchingMessageListenerContainerDslBuilder.containerRuntime
             }
         )
     }
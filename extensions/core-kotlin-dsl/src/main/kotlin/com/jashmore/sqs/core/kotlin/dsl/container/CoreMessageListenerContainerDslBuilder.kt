@@ -7,6 +7,7 @@ import com.jashmore.sqs.broker.grouping.GroupingMessageBroker
 import com.jashmore.sqs.container.CoreMessageListenerContainer
 import com.jashmore.sqs.container.CoreMessageListenerContainerProperties
 import com.jashmore.sqs.container.MessageListenerContainer
+import com.jashmore.sqs.container.runtime.ContainerRuntime
 import com.jashmore.sqs.core.kotlin.dsl.MessageBrokerDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
 import com.jashmore.sqs.core.kotlin.dsl.MessageProcessorDslBuilder
@@ -41,6 +42,20 @@ class CoreMessageListenerContainerDslBuilder(
     var broker: MessageBrokerDslBuilder? = null
     var resolver: MessageResolverDslBuilder? = null
     var retriever: MessageRetrieverDslBuilder? = null
+
+    /**
+     * Set whether the messages should be processed on virtual threads, if the runtime supports them.
+     *
+     * @see [CoreMessageListenerContainerProperties.shouldProcessMessagesOnVirtualThreads] for more details about this field
+     */
+    var processMessagesOnVirtualThreads: Boolean? = null
+
+    /**
+     * Set the runtime that provides the threads for the components of the container, which can be shared between containers.
+     *
+     * @see [CoreMessageListenerContainerProperties.getContainerRuntime] for more details about this field
+     */
+    var containerRuntime: ContainerRuntime? = null
     private var shutdownBuilder: ShutdownBuilder? = null
 
     /**
@@ -144,7 +159,9 @@ class CoreMessageListenerContainerDslBuilder(
         val processorBuilder: MessageProcessorDslBuilder = processor ?: throw RequiredFieldException("processor", "CoreMessageListenerContainer")
         val resolverBuilder: MessageResolverDslBuilder = resolver ?: throw RequiredFieldException("resolver", "CoreMessageListenerContainer")
         val shutdown = shutdownBuilder
-        if (shutdown != null) {
+        val shouldProcessMessagesOnVirtualThreads = processMessagesOnVirtualThreads
+        val actualContainerRuntime = containerRuntime
+        if (shutdown != null || shouldProcessMessagesOnVirtualThreads != null || actualContainerRuntime != null) {
             return CoreMessageListenerContainer(
                 identifier,
                 Supplier(brokerBuilder),
@@ -152,17 +169,21 @@ class CoreMessageListenerContainerDslBuilder(
                 Supplier(processorBuilder),
                 Supplier(resolverBuilder),
                 object : CoreMessageListenerContainerProperties {
-                    override fun shouldInterruptThreadsProcessingMessagesOnShutdown(): Boolean? = shutdown.shouldInterruptThreadsProcessingMessages
+                    override fun shouldInterruptThreadsProcessingMessagesOnShutdown(): Boolean? = shutdown?.shouldInterruptThreadsProcessingMessages
+
+                    override fun shouldProcessAnyExtraRetrievedMessagesOnShutdown(): Boolean? = shutdown?.shouldProcessAnyExtraRetrievedMessages
+
+                    override fun getMessageBrokerShutdownTimeout(): Duration? = shutdown?.messageBrokerShutdownTimeout
 
-                    override fun shouldProcessAnyExtraRetrievedMessagesOnShutdown(): Boolean? = shutdown.shouldProcessAnyExtraRetrievedMessages
+                    override fun getMessageProcessingShutdownTimeout(): Duration? = shutdown?.messageProcessingShutdownTimeout
 
-                    override fun getMessageBrokerShutdownTimeout(): Duration? = shutdown.messageBrokerShutdownTimeout
+                    override fun getMessageResolverShutdownTimeout(): Duration? = shutdown?.messageResolverShutdownTimeout
 
-                    override fun getMessageProcessingShutdownTimeout(): Duration? = shutdown.messageProcessingShutdownTimeout
+                    override fun getMessageRetrieverShutdownTimeout(): Duration? = shutdown?.messageRetrieverShutdownTimeout
 
-                    override fun getMessageResolverShutdownTimeout(): Duration? = shutdown.messageResolverShutdownTimeout
+                    override fun shouldProcessMessagesOnVirtualThreads(): Boolean? = shouldProcessMessagesOnVirtualThreads
 
-                    override fun getMessageRetrieverShutdownTimeout(): Duration? = shutdown.messageRetrieverShutdownTimeout
+                    override fun getContainerRuntime(): ContainerRuntime? = actualContainerRuntime
                 }
             )
         } else {
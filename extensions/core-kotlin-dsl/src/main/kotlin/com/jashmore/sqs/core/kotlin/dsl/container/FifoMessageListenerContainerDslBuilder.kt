@@ -6,6 +6,7 @@ import com.jashmore.sqs.container.CoreMessageListenerContainer
 import com.jashmore.sqs.container.MessageListenerContainer
 import com.jashmore.sqs.container.fifo.FifoMessageListenerContainer
 import com.jashmore.sqs.container.fifo.FifoMessageListenerContainerProperties
+import com.jashmore.sqs.container.runtime.ContainerRuntime
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
 import com.jashmore.sqs.core.kotlin.dsl.utils.RequiredFieldException
 import com.jashmore.sqs.retriever.batching.BatchingMessageRetrieverProperties
@@ -72,6 +73,20 @@ class FifoMessageListenerContainerDslBuilder(
      */
     var messageVisibility: (() -> Duration?) = { null }
 
+    /**
+     * Set whether the messages should be processed on virtual threads, if the runtime supports them.
+     *
+     * @see [FifoMessageListenerContainerProperties.processMessagesOnVirtualThreads] for more details about this field
+     */
+    var processMessagesOnVirtualThreads: Boolean = false
+
+    /**
+     * Set the runtime that provides the threads for the components of the container, which can be shared between containers.
+     *
+     * @see [FifoMessageListenerContainerProperties.containerRuntime] for more details about this field
+     */
+    var containerRuntime: ContainerRuntime? = null
+
     override fun invoke(): MessageListenerContainer {
         val actualConcurrencyLevel = this.concurrencyLevel ?: throw RequiredFieldException("concurrencyLevel", "FifoMessageListener")
         return FifoMessageListenerContainer(
@@ -83,6 +98,9 @@ class FifoMessageListenerContainerDslBuilder(
 
                 override fun concurrencyLevel(): Int = actualConcurrencyLevel()
 
+                // the concurrency level is a function that can be dynamically changed during runtime
+                override fun fixedConcurrencyLevel(): Boolean = false
+
                 override fun concurrencyPollingRate(): Duration? = this@FifoMessageListenerContainerDslBuilder.concurrencyPollingRate()
 
                 override fun errorBackoffTime(): Duration? = this@FifoMessageListenerContainerDslBuilder.errorBackoffTime()
@@ -92,6 +110,10 @@ class FifoMessageListenerContainerDslBuilder(
                 override fun maximumCachedMessageGroups(): Int = this@FifoMessageListenerContainerDslBuilder.maximumNumberOfCachedMessageGroups()
 
                 override fun messageVisibilityTimeout(): Duration? = this@FifoMessageListenerContainerDslBuilder.messageVisibility()
+
+                override fun processMessagesOnVirtualThreads(): Boolean = this@FifoMessageListenerContainerDslBuilder.processMessagesOnVirtualThreads
+
+                override fun containerRuntime(): ContainerRuntime? = this@FifoMessageListenerContainerDslBuilder.containerRuntime
             }
         )
     }
@@ -7,6 +7,7 @@ import com.jashmore.sqs.container.CoreMessageListenerContainerProperties
 import com.jashmore.sqs.container.MessageListenerContainer
 import com.jashmore.sqs.container.prefetching.PrefetchingMessageListenerContainer
 import com.jashmore.sqs.container.prefetching.PrefetchingMessageListenerContainerProperties
+import com.jashmore.sqs.container.runtime.ContainerRuntime
 import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
 import com.jashmore.sqs.core.kotlin.dsl.retriever.PrefetchingMessageRetrieverDslBuilder
 import com.jashmore.sqs.core.kotlin.dsl.utils.RequiredFieldException
@@ -47,6 +48,13 @@ class PrefetchingMessageListenerContainerDslBuilder(
      */
     var maxPrefetchedMessages: Int? = null
 
+    /**
+     * The maximum number of requests for messages that can be in flight at the same time.
+     *
+     * @see PrefetchingMessageRetrieverProperties.getMaxConcurrentReceiveRequests for more details about this field
+     */
+    var maxConcurrentReceiveRequests: Int? = null
+
     /**
      * Function for obtaining the visibility timeout for the message being retrieved.
      *
@@ -70,6 +78,20 @@ class PrefetchingMessageListenerContainerDslBuilder(
      */
     var interruptThreadsProcessingMessagesOnShutdown: Boolean = false
 
+    /**
+     * Set whether the messages should be processed on virtual threads, if the runtime supports them.
+     *
+     * @see [CoreMessageListenerContainerProperties.shouldProcessMessagesOnVirtualThreads] for more details about this field
+     */
+    var processMessagesOnVirtualThreads: Boolean = false
+
+    /**
+     * Set the runtime that provides the threads for the components of the container, which can be shared between containers.
+     *
+     * @see [CoreMessageListenerContainerProperties.getContainerRuntime] for more details about this field
+     */
+    var containerRuntime: ContainerRuntime? = null
+
     override fun invoke(): MessageListenerContainer {
         val actualConcurrencyLevel = this.concurrencyLevel ?: throw RequiredFieldException("concurrencyLevel", "PrefetchingMessageListenerContainer")
         val actualDesiredPrefetchedMessages = desiredPrefetchedMessages
@@ -85,6 +107,9 @@ class PrefetchingMessageListenerContainerDslBuilder(
             object : PrefetchingMessageListenerContainerProperties {
                 override fun concurrencyLevel(): Int = actualConcurrencyLevel()
 
+                // the concurrency level is a function that can be dynamically changed during runtime
+                override fun fixedConcurrencyLevel(): Boolean = false
+
                 override fun concurrencyPollingRate(): Duration? {
                     return null
                 }
@@ -97,6 +122,8 @@ class PrefetchingMessageListenerContainerDslBuilder(
 
                 override fun maxPrefetchedMessages(): Int = actualMaxPrefetched
 
+                override fun maxConcurrentReceiveRequests(): Int? = this@PrefetchingMessageListenerContainerDslBuilder.maxConcurrentReceiveRequests
+
                 override fun messageVisibilityTimeout(): Duration? = this@PrefetchingMessageListenerContainerDslBuilder.messageVisibility()
 
                 override fun processAnyExtraRetrievedMessagesOnShutdown(): Boolean =
@@ -104,6 +131,11 @@ class PrefetchingMessageListenerContainerDslBuilder(
 
                 override fun interruptThreadsProcessingMessagesOnShutdown(): Boolean =
                     this@PrefetchingMessageListenerContainerDslBuilder.interruptThreadsProcessingMessagesOnShutdown
+
+                override fun processMessagesOnVirtualThreads(): Boolean =
+                    this@PrefetchingMessageListenerContainerDslBuilder.processMessagesOnVirtualThreads
+
+                override fun containerRuntime(): ContainerRuntime? = this@PrefetchingMessageListenerContainerDslBuilder.containerRuntime
             }
         )
     }
@@ -0,0 +1,80 @@
+package com.jashmore.sqs.core.kotlin.dsl.processor
+
+import com.jashmore.sqs.QueueProperties
+import com.jashmore.sqs.core.kotlin.dsl.MessageListenerComponentDslMarker
+import com.jashmore.sqs.core.kotlin.dsl.MessageProcessorDslBuilder
+import com.jashmore.sqs.core.kotlin.dsl.initComponent
+import com.jashmore.sqs.core.kotlin.dsl.utils.RequiredFieldException
+import com.jashmore.sqs.decorator.MessageProcessingDecorator
+import com.jashmore.sqs.processor.MessageProcessor
+import com.jashmore.sqs.processor.batching.BatchProcessingResult
+import com.jashmore.sqs.processor.batching.BatchingMessageProcessor
+import com.jashmore.sqs.processor.batching.BatchingMessageProcessorProperties
+import software.amazon.awssdk.services.sqs.model.Message
+import java.time.Duration
+
+/**
+ * [MessageProcessorDslBuilder] that will construct a [BatchingMessageProcessor] for processing a batch of messages at once.
+ */
+@MessageListenerComponentDslMarker
+class BatchingMessageProcessorDslBuilder(
+    private val listenerIdentifier: String,
+    private val queueProperties: QueueProperties
+) : MessageProcessorDslBuilder {
+
+    /**
+     * The list of [MessageProcessingDecorator]s that will wrap the processing of each message.
+     */
+    var decorators = listOf<MessageProcessingDecorator>()
+
+    /**
+     * Supplier for getting the maximum number of messages in a batch.
+     *
+     * @see [BatchingMessageProcessorProperties.getBatchSize] for in-depth details about this field
+     */
+    var batchSize: (() -> Int)? = null
+
+    /**
+     * Supplier for getting the maximum amount of time to wait for the batch to be filled.
+     *
+     * @see [BatchingMessageProcessorProperties.getBatchingPeriod] for in-depth details about this field
+     */
+    var batchingPeriod: (() -> Duration)? = null
+
+    private var batchProcessingFunction: BatchingMessageProcessor.BatchProcessingFunction? = null
+
+    /**
+     * Set the lambda that processes the batch of messages, returning which of the messages failed to be processed.
+     */
+    fun method(func: (messages: List<Message>) -> BatchProcessingResult) {
+        batchProcessingFunction = BatchingMessageProcessor.BatchProcessingFunction { messages -> func(messages) }
+    }
+
+    override fun invoke(): MessageProcessor {
+        val actualBatchSize = batchSize ?: throw RequiredFieldException("batchSize", "BatchingMessageProcessor")
+        val actualBatchingPeriod = batchingPeriod ?: throw RequiredFieldException("batchingPeriod", "BatchingMessageProcessor")
+        val actualBatchProcessingFunction = batchProcessingFunction ?: throw RequiredFieldException("method", "BatchingMessageProcessor")
+
+        return optionalDecoratedProcessor(
+            listenerIdentifier,
+            queueProperties,
+            decorators,
+            BatchingMessageProcessor(
+                object : BatchingMessageProcessorProperties {
+                    override fun getBatchSize(): Int = actualBatchSize()
+
+                    override fun getBatchingPeriod(): Duration = actualBatchingPeriod()
+                },
+                actualBatchProcessingFunction
+            )
+        )
+    }
+}
+
+fun batchingProcessor(
+    identifier: String,
+    queueProperties: QueueProperties,
+    init: BatchingMessageProcessorDslBuilder.() -> Unit
+): MessageProcessorDslBuilder {
+    return initComponent(BatchingMessageProcessorDslBuilder(identifier, queueProperties), init)
+}
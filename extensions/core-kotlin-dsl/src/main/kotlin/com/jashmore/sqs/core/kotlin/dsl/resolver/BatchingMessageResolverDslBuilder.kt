@@ -33,14 +33,59 @@ class BatchingMessageResolverDslBuilder(
      */
     var batchingPeriod: (() -> Duration)? = null
 
+    /**
+     * The maximum number of batch deletion requests that can be in flight at once.
+     *
+     * @see [BatchingMessageResolverProperties.getMaximumConcurrentBatchDeletions] for in-depth details about this field
+     */
+    var maximumConcurrentBatchDeletions: Int? = null
+
+    /**
+     * Supplier for getting the maximum amount of time that a failed message deletion can be retried for.
+     *
+     * @see [BatchingMessageResolverProperties.getDeletionRetryTimeout] for in-depth details about this field
+     */
+    var deletionRetryTimeout: (() -> Duration)? = null
+
+    /**
+     * Supplier for getting the visibility timeout that the messages were received with, used to stop retrying a failed deletion before it expires.
+     *
+     * @see [BatchingMessageResolverProperties.getMessageVisibilityTimeout] for in-depth details about this field
+     */
+    var messageVisibilityTimeout: (() -> Duration)? = null
+
     override fun invoke(): MessageResolver {
         val actualBatchSize = batchSize
         val actualBatchingPeriod = batchingPeriod
+        val actualMaximumConcurrentBatchDeletions = maximumConcurrentBatchDeletions
+        val actualDeletionRetryTimeout = deletionRetryTimeout
+        val actualMessageVisibilityTimeout = messageVisibilityTimeout
 
         if (actualBatchSize == null && actualBatchingPeriod == null) {
+            if (
+                actualMaximumConcurrentBatchDeletions == null &&
+                actualDeletionRetryTimeout == null &&
+                actualMessageVisibilityTimeout == null
+            ) {
+                return BatchingMessageResolver(
+                    queueProperties,
+                    sqsAsyncClient
+                )
+            }
             return BatchingMessageResolver(
                 queueProperties,
-                sqsAsyncClient
+                sqsAsyncClient,
+                object : BatchingMessageResolverProperties {
+                    override fun getBufferingSizeLimit(): Int = 1
+
+                    override fun getBufferingTime(): Duration = Duration.ofHours(1)
+
+                    override fun getMaximumConcurrentBatchDeletions(): Int? = actualMaximumConcurrentBatchDeletions
+
+                    override fun getDeletionRetryTimeout(): Duration? = actualDeletionRetryTimeout?.invoke()
+
+                    override fun getMessageVisibilityTimeout(): Duration? = actualMessageVisibilityTimeout?.invoke()
+                }
             )
         } else if (actualBatchSize != null && actualBatchingPeriod != null) {
             return BatchingMessageResolver(
@@ -50,6 +95,12 @@ class BatchingMessageResolverDslBuilder(
                     override fun getBufferingSizeLimit(): Int = actualBatchSize()
 
                     override fun getBufferingTime(): Duration = actualBatchingPeriod()
+
+                    override fun getMaximumConcurrentBatchDeletions(): Int? = actualMaximumConcurrentBatchDeletions
+
+                    override fun getDeletionRetryTimeout(): Duration? = actualDeletionRetryTimeout?.invoke()
+
+                    override fun getMessageVisibilityTimeout(): Duration? = actualMessageVisibilityTimeout?.invoke()
                 }
             )
         } else if (actualBatchSize == null) {
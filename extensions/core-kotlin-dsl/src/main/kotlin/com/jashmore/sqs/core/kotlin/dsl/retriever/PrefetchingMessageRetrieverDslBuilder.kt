@@ -33,6 +33,34 @@ class PrefetchingMessageRetrieverDslBuilder(
      */
     var maxPrefetchedMessages: Int? = null
 
+    /**
+     * The maximum number of requests for messages that can be in flight at the same time.
+     *
+     * @see PrefetchingMessageRetrieverProperties.getMaxConcurrentReceiveRequests for more details about this field
+     */
+    var maxConcurrentReceiveRequests: Int? = null
+
+    /**
+     * Whether the lock-free queue should be used to store the prefetched messages.
+     *
+     * @see PrefetchingMessageRetrieverProperties.shouldUseLockFreeMessageQueue for more details about this field
+     */
+    var useLockFreeMessageQueue: Boolean? = null
+
+    /**
+     * Whether the number of prefetched messages should be adapted to the rate that messages are being consumed.
+     *
+     * @see PrefetchingMessageRetrieverProperties.shouldUseAdaptivePrefetching for more details about this field
+     */
+    var useAdaptivePrefetching: Boolean? = null
+
+    /**
+     * The amount of time that a message can be prefetched for before it is released back to the queue.
+     *
+     * @see PrefetchingMessageRetrieverProperties.getStalePrefetchedMessageThreshold for more details about this field
+     */
+    var stalePrefetchedMessageThreshold: Duration? = null
+
     /**
      * Function for obtaining the visibility timeout for the message being retrieved.
      *
@@ -64,6 +92,14 @@ class PrefetchingMessageRetrieverDslBuilder(
                 override fun getMessageVisibilityTimeout(): Duration? = messageVisibility()
 
                 override fun getErrorBackoffTime(): Duration? = errorBackoffTime()
+
+                override fun getMaxConcurrentReceiveRequests(): Int? = maxConcurrentReceiveRequests
+
+                override fun shouldUseLockFreeMessageQueue(): Boolean? = useLockFreeMessageQueue
+
+                override fun shouldUseAdaptivePrefetching(): Boolean? = useAdaptivePrefetching
+
+                override fun getStalePrefetchedMessageThreshold(): Duration? = stalePrefetchedMessageThreshold
             }
         )
     }
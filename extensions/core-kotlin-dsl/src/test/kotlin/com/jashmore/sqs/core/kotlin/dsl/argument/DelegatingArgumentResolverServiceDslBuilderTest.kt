@@ -1,5 +1,6 @@
 package com.jashmore.sqs.core.kotlin.dsl.argument
 
+import com.fasterxml.jackson.databind.JavaType
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.module.kotlin.KotlinModule
 import com.jashmore.sqs.QueueProperties
@@ -11,12 +12,12 @@ import com.jashmore.sqs.argument.message.MessageArgumentResolver
 import com.jashmore.sqs.argument.messageid.MessageId
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver
 import com.jashmore.sqs.argument.payload.Payload
+import com.jashmore.sqs.argument.payload.path.PayloadPath
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
 import org.mockito.ArgumentMatchers.any
-import org.mockito.ArgumentMatchers.anyString
-import org.mockito.Mockito.mock
-import org.mockito.kotlin.whenever
+import org.mockito.Mockito.spy
+import org.mockito.Mockito.verify
 import software.amazon.awssdk.services.sqs.model.Message
 import software.amazon.awssdk.services.sqs.model.MessageAttributeValue
 import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName
@@ -100,12 +101,11 @@ class DelegatingArgumentResolverServiceDslBuilderTest {
     fun `jacksonPayloadResolver can be included with a custom ObjectMapper`() {
         // arrange
         val message = Message.builder().body(objectMapper.writeValueAsString(User("name"))).build()
-        val mockObjectMapper = mock(ObjectMapper::class.java)
-        whenever(mockObjectMapper.readValue(anyString(), any(Class::class.java))).thenReturn(User("my-username"))
+        val customObjectMapper = spy(objectMapper)
 
         // act
         val argumentResolverServiceDslBuilder = delegatingArgumentResolverService {
-            jacksonPayloadResolver(mockObjectMapper)
+            jacksonPayloadResolver(customObjectMapper)
         }
         val argumentResolverService = argumentResolverServiceDslBuilder()
         val methodParameter = MethodParameterRecord(method, parameterIndex = 0)
@@ -113,7 +113,28 @@ class DelegatingArgumentResolverServiceDslBuilderTest {
         val argument = argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message)
 
         // assert
-        assertThat(argument).isEqualTo(User("my-username"))
+        assertThat(argument).isEqualTo(User("name"))
+        verify(customObjectMapper).readerFor(any(JavaType::class.java))
+    }
+
+    @Test
+    fun `payloadPathResolver can be included`() {
+        // arrange
+        val message = Message.builder().body(objectMapper.writeValueAsString(User("name"))).build()
+        val payloadPathMethod = DelegatingArgumentResolverServiceDslBuilderTest::class.java
+            .getMethod("payloadPathMethod", String::class.java)
+        val methodParameter = MethodParameterRecord(payloadPathMethod, parameterIndex = 0)
+
+        // act
+        val argumentResolverServiceDslBuilder = delegatingArgumentResolverService {
+            payloadPathResolver()
+        }
+        val argumentResolverService = argumentResolverServiceDslBuilder()
+        val argumentResolver = argumentResolverService.getArgumentResolver(methodParameter)
+        val argument = argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message)
+
+        // assert
+        assertThat(argument).isEqualTo("name")
     }
 
     @Test
@@ -130,20 +151,20 @@ class DelegatingArgumentResolverServiceDslBuilderTest {
             )
             .body("body")
             .build()
-        val mockObjectMapper = mock(ObjectMapper::class.java)
+        val customObjectMapper = spy(objectMapper)
         val methodParameter = MethodParameterRecord(method, parameterIndex = 2)
-        whenever(mockObjectMapper.readValue(anyString(), any(Class::class.java))).thenReturn(User("my-username"))
 
         // act
         val argumentResolverServiceDslBuilder = delegatingArgumentResolverService {
-            messageAttributeResolver(mockObjectMapper)
+            messageAttributeResolver(customObjectMapper)
         }
         val argumentResolverService = argumentResolverServiceDslBuilder()
         val argumentResolver = argumentResolverService.getArgumentResolver(methodParameter)
         val argument = argumentResolver.resolveArgumentForParameter(queueProperties, methodParameter, message)
 
         // assert
-        assertThat(argument).isEqualTo(User("my-username"))
+        assertThat(argument).isEqualTo(User("name"))
+        verify(customObjectMapper).readerFor(User::class.java)
     }
 
     @Test
@@ -197,6 +218,10 @@ class DelegatingArgumentResolverServiceDslBuilderTest {
     ) {
     }
 
+    @Suppress("unused", "UNUSED_PARAMETER")
+    fun payloadPathMethod(@PayloadPath("/username") username: String) {
+    }
+
     private class MethodParameterRecord(private val method: Method, private val parameterIndex: Int) : MethodParameter {
         override fun getParameter(): Parameter = method.parameters[parameterIndex]
 
@@ -10,12 +10,16 @@ import org.junit.jupiter.api.extension.ExtendWith
 import org.mockito.Mock
 import org.mockito.Mockito
 import org.mockito.junit.jupiter.MockitoExtension
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.whenever
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
-import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse
 import software.amazon.awssdk.services.sqs.model.Message
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Consumer
 import java.util.function.Supplier
 
 private val queueProperties = QueueProperties.builder()
@@ -78,6 +82,9 @@ class AsyncLambdaMessageProcessorDslBuilderTest {
     @Test
     fun `can provide a lambda with acknowledge and visibility extender`() {
         // arrange
+        val changeVisibilityCaptor = argumentCaptor<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>()
+        whenever(sqsAsyncClient.changeMessageVisibilityBatch(any<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>()))
+            .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()))
         val processor = asyncLambdaProcessor("identifier", sqsAsyncClient, queueProperties) {
             method { _, acknowledge, visibilityExtender ->
                 visibilityExtender.extend()
@@ -91,13 +98,15 @@ class AsyncLambdaMessageProcessorDslBuilderTest {
 
         // assert
         Assertions.assertThat(future).isCompleted()
-        Mockito.verify(sqsAsyncClient).changeMessageVisibility(
-            ChangeMessageVisibilityRequest.builder()
-                .visibilityTimeout(VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS)
-                .queueUrl("url")
-                .receiptHandle("handle")
-                .build()
-        )
+        Mockito.verify(sqsAsyncClient, Mockito.timeout(5_000)).changeMessageVisibilityBatch(changeVisibilityCaptor.capture())
+        val requestBuilder = ChangeMessageVisibilityBatchRequest.builder()
+        changeVisibilityCaptor.firstValue.accept(requestBuilder)
+        val request = requestBuilder.build()
+        Assertions.assertThat(request.queueUrl()).isEqualTo("url")
+        Assertions.assertThat(request.entries()).hasSize(1)
+        Assertions.assertThat(request.entries()[0].receiptHandle()).isEqualTo("handle")
+        Assertions.assertThat(request.entries()[0].visibilityTimeout())
+            .isEqualTo(VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS)
     }
 
     @Test
@@ -0,0 +1,65 @@
+package com.jashmore.sqs.core.kotlin.dsl.processor
+
+import com.jashmore.sqs.QueueProperties
+import com.jashmore.sqs.core.kotlin.dsl.utils.RequiredFieldException
+import com.jashmore.sqs.processor.batching.BatchProcessingResult
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import software.amazon.awssdk.services.sqs.model.Message
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.TimeUnit
+
+class BatchingMessageProcessorDslBuilderTest {
+    private val queueProperties = QueueProperties.builder()
+        .queueUrl("url")
+        .build()
+
+    @Test
+    fun `batch of messages will be supplied to the method`() {
+        // arrange
+        val firstMessage = Message.builder().messageId("first").build()
+        val secondMessage = Message.builder().messageId("second").build()
+        val processedBatches = CopyOnWriteArrayList<List<Message>>()
+        val processor = batchingProcessor("identifier", queueProperties) {
+            batchSize = { 2 }
+            batchingPeriod = { Duration.ofMinutes(1) }
+            method { messages ->
+                processedBatches.add(messages)
+                BatchProcessingResult.successful()
+            }
+        }()
+
+        // act
+        val results = listOf(firstMessage, secondMessage).map { message ->
+            CompletableFuture.supplyAsync { processor.processMessage(message) { CompletableFuture.completedFuture(null) } }
+        }
+        results.forEach { it.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS) }
+
+        // assert
+        assertThat(processedBatches).hasSize(1)
+        assertThat(processedBatches[0]).containsExactlyInAnyOrder(firstMessage, secondMessage)
+    }
+
+    @Test
+    fun `batchSize is required`() {
+        assertThrows(RequiredFieldException::class.java) {
+            batchingProcessor("identifier", queueProperties) {
+                batchingPeriod = { Duration.ofMinutes(1) }
+                method { BatchProcessingResult.successful() }
+            }()
+        }
+    }
+
+    @Test
+    fun `method is required`() {
+        assertThrows(RequiredFieldException::class.java) {
+            batchingProcessor("identifier", queueProperties) {
+                batchSize = { 2 }
+                batchingPeriod = { Duration.ofMinutes(1) }
+            }()
+        }
+    }
+}
@@ -9,14 +9,19 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
 import org.mockito.Mock
 import org.mockito.Mockito.never
+import org.mockito.Mockito.timeout
 import org.mockito.Mockito.verify
 import org.mockito.junit.jupiter.MockitoExtension
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.whenever
 import software.amazon.awssdk.services.sqs.SqsAsyncClient
-import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse
 import software.amazon.awssdk.services.sqs.model.Message
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.atomic.AtomicReference
+import java.util.function.Consumer
 import java.util.function.Supplier
 
 private val queueProperties = QueueProperties.builder()
@@ -73,6 +78,9 @@ class LambdaMessageProcessorDslBuilderTest {
     @Test
     fun `can provide a lambda with acknowledge and visibility extender`() {
         // arrange
+        val changeVisibilityCaptor = argumentCaptor<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>()
+        whenever(sqsAsyncClient.changeMessageVisibilityBatch(any<Consumer<ChangeMessageVisibilityBatchRequest.Builder>>()))
+            .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()))
         val processor = lambdaProcessor("identifier", sqsAsyncClient, queueProperties) {
             method { _, acknowledge, visibilityExtender ->
                 acknowledge.acknowledgeSuccessful()
@@ -85,13 +93,14 @@ class LambdaMessageProcessorDslBuilderTest {
 
         // assert
         assertThat(future).isCompleted()
-        verify(sqsAsyncClient).changeMessageVisibility(
-            ChangeMessageVisibilityRequest.builder()
-                .visibilityTimeout(VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS)
-                .queueUrl("url")
-                .receiptHandle("handle")
-                .build()
-        )
+        verify(sqsAsyncClient, timeout(5_000)).changeMessageVisibilityBatch(changeVisibilityCaptor.capture())
+        val requestBuilder = ChangeMessageVisibilityBatchRequest.builder()
+        changeVisibilityCaptor.firstValue.accept(requestBuilder)
+        val request = requestBuilder.build()
+        assertThat(request.queueUrl()).isEqualTo("url")
+        assertThat(request.entries()).hasSize(1)
+        assertThat(request.entries()[0].receiptHandle()).isEqualTo("handle")
+        assertThat(request.entries()[0].visibilityTimeout()).isEqualTo(VisibilityExtender.DEFAULT_VISIBILITY_EXTENSION_IN_SECONDS)
     }
 
     @Test
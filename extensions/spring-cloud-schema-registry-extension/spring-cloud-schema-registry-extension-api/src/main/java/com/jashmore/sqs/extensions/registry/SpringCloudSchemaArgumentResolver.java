@@ -3,6 +3,7 @@ package com.jashmore.sqs.extensions.registry;
 import com.jashmore.sqs.QueueProperties;
 import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.ArgumentResolver;
+import com.jashmore.sqs.argument.LazyArguments;
 import com.jashmore.sqs.argument.MethodParameter;
 import com.jashmore.sqs.util.annotation.AnnotationUtils;
 import java.lang.annotation.Annotation;
@@ -15,6 +16,8 @@ import software.amazon.awssdk.services.sqs.model.Message;
  * <p>This will obtain the schema of the object that the producer used to serialize the object and the schema that the
  * consumer can consume and serialize the message payload between these versions.
  *
+ * <p>A {@link java.util.function.Supplier} parameter will only deserialize the message payload when it is first called.
+ *
  * @param <T> the spring cloud registry schema type used to resolve this argument
  */
 public class SpringCloudSchemaArgumentResolver<T> implements ArgumentResolver<Object> {
@@ -59,8 +62,15 @@ public class SpringCloudSchemaArgumentResolver<T> implements ArgumentResolver<Ob
         final MethodParameter methodParameter,
         final Message message
     ) throws ArgumentResolutionException {
+        final Class<?> clazz = LazyArguments.getArgumentClass(methodParameter);
+        if (LazyArguments.isLazyParameter(methodParameter)) {
+            return LazyArguments.memoize(() -> deserialize(message, clazz));
+        }
+        return deserialize(message, clazz);
+    }
+
+    private Object deserialize(final Message message, final Class<?> clazz) {
         try {
-            final Class<?> clazz = methodParameter.getParameter().getType();
             final SchemaReference schemaReference = schemaReferenceExtractor.extract(message);
             final T producerSchema = producerSchemaRetriever.getSchema(schemaReference);
             final T consumerSchema = consumerSchemaRetriever.getSchema(clazz);
@@ -8,6 +8,8 @@ import com.jashmore.sqs.argument.ArgumentResolutionException;
 import com.jashmore.sqs.argument.DefaultMethodParameter;
 import com.jashmore.sqs.argument.MethodParameter;
 import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.schema.registry.SchemaReference;
 import software.amazon.awssdk.services.sqs.model.Message;
@@ -87,5 +89,40 @@ class SpringCloudSchemaArgumentResolverTest {
         assertThat(exception).hasCause(producerSchemaRetrieverException);
     }
 
+    @Test
+    void lazyParameterWillOnlyDeserializeThePayloadWhenFirstCalled() throws NoSuchMethodException {
+        // arrange
+        final AtomicInteger numberOfDeserializations = new AtomicInteger();
+        final SpringCloudSchemaArgumentResolver<Integer> resolver = new SpringCloudSchemaArgumentResolver<>(
+            message -> new SchemaReference("name", 1, "numbered"),
+            clazz -> 2,
+            reference -> 1,
+            (message, producerSchema, consumerSchema, clazz) -> {
+                numberOfDeserializations.incrementAndGet();
+                return "class: " + clazz.getSimpleName();
+            },
+            SpringCloudSchemaRegistryPayload.class
+        );
+        final Method method = SpringCloudSchemaArgumentResolverTest.class.getMethod("lazyMethod", Supplier.class);
+        final MethodParameter methodParameter = new DefaultMethodParameter(method, method.getParameters()[0], 0);
+
+        // act
+        final Object value = resolver.resolveArgumentForParameter(
+            QueueProperties.builder().build(),
+            methodParameter,
+            Message.builder().build()
+        );
+        assertThat(numberOfDeserializations).hasValue(0);
+        final Object firstCall = ((Supplier<?>) value).get();
+        final Object secondCall = ((Supplier<?>) value).get();
+
+        // assert
+        assertThat(firstCall).isEqualTo("class: String");
+        assertThat(secondCall).isSameAs(firstCall);
+        assertThat(numberOfDeserializations).hasValue(1);
+    }
+
     public void myMethod(@SpringCloudSchemaRegistryPayload String exampleParameter, String anotherPayload) {}
+
+    public void lazyMethod(@SpringCloudSchemaRegistryPayload Supplier<String> exampleParameter) {}
 }
@@ -7,6 +7,7 @@ import com.jashmore.sqs.annotations.core.fifo.FifoAnnotationMessageListenerConta
 import com.jashmore.sqs.annotations.core.fifo.FifoQueueListenerParser;
 import com.jashmore.sqs.annotations.core.prefetch.PrefetchingAnnotationMessageListenerContainerFactory;
 import com.jashmore.sqs.annotations.core.prefetch.PrefetchingQueueListenerParser;
+import com.jashmore.sqs.annotations.decorator.visibilitybackoff.VisibilityBackoffMessageProcessingDecoratorFactory;
 import com.jashmore.sqs.annotations.decorator.visibilityextender.AutoVisibilityExtenderMessageProcessingDecoratorFactory;
 import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
@@ -17,6 +18,9 @@ import com.jashmore.sqs.argument.message.MessageArgumentResolver;
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
 import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.argument.payload.path.PayloadPathArgumentResolver;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPoolResolver;
 import com.jashmore.sqs.client.DefaultPlaceholderQueueResolver;
 import com.jashmore.sqs.client.DefaultSqsAsyncClientProvider;
 import com.jashmore.sqs.client.QueueResolver;
@@ -28,11 +32,13 @@ import com.jashmore.sqs.micronaut.jackson.SqsListenerObjectMapperSupplier;
 import com.jashmore.sqs.micronaut.placeholder.MicronautPlaceholderResolver;
 import com.jashmore.sqs.placeholder.PlaceholderResolver;
 import com.jashmore.sqs.processor.DecoratingMessageProcessorFactory;
+import io.micronaut.context.BeanContext;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Secondary;
 import io.micronaut.context.env.Environment;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.inject.qualifiers.Qualifiers;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.util.Collections;
@@ -117,6 +123,11 @@ public class QueueListenerConfiguration {
                 return new PayloadArgumentResolver(new JacksonPayloadMapper(objectMapperSupplier.get()));
             }
 
+            @Singleton
+            public PayloadPathArgumentResolver payloadPathArgumentResolver(final SqsListenerObjectMapperSupplier objectMapperSupplier) {
+                return new PayloadPathArgumentResolver(objectMapperSupplier.get());
+            }
+
             @Singleton
             public MessageIdArgumentResolver messageIdArgumentResolver() {
                 return new MessageIdArgumentResolver();
@@ -177,6 +188,13 @@ public class QueueListenerConfiguration {
             ) {
                 return new AutoVisibilityExtenderMessageProcessingDecoratorFactory(placeholderResolver);
             }
+
+            @Singleton
+            public VisibilityBackoffMessageProcessingDecoratorFactory visibilityBackoffMessageProcessingDecoratorFactory(
+                final PlaceholderResolver placeholderResolver
+            ) {
+                return new VisibilityBackoffMessageProcessingDecoratorFactory(placeholderResolver);
+            }
         }
 
         /**
@@ -189,9 +207,24 @@ public class QueueListenerConfiguration {
         @Factory
         public static class MessageListenerContainerFactoryConfiguration {
 
+            /**
+             * Resolves the {@link SharedConcurrencyPool} referenced by name in the queue listener annotations by looking up the bean with that name.
+             *
+             * @param beanContext the context containing the pool beans
+             * @return the resolver for shared concurrency pools
+             */
+            @Singleton
+            @Secondary
+            public SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver(final BeanContext beanContext) {
+                return poolName -> beanContext.getBean(SharedConcurrencyPool.class, Qualifiers.byName(poolName));
+            }
+
             @Singleton
-            public QueueListenerParser queueListenerParser(final PlaceholderResolver placeholderResolver) {
-                return new QueueListenerParser(placeholderResolver);
+            public QueueListenerParser queueListenerParser(
+                final PlaceholderResolver placeholderResolver,
+                final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver
+            ) {
+                return new QueueListenerParser(placeholderResolver, sharedConcurrencyPoolResolver);
             }
 
             @Singleton
@@ -213,8 +246,11 @@ public class QueueListenerConfiguration {
             }
 
             @Singleton
-            public PrefetchingQueueListenerParser prefetchingQueueListenerParser(final PlaceholderResolver placeholderResolver) {
-                return new PrefetchingQueueListenerParser(placeholderResolver);
+            public PrefetchingQueueListenerParser prefetchingQueueListenerParser(
+                final PlaceholderResolver placeholderResolver,
+                final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver
+            ) {
+                return new PrefetchingQueueListenerParser(placeholderResolver, sharedConcurrencyPoolResolver);
             }
 
             @Singleton
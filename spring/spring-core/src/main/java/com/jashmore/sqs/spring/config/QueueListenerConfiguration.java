@@ -7,6 +7,7 @@ import com.jashmore.sqs.annotations.core.fifo.FifoAnnotationMessageListenerConta
 import com.jashmore.sqs.annotations.core.fifo.FifoQueueListenerParser;
 import com.jashmore.sqs.annotations.core.prefetch.PrefetchingAnnotationMessageListenerContainerFactory;
 import com.jashmore.sqs.annotations.core.prefetch.PrefetchingQueueListenerParser;
+import com.jashmore.sqs.annotations.decorator.visibilitybackoff.VisibilityBackoffMessageProcessingDecoratorFactory;
 import com.jashmore.sqs.annotations.decorator.visibilityextender.AutoVisibilityExtenderMessageProcessingDecoratorFactory;
 import com.jashmore.sqs.argument.ArgumentResolver;
 import com.jashmore.sqs.argument.ArgumentResolverService;
@@ -17,6 +18,9 @@ import com.jashmore.sqs.argument.message.MessageArgumentResolver;
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
 import com.jashmore.sqs.argument.payload.mapper.JacksonPayloadMapper;
+import com.jashmore.sqs.argument.payload.path.PayloadPathArgumentResolver;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPool;
+import com.jashmore.sqs.broker.concurrent.pool.SharedConcurrencyPoolResolver;
 import com.jashmore.sqs.client.DefaultPlaceholderQueueResolver;
 import com.jashmore.sqs.client.DefaultSqsAsyncClientProvider;
 import com.jashmore.sqs.client.QueueResolver;
@@ -35,6 +39,7 @@ import com.jashmore.sqs.spring.jackson.SqsListenerObjectMapperSupplier;
 import com.jashmore.sqs.spring.placeholder.SpringPlaceholderResolver;
 import java.util.Collections;
 import java.util.List;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -142,6 +147,12 @@ public class QueueListenerConfiguration {
                 return new PayloadArgumentResolver(new JacksonPayloadMapper(objectMapperSupplier.get()));
             }
 
+            @Bean
+            @ConditionalOnMissingBean(PayloadPathArgumentResolver.class)
+            public PayloadPathArgumentResolver payloadPathArgumentResolver(final SqsListenerObjectMapperSupplier objectMapperSupplier) {
+                return new PayloadPathArgumentResolver(objectMapperSupplier.get());
+            }
+
             @Bean
             public MessageIdArgumentResolver messageIdArgumentResolver() {
                 return new MessageIdArgumentResolver();
@@ -247,6 +258,13 @@ public class QueueListenerConfiguration {
             ) {
                 return new AutoVisibilityExtenderMessageProcessingDecoratorFactory(placeholderResolver);
             }
+
+            @Bean
+            public VisibilityBackoffMessageProcessingDecoratorFactory visibilityBackoffMessageProcessingDecoratorFactory(
+                final PlaceholderResolver placeholderResolver
+            ) {
+                return new VisibilityBackoffMessageProcessingDecoratorFactory(placeholderResolver);
+            }
         }
 
         /**
@@ -258,10 +276,25 @@ public class QueueListenerConfiguration {
         @Configuration
         public static class MessageListenerContainerFactoryConfiguration {
 
+            /**
+             * Resolves the {@link SharedConcurrencyPool} referenced by name in the queue listener annotations by looking up the bean with that name.
+             *
+             * @param beanFactory the factory containing the pool beans
+             * @return the resolver for shared concurrency pools
+             */
+            @Bean
+            @ConditionalOnMissingBean(SharedConcurrencyPoolResolver.class)
+            public SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver(final BeanFactory beanFactory) {
+                return poolName -> beanFactory.getBean(poolName, SharedConcurrencyPool.class);
+            }
+
             @Bean
             @ConditionalOnMissingBean(QueueListenerParser.class)
-            public QueueListenerParser queueListenerParser(final PlaceholderResolver placeholderResolver) {
-                return new QueueListenerParser(placeholderResolver);
+            public QueueListenerParser queueListenerParser(
+                final PlaceholderResolver placeholderResolver,
+                final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver
+            ) {
+                return new QueueListenerParser(placeholderResolver, sharedConcurrencyPoolResolver);
             }
 
             @Bean
@@ -283,8 +316,11 @@ public class QueueListenerConfiguration {
 
             @Bean
             @ConditionalOnMissingBean(PrefetchingQueueListenerParser.class)
-            public PrefetchingQueueListenerParser prefetchingQueueListenerParser(final PlaceholderResolver placeholderResolver) {
-                return new PrefetchingQueueListenerParser(placeholderResolver);
+            public PrefetchingQueueListenerParser prefetchingQueueListenerParser(
+                final PlaceholderResolver placeholderResolver,
+                final SharedConcurrencyPoolResolver sharedConcurrencyPoolResolver
+            ) {
+                return new PrefetchingQueueListenerParser(placeholderResolver, sharedConcurrencyPoolResolver);
             }
 
             @Bean
@@ -26,6 +26,7 @@ import com.jashmore.sqs.argument.attribute.MessageSystemAttributeArgumentResolve
 import com.jashmore.sqs.argument.message.MessageArgumentResolver;
 import com.jashmore.sqs.argument.messageid.MessageIdArgumentResolver;
 import com.jashmore.sqs.argument.payload.PayloadArgumentResolver;
+import com.jashmore.sqs.argument.payload.path.PayloadPathArgumentResolver;
 import com.jashmore.sqs.client.SqsAsyncClientProvider;
 import com.jashmore.sqs.container.MessageListenerContainerCoordinator;
 import com.jashmore.sqs.container.MessageListenerContainerFactory;
@@ -308,6 +309,7 @@ class QueueListenerConfigurationTest {
                     assertThat(argumentResolvers)
                         .containsExactlyInAnyOrder(
                             PayloadArgumentResolver.class,
+                            PayloadPathArgumentResolver.class,
                             MessageIdArgumentResolver.class,
                             MessageAttributeArgumentResolver.class,
                             MessageSystemAttributeArgumentResolver.class,
@@ -329,7 +331,7 @@ class QueueListenerConfigurationTest {
                     argumentResolversField.setAccessible(true);
                     assertThat(((List<ArgumentResolver>) argumentResolversField.get(argumentResolverService)))
                         .containsExactlyElementsOf(argumentResolvers);
-                    assertThat(argumentResolvers).hasSize(6);
+                    assertThat(argumentResolvers).hasSize(7);
                 });
         }
     }
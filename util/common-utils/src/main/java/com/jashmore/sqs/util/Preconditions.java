@@ -29,6 +29,18 @@ public class Preconditions {
         }
     }
 
+    /**
+     * Make sure that the given value is greater than zero, otherwise throw a {@link IllegalArgumentException} with the provided error message.
+     *
+     * @param value        the value to check against
+     * @param errorMessage the error message for the exception
+     */
+    public void checkPositive(int value, String errorMessage) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
     /**
      * Make sure that the given expression is true, otherwise throw an {@link IllegalArgumentException} is thrown.
      *
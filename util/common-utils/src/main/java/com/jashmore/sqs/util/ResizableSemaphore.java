@@ -7,7 +7,7 @@ import java.util.concurrent.Semaphore;
  */
 public class ResizableSemaphore extends Semaphore {
 
-    private int maximumPermits;
+    private volatile int maximumPermits;
 
     public ResizableSemaphore(final int permits) {
         super(permits);
@@ -17,12 +17,12 @@ public class ResizableSemaphore extends Semaphore {
     /**
      * Change the maximum number of permits available.
      *
-     * <p>The changing of permit size is not thread safe and therefore this method should only be used by a single thread. E.g. only one thread has the
-     * responsibility of changing the permit size.
+     * <p>This method is thread safe and can be called by a different thread to the one acquiring permits. When the permit size is increased, any
+     * threads waiting to acquire a permit will be woken up straight away.
      *
      * @param permits new max size for permits
      */
-    public void changePermitSize(final int permits) {
+    public synchronized void changePermitSize(final int permits) {
         if (permits > this.maximumPermits) {
             this.release(permits - this.maximumPermits);
         } else if (permits < this.maximumPermits) {
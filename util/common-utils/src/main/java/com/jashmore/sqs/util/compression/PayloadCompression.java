@@ -0,0 +1,211 @@
+package com.jashmore.sqs.util.compression;
+
+import com.jashmore.documentation.annotations.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The compression algorithms that can be used for the body of a SQS message, which is indicated by the {@link #CONTENT_ENCODING_ATTRIBUTE_NAME}
+ * message attribute.
+ *
+ * <p>As the body of a SQS message must be text, the compressed bytes are Base64 encoded. Even with this encoding, JSON payloads are generally
+ * much smaller than the original body which allows for larger payloads to fit under the SQS message size limit.
+ */
+@Getter
+@AllArgsConstructor
+public enum PayloadCompression {
+    GZIP("gzip") {
+        @Override
+        InputStream decompressingStream(final InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream);
+        }
+
+        @Override
+        OutputStream compressingStream(final OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream);
+        }
+    },
+    DEFLATE("deflate") {
+        @Override
+        InputStream decompressingStream(final InputStream inputStream) {
+            return new InflaterInputStream(inputStream);
+        }
+
+        @Override
+        OutputStream compressingStream(final OutputStream outputStream) {
+            return new DeflaterOutputStream(outputStream);
+        }
+    };
+
+    /**
+     * The name of the message attribute that contains the {@link #getContentEncoding()} of the compression used for the message body.
+     */
+    public static final String CONTENT_ENCODING_ATTRIBUTE_NAME = "Content-Encoding";
+
+    /**
+     * The default maximum number of bytes that a message body can be decompressed to, which protects against small messages that decompress to a
+     * very large payload.
+     */
+    public static final int DEFAULT_MAX_DECOMPRESSED_SIZE_IN_BYTES = 10 * 1024 * 1024;
+
+    /**
+     * The value of the {@link #CONTENT_ENCODING_ATTRIBUTE_NAME} message attribute for this compression.
+     */
+    private final String contentEncoding;
+
+    /**
+     * Compress the message body, returning the Base64 encoded compressed bytes that can be sent as the body of the message.
+     *
+     * @param body the uncompressed message body
+     * @return the compressed message body
+     */
+    public String compress(final String body) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (OutputStream compressingStream = compressingStream(Base64.getEncoder().wrap(outputStream))) {
+            compressingStream.write(body.getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException ioException) {
+            // writing to an in memory stream should never fail
+            throw new UncheckedIOException(ioException);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decompress the message body, returning a stream of the original bytes of the body.
+     *
+     * <p>The body is decoded and decompressed as the stream is read, which allows for the payload to be deserialized without building the
+     * uncompressed body in memory.
+     *
+     * @param body the compressed message body
+     * @return the stream of the uncompressed message body
+     * @throws IOException if the body is not compressed with this compression
+     * @see #decompress(String, int) for details about the maximum decompressed size
+     */
+    public InputStream decompress(final String body) throws IOException {
+        return decompress(body, DEFAULT_MAX_DECOMPRESSED_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Decompress the message body, returning a stream of the original bytes of the body.
+     *
+     * <p>Reading from the stream will throw an {@link IOException} once more than the maximum number of bytes have been decompressed.
+     *
+     * @param body                       the compressed message body
+     * @param maxDecompressedSizeInBytes the maximum number of bytes that the body can be decompressed to
+     * @return the stream of the uncompressed message body
+     * @throws IOException if the body is not compressed with this compression
+     */
+    public InputStream decompress(final String body, final int maxDecompressedSizeInBytes) throws IOException {
+        final InputStream decodingStream = Base64.getDecoder().wrap(new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)));
+        return new SizeLimitedInputStream(decompressingStream(decodingStream), maxDecompressedSizeInBytes);
+    }
+
+    /**
+     * Decompress the message body to the original text of the body.
+     *
+     * @param body the compressed message body
+     * @return the uncompressed message body
+     * @throws IOException if the body is not compressed with this compression or is larger than the default maximum decompressed size
+     */
+    public String decompressToString(final String body) throws IOException {
+        return decompressToString(body, DEFAULT_MAX_DECOMPRESSED_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Decompress the message body to the original text of the body.
+     *
+     * @param body                       the compressed message body
+     * @param maxDecompressedSizeInBytes the maximum number of bytes that the body can be decompressed to
+     * @return the uncompressed message body
+     * @throws IOException if the body is not compressed with this compression or is larger than the maximum decompressed size
+     */
+    public String decompressToString(final String body, final int maxDecompressedSizeInBytes) throws IOException {
+        try (InputStream inputStream = decompress(body, maxDecompressedSizeInBytes)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Find the compression for the value of the {@link #CONTENT_ENCODING_ATTRIBUTE_NAME} message attribute.
+     *
+     * @param contentEncoding the content encoding of the message, which is case-insensitive
+     * @return the compression or an empty {@link Optional} if it is not a supported compression
+     */
+    public static Optional<PayloadCompression> fromContentEncoding(@Nullable final String contentEncoding) {
+        for (final PayloadCompression compression : values()) {
+            if (compression.contentEncoding.equalsIgnoreCase(contentEncoding)) {
+                return Optional.of(compression);
+            }
+        }
+        return Optional.empty();
+    }
+
+    abstract InputStream decompressingStream(InputStream inputStream) throws IOException;
+
+    abstract OutputStream compressingStream(OutputStream outputStream) throws IOException;
+
+    /**
+     * Stream that fails once more than the maximum number of bytes have been read from it.
+     */
+    private static class SizeLimitedInputStream extends FilterInputStream {
+
+        private final int maxSizeInBytes;
+        private long bytesRead;
+
+        SizeLimitedInputStream(final InputStream inputStream, final int maxSizeInBytes) {
+            super(inputStream);
+            this.maxSizeInBytes = maxSizeInBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                incrementBytesRead(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int numberOfBytesRead = super.read(buffer, offset, length);
+            if (numberOfBytesRead > 0) {
+                incrementBytesRead(numberOfBytesRead);
+            }
+            return numberOfBytesRead;
+        }
+
+        @Override
+        public long skip(final long numberOfBytes) throws IOException {
+            final long numberOfBytesSkipped = super.skip(numberOfBytes);
+            incrementBytesRead(numberOfBytesSkipped);
+            return numberOfBytesSkipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void incrementBytesRead(final long numberOfBytes) throws IOException {
+            bytesRead += numberOfBytes;
+            if (bytesRead > maxSizeInBytes) {
+                throw new IOException("Decompressed payload is larger than the maximum size of " + maxSizeInBytes + " bytes");
+            }
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.jashmore.sqs.util.thread;
 
 import com.jashmore.documentation.annotations.Nonnull;
+import com.jashmore.documentation.annotations.Nullable;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
@@ -32,6 +36,47 @@ public class ThreadUtils {
         return new NamedThreadFactory(threadCount -> threadName);
     }
 
+    /**
+     * Build an {@link ExecutorService} that will start a new virtual thread for each task, if the runtime supports virtual threads.
+     *
+     * <p>As this library is compiled against an older version of Java, the virtual thread APIs are obtained via reflection. The thread names will be
+     * in the same format as {@link #multiNamedThreadFactory(String)}.
+     *
+     * @param threadNamePrefix the prefix for the thread name
+     * @return the executor service, or an empty optional if this runtime does not support virtual threads
+     */
+    public Optional<ExecutorService> newVirtualThreadPerTaskExecutor(final String threadNamePrefix) {
+        return newVirtualThreadPerTaskExecutor(threadNamePrefix + "-", 0L);
+    }
+
+    /**
+     * Build an {@link ExecutorService} that will start a new virtual thread for each task, if the runtime supports virtual threads, where each thread
+     * will have the same name.
+     *
+     * @param threadName the name of the thread
+     * @return the executor service, or an empty optional if this runtime does not support virtual threads
+     * @see #newVirtualThreadPerTaskExecutor(String) for more details
+     */
+    public Optional<ExecutorService> newSingleNamedVirtualThreadPerTaskExecutor(final String threadName) {
+        return newVirtualThreadPerTaskExecutor(threadName, null);
+    }
+
+    private Optional<ExecutorService> newVirtualThreadPerTaskExecutor(final String threadName, @Nullable final Long threadCountStart) {
+        try {
+            final Class<?> threadBuilderClass = Class.forName("java.lang.Thread$Builder");
+            final Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Object namedThreadBuilder = threadCountStart == null
+                ? threadBuilderClass.getMethod("name", String.class).invoke(threadBuilder, threadName)
+                : threadBuilderClass.getMethod("name", String.class, long.class).invoke(threadBuilder, threadName, threadCountStart);
+            final ThreadFactory threadFactory = (ThreadFactory) threadBuilderClass.getMethod("factory").invoke(namedThreadBuilder);
+            final Method newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return Optional.of((ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory));
+        } catch (final ReflectiveOperationException | RuntimeException exception) {
+            // virtual threads are not available or are a preview feature that has not been enabled in this runtime
+            return Optional.empty();
+        }
+    }
+
     private class NamedThreadFactory implements ThreadFactory {
 
         private final ThreadFactory delegate;
@@ -50,6 +50,24 @@ class PreconditionsTest {
         }
     }
 
+    @Nested
+    class CheckPositive {
+
+        @Test
+        void shouldThrowIllegalArgumentExceptionWhenZero() {
+            final IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> Preconditions.checkPositive(0, "message")
+            );
+            assertThat(exception).hasMessage("message");
+        }
+
+        @Test
+        void shouldNotThrowExceptionWhenPositive() {
+            Preconditions.checkPositive(1, "message");
+        }
+    }
+
     @Nested
     class CheckArgument {
 
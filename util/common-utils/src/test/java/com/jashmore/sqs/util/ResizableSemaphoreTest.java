@@ -3,6 +3,8 @@ package com.jashmore.sqs.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class ResizableSemaphoreTest {
@@ -114,4 +116,24 @@ class ResizableSemaphoreTest {
         // assert
         assertThat(resizableSemaphore.availablePermits()).isEqualTo(1);
     }
+
+    @Test
+    void increasingPermitSizeFromAnotherThreadWakesUpThreadWaitingForPermit() throws Exception {
+        // arrange
+        final ResizableSemaphore resizableSemaphore = new ResizableSemaphore(0);
+        final CompletableFuture<Boolean> acquiredPermit = CompletableFuture.supplyAsync(() -> {
+            try {
+                return resizableSemaphore.tryAcquire(30, TimeUnit.SECONDS);
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        // act
+        CompletableFuture.runAsync(() -> resizableSemaphore.changePermitSize(1)).get(5, TimeUnit.SECONDS);
+
+        // assert
+        assertThat(acquiredPermit.get(5, TimeUnit.SECONDS)).isTrue();
+    }
 }
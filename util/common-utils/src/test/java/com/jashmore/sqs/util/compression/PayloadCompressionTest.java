@@ -0,0 +1,89 @@
+package com.jashmore.sqs.util.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class PayloadCompressionTest {
+
+    private static final String BODY = "{\"name\": \"name\", \"values\": [\"value\", \"value\", \"value\", \"value\", \"value\"]}";
+
+    @Test
+    void gzipCompressedBodyCanBeDecompressed() throws IOException {
+        // arrange
+        final String compressedBody = PayloadCompression.GZIP.compress(BODY);
+
+        // act
+        final String decompressedBody = PayloadCompression.GZIP.decompressToString(compressedBody);
+
+        // assert
+        assertThat(decompressedBody).isEqualTo(BODY);
+    }
+
+    @Test
+    void deflateCompressedBodyCanBeDecompressed() throws IOException {
+        // arrange
+        final String compressedBody = PayloadCompression.DEFLATE.compress(BODY);
+
+        // act
+        final String decompressedBody = PayloadCompression.DEFLATE.decompressToString(compressedBody);
+
+        // assert
+        assertThat(decompressedBody).isEqualTo(BODY);
+    }
+
+    @Test
+    void compressedBodyIsBase64Encoded() {
+        // act
+        final String compressedBody = PayloadCompression.GZIP.compress(BODY);
+
+        // assert
+        assertThat(compressedBody).matches("[A-Za-z0-9+/]+=*");
+    }
+
+    @Test
+    void decompressingBodyThatIsNotCompressedWillThrowException() {
+        assertThrows(IOException.class, () -> PayloadCompression.GZIP.decompressToString("bm90IGNvbXByZXNzZWQ="));
+    }
+
+    @Test
+    void decompressingBodyLargerThanTheMaximumSizeWillThrowException() {
+        // arrange
+        final String compressedBody = PayloadCompression.GZIP.compress("a".repeat(1001));
+
+        // act
+        final IOException exception = assertThrows(
+            IOException.class,
+            () -> PayloadCompression.GZIP.decompressToString(compressedBody, 1000)
+        );
+
+        // assert
+        assertThat(exception).hasMessage("Decompressed payload is larger than the maximum size of 1000 bytes");
+    }
+
+    @Test
+    void decompressingBodyEqualToTheMaximumSizeWillNotThrowException() throws IOException {
+        // arrange
+        final String compressedBody = PayloadCompression.DEFLATE.compress("a".repeat(1000));
+
+        // act
+        final String decompressedBody = PayloadCompression.DEFLATE.decompressToString(compressedBody, 1000);
+
+        // assert
+        assertThat(decompressedBody).hasSize(1000);
+    }
+
+    @Test
+    void compressionCanBeFoundFromTheContentEncoding() {
+        assertThat(PayloadCompression.fromContentEncoding("gzip")).contains(PayloadCompression.GZIP);
+        assertThat(PayloadCompression.fromContentEncoding("Deflate")).contains(PayloadCompression.DEFLATE);
+    }
+
+    @Test
+    void unknownContentEncodingWillNotFindCompression() {
+        assertThat(PayloadCompression.fromContentEncoding("br")).isEmpty();
+        assertThat(PayloadCompression.fromContentEncoding(null)).isEmpty();
+    }
+}
@@ -1,8 +1,12 @@
 package com.jashmore.sqs.util.thread;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
@@ -71,4 +75,55 @@ class ThreadUtilsTest {
             assertThat(threadName).isEqualTo("thread-name");
         }
     }
+
+    @Nested
+    class NewVirtualThreadPerTaskExecutor {
+
+        @Test
+        void executorIsOnlyAvailableWhenTheRuntimeSupportsVirtualThreads() {
+            // act
+            final Optional<ExecutorService> executorService = ThreadUtils.newVirtualThreadPerTaskExecutor("thread-name");
+
+            // assert
+            assertThat(executorService.isPresent()).isEqualTo(Runtime.version().feature() >= 21);
+        }
+
+        @Test
+        void tasksWillBeRunOnNamedVirtualThreads() throws InterruptedException, ExecutionException, TimeoutException {
+            // arrange
+            assumeTrue(Runtime.version().feature() >= 21, "Virtual threads are not supported by this runtime");
+            final ExecutorService executorService = ThreadUtils.newVirtualThreadPerTaskExecutor("thread-name").orElseThrow();
+
+            // act
+            final Future<String> threadNameFuture = executorService.submit(() -> Thread.currentThread().getName());
+            final Future<String> secondThreadNameFuture = executorService.submit(() -> Thread.currentThread().getName());
+            final String threadName = threadNameFuture.get(1, TimeUnit.SECONDS);
+            final String secondThreadName = secondThreadNameFuture.get(1, TimeUnit.SECONDS);
+            executorService.shutdown();
+
+            // assert
+            assertThat(List.of(threadName, secondThreadName)).containsExactlyInAnyOrder("thread-name-0", "thread-name-1");
+        }
+    }
+
+    @Nested
+    class NewSingleNamedVirtualThreadPerTaskExecutor {
+
+        @Test
+        void allTasksWillBeRunOnVirtualThreadsWithTheSameName() throws InterruptedException, ExecutionException, TimeoutException {
+            // arrange
+            assumeTrue(Runtime.version().feature() >= 21, "Virtual threads are not supported by this runtime");
+            final ExecutorService executorService = ThreadUtils.newSingleNamedVirtualThreadPerTaskExecutor("thread-name").orElseThrow();
+
+            // act
+            final Future<String> threadNameFuture = executorService.submit(() -> Thread.currentThread().getName());
+            final Future<String> secondThreadNameFuture = executorService.submit(() -> Thread.currentThread().getName());
+            final String threadName = threadNameFuture.get(1, TimeUnit.SECONDS);
+            final String secondThreadName = secondThreadNameFuture.get(1, TimeUnit.SECONDS);
+            executorService.shutdown();
+
+            // assert
+            assertThat(List.of(threadName, secondThreadName)).containsExactly("thread-name", "thread-name");
+        }
+    }
 }
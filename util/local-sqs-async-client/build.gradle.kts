@@ -9,7 +9,7 @@ dependencies {
     api(platform("software.amazon.awssdk:bom:$awsVersion"))
     api("software.amazon.awssdk:sqs")
     implementation("org.slf4j:slf4j-api:$slf4jVersion")
-    implementation(project(":common-utils"))
+    api(project(":common-utils"))
 
     testImplementation("org.elasticmq:elasticmq-rest-sqs_2.12:$elasticMqVersion")
 }
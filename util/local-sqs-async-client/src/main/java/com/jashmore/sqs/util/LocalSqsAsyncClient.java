@@ -1,5 +1,6 @@
 package com.jashmore.sqs.util;
 
+import com.jashmore.sqs.util.compression.PayloadCompression;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -69,6 +70,19 @@ public interface LocalSqsAsyncClient extends SqsAsyncClient {
         Consumer<SendMessageRequest.Builder> sendMessageRequestBuilderConsumer
     );
 
+    /**
+     * Send the message content to a local queue with the given name, compressing the body with the given compression.
+     *
+     * <p>The {@link PayloadCompression#CONTENT_ENCODING_ATTRIBUTE_NAME} message attribute is added to the message so that the body is decompressed
+     * before being deserialized by the message listener.
+     *
+     * @param queueName   name of the queue to send the message to
+     * @param messageBody the uncompressed contents of the message
+     * @param compression the compression to use for the body
+     * @return the response for sending the messages as a {@link CompletableFuture}
+     */
+    CompletableFuture<SendMessageResponse> sendCompressedMessage(String queueName, String messageBody, PayloadCompression compression);
+
     /**
      * Purge all of the messages from all known queues.
      *
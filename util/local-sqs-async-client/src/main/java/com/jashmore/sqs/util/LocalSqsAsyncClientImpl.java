@@ -6,9 +6,11 @@ import static java.util.stream.Collectors.toList;
 import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES;
 import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE;
 
+import com.jashmore.sqs.util.compression.PayloadCompression;
 import com.jashmore.sqs.util.concurrent.CompletableFutureUtils;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,7 @@ import software.amazon.awssdk.services.sqs.model.CreateQueueResponse;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
 import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
 import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.PurgeQueueResponse;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
@@ -114,6 +117,26 @@ public class LocalSqsAsyncClientImpl implements LocalSqsAsyncClient {
             );
     }
 
+    @Override
+    public CompletableFuture<SendMessageResponse> sendCompressedMessage(
+        final String queueName,
+        final String messageBody,
+        final PayloadCompression compression
+    ) {
+        final MessageAttributeValue contentEncoding = MessageAttributeValue
+            .builder()
+            .dataType("String")
+            .stringValue(compression.getContentEncoding())
+            .build();
+        return sendMessage(
+            queueName,
+            builder ->
+                builder
+                    .messageBody(compression.compress(messageBody))
+                    .messageAttributes(Collections.singletonMap(PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME, contentEncoding))
+        );
+    }
+
     @Override
     public CompletableFuture<CreateRandomQueueResponse> createRandomQueue() {
         final String queueName = UUID.randomUUID().toString().replace("-", "");
@@ -7,6 +7,7 @@ import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.FIFO_
 import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.REDRIVE_POLICY;
 import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.VISIBILITY_TIMEOUT;
 
+import com.jashmore.sqs.util.compression.PayloadCompression;
 import java.net.URISyntaxException;
 import java.util.Collections;
 import java.util.concurrent.ExecutionException;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
 import software.amazon.awssdk.services.sqs.model.ListQueuesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
@@ -231,6 +233,33 @@ class LocalSqsAsyncClientImplTest {
         assertThat(approximateNumberOfMessages).isEqualTo("3");
     }
 
+    @Test
+    void sendingCompressedMessageWillCompressTheBodyAndIncludeTheContentEncoding() throws Exception {
+        // arrange
+        final SqsQueuesConfig queuesConfig = SqsQueuesConfig
+            .builder()
+            .sqsServerUrl(queueServerUrl)
+            .queue(SqsQueuesConfig.QueueConfig.builder().queueName("queueName").build())
+            .build();
+        final LocalSqsAsyncClientImpl sqsAsyncClient = new LocalSqsAsyncClientImpl(queuesConfig);
+
+        // act
+        sqsAsyncClient.sendCompressedMessage("queueName", "payload", PayloadCompression.GZIP).get(30, TimeUnit.SECONDS);
+
+        // assert
+        final Message message = sqsAsyncClient
+            .receiveMessage(builder ->
+                builder
+                    .queueUrl(queueServerUrl + "/queue/queueName")
+                    .messageAttributeNames(PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME)
+                    .waitTimeSeconds(5)
+            )
+            .thenApply(response -> response.messages().get(0))
+            .get(30, TimeUnit.SECONDS);
+        assertThat(message.messageAttributes().get(PayloadCompression.CONTENT_ENCODING_ATTRIBUTE_NAME).stringValue()).isEqualTo("gzip");
+        assertThat(PayloadCompression.GZIP.decompressToString(message.body())).isEqualTo("payload");
+    }
+
     @Test
     void canCreateFifoQueuesWhenBuildingClient() throws Exception {
         // arrange